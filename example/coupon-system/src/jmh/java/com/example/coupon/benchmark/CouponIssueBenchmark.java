@@ -0,0 +1,230 @@
+package com.example.coupon.benchmark;
+
+import com.example.coupon.CouponApplication;
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.domain.coupon.service.CouponConditionalUpdateService;
+import com.example.coupon.domain.coupon.service.CouponIssueActorService;
+import com.example.coupon.domain.coupon.service.CouponIssueWriteBehindPersister;
+import com.example.coupon.domain.coupon.service.CouponJournalIssueService;
+import com.example.coupon.domain.coupon.service.CouponPessimisticLockService;
+import com.example.coupon.domain.coupon.service.CouponQuotaLeaseService;
+import com.example.coupon.domain.coupon.service.CouponReactiveIssueService;
+import com.example.coupon.domain.coupon.service.CouponRedisAtomicService;
+import com.example.coupon.domain.coupon.service.CouponRedisLockCombiningService;
+import com.example.coupon.domain.coupon.service.CouponRedisLockService;
+import com.example.coupon.domain.coupon.service.CouponService;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 쿠폰 발급 전략 벤치마크 (JMH)
+ *
+ * 실행: ./gradlew jmh
+ *   - H2 + Embedded Redis(test 프로필)로 실행되므로 네트워크 없이 노트북에서 동작
+ *   - 동시 스레드 1, 8, 64, 512 (Threads1 ~ Threads512)
+ *   - Throughput: 초당 처리량 / SampleTime: p50, p99, p999 지연 시간
+ *   - issued, soldOut, duplicate, failed: 결과별 요청 수 (AuxCounters)
+ *   - 초과 발급 수는 iteration마다 [oversell] 로그로 출력
+ *
+ * 시나리오: iteration마다 totalQuantity개 한정 쿠폰을 새로 만들고, 매 요청은 새로운 사용자
+ *   -> 재고가 남아 있는 동안은 발급 비용, 소진 이후는 거절 비용을 측정 (선착순 이벤트와 동일)
+ *
+ * 새 전략을 추가하면 strategy @Param과 resolveIssuer()에 한 줄씩 추가
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public abstract class CouponIssueBenchmark {
+
+    @Param({
+            "NO_LOCK",
+            "PESSIMISTIC_LOCK",
+            "REDIS_LOCK",
+            "REDIS_LOCK_COMBINING",
+            "REDIS_ATOMIC",
+            "REDIS_SCRIPT",
+            "REDIS_SPLIT",
+            "REACTIVE",
+            "WRITE_BEHIND",
+            "CONDITIONAL_UPDATE",
+            "QUOTA_LEASE",
+            "ACTOR",
+            "JOURNAL"
+    })
+    public String strategy;
+
+    @Param("10000")
+    public int totalQuantity;
+
+    private ConfigurableApplicationContext context;
+    private CouponRepository couponRepository;
+    private CouponRedisAtomicService redisAtomicService;
+    private CouponIssueWriteBehindPersister writeBehindPersister;
+    private CouponQuotaLeaseService quotaLeaseService;
+    private CouponJournalIssueService journalIssueService;
+    private JdbcTemplate jdbcTemplate;
+    private Issuer issuer;
+
+    private final AtomicLong userIdSequence = new AtomicLong();
+    private volatile Long couponId;
+
+    @FunctionalInterface
+    interface Issuer {
+        void issue(Long couponId, Long userId);
+    }
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(CouponApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.com.example.coupon=WARN")
+                .run();
+
+        couponRepository = context.getBean(CouponRepository.class);
+        redisAtomicService = context.getBean(CouponRedisAtomicService.class);
+        writeBehindPersister = context.getBean(CouponIssueWriteBehindPersister.class);
+        quotaLeaseService = context.getBean(CouponQuotaLeaseService.class);
+        journalIssueService = context.getBean(CouponJournalIssueService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        issuer = resolveIssuer(strategy);
+    }
+
+    private Issuer resolveIssuer(String strategy) {
+        return switch (strategy) {
+            case "NO_LOCK" -> context.getBean(CouponService.class)::issue;
+            case "PESSIMISTIC_LOCK" -> context.getBean(CouponPessimisticLockService.class)::issue;
+            case "REDIS_LOCK" -> context.getBean(CouponRedisLockService.class)::issue;
+            case "REDIS_LOCK_COMBINING" -> context.getBean(CouponRedisLockCombiningService.class)::issue;
+            case "REDIS_ATOMIC" -> redisAtomicService::issue;
+            case "REDIS_SCRIPT" -> redisAtomicService::issueWithScript;
+            case "REDIS_SPLIT" -> redisAtomicService::issueSplit;
+            case "REACTIVE" -> {
+                CouponReactiveIssueService reactiveIssueService = context.getBean(CouponReactiveIssueService.class);
+                yield (couponId, userId) -> reactiveIssueService.issue(couponId, userId).block();
+            }
+            case "WRITE_BEHIND" -> redisAtomicService::issueWriteBehind;
+            case "CONDITIONAL_UPDATE" -> context.getBean(CouponConditionalUpdateService.class)::issue;
+            case "QUOTA_LEASE" -> quotaLeaseService::issue;
+            case "ACTOR" -> context.getBean(CouponIssueActorService.class)::issue;
+            case "JOURNAL" -> journalIssueService::issue;
+            default -> throw new IllegalArgumentException("알 수 없는 전략: " + strategy);
+        };
+    }
+
+    @Setup(Level.Iteration)
+    public void createCoupon() {
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("benchmark-" + strategy)
+                        .totalQuantity(totalQuantity)
+                        .build()
+        );
+        redisAtomicService.initCouponCount(coupon.getId(), totalQuantity);
+        couponId = coupon.getId();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportOversell() throws InterruptedException {
+        // 쿼터 리스는 정산해야 issuedQuantity에 반영, Write-Behind / 저널은 DB 반영이 끝날 때까지 대기
+        quotaLeaseService.releaseAll();
+        while (writeBehindPersister.queuedCount() > 0 || journalIssueService.pendingCount() > 0) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+
+        Long issuedRows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM coupon_issue WHERE coupon_id = ?", Long.class, couponId);
+        Integer issuedQuantity = jdbcTemplate.queryForObject(
+                "SELECT issued_quantity FROM coupon WHERE id = ?", Integer.class, couponId);
+        long oversell = Math.max(0, issuedRows - totalQuantity);
+
+        System.out.printf("%n[oversell] strategy=%s, total=%d, issuedRows=%d, issuedQuantity=%d, oversell=%d%n",
+                strategy, totalQuantity, issuedRows, issuedQuantity, oversell);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public void issue(IssueCounters counters) {
+        try {
+            issuer.issue(couponId, userIdSequence.incrementAndGet());
+            counters.issued++;
+        } catch (BusinessException e) {
+            if (e.getErrorCode() == ErrorCode.COUPON_SOLD_OUT) {
+                counters.soldOut++;
+            } else if (e.getErrorCode() == ErrorCode.COUPON_ALREADY_ISSUED) {
+                counters.duplicate++;
+            } else {
+                counters.failed++;
+            }
+        } catch (RuntimeException e) {
+            counters.failed++;
+        }
+    }
+
+    /**
+     * 결과별 요청 수 (스레드별로 집계되어 JMH가 합산)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class IssueCounters {
+        public long issued;
+        public long soldOut;
+        public long duplicate;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            issued = 0;
+            soldOut = 0;
+            duplicate = 0;
+            failed = 0;
+        }
+    }
+
+    @Threads(1)
+    public static class Threads1 extends CouponIssueBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends CouponIssueBenchmark {
+    }
+
+    @Threads(64)
+    public static class Threads64 extends CouponIssueBenchmark {
+    }
+
+    @Threads(512)
+    public static class Threads512 extends CouponIssueBenchmark {
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.coupon.benchmark;
+
+import com.example.coupon.CouponApplication;
+import com.example.coupon.domain.coupon.entity.CouponIssue;
+import com.example.coupon.domain.coupon.repository.CouponIssueIdGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * 대량 발급 INSERT 벤치마크 - IDENTITY(변경 전) vs pooled 시퀀스(변경 후)
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=CouponIssueIdBenchmark
+ *   - 한 트랜잭션에서 BULK_SIZE건 저장, 결과는 초당 저장 행 수 (OperationsPerInvocation)
+ *
+ * 시나리오 (mode @Param):
+ *   - IDENTITY: IDENTITY 매핑 엔티티 persist -> 행마다 INSERT 1번 (batch 불가)
+ *   - POOLED_NO_BATCH: pooled 시퀀스 + batch 끔 -> 시퀀스 왕복만 줄어든 효과
+ *   - POOLED: pooled 시퀀스 + hibernate.jdbc.batch_size -> 변경 후 JPA 저장
+ *   - JDBC_BATCH: CouponIssueIdGenerator + JdbcTemplate.batchUpdate -> 일괄 배포 등 JDBC 저장 경로
+ *
+ * H2 인메모리라 왕복 비용이 작으므로, 네트워크를 거치는 MySQL에서는 차이가 더 커짐
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class CouponIssueIdBenchmark {
+
+    private static final int BULK_SIZE = 1_000;
+    private static final String INSERT_ISSUE_SQL =
+            "INSERT INTO coupon_issue (id, coupon_id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Param({"IDENTITY", "POOLED_NO_BATCH", "POOLED", "JDBC_BATCH"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private CouponIssueIdGenerator couponIssueIdGenerator;
+
+    private long couponId;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(CouponApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.com.example.coupon=WARN",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.show_sql=false")
+                .run();
+
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        couponIssueIdGenerator = context.getBean(CouponIssueIdGenerator.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM coupon_issue");
+        jdbcTemplate.update("DELETE FROM coupon_issue_identity");
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    /**
+     * (couponId, userId) 유니크 제약을 피하려고 호출마다 couponId를 바꿈
+     */
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public void bulkInsert() {
+        long bulkCouponId = ++couponId;
+        transactionTemplate.executeWithoutResult(status -> {
+            switch (mode) {
+                case "IDENTITY" -> persistAll(bulkCouponId, true, null);
+                case "POOLED_NO_BATCH" -> persistAll(bulkCouponId, false, 1);
+                case "POOLED" -> persistAll(bulkCouponId, false, null);
+                case "JDBC_BATCH" -> batchInsert(bulkCouponId);
+                default -> throw new IllegalArgumentException("알 수 없는 모드: " + mode);
+            }
+        });
+    }
+
+    private void persistAll(long bulkCouponId, boolean identity, Integer jdbcBatchSize) {
+        if (jdbcBatchSize != null) {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+        }
+        for (long userId = 1; userId <= BULK_SIZE; userId++) {
+            entityManager.persist(identity
+                    ? new IdentityCouponIssue(bulkCouponId, userId)
+                    : CouponIssue.builder().couponId(bulkCouponId).userId(userId).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void batchInsert(long bulkCouponId) {
+        List<Long> userIds = LongStream.rangeClosed(1, BULK_SIZE).boxed().toList();
+        PrimitiveIterator.OfLong ids = couponIssueIdGenerator.nextIds(BULK_SIZE);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ISSUE_SQL, userIds, BULK_SIZE, (ps, userId) -> {
+            ps.setLong(1, ids.nextLong());
+            ps.setLong(2, bulkCouponId);
+            ps.setLong(3, userId);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        });
+    }
+}
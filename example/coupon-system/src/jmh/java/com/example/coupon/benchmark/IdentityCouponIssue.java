@@ -0,0 +1,37 @@
+package com.example.coupon.benchmark;
+
+import com.example.coupon.global.common.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * CouponIssueIdBenchmark 비교용 - 변경 전 CouponIssue와 같은 IDENTITY 매핑
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "coupon_issue_identity")
+public class IdentityCouponIssue extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long couponId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    public IdentityCouponIssue(Long couponId, Long userId) {
+        this.couponId = couponId;
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.coupon.domain.coupon.cache;
+
+import com.example.coupon.domain.coupon.entity.Coupon;
+
+/**
+ * 발급 중에 바뀌지 않는 쿠폰 정보 (issuedQuantity 제외)
+ */
+public record CouponMetadata(Long id, String name, int totalQuantity) {
+
+    public static CouponMetadata from(Coupon coupon) {
+        return new CouponMetadata(coupon.getId(), coupon.getName(), coupon.getTotalQuantity());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.coupon.domain.coupon.cache;
+
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 쿠폰 메타데이터 캐시 (Caffeine) - 발급 경로에서 totalQuantity, name을 DB 없이 조회
+ *
+ * 동작 원리:
+ *   - 캐시에 없으면 couponRepository.findById로 읽어서 적재 (read-through)
+ *   - DB 조회는 캐시 락 밖에서 실행 -> 같은 쿠폰을 동시에 처음 조회하면 DB 조회가 몇 번 겹칠 수 있음
+ *     (LoadingCache는 키별 synchronized 안에서 로딩하므로 가상 스레드가 JDBC 대기 동안 캐리어에 고정됨)
+ *   - maximum-size 초과 시 자주 안 쓰는 쿠폰부터 제거, expire-after-write 후 다시 로딩
+ *   - 없는 쿠폰은 캐시하지 않음 (바로 뒤에 생성되는 쿠폰을 NOT_FOUND로 막지 않도록)
+ *
+ * 무효화:
+ *   - 쿠폰 생성/수정 경로에서 invalidate() 호출
+ *   - 트랜잭션 안이면 트랜잭션이 끝난 뒤에 제거 (커밋 전 값을 다른 요청이 다시 적재하는 것을 막음)
+ *
+ * 주의:
+ *   - issuedQuantity처럼 발급마다 바뀌는 값은 담지 않음 -> 수량 판단은 각 전략의 락/카운터가 담당
+ *   - 서버별 캐시이므로 다른 서버의 수정은 expire-after-write 이내에 반영됨
+ *
+ * 메트릭 (tag: cache=couponMetadata):
+ *   - cache.gets (result=hit|miss), cache.evictions, cache.size 등 Caffeine 통계
+ *   - coupon.metadata.cache.hit.ratio: 누적 적중률
+ */
+@Component
+public class CouponMetadataCache {
+
+    private static final String CACHE_NAME = "couponMetadata";
+
+    private final CouponRepository couponRepository;
+    private final Cache<Long, CouponMetadata> cache;
+
+    public CouponMetadataCache(
+            CouponRepository couponRepository,
+            MeterRegistry meterRegistry,
+            @Value("${coupon.metadata-cache.maximum-size:10000}") long maximumSize,
+            @Value("${coupon.metadata-cache.expire-after-write-ms:600000}") long expireAfterWriteMillis) {
+        this.couponRepository = couponRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMillis))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("coupon.metadata.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 쿠폰이 없으면 COUPON_NOT_FOUND
+     */
+    public CouponMetadata get(Long couponId) {
+        CouponMetadata cached = cache.getIfPresent(couponId);
+        if (cached != null) {
+            return cached;
+        }
+
+        CouponMetadata loaded = couponRepository.findById(couponId)
+                .map(CouponMetadata::from)
+                .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
+        CouponMetadata previous = cache.asMap().putIfAbsent(couponId, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    public int totalQuantity(Long couponId) {
+        return get(couponId).totalQuantity();
+    }
+
+    public void invalidate(Long couponId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(couponId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.invalidate(couponId);
+            }
+        });
+    }
+}
@@ -1,16 +1,32 @@
 package com.example.coupon.domain.coupon.controller;
 
 import com.example.coupon.domain.coupon.dto.CouponCreateRequest;
+import com.example.coupon.domain.coupon.dto.CouponDistributionRequest;
+import com.example.coupon.domain.coupon.dto.CouponDistributionResponse;
 import com.example.coupon.domain.coupon.dto.CouponIssueRequest;
 import com.example.coupon.domain.coupon.dto.CouponResponse;
+import com.example.coupon.domain.coupon.dto.WaitingResponse;
+import com.example.coupon.domain.coupon.service.CouponConditionalUpdateService;
+import com.example.coupon.domain.coupon.service.CouponDistributionService;
+import com.example.coupon.domain.coupon.service.CouponIssueActorService;
+import com.example.coupon.domain.coupon.service.CouponJournalIssueService;
 import com.example.coupon.domain.coupon.service.CouponPessimisticLockService;
+import com.example.coupon.domain.coupon.service.CouponQuotaLeaseService;
+import com.example.coupon.domain.coupon.service.CouponReactiveIssueService;
+import com.example.coupon.domain.coupon.service.CouponRedisAtomicService;
+import com.example.coupon.domain.coupon.service.CouponRedisLockCombiningService;
 import com.example.coupon.domain.coupon.service.CouponRedisLockService;
 import com.example.coupon.domain.coupon.service.CouponService;
+import com.example.coupon.domain.coupon.service.CouponWaitingRoomService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/coupons")
@@ -20,6 +36,15 @@ public class CouponController {
     private final CouponService couponService;
     private final CouponPessimisticLockService pessimisticLockService;
     private final CouponRedisLockService redisLockService;
+    private final CouponRedisLockCombiningService redisLockCombiningService;
+    private final CouponRedisAtomicService redisAtomicService;
+    private final CouponConditionalUpdateService conditionalUpdateService;
+    private final CouponWaitingRoomService waitingRoomService;
+    private final CouponQuotaLeaseService quotaLeaseService;
+    private final CouponIssueActorService issueActorService;
+    private final CouponReactiveIssueService reactiveIssueService;
+    private final CouponJournalIssueService journalIssueService;
+    private final CouponDistributionService distributionService;
 
     /**
      * 쿠폰 생성
@@ -61,6 +86,17 @@ public class CouponController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * 쿠폰 발급 - 조건부 UPDATE (락 조회 없음)
+     */
+    @PostMapping("/{couponId}/issue/conditional")
+    public ResponseEntity<Void> issueWithConditionalUpdate(
+            @PathVariable Long couponId,
+            @Valid @RequestBody CouponIssueRequest request) {
+        conditionalUpdateService.issue(couponId, request.getUserId());
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * 쿠폰 발급 - Redis 분산 락
      */
@@ -71,4 +107,162 @@ public class CouponController {
         redisLockService.issue(couponId, request.getUserId());
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * 쿠폰 발급 - Redis 분산 락 + Flat Combining (락 한 번에 여러 명 발급)
+     */
+    @PostMapping("/{couponId}/issue/redis/combining")
+    public ResponseEntity<Void> issueWithRedisLockCombining(
+            @PathVariable Long couponId,
+            @Valid @RequestBody CouponIssueRequest request) {
+        redisLockCombiningService.issue(couponId, request.getUserId());
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 쿠폰 발급 - Redis Lua 스크립트 (왕복 1번)
+     */
+    @PostMapping("/{couponId}/issue/atomic")
+    public ResponseEntity<Void> issueWithRedisScript(
+            @PathVariable Long couponId,
+            @Valid @RequestBody CouponIssueRequest request) {
+        redisAtomicService.issueWithScript(couponId, request.getUserId());
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 쿠폰 발급 - Non-blocking (Reactive Redis + 별도 스케줄러에서 DB 저장, 서블릿 스레드 즉시 반환)
+     */
+    @PostMapping("/{couponId}/issue/reactive")
+    public Mono<ResponseEntity<Void>> issueReactive(
+            @PathVariable Long couponId,
+            @Valid @RequestBody CouponIssueRequest request) {
+        return reactiveIssueService.issue(couponId, request.getUserId())
+                .thenReturn(ResponseEntity.ok().<Void>build());
+    }
+
+    /**
+     * 쿠폰 발급 - Redis 분할 카운터 (수량을 여러 키에 나눠서 차감)
+     * 이 방식으로 발급을 시작한 쿠폰은 중앙 카운터 방식으로 발급할 수 없음 (CouponCounterMode)
+     */
+    @PostMapping("/{couponId}/issue/split")
+    public ResponseEntity<Void> issueWithSplitCounter(
+            @PathVariable Long couponId,
+            @Valid @RequestBody CouponIssueRequest request) {
+        redisAtomicService.issueSplit(couponId, request.getUserId());
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 쿠폰 발급 - Redis Lua 스크립트 + Write-Behind 저장
+     */
+    @PostMapping("/{couponId}/issue/write-behind")
+    public ResponseEntity<Void> issueWriteBehind(
+            @PathVariable Long couponId,
+            @Valid @RequestBody CouponIssueRequest request) {
+        redisAtomicService.issueWriteBehind(couponId, request.getUserId());
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * 쿠폰 발급 - 쿼터 리스 (서버별 로컬 수량에서 발급)
+     */
+    @PostMapping("/{couponId}/issue/lease")
+    public ResponseEntity<Void> issueWithQuotaLease(
+            @PathVariable Long couponId,
+            @Valid @RequestBody CouponIssueRequest request) {
+        quotaLeaseService.issue(couponId, request.getUserId());
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 쿠폰 발급 - Single-Writer (쿠폰별 전담 스레드, 락 없음)
+     */
+    @PostMapping("/{couponId}/issue/actor")
+    public ResponseEntity<Void> issueWithActor(
+            @PathVariable Long couponId,
+            @Valid @RequestBody CouponIssueRequest request) {
+        issueActorService.issue(couponId, request.getUserId());
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 쿠폰 발급 - 저널 (메모리에서 판단, 로컬 저널 fsync 후 응답, DB는 백그라운드 반영)
+     */
+    @PostMapping("/{couponId}/issue/journal")
+    public ResponseEntity<Void> issueWithJournal(
+            @PathVariable Long couponId,
+            @Valid @RequestBody CouponIssueRequest request) {
+        journalIssueService.issue(couponId, request.getUserId());
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 대기열 입장 - 순번을 바로 응답, 발급은 스케줄러가 순서대로 처리
+     */
+    @PostMapping("/{couponId}/waiting")
+    public ResponseEntity<WaitingResponse> enterWaitingRoom(
+            @PathVariable Long couponId,
+            @Valid @RequestBody CouponIssueRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(waitingRoomService.enter(couponId, request.getUserId()));
+    }
+
+    /**
+     * 대기 순번 / 발급 결과 조회 (폴링)
+     */
+    @GetMapping("/{couponId}/waiting/{userId}")
+    public ResponseEntity<WaitingResponse> getWaitingStatus(
+            @PathVariable Long couponId,
+            @PathVariable Long userId) {
+        return ResponseEntity.ok(waitingRoomService.getStatus(couponId, userId));
+    }
+
+    /**
+     * 일괄 배포 - 사용자 목록 파일 (줄마다 userId 하나, 스트리밍으로 저장 후 백그라운드 처리)
+     */
+    @PostMapping(value = "/{couponId}/distributions",
+            consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<CouponDistributionResponse> distributeFile(
+            @PathVariable Long couponId,
+            InputStream userIds) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(distributionService.start(couponId, userIds));
+    }
+
+    /**
+     * 일괄 배포 - 요청 body의 사용자 목록
+     */
+    @PostMapping(value = "/{couponId}/distributions", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CouponDistributionResponse> distribute(
+            @PathVariable Long couponId,
+            @Valid @RequestBody CouponDistributionRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(distributionService.start(couponId, request.getUserIds()));
+    }
+
+    /**
+     * 일괄 배포 진행 상황 조회
+     */
+    @GetMapping("/{couponId}/distributions/{distributionId}")
+    public ResponseEntity<CouponDistributionResponse> getDistribution(
+            @PathVariable Long couponId,
+            @PathVariable Long distributionId) {
+        return ResponseEntity.ok(distributionService.get(couponId, distributionId));
+    }
+
+    /**
+     * 일괄 배포 재개 - 마지막으로 저장된 chunk 다음부터
+     */
+    @PostMapping("/{couponId}/distributions/{distributionId}/resume")
+    public ResponseEntity<CouponDistributionResponse> resumeDistribution(
+            @PathVariable Long couponId,
+            @PathVariable Long distributionId) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(distributionService.resume(couponId, distributionId));
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.coupon.domain.coupon.controller;
+
+import com.example.coupon.domain.coupon.dto.CouponIssueRequest;
+import com.example.coupon.domain.coupon.ratelimit.CouponIssueRateLimiter;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * 발급/대기열 입장 요청을 사용자별 토큰 버킷으로 제한
+ * (userId는 요청 body에 있으므로 인터셉터가 아닌 body를 읽은 직후에 확인)
+ *
+ * - 검증, 락, Redis, DB 접근 전에 COUPON_ISSUE_RATE_LIMITED(429)로 거절
+ * - 소진된 쿠폰은 CouponSoldOutInterceptor가 먼저 거절하므로 토큰을 쓰지 않음
+ *
+ * 메트릭:
+ *   - coupon.issue.rate-limit.rejected: 요청 수 제한으로 거절된 요청 수
+ */
+@ControllerAdvice(assignableTypes = CouponController.class)
+public class CouponIssueRateLimitAdvice extends RequestBodyAdviceAdapter {
+
+    private final CouponIssueRateLimiter rateLimiter;
+    private final Counter rejectedCounter;
+
+    public CouponIssueRateLimitAdvice(CouponIssueRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.rejectedCounter = Counter.builder("coupon.issue.rate-limit.rejected")
+                .description("사용자별 요청 수 제한으로 거절된 발급 요청 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == CouponIssueRequest.class;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        Long userId = ((CouponIssueRequest) body).getUserId();
+        // userId가 없으면 @Valid 검증에 맡김
+        if (userId != null && !rateLimiter.tryAcquire(userId)) {
+            rejectedCounter.increment();
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_RATE_LIMITED);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.coupon.domain.coupon.controller;
+
+import com.example.coupon.domain.coupon.service.CouponSoldOutRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 발급/대기열 입장 요청을 컨트롤러 진입 전에 소진 목록으로 거절
+ * (요청 body 파싱, 검증, Redis, DB 접근 없이 COUPON_SOLD_OUT 응답)
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponSoldOutInterceptor implements HandlerInterceptor {
+
+    private final CouponSoldOutRegistry soldOutRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables == null || !pathVariables.containsKey("couponId")) {
+            return true;
+        }
+
+        try {
+            soldOutRegistry.rejectIfSoldOut(Long.valueOf(pathVariables.get("couponId")));
+        } catch (NumberFormatException e) {
+            // 잘못된 couponId는 컨트롤러의 입력 검증에 맡김
+        }
+        return true;
+    }
+}
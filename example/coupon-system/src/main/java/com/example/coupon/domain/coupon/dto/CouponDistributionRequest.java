@@ -0,0 +1,17 @@
+package com.example.coupon.domain.coupon.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponDistributionRequest {
+
+    @NotEmpty(message = "배포 대상 사용자는 1명 이상이어야 합니다.")
+    private List<Long> userIds;
+}
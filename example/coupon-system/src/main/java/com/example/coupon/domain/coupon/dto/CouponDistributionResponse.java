@@ -0,0 +1,32 @@
+package com.example.coupon.domain.coupon.dto;
+
+import com.example.coupon.domain.coupon.entity.CouponDistribution;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class CouponDistributionResponse {
+
+    private Long id;
+    private Long couponId;
+    private CouponDistribution.Status status;
+    private long totalLines;
+    private long processedLines;
+    private long issuedCount;
+    private long duplicateCount;
+    private long invalidCount;
+
+    public static CouponDistributionResponse from(CouponDistribution distribution) {
+        return CouponDistributionResponse.builder()
+                .id(distribution.getId())
+                .couponId(distribution.getCouponId())
+                .status(distribution.getStatus())
+                .totalLines(distribution.getTotalLines())
+                .processedLines(distribution.getProcessedLines())
+                .issuedCount(distribution.getIssuedCount())
+                .duplicateCount(distribution.getDuplicateCount())
+                .invalidCount(distribution.getInvalidCount())
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.coupon.domain.coupon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class WaitingResponse {
+
+    private Long couponId;
+    private Long userId;
+    private Status status;
+
+    /**
+     * 대기 순번 (1부터), WAITING이 아니면 0
+     */
+    private long rank;
+
+    public enum Status {
+        WAITING,       // 대기 중
+        ISSUED,        // 발급 완료
+        SOLD_OUT,      // 소진되어 대기열 종료
+        FAILED,        // 서버 오류로 발급하지 못함 (다시 입장 필요)
+        NOT_IN_QUEUE   // 대기열에 없음 (입장 전이거나 발급 처리 중)
+    }
+}
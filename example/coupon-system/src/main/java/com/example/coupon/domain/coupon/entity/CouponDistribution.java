@@ -0,0 +1,62 @@
+package com.example.coupon.domain.coupon.entity;
+
+import com.example.coupon.global.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 쿠폰 일괄 배포 작업 - 업로드된 사용자 목록 파일과 진행 위치
+ * (진행 위치는 chunk 발급과 같은 트랜잭션에서 JDBC로 갱신)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CouponDistribution extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long couponId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private String sourceFile;
+
+    @Column(nullable = false)
+    private long totalLines;
+
+    @Column(nullable = false)
+    private long processedLines;
+
+    @Column(nullable = false)
+    private long issuedCount;
+
+    @Column(nullable = false)
+    private long duplicateCount;
+
+    @Column(nullable = false)
+    private long invalidCount;
+
+    @Builder
+    public CouponDistribution(Long couponId, String sourceFile, long totalLines) {
+        this.couponId = couponId;
+        this.sourceFile = sourceFile;
+        this.totalLines = totalLines;
+        this.status = Status.RUNNING;
+    }
+
+    public enum Status {
+        RUNNING,    // 진행 중 (서버가 중단되면 재시작 시 이어서 진행)
+        COMPLETED,  // 파일 끝까지 처리
+        SOLD_OUT,   // 수량 소진으로 중단
+        FAILED      // 오류로 중단 (resume으로 이어서 진행)
+    }
+}
@@ -11,12 +11,25 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Table(uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"coupon_id", "user_id"})
+        @UniqueConstraint(name = CouponIssue.UNIQUE_COUPON_USER, columnNames = {"coupon_id", "user_id"})
 })
 public class CouponIssue extends BaseEntity {
 
+    /**
+     * 중복 발급을 막는 유니크 제약 이름 (위반 예외가 중복 발급인지 구분할 때 사용)
+     */
+    public static final String UNIQUE_COUPON_USER = "uk_coupon_issue_coupon_user";
+
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    /**
+     * IDENTITY는 INSERT를 실행해야 id를 알 수 있어서 Hibernate가 batch INSERT를 끔
+     * -> pooled 시퀀스로 id를 allocationSize개씩 미리 받아 batch INSERT (JDBC 저장은 CouponIssueIdGenerator)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coupon_issue_seq")
+    @SequenceGenerator(name = "coupon_issue_seq", sequenceName = "coupon_issue_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,324 @@
+package com.example.coupon.domain.coupon.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 발급 저널 - 메모리 매핑 파일에 고정 크기 레코드를 순서대로 추가 (append-only)
+ *
+ * 파일 구조:
+ *   - 헤더 64 bytes: magic, version, epoch, tailedPosition(DB 반영이 끝난 위치)
+ *   - 레코드 32 bytes: couponId, userId, timestamp(ms), checksum(epoch 포함)
+ *
+ * 동작 원리:
+ *   1. append(): 락 안에서 다음 칸에 레코드를 씀 (메모리 쓰기, 시스템 콜 없음)
+ *   2. sync 스레드가 쓰인 구간을 force(fsync) 한 번으로 디스크에 반영 (group commit)
+ *      - fsync가 진행되는 동안 들어온 레코드는 다음 fsync에 함께 반영
+ *   3. awaitDurable(): 내 레코드가 fsync될 때까지 대기
+ *      - 파일 위치 대신 append()가 돌려준 순번(처음부터 다시 써도 계속 증가)으로 비교
+ *        -> fsync 직후 처음부터 다시 써서 위치가 되돌아가도 늦게 깨어난 대기자가 실패로 보지 않음
+ *   4. 소비자(tailer)는 read()로 fsync된 레코드를 읽고 markTailed()로 반영 위치를 헤더에 기록
+ *   5. 모든 레코드가 반영되고 파일의 절반 이상을 썼으면 epoch를 올리고 처음부터 다시 씀
+ *      - 이전 epoch 레코드는 checksum이 맞지 않아 무효
+ *
+ * 복구:
+ *   - 시작 시 tailedPosition부터 checksum이 맞는 레코드까지를 유효 구간으로 인정
+ *   - 쓰다 만 레코드(checksum 불일치)부터는 버림 -> fsync 전에 죽은 요청은 응답을 받지 못한 요청
+ *
+ * 주의:
+ *   - 파일이 가득 차면 append()가 -1 (tailer가 따라잡아 처음부터 다시 쓸 때까지)
+ *   - 프로세스 하나만 파일을 열어야 함
+ */
+@Slf4j
+public class CouponIssueJournal implements Closeable {
+
+    public static final int RECORD_SIZE = 32;
+    static final int HEADER_SIZE = 64;
+
+    private static final int MAGIC = 0x434A524E; // "CJRN"
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int EPOCH_OFFSET = 8;
+    private static final int TAILED_OFFSET = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacityBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition written = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+
+    // lock 안에서만 변경
+    private long epoch;
+    private int writePosition;
+    private volatile int durablePosition;
+    private volatile int tailedPosition;
+    // 이 프로세스에서 추가한 / fsync된 레코드 수 (처음부터 다시 써도 줄지 않음)
+    private long appendedSequence;
+    private volatile long durableSequence;
+
+    private volatile boolean running = true;
+    private final Thread syncThread;
+    private volatile long syncCount;
+    private volatile long syncedRecords;
+
+    private CouponIssueJournal(FileChannel channel, MappedByteBuffer buffer, int capacityBytes) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacityBytes = capacityBytes;
+        this.syncThread = new Thread(this::syncLoop, "coupon-journal-sync");
+        this.syncThread.setDaemon(true);
+    }
+
+    /**
+     * 파일을 열고(없으면 생성) 유효한 레코드 끝까지 복구
+     */
+    public static CouponIssueJournal open(Path file, int capacityRecords) throws IOException {
+        if (capacityRecords < 2 || capacityRecords > (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE) {
+            throw new IllegalArgumentException("저널 크기가 올바르지 않습니다: " + capacityRecords);
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        int capacityBytes = HEADER_SIZE + capacityRecords * RECORD_SIZE;
+
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+            CouponIssueJournal journal = new CouponIssueJournal(channel, buffer, capacityBytes);
+            journal.recover();
+            journal.syncThread.start();
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 레코드를 추가하고 순번을 반환 (awaitDurable에 전달), 가득 차 있으면 -1
+     */
+    public long append(long couponId, long userId, long timestamp) {
+        lock.lock();
+        try {
+            if (writePosition + RECORD_SIZE > capacityBytes) {
+                return -1;
+            }
+            int position = writePosition;
+            buffer.putLong(position, couponId);
+            buffer.putLong(position + 8, userId);
+            buffer.putLong(position + 16, timestamp);
+            buffer.putLong(position + 24, checksum(couponId, userId, timestamp, epoch));
+            writePosition = position + RECORD_SIZE;
+            written.signal();
+            return ++appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * sequence번 레코드까지 fsync될 때까지 대기, timeout이 지나면 false
+     */
+    public boolean awaitDurable(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+        if (durableSequence >= sequence) {
+            return true;
+        }
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = synced.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * fsync된 레코드 중 아직 반영되지 않은 것을 최대 maxEntries개 읽음 (tailer 전용)
+     */
+    public List<Entry> read(int maxEntries) {
+        int from = tailedPosition;
+        int to = Math.min(durablePosition, from + maxEntries * RECORD_SIZE);
+        List<Entry> entries = new ArrayList<>((to - from) / RECORD_SIZE);
+        for (int position = from; position < to; position += RECORD_SIZE) {
+            entries.add(new Entry(buffer.getLong(position), buffer.getLong(position + 8),
+                    buffer.getLong(position + 16)));
+        }
+        return entries;
+    }
+
+    /**
+     * read()로 읽은 레코드 count개의 반영이 끝났음을 헤더에 기록 (tailer 전용)
+     * 모든 레코드가 반영됐고 파일의 절반 이상을 썼으면 처음부터 다시 씀
+     */
+    public void markTailed(int count) {
+        lock.lock();
+        try {
+            tailedPosition += count * RECORD_SIZE;
+            if (tailedPosition == writePosition && tailedPosition - HEADER_SIZE >= (capacityBytes - HEADER_SIZE) / 2) {
+                epoch++;
+                writePosition = HEADER_SIZE;
+                durablePosition = HEADER_SIZE;
+                tailedPosition = HEADER_SIZE;
+                buffer.putLong(EPOCH_OFFSET, epoch);
+                buffer.putLong(TAILED_OFFSET, tailedPosition);
+                // 새 epoch 레코드가 fsync되기 전에 헤더가 먼저 디스크에 있어야 복구 시 유효하게 읽힘
+                buffer.force(0, HEADER_SIZE);
+                log.debug("[저널] 처음부터 다시 씀 - epoch: {}", epoch);
+                return;
+            }
+            buffer.putLong(TAILED_OFFSET, tailedPosition);
+        } finally {
+            lock.unlock();
+        }
+        // 헤더 반영 전에 죽으면 이미 반영된 레코드를 다시 읽음 -> 중복은 유니크 제약으로 건너뜀
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    /**
+     * fsync는 끝났지만 아직 반영되지 않은 레코드 수
+     */
+    public int pendingCount() {
+        return Math.max(0, durablePosition - tailedPosition) / RECORD_SIZE;
+    }
+
+    public int capacity() {
+        return (capacityBytes - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    public long syncCount() {
+        return syncCount;
+    }
+
+    public long syncedRecords() {
+        return syncedRecords;
+    }
+
+    /**
+     * sync 스레드를 멈추고 남은 레코드를 fsync한 뒤 파일을 닫음
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        syncThread.interrupt();
+        try {
+            syncThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        buffer.force();
+        channel.close();
+    }
+
+    private void recover() {
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+            // 새 파일
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            buffer.putLong(EPOCH_OFFSET, 0);
+            buffer.putLong(TAILED_OFFSET, HEADER_SIZE);
+            buffer.force(0, HEADER_SIZE);
+        } else if (buffer.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IllegalStateException("지원하지 않는 저널 버전: " + buffer.getInt(VERSION_OFFSET));
+        }
+
+        epoch = buffer.getLong(EPOCH_OFFSET);
+        long tailed = buffer.getLong(TAILED_OFFSET);
+        if (tailed < HEADER_SIZE || tailed > capacityBytes || (tailed - HEADER_SIZE) % RECORD_SIZE != 0) {
+            throw new IllegalStateException("저널 헤더가 손상됨 - tailedPosition: " + tailed);
+        }
+        tailedPosition = (int) tailed;
+
+        int position = tailedPosition;
+        while (position + RECORD_SIZE <= capacityBytes && isValid(position)) {
+            position += RECORD_SIZE;
+        }
+        writePosition = position;
+        durablePosition = position;
+
+        log.info("[저널] 복구 - epoch: {}, 반영 대기 레코드: {}", epoch, pendingCount());
+    }
+
+    private boolean isValid(int position) {
+        long couponId = buffer.getLong(position);
+        return couponId > 0 && buffer.getLong(position + 24)
+                == checksum(couponId, buffer.getLong(position + 8), buffer.getLong(position + 16), epoch);
+    }
+
+    private void syncLoop() {
+        while (running) {
+            int from;
+            int to;
+            long toSequence;
+            long epochAtSync;
+            lock.lock();
+            try {
+                while (durablePosition == writePosition) {
+                    if (!running) {
+                        return;
+                    }
+                    written.await();
+                }
+                from = durablePosition;
+                to = writePosition;
+                toSequence = appendedSequence;
+                epochAtSync = epoch;
+            } catch (InterruptedException e) {
+                // close() 호출 - 남은 레코드는 close()의 force()로 반영
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            buffer.force(from, to - from);
+
+            lock.lock();
+            try {
+                if (epoch == epochAtSync) {
+                    durablePosition = to;
+                    durableSequence = toSequence;
+                }
+                syncCount++;
+                syncedRecords += (to - from) / RECORD_SIZE;
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static long checksum(long couponId, long userId, long timestamp, long epoch) {
+        long hash = epoch * 0x9E3779B97F4A7C15L;
+        hash = mix(hash ^ couponId);
+        hash = mix(hash ^ userId);
+        return mix(hash ^ timestamp);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+
+    public record Entry(long couponId, long userId, long timestamp) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.coupon.domain.coupon.queue;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 쿠폰 대기열 저장소
+ *
+ * - 들어온 순서대로 정렬되어 있고, 맨 앞에서부터 N명씩 꺼냄
+ * - InMemoryCouponWaitingQueue: 서버 한 대 (기본값)
+ * - RedisCouponWaitingQueue: Redis ZSET, 여러 서버가 하나의 대기열 공유
+ *   (coupon.waiting-room.store=redis)
+ */
+public interface CouponWaitingQueue {
+
+    /**
+     * 대기열에 추가하고 순번(1부터)을 반환, 이미 대기 중이면 현재 순번 반환
+     */
+    long enqueue(Long couponId, Long userId);
+
+    /**
+     * 현재 순번 (1부터), 대기열에 없으면 0
+     */
+    long rank(Long couponId, Long userId);
+
+    /**
+     * 맨 앞에서부터 최대 count명을 꺼냄
+     */
+    List<Long> poll(Long couponId, int count);
+
+    long size(Long couponId);
+
+    /**
+     * 대기열 전체 삭제 (소진 시 남은 대기자를 한 번에 거절)
+     */
+    void clear(Long couponId);
+
+    /**
+     * 대기자가 없으면 활성 목록에서 제거 (스케줄러가 빈 대기열을 계속 확인하지 않도록)
+     */
+    void removeIfEmpty(Long couponId);
+
+    Set<Long> activeCouponIds();
+}
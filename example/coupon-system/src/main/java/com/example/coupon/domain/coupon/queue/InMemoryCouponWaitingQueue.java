@@ -0,0 +1,105 @@
+package com.example.coupon.domain.coupon.queue;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JVM 내부 대기열 (ConcurrentSkipListMap: 입장 번호 -> userId)
+ *
+ * - 입장 번호는 쿠폰별로 1씩 증가, 꺼낼 때는 항상 맨 앞에서만 꺼냄
+ * - 순번 = 내 입장 번호 - 다음에 꺼낼 입장 번호 + 1 -> O(1)
+ * - clear()는 쿠폰의 대기열 객체를 통째로 버림 -> O(1)
+ * - removeIfEmpty()가 빈 대기열 객체를 버리는 사이에 입장하면, 버려진 객체에 들어간 것을 확인하고 새 객체에 다시 입장
+ */
+@Component
+@ConditionalOnProperty(name = "coupon.waiting-room.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCouponWaitingQueue implements CouponWaitingQueue {
+
+    private final Map<Long, Line> lines = new ConcurrentHashMap<>();
+
+    @Override
+    public long enqueue(Long couponId, Long userId) {
+        while (true) {
+            Line line = lines.computeIfAbsent(couponId, id -> new Line());
+            Long ticket = line.ticketByUser.computeIfAbsent(userId, id -> {
+                long next = line.tail.incrementAndGet();
+                line.waiting.put(next, userId);
+                return next;
+            });
+            // 추가한 뒤에도 같은 객체면 removeIfEmpty()는 비어 있지 않은 것을 보게 됨
+            if (lines.get(couponId) == line) {
+                return line.rankOf(ticket);
+            }
+        }
+    }
+
+    @Override
+    public long rank(Long couponId, Long userId) {
+        Line line = lines.get(couponId);
+        if (line == null) {
+            return 0;
+        }
+        Long ticket = line.ticketByUser.get(userId);
+        return ticket == null ? 0 : line.rankOf(ticket);
+    }
+
+    @Override
+    public List<Long> poll(Long couponId, int count) {
+        Line line = lines.get(couponId);
+        List<Long> users = new ArrayList<>(count);
+        if (line == null) {
+            return users;
+        }
+
+        for (int i = 0; i < count; i++) {
+            Map.Entry<Long, Long> first = line.waiting.pollFirstEntry();
+            if (first == null) {
+                break;
+            }
+            line.head.accumulateAndGet(first.getKey() + 1, Math::max);
+            line.ticketByUser.remove(first.getValue());
+            users.add(first.getValue());
+        }
+        return users;
+    }
+
+    @Override
+    public long size(Long couponId) {
+        Line line = lines.get(couponId);
+        return line == null ? 0 : line.ticketByUser.size();
+    }
+
+    @Override
+    public void clear(Long couponId) {
+        lines.remove(couponId);
+    }
+
+    @Override
+    public void removeIfEmpty(Long couponId) {
+        lines.computeIfPresent(couponId, (id, line) -> line.waiting.isEmpty() ? null : line);
+    }
+
+    @Override
+    public Set<Long> activeCouponIds() {
+        return lines.keySet();
+    }
+
+    private static class Line {
+        private final ConcurrentSkipListMap<Long, Long> waiting = new ConcurrentSkipListMap<>();
+        private final Map<Long, Long> ticketByUser = new ConcurrentHashMap<>();
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong head = new AtomicLong(1);
+
+        long rankOf(long ticket) {
+            return Math.max(1, ticket - head.get() + 1);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.coupon.domain.coupon.queue;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis ZSET 대기열 (coupon.waiting-room.store=redis)
+ *
+ * - coupon:waiting:{couponId} ZSET, score = 입장 번호 -> ZRANK가 곧 순번
+ *   입장 번호는 INCR(coupon:waiting:seq:{couponId}) -> 서버 시계가 어긋나도 전체 서버에서 입장 순서 그대로
+ * - ZADD NX로 중복 입장 방지, ZPOPMIN(Lua 스크립트)으로 맨 앞에서 꺼냄
+ * - 여러 서버가 하나의 대기열을 공유 (서버마다 tick당 N명씩 꺼냄)
+ * - 대기열이 비면 Lua 스크립트로 활성 목록(coupon:waiting:active)에서 제거 (그사이 입장이 있으면 남김)
+ */
+@Component
+@ConditionalOnProperty(name = "coupon.waiting-room.store", havingValue = "redis")
+public class RedisCouponWaitingQueue implements CouponWaitingQueue {
+
+    private static final String WAITING_KEY = "coupon:waiting:";
+    private static final String ACTIVE_KEY = "coupon:waiting:active";
+    private static final String SEQ_KEY = "coupon:waiting:seq:";
+
+    private final RedisTemplate<String, Long> redisTemplate;
+    private final RedisScript<List<Long>> couponWaitingPollScript;
+    private final RedisScript<Long> couponWaitingPruneScript;
+
+    public RedisCouponWaitingQueue(
+            RedisTemplate<String, Long> redisTemplate,
+            RedisScript<List<Long>> couponWaitingPollScript,
+            RedisScript<Long> couponWaitingPruneScript) {
+        this.redisTemplate = redisTemplate;
+        this.couponWaitingPollScript = couponWaitingPollScript;
+        this.couponWaitingPruneScript = couponWaitingPruneScript;
+    }
+
+    @Override
+    public long enqueue(Long couponId, Long userId) {
+        Long ticket = redisTemplate.opsForValue().increment(SEQ_KEY + couponId);
+        redisTemplate.opsForZSet().addIfAbsent(WAITING_KEY + couponId, userId, ticket);
+        redisTemplate.opsForSet().add(ACTIVE_KEY, couponId);
+        return rank(couponId, userId);
+    }
+
+    @Override
+    public long rank(Long couponId, Long userId) {
+        Long rank = redisTemplate.opsForZSet().rank(WAITING_KEY + couponId, userId);
+        return rank == null ? 0 : rank + 1;
+    }
+
+    @Override
+    public List<Long> poll(Long couponId, int count) {
+        List<Long> userIds = redisTemplate.execute(couponWaitingPollScript, List.of(WAITING_KEY + couponId), count);
+        return userIds == null ? List.of() : userIds;
+    }
+
+    @Override
+    public long size(Long couponId) {
+        Long size = redisTemplate.opsForZSet().zCard(WAITING_KEY + couponId);
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * UNLINK: 대기자가 많아도 Redis가 백그라운드에서 삭제
+     */
+    @Override
+    public void clear(Long couponId) {
+        redisTemplate.unlink(List.of(WAITING_KEY + couponId, SEQ_KEY + couponId));
+        redisTemplate.opsForSet().remove(ACTIVE_KEY, couponId);
+    }
+
+    @Override
+    public void removeIfEmpty(Long couponId) {
+        redisTemplate.execute(couponWaitingPruneScript,
+                List.of(WAITING_KEY + couponId, ACTIVE_KEY, SEQ_KEY + couponId), couponId);
+    }
+
+    @Override
+    public Set<Long> activeCouponIds() {
+        Set<Long> couponIds = redisTemplate.opsForSet().members(ACTIVE_KEY);
+        return couponIds == null ? Set.of() : couponIds;
+    }
+}
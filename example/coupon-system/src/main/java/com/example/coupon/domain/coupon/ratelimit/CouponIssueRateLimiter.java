@@ -0,0 +1,16 @@
+package com.example.coupon.domain.coupon.ratelimit;
+
+/**
+ * 사용자별 발급 요청 수 제한 (토큰 버킷)
+ *
+ * - 사용자마다 capacity개까지 연속 요청 허용, 이후 초당 refill-per-second개씩 다시 채워짐
+ * - InMemoryCouponIssueRateLimiter: 서버별 버킷, Redis 왕복 없음 (기본값, coupon.rate-limit.store=memory)
+ * - RedisCouponIssueRateLimiter: 모든 서버가 버킷 공유 (coupon.rate-limit.store=redis)
+ */
+public interface CouponIssueRateLimiter {
+
+    /**
+     * 토큰이 있으면 1개 사용하고 true, 없으면 false
+     */
+    boolean tryAcquire(Long userId);
+}
@@ -0,0 +1,117 @@
+package com.example.coupon.domain.coupon.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * JVM 내부 토큰 버킷 (coupon.rate-limit.store=memory, 기본값)
+ *
+ * 동작 원리 (GCRA - 토큰 버킷과 같은 결과를 long 하나로 계산):
+ *   - 사용자마다 "버킷이 다시 가득 차는 시각(tat)"만 AtomicLong으로 저장
+ *   - 요청 1개 = tat를 토큰 1개 주기(1초 / refill-per-second)만큼 뒤로 미룸
+ *   - 미룬 tat가 지금부터 capacity개 주기보다 멀어지면 토큰 부족 -> 거절 (tat는 그대로)
+ *   - 락 없이 CAS 한 번으로 판단, 거절 시에는 쓰기도 없음
+ *
+ * 스트라이프:
+ *   - userId 해시로 STRIPES개 Map 중 하나에 버킷 저장
+ *   - 정리 작업은 스트라이프 단위로 순회해서 발급 요청과 같은 Map을 오래 붙잡지 않음
+ *   - 버킷이 가득 찬 사용자(tat <= 지금)는 새 버킷과 같으므로 제거
+ *
+ * 주의:
+ *   - 서버별 버킷이므로 서버 N대면 사용자당 최대 N배까지 허용
+ *   - 정리와 동시에 들어온 요청은 제거된 버킷에서 토큰을 쓸 수 있음 (최대 1개 더 허용)
+ *
+ * 메트릭:
+ *   - coupon.issue.rate-limit.buckets: 추적 중인 사용자 수
+ */
+@Component
+@ConditionalOnProperty(name = "coupon.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCouponIssueRateLimiter implements CouponIssueRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final List<Map<Long, AtomicLong>> stripes;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public InMemoryCouponIssueRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${coupon.rate-limit.capacity:5}") int capacity,
+            @Value("${coupon.rate-limit.refill-per-second:1}") double refillPerSecond) {
+        this(meterRegistry, capacity, refillPerSecond, System::nanoTime);
+    }
+
+    InMemoryCouponIssueRateLimiter(MeterRegistry meterRegistry, int capacity, double refillPerSecond,
+                                   LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                    "coupon.rate-limit.capacity는 1 이상, refill-per-second는 0보다 커야 합니다: "
+                            + capacity + ", " + refillPerSecond);
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.nanoClock = nanoClock;
+        this.stripes = Stream.<Map<Long, AtomicLong>>generate(ConcurrentHashMap::new).limit(STRIPES).toList();
+
+        // 생성 중인 this 대신 스트라이프 목록을 게이지에 넘김
+        Gauge.builder("coupon.issue.rate-limit.buckets", stripes, InMemoryCouponIssueRateLimiter::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean tryAcquire(Long userId) {
+        // 새 버킷은 tat = 지금 (가득 찬 상태)
+        AtomicLong theoreticalArrival = stripeOf(userId)
+                .computeIfAbsent(userId, id -> new AtomicLong(nanoClock.getAsLong()));
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = theoreticalArrival.get();
+            // nanoTime은 overflow될 수 있으므로 대소 비교 대신 차이로 비교
+            long next = (current - now > 0 ? current : now) + emissionIntervalNanos;
+            if (next - now > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 가득 찬 버킷 정리
+     */
+    @Scheduled(fixedDelayString = "${coupon.rate-limit.cleanup-interval-ms:60000}")
+    public void evictFullBuckets() {
+        for (Map<Long, AtomicLong> stripe : stripes) {
+            long now = nanoClock.getAsLong();
+            stripe.values().removeIf(theoreticalArrival -> theoreticalArrival.get() - now <= 0);
+        }
+    }
+
+    public int size() {
+        return size(stripes);
+    }
+
+    private static int size(List<Map<Long, AtomicLong>> stripes) {
+        return stripes.stream().mapToInt(Map::size).sum();
+    }
+
+    private Map<Long, AtomicLong> stripeOf(Long userId) {
+        return stripes.get(Math.floorMod(Long.hashCode(userId), STRIPES));
+    }
+}
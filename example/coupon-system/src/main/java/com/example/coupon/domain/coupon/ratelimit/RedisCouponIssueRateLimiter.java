@@ -0,0 +1,69 @@
+package com.example.coupon.domain.coupon.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Redis 토큰 버킷 (coupon.rate-limit.store=redis)
+ *
+ * 동작 원리:
+ *   - coupon_rate_limit.lua로 사용자 키(coupon:rate:{userId}) 하나를 읽고 갱신 (Redis 왕복 1번)
+ *   - 계산 방식은 InMemoryCouponIssueRateLimiter와 같음 (tat만 저장), 시각은 Redis 서버 기준
+ *   - 키는 버킷이 가득 차는 시각에 만료되므로 정리 작업 없음
+ *
+ * 장점:
+ *   - 서버 수와 관계없이 사용자당 한도가 정확함
+ *
+ * 단점:
+ *   - 거절되는 요청도 Redis 왕복 1번
+ *
+ * 주의:
+ *   - Redis 장애 시에는 허용 (요청 수 제한 때문에 발급 자체가 막히지 않도록)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "coupon.rate-limit.store", havingValue = "redis")
+public class RedisCouponIssueRateLimiter implements CouponIssueRateLimiter {
+
+    static final String KEY_PREFIX = "coupon:rate:";
+
+    private final RedisTemplate<String, Long> redisTemplate;
+    private final RedisScript<Long> couponRateLimitScript;
+    private final long emissionIntervalMillis;
+    private final long burstToleranceMillis;
+
+    public RedisCouponIssueRateLimiter(
+            RedisTemplate<String, Long> redisTemplate,
+            RedisScript<Long> couponRateLimitScript,
+            @Value("${coupon.rate-limit.capacity:5}") int capacity,
+            @Value("${coupon.rate-limit.refill-per-second:1}") double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0 || refillPerSecond > 1000) {
+            throw new IllegalArgumentException(
+                    "coupon.rate-limit.capacity는 1 이상, refill-per-second는 0 ~ 1000 사이여야 합니다: "
+                            + capacity + ", " + refillPerSecond);
+        }
+        this.redisTemplate = redisTemplate;
+        this.couponRateLimitScript = couponRateLimitScript;
+        this.emissionIntervalMillis = (long) (1000 / refillPerSecond);
+        this.burstToleranceMillis = emissionIntervalMillis * capacity;
+    }
+
+    @Override
+    public boolean tryAcquire(Long userId) {
+        try {
+            Long allowed = redisTemplate.execute(couponRateLimitScript, List.of(KEY_PREFIX + userId),
+                    emissionIntervalMillis, burstToleranceMillis);
+            return allowed == null || allowed == 1L;
+        } catch (DataAccessException e) {
+            log.warn("[요청 수 제한] Redis 실패로 허용 - userId: {}", userId, e);
+            return true;
+        }
+    }
+}
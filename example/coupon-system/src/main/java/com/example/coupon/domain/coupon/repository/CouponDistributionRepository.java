@@ -0,0 +1,11 @@
+package com.example.coupon.domain.coupon.repository;
+
+import com.example.coupon.domain.coupon.entity.CouponDistribution;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CouponDistributionRepository extends JpaRepository<CouponDistribution, Long> {
+
+    List<CouponDistribution> findByStatus(CouponDistribution.Status status);
+}
@@ -0,0 +1,67 @@
+package com.example.coupon.domain.coupon.repository;
+
+import com.example.coupon.domain.coupon.entity.CouponIssue;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * JDBC batch INSERT용 CouponIssue id 발급
+ *
+ * - JPA 저장과 같은 Hibernate id 생성기(coupon_issue_seq, pooled-lo)를 그대로 사용
+ *   -> 두 경로가 같은 블록에서 id를 나눠 받으므로 충돌 없음
+ * - DB 왕복은 CouponIssue.ID_ALLOCATION_SIZE개마다 1번
+ *   (H2: 시퀀스, MySQL: 시퀀스가 없으므로 Hibernate가 coupon_issue_seq 테이블로 대신함)
+ * - 진행 중인 트랜잭션이 있으면 그 커넥션을 사용 (커넥션 풀에서 하나를 더 빌리지 않음)
+ */
+@Component
+public class CouponIssueIdGenerator {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final BeforeExecutionGenerator generator;
+    private final DataSource dataSource;
+
+    public CouponIssueIdGenerator(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (BeforeExecutionGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(CouponIssue.class)
+                .getGenerator();
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * INSERT 순서대로 꺼내 쓸 id count개
+     */
+    public PrimitiveIterator.OfLong nextIds(int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return Arrays.stream(ids).iterator();
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (StatelessSession session = sessionFactory.withStatelessOptions().connection(connection)
+                .openStatelessSession()) {
+            SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) generator.generate(implementor, null, null, EventType.INSERT)).longValue();
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return Arrays.stream(ids).iterator();
+    }
+
+    public long nextId() {
+        return nextIds(1).nextLong();
+    }
+}
@@ -4,8 +4,10 @@ import com.example.coupon.domain.coupon.entity.Coupon;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -17,4 +19,24 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT c FROM Coupon c WHERE c.id = :id")
     Optional<Coupon> findByIdWithPessimisticLock(@Param("id") Long id);
+
+    /**
+     * 조건부 UPDATE로 발급 수량 증가 (남은 수량이 있을 때만)
+     * 영향받은 row 수가 0이면 소진 (또는 쿠폰 없음)
+     *
+     * CouponIssue는 시퀀스 id라 persist 시점에 INSERT하지 않음
+     * -> 영속성 컨텍스트를 비우기 전에 flush해야 같은 트랜잭션의 발급 이력이 사라지지 않음
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Coupon c SET c.issuedQuantity = c.issuedQuantity + 1 " +
+            "WHERE c.id = :id AND c.issuedQuantity < c.totalQuantity")
+    int increaseIssuedQuantity(@Param("id") Long id);
+
+    /**
+     * 발급 수량을 한 번에 n개 증가 (쿼터 리스 정산 등)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Coupon c SET c.issuedQuantity = c.issuedQuantity + :count WHERE c.id = :id")
+    int increaseIssuedQuantityBy(@Param("id") Long id, @Param("count") int count);
 }
@@ -0,0 +1,77 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.cache.CouponMetadataCache;
+import com.example.coupon.domain.coupon.entity.CouponIssue;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Step 5: 조건부 UPDATE - 락 조회 없이 UPDATE 한 문장으로 수량 차감
+ *
+ * 동작 원리:
+ *   UPDATE coupon SET issued_quantity = issued_quantity + 1
+ *    WHERE id = ? AND issued_quantity < total_quantity
+ *   -> 영향받은 row 수가 1이면 발급 성공, 0이면 소진
+ *
+ * 비관적 락과의 차이:
+ *   - 비관적 락: SELECT ... FOR UPDATE 후 중복 체크, INSERT까지 row 락을 잡고 있음
+ *   - 조건부 UPDATE: 중복 체크와 INSERT를 먼저 하고 UPDATE는 마지막에 실행
+ *     -> row 락은 UPDATE부터 커밋까지만 잡힘 (락 보유 시간 최소화)
+ *   - 소진되면 INSERT까지 롤백되므로 초과 발급 없음
+ *
+ * 장점:
+ *   - 추가 인프라 없이 DB만으로 정합성 보장
+ *   - 락 대기 시간이 짧아 비관적 락보다 처리량이 높음
+ *
+ * 단점:
+ *   - 여전히 같은 row에 UPDATE가 몰리므로 DB가 병목
+ *   - 소진 이후 요청도 INSERT 후 롤백하는 비용이 듦
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponConditionalUpdateService {
+
+    private final CouponRepository couponRepository;
+    private final CouponIssueRepository couponIssueRepository;
+    private final CouponMetadataCache couponMetadataCache;
+    private final CouponIssueBloomFilter couponIssueBloomFilter;
+    private final CouponSoldOutRegistry soldOutRegistry;
+
+    @Transactional
+    public void issue(Long couponId, Long userId) {
+        if (couponIssueBloomFilter.isAlreadyIssued(couponId, userId)) {
+            throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
+        }
+
+        // 유니크 제약 (coupon_id, user_id)이 최종 중복 방어선
+        try {
+            couponIssueRepository.saveAndFlush(
+                    CouponIssue.builder()
+                            .couponId(couponId)
+                            .userId(userId)
+                            .build()
+            );
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
+        }
+
+        // row 락은 여기서부터 커밋까지만 잡힘
+        if (couponRepository.increaseIssuedQuantity(couponId) == 0) {
+            // 쿠폰이 없으면 COUPON_NOT_FOUND
+            couponMetadataCache.get(couponId);
+            soldOutRegistry.markSoldOut(couponId);
+            throw new BusinessException(ErrorCode.COUPON_SOLD_OUT);
+        }
+        couponIssueBloomFilter.record(couponId, userId);
+
+        log.info("[조건부 UPDATE] 쿠폰 발급 - couponId: {}, userId: {}", couponId, userId);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 쿠폰별 Redis 수량 카운터 방식 - 중앙 카운터와 분할 카운터 중 하나만 사용
+ *
+ * WHY 섞으면 안 되는가?
+ *   - 중앙 카운터(coupon:count:{id}, 발급 수량)와 분할 카운터(coupon:count:{id}:{k}, 남은 수량)는 서로 모름
+ *   - 같은 쿠폰을 /atomic, /script, /lease, /reactive와 /split으로 함께 발급하면 각자 totalQuantity까지 허용
+ *     -> 최대 2배 초과 발급
+ *
+ * 동작 원리:
+ *   1. 쿠폰을 처음 발급하는 방식이 coupon:mode:{id}를 SETNX로 선점
+ *   2. 이후 다른 방식의 요청은 COUPON_COUNTER_MODE_MISMATCH로 거절
+ *   3. 방식은 바뀌지 않으므로 서버 로컬 Map에 기억 -> 두 번째 요청부터 Redis 왕복 없음
+ *
+ * 주의:
+ *   - initCouponCount()가 방식을 지움 (새 쿠폰), 이미 기억한 다른 서버의 로컬 값은 그대로
+ */
+@Component
+public class CouponCounterMode {
+
+    static final String MODE_KEY = "coupon:mode:";
+
+    public enum Mode {
+        CENTRAL,  // coupon:count:{id} 하나 (atomic, script, write-behind, lease, reactive)
+        SPLIT     // coupon:count:{id}:{k} 샤드 (split)
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Map<Long, Mode> modes = new ConcurrentHashMap<>();
+
+    public CouponCounterMode(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * 쿠폰의 방식이 mode가 아니면 COUPON_COUNTER_MODE_MISMATCH (정해지지 않았으면 mode로 정함)
+     */
+    public void claim(Long couponId, Mode mode) {
+        Mode current = modes.get(couponId);
+        if (current == null) {
+            stringRedisTemplate.opsForValue().setIfAbsent(MODE_KEY + couponId, mode.name());
+            current = modeOf(couponId);
+        }
+        if (current != mode) {
+            throw new BusinessException(ErrorCode.COUPON_COUNTER_MODE_MISMATCH);
+        }
+    }
+
+    /**
+     * 로컬에 기억한 방식으로만 판단 (Redis 왕복 없음)
+     * - true: 이미 mode로 정해짐
+     * - false: 아직 모름 -> claim() 필요
+     */
+    public boolean isClaimed(Long couponId, Mode mode) {
+        Mode current = modes.get(couponId);
+        if (current != null && current != mode) {
+            throw new BusinessException(ErrorCode.COUPON_COUNTER_MODE_MISMATCH);
+        }
+        return current == mode;
+    }
+
+    /**
+     * 정해진 방식, 아직 발급한 적이 없으면 null
+     */
+    public Mode modeOf(Long couponId) {
+        Mode current = modes.get(couponId);
+        if (current != null) {
+            return current;
+        }
+        String value = stringRedisTemplate.opsForValue().get(MODE_KEY + couponId);
+        if (value == null) {
+            return null;
+        }
+        Mode mode = Mode.valueOf(value);
+        modes.putIfAbsent(couponId, mode);
+        return mode;
+    }
+
+    /**
+     * 쿠폰 생성 시 호출 - 첫 발급 방식이 다시 선점
+     */
+    public void reset(Long couponId) {
+        stringRedisTemplate.delete(MODE_KEY + couponId);
+        modes.remove(couponId);
+    }
+}
@@ -0,0 +1,490 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.dto.CouponDistributionResponse;
+import com.example.coupon.domain.coupon.entity.CouponDistribution;
+import com.example.coupon.domain.coupon.repository.CouponDistributionRepository;
+import com.example.coupon.domain.coupon.repository.CouponIssueIdGenerator;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.domain.coupon.store.IssuedUserStore;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쿠폰 일괄 배포: 미리 선정된 사용자 목록(최대 수백만 명)에게 /issue를 반복 호출하지 않고 한 번에 발급
+ *
+ * 동작 원리:
+ *   1. 업로드된 사용자 목록(줄마다 userId 하나)을 메모리에 올리지 않고 로컬 파일로 저장 -> 작업 생성 후 바로 응답
+ *   2. 배포 스레드가 파일을 chunkSize줄씩 읽어서 chunk마다 처리
+ *      - chunk 안의 중복 + 이미 발급받은 사용자(IN 조회 1번)를 제외
+ *      - Redis 발급 카운터가 적재된 쿠폰이면 chunk 수량을 카운터에서 먼저 예약 (Lua 스크립트 1번)
+ *        카운터에는 DB 저장 전 발급, Write-Behind 저장 대기분, 쿼터 리스 예약분이 포함되어 있으므로 DB 수량만 보면 초과 발급됨
+ *      - 트랜잭션 하나에서 Coupon 행을 잠그고 남은 수량과 예약 수량 안에서 chunk 전체를 한 번에 발급
+ *        (issued_quantity + n UPDATE 1번, CouponIssue JDBC batch INSERT)
+ *      - 진행 위치(처리한 줄 수, 발급/중복/잘못된 줄 수)를 같은 트랜잭션에서 갱신
+ *      - 쓰지 않은 예약 수량은 커밋 후 카운터에 반납 (트랜잭션이 실패하면 전부 반납)
+ *   3. 남은 수량보다 대상이 많으면 앞에서부터 남은 수량만큼만 발급하고 SOLD_OUT으로 종료
+ *
+ * 효과:
+ *   - 요청 100만 번 (요청마다 락/조회/INSERT) -> chunk 1,000개 (chunk마다 조회 1번, UPDATE 1번, batch INSERT)
+ *
+ * 복구:
+ *   - 발급과 진행 위치가 같은 트랜잭션이므로, 중단되면 마지막으로 커밋된 chunk 다음 줄부터 이어서 처리
+ *   - 서버 종료로 멈춘 작업(RUNNING)은 재시작 시 자동으로, 오류로 멈춘 작업(FAILED)은 resume으로 재개
+ *
+ * 주의:
+ *   - 목록 파일은 업로드받은 서버에만 있으므로 그 서버가 재개 (파일이 없는 서버는 건너뜀)
+ *   - 작업은 배포 스레드 하나에서 순서대로 실행 (배포가 발급 API의 DB 커넥션을 다 쓰지 않도록)
+ *   - 중복 제외 조회는 Coupon 행 잠금 전이라, 그사이 다른 경로로 발급된 사용자가 있으면 유니크 제약 위반
+ *     -> 같은 chunk를 건별 INSERT로 다시 처리하면서 중복은 건너뜀 (실패한 문장만 취소되는 MySQL/H2 기준)
+ *   - 예약 수량 반납이 실패하면 카운터가 DB보다 큰 상태로 남고, CouponIssueReconciler가 grace 이후 보정
+ */
+@Slf4j
+@Service
+public class CouponDistributionService {
+
+    private static final String SELECT_COUPON_FOR_UPDATE_SQL =
+            "SELECT total_quantity, issued_quantity FROM coupon WHERE id = ? FOR UPDATE";
+    private static final String INCREASE_ISSUED_SQL =
+            "UPDATE coupon SET issued_quantity = issued_quantity + ? WHERE id = ?";
+    private static final String ISSUED_USERS_IN_SQL =
+            "SELECT user_id FROM coupon_issue WHERE coupon_id = ? AND user_id IN (%s)";
+    private static final String INSERT_ISSUE_SQL =
+            "INSERT INTO coupon_issue (id, coupon_id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String ADVANCE_SQL =
+            "UPDATE coupon_distribution SET processed_lines = processed_lines + ?, issued_count = issued_count + ?, "
+                    + "duplicate_count = duplicate_count + ?, invalid_count = invalid_count + ?, updated_at = ? "
+                    + "WHERE id = ?";
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE coupon_distribution SET status = ?, updated_at = ? WHERE id = ?";
+
+    private final CouponRepository couponRepository;
+    private final CouponDistributionRepository distributionRepository;
+    private final CouponIssueBloomFilter couponIssueBloomFilter;
+    private final IssuedUserStore issuedUserStore;
+    private final CouponRedisAtomicService redisAtomicService;
+    private final JdbcTemplate jdbcTemplate;
+    private final CouponIssueIdGenerator couponIssueIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final int chunkSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "coupon-distribution");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Long> activeDistributions = ConcurrentHashMap.newKeySet();
+
+    public CouponDistributionService(
+            CouponRepository couponRepository,
+            CouponDistributionRepository distributionRepository,
+            CouponIssueBloomFilter couponIssueBloomFilter,
+            IssuedUserStore issuedUserStore,
+            CouponRedisAtomicService redisAtomicService,
+            JdbcTemplate jdbcTemplate,
+            CouponIssueIdGenerator couponIssueIdGenerator,
+            TransactionTemplate transactionTemplate,
+            @Value("${coupon.distribution.dir:./data/distributions}") String directory,
+            @Value("${coupon.distribution.chunk-size:1000}") int chunkSize) {
+        this.couponRepository = couponRepository;
+        this.distributionRepository = distributionRepository;
+        this.couponIssueBloomFilter = couponIssueBloomFilter;
+        this.issuedUserStore = issuedUserStore;
+        this.redisAtomicService = redisAtomicService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.couponIssueIdGenerator = couponIssueIdGenerator;
+        this.transactionTemplate = transactionTemplate;
+        this.directory = Path.of(directory);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 사용자 목록(줄마다 userId 하나)을 파일로 저장하고 배포 시작
+     */
+    public CouponDistributionResponse start(Long couponId, InputStream userIds) {
+        validateCoupon(couponId);
+        Path file = newSourceFile();
+        long totalLines = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(userIds, StandardCharsets.UTF_8));
+             BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                writer.write(line);
+                writer.newLine();
+                totalLines++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("배포 대상 파일을 저장할 수 없습니다: " + file, e);
+        }
+        return submitNew(couponId, file, totalLines);
+    }
+
+    public CouponDistributionResponse start(Long couponId, List<Long> userIds) {
+        validateCoupon(couponId);
+        Path file = newSourceFile();
+        try {
+            Files.write(file, userIds.stream().map(String::valueOf).toList(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("배포 대상 파일을 저장할 수 없습니다: " + file, e);
+        }
+        return submitNew(couponId, file, userIds.size());
+    }
+
+    /**
+     * 진행 상황 조회
+     */
+    public CouponDistributionResponse get(Long couponId, Long distributionId) {
+        return CouponDistributionResponse.from(find(couponId, distributionId));
+    }
+
+    /**
+     * 오류로 멈춘 작업을 마지막으로 커밋된 chunk 다음부터 재개 (끝난 작업은 그대로)
+     */
+    public CouponDistributionResponse resume(Long couponId, Long distributionId) {
+        CouponDistribution distribution = find(couponId, distributionId);
+        if (distribution.getStatus() == CouponDistribution.Status.FAILED
+                || distribution.getStatus() == CouponDistribution.Status.RUNNING) {
+            updateStatus(distributionId, CouponDistribution.Status.RUNNING);
+            submit(distributionId);
+        }
+        return get(couponId, distributionId);
+    }
+
+    /**
+     * 서버 종료로 멈춘 작업 재개 (스키마가 준비된 뒤 실행되도록 ApplicationReadyEvent 사용)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        distributionRepository.findByStatus(CouponDistribution.Status.RUNNING)
+                .forEach(distribution -> submit(distribution.getId()));
+    }
+
+    /**
+     * 진행 중인 chunk까지만 처리하고 멈춤 -> 재시작 시 다음 chunk부터 재개
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private CouponDistributionResponse submitNew(Long couponId, Path file, long totalLines) {
+        CouponDistribution distribution = distributionRepository.save(
+                CouponDistribution.builder()
+                        .couponId(couponId)
+                        .sourceFile(file.toAbsolutePath().toString())
+                        .totalLines(totalLines)
+                        .build()
+        );
+        submit(distribution.getId());
+        log.info("[일괄 배포] 시작 - couponId: {}, distributionId: {}, lines: {}",
+                couponId, distribution.getId(), totalLines);
+        return CouponDistributionResponse.from(distribution);
+    }
+
+    private void submit(Long distributionId) {
+        if (!activeDistributions.add(distributionId)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                run(distributionId);
+            } finally {
+                activeDistributions.remove(distributionId);
+            }
+        });
+    }
+
+    private void run(Long distributionId) {
+        CouponDistribution distribution = distributionRepository.findById(distributionId).orElse(null);
+        if (distribution == null) {
+            return;
+        }
+        Path file = Path.of(distribution.getSourceFile());
+        if (!Files.exists(file)) {
+            log.warn("[일괄 배포] 목록 파일이 이 서버에 없어 건너뜀 - distributionId: {}", distributionId);
+            return;
+        }
+
+        Long couponId = distribution.getCouponId();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (long skipped = 0; skipped < distribution.getProcessedLines(); skipped++) {
+                reader.readLine();
+            }
+
+            List<String> lines = new ArrayList<>(chunkSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                lines.clear();
+                String line;
+                while (lines.size() < chunkSize && (line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+                if (lines.isEmpty()) {
+                    updateStatus(distributionId, CouponDistribution.Status.COMPLETED);
+                    log.info("[일괄 배포] 완료 - distributionId: {}", distributionId);
+                    return;
+                }
+
+                ChunkResult result = distribute(couponId, distributionId, lines);
+                afterIssued(couponId, result.issuedUserIds());
+                if (result.soldOut()) {
+                    // 쿼터 리스가 들고 있는 수량은 반납될 수 있으므로 정산된 뒤에만 소진 등록
+                    redisAtomicService.markSoldOutIfSettled(couponId);
+                    updateStatus(distributionId, CouponDistribution.Status.SOLD_OUT);
+                    log.info("[일괄 배포] 수량 소진으로 종료 - distributionId: {}", distributionId);
+                    return;
+                }
+            }
+            log.info("[일괄 배포] 중단, 재시작 시 이어서 진행 - distributionId: {}", distributionId);
+        } catch (IOException | RuntimeException e) {
+            log.error("[일괄 배포] 실패, resume으로 재개 가능 - distributionId: {}", distributionId, e);
+            updateStatus(distributionId, CouponDistribution.Status.FAILED);
+        }
+    }
+
+    /**
+     * chunk 하나: 중복 제외 -> Redis 카운터에서 수량 예약 -> 트랜잭션에서 발급 -> 남은 예약 반납
+     */
+    private ChunkResult distribute(Long couponId, Long distributionId, List<String> lines) {
+        Chunk chunk = Chunk.parse(lines);
+        if (!chunk.candidates().isEmpty()) {
+            chunk.skipIssued(issuedUsers(couponId, chunk.candidates()));
+        }
+
+        int reserved = redisAtomicService.reserveIssuedCount(couponId, chunk.candidates().size());
+        ChunkResult result;
+        try {
+            try {
+                result = transactionTemplate.execute(status ->
+                        distributeChunk(couponId, distributionId, chunk, reserved, false));
+            } catch (DataIntegrityViolationException e) {
+                // 중복 제외 조회 이후 다른 경로로 발급된 사용자가 섞여 있음 -> 건별로 다시 저장
+                log.warn("[일괄 배포] 중복 항목 포함, 건별 저장으로 전환 - distributionId: {}", distributionId);
+                result = transactionTemplate.execute(status ->
+                        distributeChunk(couponId, distributionId, chunk, reserved, true));
+            }
+        } catch (RuntimeException e) {
+            releaseReserved(couponId, reserved);
+            throw e;
+        }
+        releaseReserved(couponId, reserved - result.issuedUserIds().size());
+        return result;
+    }
+
+    /**
+     * Coupon 행을 잠그고 남은 수량과 예약 수량 안에서 발급 -> 진행 위치 갱신 (한 트랜잭션)
+     */
+    private ChunkResult distributeChunk(Long couponId, Long distributionId, Chunk chunk, int reserved,
+                                        boolean oneByOne) {
+        // Coupon 행 잠금은 이 chunk의 트랜잭션 동안만 유지
+        Map<String, Object> coupon = jdbcTemplate.queryForMap(SELECT_COUPON_FOR_UPDATE_SQL, couponId);
+        int remaining = ((Number) coupon.get("total_quantity")).intValue()
+                - ((Number) coupon.get("issued_quantity")).intValue();
+        int limit = Math.max(0, Math.min(remaining, reserved));
+
+        List<Long> issuedUserIds = new ArrayList<>(limit);
+        int duplicates = chunk.duplicates();
+        if (oneByOne) {
+            duplicates += insertOneByOne(couponId, chunk.candidates(), limit, issuedUserIds);
+        } else {
+            issuedUserIds.addAll(chunk.candidates().stream().limit(limit).toList());
+            insertBatch(couponId, issuedUserIds);
+        }
+
+        if (!issuedUserIds.isEmpty()) {
+            jdbcTemplate.update(INCREASE_ISSUED_SQL, issuedUserIds.size(), couponId);
+        }
+        jdbcTemplate.update(ADVANCE_SQL, chunk.lines(), issuedUserIds.size(), duplicates, chunk.invalid(),
+                Timestamp.valueOf(LocalDateTime.now()), distributionId);
+
+        // DB 수량을 다 썼거나, Redis 카운터가 요청보다 적게 내준 예약을 다 썼으면 소진
+        boolean quotaExhausted = reserved < chunk.candidates().size() && issuedUserIds.size() >= reserved;
+        return new ChunkResult(issuedUserIds, remaining <= issuedUserIds.size() || quotaExhausted);
+    }
+
+    private void insertBatch(Long couponId, List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        PrimitiveIterator.OfLong ids = couponIssueIdGenerator.nextIds(userIds.size());
+        jdbcTemplate.batchUpdate(INSERT_ISSUE_SQL, userIds, chunkSize, (ps, userId) -> {
+            ps.setLong(1, ids.nextLong());
+            ps.setLong(2, couponId);
+            ps.setLong(3, userId);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    /**
+     * 건별 INSERT, 이미 발급된 사용자는 건너뛰고 다음 후보로 채움 (limit개까지)
+     * @return 건너뛴 사용자 수
+     */
+    private int insertOneByOne(Long couponId, Set<Long> candidates, int limit, List<Long> issuedUserIds) {
+        if (limit == 0) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        PrimitiveIterator.OfLong ids = couponIssueIdGenerator.nextIds(candidates.size());
+        int skipped = 0;
+        for (Long userId : candidates) {
+            if (issuedUserIds.size() >= limit) {
+                break;
+            }
+            try {
+                jdbcTemplate.update(INSERT_ISSUE_SQL, ids.nextLong(), couponId, userId, now, now);
+                issuedUserIds.add(userId);
+            } catch (DuplicateKeyException e) {
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * 예약했지만 발급하지 않은 수량 반납 (실패해도 발급 결과에는 영향 없음, 대조 작업이 보정)
+     */
+    private void releaseReserved(Long couponId, int count) {
+        try {
+            redisAtomicService.releaseIssuedCount(couponId, count);
+        } catch (DataAccessException e) {
+            log.warn("[일괄 배포] 예약 수량 반납 실패, 대조 작업이 보정 - couponId: {}, count: {}", couponId, count, e);
+        }
+    }
+
+    private Set<Long> issuedUsers(Long couponId, Set<Long> userIds) {
+        String placeholders = String.join(",", Collections.nCopies(userIds.size(), "?"));
+        List<Object> args = new ArrayList<>(userIds.size() + 1);
+        args.add(couponId);
+        args.addAll(userIds);
+        return new HashSet<>(jdbcTemplate.queryForList(
+                String.format(ISSUED_USERS_IN_SQL, placeholders), Long.class, args.toArray()));
+    }
+
+    /**
+     * 커밋 이후 다른 발급 전략의 중복 체크에 반영 (수량은 예약할 때 이미 반영됨)
+     */
+    private void afterIssued(Long couponId, List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        for (Long userId : userIds) {
+            couponIssueBloomFilter.record(couponId, userId);
+            issuedUserStore.add(couponId, userId);
+        }
+    }
+
+    private void updateStatus(Long distributionId, CouponDistribution.Status status) {
+        jdbcTemplate.update(UPDATE_STATUS_SQL, status.name(), Timestamp.valueOf(LocalDateTime.now()), distributionId);
+    }
+
+    private CouponDistribution find(Long couponId, Long distributionId) {
+        return distributionRepository.findById(distributionId)
+                .filter(distribution -> distribution.getCouponId().equals(couponId))
+                .orElseThrow(() -> new BusinessException(ErrorCode.DISTRIBUTION_NOT_FOUND));
+    }
+
+    private void validateCoupon(Long couponId) {
+        if (!couponRepository.existsById(couponId)) {
+            throw new BusinessException(ErrorCode.COUPON_NOT_FOUND);
+        }
+    }
+
+    private Path newSourceFile() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("배포 디렉터리를 만들 수 없습니다: " + directory, e);
+        }
+        return directory.resolve("distribution-" + UUID.randomUUID() + ".txt");
+    }
+
+    private record ChunkResult(List<Long> issuedUserIds, boolean soldOut) {
+    }
+
+    /**
+     * 읽은 줄을 userId 후보로 변환 (chunk 안의 중복과 잘못된 줄은 제외하고 개수만 셈)
+     */
+    private static final class Chunk {
+
+        private final Set<Long> candidates = new LinkedHashSet<>();
+        private final int lines;
+        private int invalid;
+        private int duplicates;
+
+        private Chunk(int lines) {
+            this.lines = lines;
+        }
+
+        static Chunk parse(List<String> lines) {
+            Chunk chunk = new Chunk(lines.size());
+            for (String line : lines) {
+                try {
+                    chunk.candidates.add(Long.parseLong(line.trim()));
+                } catch (NumberFormatException e) {
+                    chunk.invalid++;
+                }
+            }
+            chunk.duplicates = lines.size() - chunk.invalid - chunk.candidates.size();
+            return chunk;
+        }
+
+        void skipIssued(Set<Long> issued) {
+            candidates.removeAll(issued);
+            duplicates += issued.size();
+        }
+
+        Set<Long> candidates() {
+            return candidates;
+        }
+
+        int lines() {
+            return lines;
+        }
+
+        int invalid() {
+            return invalid;
+        }
+
+        int duplicates() {
+            return duplicates;
+        }
+    }
+}
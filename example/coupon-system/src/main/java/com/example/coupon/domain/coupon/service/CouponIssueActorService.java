@@ -0,0 +1,418 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.cache.CouponMetadataCache;
+import com.example.coupon.domain.coupon.repository.CouponIssueIdGenerator;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import com.example.coupon.global.util.MpscRingBuffer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-Writer 발급: 쿠폰마다 담당 스레드 1개가 수량과 발급 사용자를 혼자 관리
+ *
+ * 동작 원리:
+ *   1. couponId 해시로 N개 mailbox 중 하나를 고름 -> 같은 쿠폰은 항상 같은 mailbox
+ *   2. 요청은 mailbox의 링 버퍼에 넣고 결과(Future)를 기다림
+ *   3. mailbox 스레드가 최대 maxBatchSize개를 꺼내서 순서대로 판단
+ *      - 쿠폰 상태(발급 수량, 발급 사용자 Set)는 이 스레드만 읽고 씀 -> 락, CAS, volatile 없음
+ *      - 처음 보는 쿠폰은 DB에서 발급 수량과 발급 사용자를 한 번 적재
+ *   4. 허용된 요청을 트랜잭션 하나로 저장 (JDBC batch INSERT + issued_quantity + n)
+ *   5. 커밋 후 요청마다 결과(성공, 중복, 소진)로 Future 완료
+ *
+ * 다른 방식과의 차이:
+ *   - 비관적 락 / Redis 분산 락: 요청마다 락 획득 + 트랜잭션 1개, 대기 스레드는 락에서 경쟁
+ *   - Single-Writer: 경쟁 지점은 링 버퍼 칸 예약(tail CAS) 하나, 판단은 메모리에서 순차 처리
+ *
+ * 주의:
+ *   - 쿠폰 상태가 이 서버 메모리에 있으므로 같은 쿠폰은 이 방식으로만 발급 (다른 전략, 다른 서버와 섞으면 안 됨)
+ *   - 저장이 실패하면 메모리 상태를 되돌리고 COUPON_ISSUE_FAILED
+ *   - mailbox가 가득 차면 COUPON_ISSUE_BUSY로 바로 거절 (백프레셔)
+ *   - 결과를 result-timeout-ms까지만 기다림 -> 넘으면 요청을 취소하고 COUPON_ISSUE_FAILED (요청 스레드가 무한정 묶이지 않음)
+ *     - 요청과 mailbox 중 먼저 claim한 쪽이 가짐 -> 취소된 요청은 mailbox가 건너뛰므로 실패 응답 후 발급되는 일 없음
+ *     - mailbox가 이미 판단을 시작했으면 취소하지 않고 결과가 나올 때까지 기다림
+ *   - 종료 중 mailbox 스레드가 끝난 뒤 들어온 요청은 처리할 스레드가 없음 -> COUPON_ISSUE_FAILED
+ *
+ * 메트릭:
+ *   - coupon.issue.actor.batch.size: 한 번에 저장한 요청 수
+ *   - coupon.issue.actor.queued: mailbox에 쌓인 요청 수
+ */
+@Slf4j
+@Service
+public class CouponIssueActorService {
+
+    private static final String INSERT_ISSUE_SQL =
+            "INSERT INTO coupon_issue (id, coupon_id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INCREASE_ISSUED_SQL =
+            "UPDATE coupon SET issued_quantity = issued_quantity + ? WHERE id = ?";
+    private static final String ISSUED_QUANTITY_SQL = "SELECT issued_quantity FROM coupon WHERE id = ?";
+    private static final String ISSUED_USERS_SQL = "SELECT user_id FROM coupon_issue WHERE coupon_id = ?";
+
+    // mailbox가 비어 있을 때 스레드를 재우는 최대 시간 (요청이 들어오면 unpark로 바로 깨움)
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final CouponMetadataCache couponMetadataCache;
+    private final CouponIssueBloomFilter couponIssueBloomFilter;
+    private final CouponSoldOutRegistry soldOutRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final CouponIssueIdGenerator couponIssueIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSizeSummary;
+    private final int maxBatchSize;
+    private final long resultTimeoutMillis;
+
+    private final Mailbox[] mailboxes;
+    private volatile boolean running;
+
+    public CouponIssueActorService(
+            CouponMetadataCache couponMetadataCache,
+            CouponIssueBloomFilter couponIssueBloomFilter,
+            CouponSoldOutRegistry soldOutRegistry,
+            JdbcTemplate jdbcTemplate,
+            CouponIssueIdGenerator couponIssueIdGenerator,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${coupon.actor.mailboxes:4}") int mailboxCount,
+            @Value("${coupon.actor.mailbox-capacity:8192}") int mailboxCapacity,
+            @Value("${coupon.actor.max-batch-size:500}") int maxBatchSize,
+            @Value("${coupon.actor.result-timeout-ms:10000}") long resultTimeoutMillis) {
+        this.couponMetadataCache = couponMetadataCache;
+        this.couponIssueBloomFilter = couponIssueBloomFilter;
+        this.soldOutRegistry = soldOutRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.couponIssueIdGenerator = couponIssueIdGenerator;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.resultTimeoutMillis = resultTimeoutMillis;
+        this.mailboxes = new Mailbox[mailboxCount];
+        for (int i = 0; i < mailboxCount; i++) {
+            mailboxes[i] = new Mailbox(i, mailboxCapacity);
+        }
+
+        this.batchSizeSummary = DistributionSummary.builder("coupon.issue.actor.batch.size")
+                .description("mailbox가 한 번에 저장한 발급 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("coupon.issue.actor.queued", mailboxes, CouponIssueActorService::queuedCount)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (Mailbox mailbox : mailboxes) {
+            mailbox.thread.start();
+        }
+    }
+
+    /**
+     * 종료 시 mailbox에 남은 요청을 모두 처리한 뒤 멈춤
+     * 스레드가 빠져나간 뒤에 남아 있는 요청은 처리할 스레드가 없으므로 실패로 완료
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Mailbox mailbox : mailboxes) {
+            LockSupport.unpark(mailbox.thread);
+        }
+        for (Mailbox mailbox : mailboxes) {
+            mailbox.thread.join(TimeUnit.SECONDS.toMillis(10));
+            // 스레드가 아직 살아 있으면 소비자가 둘이 되므로 꺼내지 않음 (요청 쪽 timeout으로 끝남)
+            if (!mailbox.thread.isAlive()) {
+                mailbox.failRemaining();
+            }
+        }
+    }
+
+    public void issue(Long couponId, Long userId) {
+        if (!running) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+        }
+
+        Mailbox mailbox = mailboxes[Math.floorMod(couponId.hashCode(), mailboxes.length)];
+        IssueCommand command = new IssueCommand(couponId, userId, new CompletableFuture<>(), new AtomicBoolean());
+        if (!mailbox.buffer.offer(command)) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_BUSY);
+        }
+        LockSupport.unpark(mailbox.thread);
+
+        // offer 직후 stop()이 끝났으면 이 요청을 꺼낼 스레드가 없음
+        // -> 스레드가 끝날 때까지 기다린 뒤 직접 실패 처리 (이미 처리됐으면 무시됨)
+        if (!running) {
+            awaitExit(mailbox);
+            if (command.claim()) {
+                command.result().completeExceptionally(new BusinessException(ErrorCode.COUPON_ISSUE_FAILED));
+            }
+        }
+
+        try {
+            awaitResult(command);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+        }
+
+        log.debug("[Single-Writer] 쿠폰 발급 - couponId: {}, userId: {}", couponId, userId);
+    }
+
+    /**
+     * result-timeout-ms 안에 결과가 없으면 mailbox보다 먼저 claim해서 취소 (발급되지 않음이 확정된 경우만 실패 응답)
+     * mailbox가 이미 claim했으면 판단과 저장이 진행 중이므로 결과가 나올 때까지 기다림
+     */
+    private void awaitResult(IssueCommand command) throws ExecutionException, InterruptedException {
+        try {
+            command.result().get(resultTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (command.claim()) {
+                command.result().cancel(false);
+                log.warn("[Single-Writer] 발급 결과 대기 시간 초과, 요청 취소 - couponId: {}, userId: {}",
+                        command.couponId(), command.userId());
+                throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+            }
+            command.result().get();
+        }
+    }
+
+    private void awaitExit(Mailbox mailbox) {
+        try {
+            mailbox.thread.join(resultTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int queuedCount() {
+        return queuedCount(mailboxes);
+    }
+
+    private static int queuedCount(Mailbox[] mailboxes) {
+        return Arrays.stream(mailboxes).mapToInt(mailbox -> mailbox.buffer.size()).sum();
+    }
+
+    /**
+     * mailbox 스레드 1개 + 링 버퍼 1개 + 담당 쿠폰 상태
+     * states와 CouponState는 이 mailbox 스레드에서만 접근
+     */
+    private final class Mailbox implements Runnable {
+
+        private final MpscRingBuffer<IssueCommand> buffer;
+        private final Map<Long, CouponState> states = new HashMap<>();
+        private final Thread thread;
+
+        private Mailbox(int index, int capacity) {
+            this.buffer = new MpscRingBuffer<>(capacity);
+            this.thread = new Thread(this, "coupon-actor-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<IssueCommand> batch = new ArrayList<>(maxBatchSize);
+
+            while (running || !buffer.isEmpty()) {
+                buffer.drainTo(batch, maxBatchSize);
+                if (batch.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    continue;
+                }
+
+                batchSizeSummary.record(batch.size());
+                try {
+                    process(batch);
+                } catch (RuntimeException e) {
+                    log.error("[Single-Writer] 배치 처리 실패 - size: {}", batch.size(), e);
+                    batch.forEach(command -> command.result().completeExceptionally(
+                            new BusinessException(ErrorCode.COUPON_ISSUE_FAILED)));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        /**
+         * 스레드가 끝난 뒤 stop()에서만 호출 (소비자는 여전히 하나)
+         */
+        private void failRemaining() {
+            List<IssueCommand> remaining = new ArrayList<>();
+            buffer.drainTo(remaining, buffer.capacity());
+            if (!remaining.isEmpty()) {
+                log.warn("[Single-Writer] 종료 후 남은 요청 실패 처리 - size: {}", remaining.size());
+            }
+            remaining.stream()
+                    .filter(IssueCommand::claim)
+                    .forEach(command -> reject(command, ErrorCode.COUPON_ISSUE_FAILED));
+        }
+
+        /**
+         * 들어온 순서대로 판단 -> 허용된 요청만 한 번에 저장 -> 결과 알림
+         */
+        private void process(List<IssueCommand> batch) {
+            List<IssueCommand> accepted = new ArrayList<>(batch.size());
+
+            for (IssueCommand command : batch) {
+                // 대기 시간을 넘겨 요청 쪽에서 취소한 요청은 건너뜀
+                if (!command.claim()) {
+                    continue;
+                }
+
+                CouponState state;
+                try {
+                    state = states.computeIfAbsent(command.couponId(), this::load);
+                } catch (BusinessException e) {
+                    command.result().completeExceptionally(e);
+                    continue;
+                }
+
+                if (!state.issuedUsers.add(command.userId())) {
+                    reject(command, ErrorCode.COUPON_ALREADY_ISSUED);
+                } else if (state.issuedQuantity >= state.totalQuantity) {
+                    state.issuedUsers.remove(command.userId());
+                    reject(command, ErrorCode.COUPON_SOLD_OUT);
+                } else {
+                    state.issuedQuantity++;
+                    accepted.add(command);
+                }
+            }
+
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertBatch(accepted));
+                accepted.forEach(this::complete);
+            } catch (DataIntegrityViolationException e) {
+                // 이 mailbox 밖에서 저장된 이력이 섞여 있음 -> 건별로 다시 저장
+                log.warn("[Single-Writer] 중복 항목 포함, 건별 저장으로 전환 - size: {}", accepted.size());
+                accepted.forEach(this::persistOne);
+            } catch (RuntimeException e) {
+                log.error("[Single-Writer] 저장 실패, 메모리 상태 원복 - size: {}", accepted.size(), e);
+                accepted.forEach(command -> rollback(command, ErrorCode.COUPON_ISSUE_FAILED));
+            }
+        }
+
+        private void persistOne(IssueCommand command) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertBatch(List.of(command)));
+                complete(command);
+            } catch (DataIntegrityViolationException e) {
+                // 이미 발급된 사용자 -> Set에는 남기고 수량만 원복
+                states.get(command.couponId()).issuedQuantity--;
+                reject(command, ErrorCode.COUPON_ALREADY_ISSUED);
+            } catch (RuntimeException e) {
+                rollback(command, ErrorCode.COUPON_ISSUE_FAILED);
+            }
+        }
+
+        private void complete(IssueCommand command) {
+            couponIssueBloomFilter.record(command.couponId(), command.userId());
+            command.result().complete(null);
+
+            CouponState state = states.get(command.couponId());
+            if (state.issuedQuantity >= state.totalQuantity) {
+                soldOutRegistry.markSoldOut(command.couponId());
+            }
+        }
+
+        private void rollback(IssueCommand command, ErrorCode errorCode) {
+            CouponState state = states.get(command.couponId());
+            state.issuedQuantity--;
+            state.issuedUsers.remove(command.userId());
+            reject(command, errorCode);
+        }
+
+        private void reject(IssueCommand command, ErrorCode errorCode) {
+            command.result().completeExceptionally(new BusinessException(errorCode));
+        }
+
+        /**
+         * 처음 보는 쿠폰 - 총 수량은 캐시, 발급 수량과 발급 사용자는 DB에서 적재
+         */
+        private CouponState load(Long couponId) {
+            int totalQuantity = couponMetadataCache.totalQuantity(couponId);
+            Integer issuedQuantity = jdbcTemplate.queryForObject(ISSUED_QUANTITY_SQL, Integer.class, couponId);
+
+            CouponState state = new CouponState(totalQuantity, issuedQuantity == null ? 0 : issuedQuantity);
+            jdbcTemplate.query(ISSUED_USERS_SQL, rs -> { state.issuedUsers.add(rs.getLong("user_id")); }, couponId);
+
+            log.info("[Single-Writer] 쿠폰 상태 적재 - mailbox: {}, couponId: {}, issued: {}/{}",
+                    thread.getName(), couponId, state.issuedQuantity, state.totalQuantity);
+            return state;
+        }
+    }
+
+    private void insertBatch(List<IssueCommand> commands) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        PrimitiveIterator.OfLong ids = couponIssueIdGenerator.nextIds(commands.size());
+        jdbcTemplate.batchUpdate(INSERT_ISSUE_SQL, commands, commands.size(), (ps, command) -> {
+            ps.setLong(1, ids.nextLong());
+            ps.setLong(2, command.couponId());
+            ps.setLong(3, command.userId());
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        });
+
+        Map<Long, Integer> countByCoupon = new LinkedHashMap<>();
+        commands.forEach(command -> countByCoupon.merge(command.couponId(), 1, Integer::sum));
+        jdbcTemplate.batchUpdate(INCREASE_ISSUED_SQL, countByCoupon.entrySet(), countByCoupon.size(),
+                (ps, entry) -> {
+                    ps.setInt(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+
+    /**
+     * mailbox 스레드 전용 상태 (동기화 없음)
+     */
+    private static final class CouponState {
+        private final int totalQuantity;
+        private int issuedQuantity;
+        private final Set<Long> issuedUsers = new HashSet<>();
+
+        private CouponState(int totalQuantity, int issuedQuantity) {
+            this.totalQuantity = totalQuantity;
+            this.issuedQuantity = issuedQuantity;
+        }
+    }
+
+    /**
+     * claimed: 요청 스레드(취소)와 mailbox 스레드(판단) 중 먼저 가져간 쪽만 결과를 정함
+     */
+    private record IssueCommand(Long couponId, Long userId, CompletableFuture<Void> result, AtomicBoolean claimed) {
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.cache.CouponMetadataCache;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 쿠폰별 발급 사용자 Bloom Filter - existsByCouponIdAndUserId 앞단 필터
+ *
+ * 동작 원리:
+ *   - 필터에 없으면 (대부분의 사용자) -> 발급 이력 없음이 확실하므로 DB 조회 생략
+ *   - 필터에 있으면 -> 오탐일 수 있으므로 DB로 최종 확인
+ *   - 필터 크기는 쿠폰의 totalQuantity로 계산 (발급 가능한 최대 인원)
+ *   - 시작 시 CouponIssue 전체로 다시 만들고, 처음 보는 쿠폰은 해당 쿠폰의 이력으로 만듦
+ *
+ * 주의:
+ *   - 다른 서버에서 발급된 이력은 이 서버 필터에 없음 (미탐 가능)
+ *   - 그래서 (coupon_id, user_id) 유니크 제약이 최종 방어선
+ *
+ * 메트릭 (쿠폰 수와 관계없이 시계열 하나씩, 쿠폰별 태그를 붙이면 쿠폰마다 시계열이 늘어나고 지워지지 않음):
+ *   - coupon.issue.bloom.fpp.expected: 저장된 개수 기준 예상 오탐률 (가장 높은 쿠폰)
+ *   - coupon.issue.bloom.fpp.observed: 실제 오탐률 (필터 true인데 DB에 없던 비율, 전체 쿠폰 합산)
+ *   - coupon.issue.bloom.memory: 필터 메모리 합계 (bytes)
+ */
+@Slf4j
+@Component
+public class CouponIssueBloomFilter {
+
+    private static final String ISSUE_SELECT_SQL = "SELECT coupon_id, user_id FROM coupon_issue";
+    private static final String ISSUE_SELECT_BY_COUPON_SQL = "SELECT user_id FROM coupon_issue WHERE coupon_id = ?";
+
+    private final CouponRepository couponRepository;
+    private final CouponIssueRepository couponIssueRepository;
+    private final CouponMetadataCache couponMetadataCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final double falsePositiveRate;
+
+    private final Map<Long, CouponFilter> filters = new ConcurrentHashMap<>();
+
+    public CouponIssueBloomFilter(
+            CouponRepository couponRepository,
+            CouponIssueRepository couponIssueRepository,
+            CouponMetadataCache couponMetadataCache,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${coupon.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.couponRepository = couponRepository;
+        this.couponIssueRepository = couponIssueRepository;
+        this.couponMetadataCache = couponMetadataCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.falsePositiveRate = falsePositiveRate;
+
+        Gauge.builder("coupon.issue.bloom.fpp.expected", filters, CouponIssueBloomFilter::maxExpectedFalsePositiveRate)
+                .register(meterRegistry);
+        Gauge.builder("coupon.issue.bloom.fpp.observed", filters, CouponIssueBloomFilter::observedFalsePositiveRate)
+                .register(meterRegistry);
+        Gauge.builder("coupon.issue.bloom.memory", filters, CouponIssueBloomFilter::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 시작 시 모든 쿠폰의 필터를 CouponIssue로 다시 만듦
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        couponRepository.findAll().forEach(coupon ->
+                filters.computeIfAbsent(coupon.getId(), id -> newFilter(coupon.getTotalQuantity())));
+
+        jdbcTemplate.query(ISSUE_SELECT_SQL, rs -> {
+            CouponFilter filter = filters.get(rs.getLong("coupon_id"));
+            if (filter != null) {
+                filter.bloomFilter().put(rs.getLong("user_id"));
+            }
+        });
+
+        log.info("[Bloom Filter] 재구성 완료 - coupons: {}", filters.size());
+    }
+
+    /**
+     * 발급 이력 확인 - 필터에 없으면 DB 조회 없이 false
+     */
+    public boolean isAlreadyIssued(Long couponId, Long userId) {
+        CouponFilter filter = filterFor(couponId);
+        if (filter == null) {
+            return couponIssueRepository.existsByCouponIdAndUserId(couponId, userId);
+        }
+
+        if (!filter.bloomFilter().mightContain(userId)) {
+            filter.negatives().increment();
+            return false;
+        }
+
+        boolean issued = couponIssueRepository.existsByCouponIdAndUserId(couponId, userId);
+        if (!issued) {
+            filter.falsePositives().increment();
+        }
+        return issued;
+    }
+
+    /**
+     * 발급 직후 호출 - 롤백되더라도 오탐만 늘어날 뿐 정합성에는 영향 없음
+     */
+    public void record(Long couponId, Long userId) {
+        CouponFilter filter = filterFor(couponId);
+        if (filter != null) {
+            filter.bloomFilter().put(userId);
+        }
+    }
+
+    private CouponFilter filterFor(Long couponId) {
+        CouponFilter filter = filters.get(couponId);
+        if (filter != null) {
+            return filter;
+        }
+        int totalQuantity;
+        try {
+            totalQuantity = couponMetadataCache.totalQuantity(couponId);
+        } catch (BusinessException e) {
+            // 없는 쿠폰은 필터 없이 DB로 확인
+            return null;
+        }
+
+        // computeIfAbsent 안에서 JDBC를 호출하면 버킷 락(synchronized)을 잡은 채 대기 -> 가상 스레드 캐리어 고정
+        // 동시에 처음 만든 필터 중 하나만 등록되고, 나머지는 버림
+        CouponFilter loaded = load(couponId, totalQuantity);
+        CouponFilter previous = filters.putIfAbsent(couponId, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    private CouponFilter load(Long couponId, int totalQuantity) {
+        CouponFilter filter = newFilter(totalQuantity);
+        jdbcTemplate.query(ISSUE_SELECT_BY_COUPON_SQL,
+                rs -> { filter.bloomFilter().put(rs.getLong("user_id")); },
+                couponId);
+        return filter;
+    }
+
+    private CouponFilter newFilter(int totalQuantity) {
+        return new CouponFilter(BloomFilter.create(totalQuantity, falsePositiveRate), new LongAdder(), new LongAdder());
+    }
+
+    private static double maxExpectedFalsePositiveRate(Map<Long, CouponFilter> filters) {
+        return filters.values().stream()
+                .mapToDouble(filter -> filter.bloomFilter().expectedFalsePositiveRate())
+                .max()
+                .orElse(0);
+    }
+
+    /**
+     * 오탐률 = 오탐 / (오탐 + 필터가 걸러낸 요청), 전체 쿠폰 합산
+     */
+    private static double observedFalsePositiveRate(Map<Long, CouponFilter> filters) {
+        long falsePositive = 0;
+        long negative = 0;
+        for (CouponFilter filter : filters.values()) {
+            falsePositive += filter.falsePositives().sum();
+            negative += filter.negatives().sum();
+        }
+        long total = falsePositive + negative;
+        return total == 0 ? 0 : (double) falsePositive / total;
+    }
+
+    private static double memoryBytes(Map<Long, CouponFilter> filters) {
+        return filters.values().stream()
+                .mapToLong(filter -> filter.bloomFilter().memoryBytes())
+                .sum();
+    }
+
+    private record CouponFilter(BloomFilter bloomFilter, LongAdder negatives, LongAdder falsePositives) {
+    }
+}
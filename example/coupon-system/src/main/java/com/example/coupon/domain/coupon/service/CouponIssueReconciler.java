@@ -0,0 +1,486 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.store.IssuedUserStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Redis 발급 상태와 DB 발급 이력 대조 (Redis Atomic 발급의 보상 작업)
+ *
+ * Redis Atomic 발급은 Redis에서 먼저 허용하고 DB에 나중에 저장하므로,
+ * INCR 이후 DB 저장이 실패하면 coupon:count:{id}가 CouponIssue보다 큰 상태로 남음
+ *
+ * 동작 원리:
+ *   1. coupon:count:* 키를 SCAN (분할 카운터 샤드 coupon:count:{id}:{k}는 제외)
+ *   2. 쿠폰마다 CouponIssue를 id 기준 keyset 커서로 batchSize개씩 읽음
+ *      - 체크포인트(마지막 id, 읽은 행 수)부터 이어서 읽으므로 매번 전체를 다시 읽지 않음
+ *      - 발급 사용자 저장소에 없는 사용자는 추가 (missing_user)
+ *      - DB 발급 수량은 체크포인트의 행 수에 새로 읽은 행 수를 더해 구함 (매 주기 COUNT(*) 없음)
+ *      - full-count-interval-ms마다 한 번만 커서까지의 COUNT(*)를 다시 세어 행 수와 비교 (아래 정합성 참고)
+ *   3. DB 발급 수량과 coupon:count:{id} 비교
+ *      - Redis가 적으면: 차이만큼 더함 (count_behind)
+ *      - Redis가 많으면: 두 값이 grace 동안 그대로일 때만 (진행 중인 발급이 없을 때만) 뺌 (count_ahead)
+ *        빼기 직전에는 COUNT(*)로 행 수를 다시 확인하고, 달라졌으면 이번 주기에는 빼지 않음
+ *        Write-Behind pending Set에 남은 발급은 곧 저장될 발급이므로 빼지 않음
+ *        DB에 없는 사용자도 발급 사용자 저장소에서 제거 (orphan_user)
+ *   4. 보정은 Lua 스크립트로 카운터가 대조할 때 읽은 값 그대로일 때만 적용
+ *      초과분을 빼서 카운터가 총 수량(coupon:total:{id}) 아래로 내려가면 소진 목록에서 해제하고 전파
+ *   5. 체크포인트를 Redis Hash(coupon:reconcile:checkpoint)에 저장
+ *
+ * 정합성:
+ *   - keyset 커서는 id 순서로 읽으므로, 작은 id의 트랜잭션이 늦게 커밋되면 건너뛸 수 있음
+ *     -> 건너뛴 행은 다음 COUNT(*) 확인 전까지 행 수에서 빠지므로 DB 수량은 실제보다 작을 수만 있음
+ *        (count_behind 보정은 실제보다 덜 더할 뿐이고, count_ahead 보정은 빼기 전에 다시 세므로 잘못 빼지 않음)
+ *     -> 커서까지의 COUNT(*)가 읽은 행 수보다 많으면 최근 rescan-window-ms 안에 생성된 행만 다시 읽음
+ *        (created_at은 커밋 전에 정해지므로 트랜잭션 시간보다 긴 window면 늦게 커밋된 행이 모두 포함됨)
+ *   - id는 pooled 시퀀스라 서버마다 다른 블록에서 받음 -> 여러 서버가 발급하면 id 순서와 커밋 순서가 자주 어긋나지만
+ *     다시 읽는 범위가 window로 제한되므로 처음부터 다시 읽지 않음
+ *   - 커서까지의 COUNT(*)가 읽은 행 수보다 적거나 커서의 행이 없으면 (행 삭제, DB 초기화 등 커서가 테이블보다 앞섬)
+ *     체크포인트를 지우고 처음부터 다시 읽음 (드문 경우)
+ *   - 체크포인트가 사라져도(Redis 재시작 등) 처음부터 다시 읽을 뿐 결과는 같음
+ *
+ * 주의:
+ *   - grace는 쿼터 리스 ttl(coupon.lease.ttl-ms)보다 길어야 함 (예약만 된 수량도 카운터에 포함되어 있음)
+ *   - rescan-window는 가장 긴 발급 트랜잭션보다 길어야 함 (더 늦게 커밋된 행의 사용자는 추가되지 않음)
+ *   - bitmap 저장소는 서버마다 따로 있으므로 사용자 추가와 제거는 이 서버의 비트맵에만 반영됨
+ *   - 소진 해제는 Redis 카운터 기준이므로 DB 수량으로 소진을 확인하는 전략(비관적 락, 조건부 UPDATE 등)에는 영향 없음
+ *   - 여러 서버에서 동시에 실행돼도 보정은 조건부라 중복 적용되지 않음
+ *   - 분할 카운터 쿠폰(CouponCounterMode.SPLIT)은 중앙 카운터를 쓰지 않으므로 사용자만 대조하고 수량은 비교하지 않음
+ *
+ * 메트릭:
+ *   - coupon.reconcile.drift (tag: type): 보정한 차이 (count_behind, count_ahead, missing_user, orphan_user)
+ *   - coupon.reconcile.rows: 대조를 위해 읽은 CouponIssue 행 수
+ */
+@Slf4j
+@Component
+public class CouponIssueReconciler {
+
+    public static final String CHECKPOINT_KEY = "coupon:reconcile:checkpoint";
+
+    private static final String ISSUE_ROWS_SQL =
+            "SELECT id, user_id FROM coupon_issue WHERE coupon_id = ? AND id > ? ORDER BY id LIMIT ?";
+    private static final String RECENT_ROWS_SQL =
+            "SELECT id, user_id FROM coupon_issue WHERE coupon_id = ? AND created_at >= ? AND id > ? AND id <= ? "
+                    + "ORDER BY id LIMIT ?";
+    private static final String CURSOR_COUNT_SQL =
+            "SELECT COUNT(*), COALESCE(MAX(id), 0) FROM coupon_issue WHERE coupon_id = ? AND id <= ?";
+    private static final String ISSUED_USERS_IN_SQL =
+            "SELECT user_id FROM coupon_issue WHERE coupon_id = ? AND user_id IN (%s)";
+
+    private final RedisTemplate<String, Long> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisScript<Long> couponReconcileScript;
+    private final JdbcTemplate jdbcTemplate;
+    private final IssuedUserStore issuedUserStore;
+    private final CouponCounterMode counterMode;
+    private final CouponSoldOutRegistry soldOutRegistry;
+    private final int batchSize;
+    private final long graceMillis;
+    private final long rescanWindowMillis;
+    private final long fullCountIntervalMillis;
+    private final LongSupplier clockMillis;
+
+    private final Counter countBehindCounter;
+    private final Counter countAheadCounter;
+    private final Counter missingUserCounter;
+    private final Counter orphanUserCounter;
+    private final AtomicLong scannedRows = new AtomicLong();
+
+    @Autowired
+    public CouponIssueReconciler(
+            RedisTemplate<String, Long> redisTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            RedisScript<Long> couponReconcileScript,
+            JdbcTemplate jdbcTemplate,
+            IssuedUserStore issuedUserStore,
+            CouponCounterMode counterMode,
+            CouponSoldOutRegistry soldOutRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${coupon.reconcile.batch-size:1000}") int batchSize,
+            @Value("${coupon.reconcile.grace-ms:60000}") long graceMillis,
+            @Value("${coupon.reconcile.rescan-window-ms:60000}") long rescanWindowMillis,
+            @Value("${coupon.reconcile.full-count-interval-ms:600000}") long fullCountIntervalMillis) {
+        this(redisTemplate, stringRedisTemplate, couponReconcileScript, jdbcTemplate, issuedUserStore, counterMode,
+                soldOutRegistry, meterRegistry, batchSize, graceMillis, rescanWindowMillis, fullCountIntervalMillis,
+                System::currentTimeMillis);
+    }
+
+    CouponIssueReconciler(
+            RedisTemplate<String, Long> redisTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            RedisScript<Long> couponReconcileScript,
+            JdbcTemplate jdbcTemplate,
+            IssuedUserStore issuedUserStore,
+            CouponCounterMode counterMode,
+            CouponSoldOutRegistry soldOutRegistry,
+            MeterRegistry meterRegistry,
+            int batchSize,
+            long graceMillis,
+            long rescanWindowMillis,
+            long fullCountIntervalMillis,
+            LongSupplier clockMillis) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.couponReconcileScript = couponReconcileScript;
+        this.jdbcTemplate = jdbcTemplate;
+        this.issuedUserStore = issuedUserStore;
+        this.counterMode = counterMode;
+        this.soldOutRegistry = soldOutRegistry;
+        this.batchSize = batchSize;
+        this.graceMillis = graceMillis;
+        this.rescanWindowMillis = rescanWindowMillis;
+        this.fullCountIntervalMillis = fullCountIntervalMillis;
+        this.clockMillis = clockMillis;
+
+        this.countBehindCounter = driftCounter(meterRegistry, "count_behind");
+        this.countAheadCounter = driftCounter(meterRegistry, "count_ahead");
+        this.missingUserCounter = driftCounter(meterRegistry, "missing_user");
+        this.orphanUserCounter = driftCounter(meterRegistry, "orphan_user");
+        FunctionCounter.builder("coupon.reconcile.rows", scannedRows, AtomicLong::get)
+                .description("대조를 위해 읽은 발급 이력 행 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.reconcile.interval-ms:10000}",
+            initialDelayString = "${coupon.reconcile.interval-ms:10000}")
+    public void reconcileAll() {
+        List<Long> couponIds = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(CouponRedisAtomicService.COUPON_COUNT_KEY + "*").count(batchSize).build())) {
+            while (cursor.hasNext()) {
+                Long couponId = parseCouponId(cursor.next());
+                if (couponId != null) {
+                    couponIds.add(couponId);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("[대조] 카운터 키 조회 실패", e);
+            return;
+        }
+
+        for (Long couponId : couponIds) {
+            try {
+                reconcile(couponId);
+            } catch (DataAccessException e) {
+                log.error("[대조] 실패, 다음 주기에 다시 시도 - couponId: {}", couponId, e);
+            }
+        }
+    }
+
+    /**
+     * 쿠폰 하나를 체크포인트부터 이어서 대조하고 차이를 보정
+     */
+    public void reconcile(Long couponId) {
+        long now = clockMillis.getAsLong();
+        Checkpoint checkpoint = scanNewRows(couponId, loadCheckpoint(couponId));
+        boolean fullCounted = checkpoint.fullCountDue(now, fullCountIntervalMillis);
+        if (fullCounted) {
+            checkpoint = verifyCursor(couponId, checkpoint).verified(now);
+        }
+
+        // 분할 카운터 쿠폰: coupon:count:{id}는 쓰이지 않는 값이라 비교하면 차이로 잘못 보고됨
+        if (counterMode.modeOf(couponId) == CouponCounterMode.Mode.SPLIT) {
+            saveCheckpoint(couponId, checkpoint.clearObservation());
+            return;
+        }
+
+        String countKey = CouponRedisAtomicService.COUPON_COUNT_KEY + couponId;
+        Long value = redisTemplate.opsForValue().get(countKey);
+        long redisCount = value == null ? 0 : value;
+        long dbCount = checkpoint.rowCount();
+
+        if (redisCount < dbCount) {
+            if (adjust(countKey, redisCount, dbCount - redisCount)) {
+                countBehindCounter.increment(dbCount - redisCount);
+                log.warn("[대조] Redis 발급 수량 보정 (+) - couponId: {}, redis: {}, db: {}",
+                        couponId, redisCount, dbCount);
+            }
+            checkpoint = checkpoint.clearObservation();
+        } else if (redisCount > dbCount) {
+            checkpoint = reconcileExcess(couponId, countKey, redisCount, dbCount, checkpoint, now, fullCounted);
+        } else {
+            checkpoint = checkpoint.clearObservation();
+        }
+
+        saveCheckpoint(couponId, checkpoint);
+    }
+
+    /**
+     * 체크포인트 이후의 행만 keyset 커서로 읽고, 발급 사용자 저장소에 없는 사용자를 추가
+     */
+    private Checkpoint scanNewRows(Long couponId, Checkpoint checkpoint) {
+        long lastId = checkpoint.lastId();
+        long rowCount = checkpoint.rowCount();
+
+        while (true) {
+            List<long[]> rows = jdbcTemplate.query(ISSUE_ROWS_SQL,
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)},
+                    couponId, lastId, batchSize);
+            for (long[] row : rows) {
+                if (issuedUserStore.add(couponId, row[1])) {
+                    missingUserCounter.increment();
+                }
+            }
+            if (!rows.isEmpty()) {
+                lastId = rows.get(rows.size() - 1)[0];
+                rowCount += rows.size();
+                scannedRows.addAndGet(rows.size());
+            }
+            if (rows.size() < batchSize) {
+                return checkpoint.withCursor(lastId, rowCount);
+            }
+        }
+    }
+
+    /**
+     * 커서까지의 행 수를 다시 세어 체크포인트와 비교
+     * - 같으면 그대로
+     * - 더 많으면: 커서 뒤로 늦게 커밋된 행 -> 최근 window 안의 행만 다시 읽고 행 수를 맞춤
+     * - 더 적거나 커서의 행이 없으면: 커서가 테이블보다 앞섬 -> 체크포인트를 지우고 처음부터 다시 읽음
+     */
+    private Checkpoint verifyCursor(Long couponId, Checkpoint checkpoint) {
+        long[] cursor = jdbcTemplate.queryForObject(CURSOR_COUNT_SQL,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)},
+                couponId, checkpoint.lastId());
+        long cursorCount = cursor[0];
+        long maxId = cursor[1];
+
+        if (cursorCount < checkpoint.rowCount() || maxId < checkpoint.lastId()) {
+            log.warn("[대조] 커서가 테이블보다 앞섬, 처음부터 다시 읽음 - couponId: {}, cursor: {}/{}, db: {}/{}",
+                    couponId, checkpoint.lastId(), checkpoint.rowCount(), maxId, cursorCount);
+            return scanNewRows(couponId, Checkpoint.EMPTY);
+        }
+        if (cursorCount > checkpoint.rowCount()) {
+            log.warn("[대조] 커서가 건너뛴 행 발견, 최근 {}ms 안의 행만 다시 읽음 - couponId: {}, cursor: {}, db: {}",
+                    rescanWindowMillis, couponId, checkpoint.rowCount(), cursorCount);
+            rescanRecentRows(couponId, checkpoint.lastId());
+            return checkpoint.withCursor(checkpoint.lastId(), cursorCount);
+        }
+        return checkpoint;
+    }
+
+    /**
+     * 커서 이전 행 중 rescan window 안에 생성된 행만 다시 읽어 발급 사용자 저장소에 없는 사용자를 추가
+     */
+    private void rescanRecentRows(Long couponId, long untilId) {
+        Timestamp since = new Timestamp(clockMillis.getAsLong() - rescanWindowMillis);
+        long lastId = 0;
+
+        while (true) {
+            List<long[]> rows = jdbcTemplate.query(RECENT_ROWS_SQL,
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)},
+                    couponId, since, lastId, untilId, batchSize);
+            for (long[] row : rows) {
+                if (issuedUserStore.add(couponId, row[1])) {
+                    missingUserCounter.increment();
+                }
+            }
+            if (!rows.isEmpty()) {
+                lastId = rows.get(rows.size() - 1)[0];
+                scannedRows.addAndGet(rows.size());
+            }
+            if (rows.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Redis가 DB보다 많은 경우: 진행 중인 발급이 아니라 DB 저장에 실패한 발급일 때만 보정
+     * - 행 수는 늦게 커밋된 행만큼 작을 수 있으므로, 빼기 전에 COUNT(*)로 다시 확인
+     */
+    private Checkpoint reconcileExcess(Long couponId, String countKey, long redisCount, long dbCount,
+                                       Checkpoint checkpoint, long now, boolean fullCounted) {
+        if (!checkpoint.observed(redisCount, dbCount)) {
+            return checkpoint.observe(redisCount, dbCount, now);
+        }
+        if (now - checkpoint.observedAt() < graceMillis) {
+            return checkpoint;
+        }
+
+        Set<Long> pendingUsers = pendingUsers(couponId);
+        long excess = redisCount - dbCount - pendingUsers.size();
+        if (excess <= 0) {
+            return checkpoint;
+        }
+        if (!fullCounted) {
+            Checkpoint verified = verifyCursor(couponId, checkpoint).verified(now);
+            if (verified.rowCount() != dbCount) {
+                return verified.clearObservation();
+            }
+            checkpoint = verified;
+        }
+
+        removeOrphanUsers(couponId, pendingUsers);
+        if (adjust(countKey, redisCount, -excess)) {
+            countAheadCounter.increment(excess);
+            log.warn("[대조] Redis 발급 수량 보정 (-) - couponId: {}, redis: {}, db: {}, pending: {}",
+                    couponId, redisCount, dbCount, pendingUsers.size());
+            reopenIfBelowTotal(couponId, redisCount, redisCount - excess);
+        }
+        return checkpoint.clearObservation();
+    }
+
+    /**
+     * 보정 전에는 총 수량에 닿아 있었고(소진 판정 가능) 보정 후 아래로 내려갔으면 소진 해제
+     */
+    private void reopenIfBelowTotal(Long couponId, long before, long after) {
+        Long total = redisTemplate.opsForValue().get(CouponRedisAtomicService.COUPON_TOTAL_KEY + couponId);
+        if (total != null && before >= total && after < total) {
+            soldOutRegistry.clearSoldOut(couponId);
+        }
+    }
+
+    /**
+     * 발급 사용자 저장소에는 있지만 DB에는 없는 사용자 제거 (Write-Behind 저장 대기 중인 사용자는 제외)
+     */
+    private void removeOrphanUsers(Long couponId, Set<Long> pendingUsers) {
+        List<Long> orphans = new ArrayList<>();
+        List<Long> chunk = new ArrayList<>(batchSize);
+        issuedUserStore.forEachUser(couponId, userId -> {
+            chunk.add(userId);
+            if (chunk.size() >= batchSize) {
+                collectOrphans(couponId, chunk, pendingUsers, orphans);
+                chunk.clear();
+            }
+        });
+        collectOrphans(couponId, chunk, pendingUsers, orphans);
+
+        for (Long userId : orphans) {
+            issuedUserStore.remove(couponId, userId);
+        }
+        orphanUserCounter.increment(orphans.size());
+    }
+
+    private void collectOrphans(Long couponId, List<Long> userIds, Set<Long> pendingUsers, List<Long> orphans) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(userIds.size(), "?"));
+        List<Object> args = new ArrayList<>(userIds.size() + 1);
+        args.add(couponId);
+        args.addAll(userIds);
+        Set<Long> persisted = new HashSet<>(jdbcTemplate.queryForList(
+                String.format(ISSUED_USERS_IN_SQL, placeholders), Long.class, args.toArray()));
+
+        for (Long userId : userIds) {
+            if (!persisted.contains(userId) && !pendingUsers.contains(userId)) {
+                orphans.add(userId);
+            }
+        }
+    }
+
+    private Set<Long> pendingUsers(Long couponId) {
+        Set<Long> userIds = new HashSet<>();
+        String prefix = couponId + ":";
+        try (Cursor<String> cursor = stringRedisTemplate.opsForSet().scan(CouponIssueWriteBehindPersister.PENDING_KEY,
+                ScanOptions.scanOptions().match(prefix + "*").count(batchSize).build())) {
+            while (cursor.hasNext()) {
+                userIds.add(Long.parseLong(cursor.next().substring(prefix.length())));
+            }
+        }
+        return userIds;
+    }
+
+    private boolean adjust(String countKey, long expected, long delta) {
+        Long result = redisTemplate.execute(couponReconcileScript, List.of(countKey), expected, delta);
+        return result != null && result >= 0;
+    }
+
+    private Checkpoint loadCheckpoint(Long couponId) {
+        Object value = stringRedisTemplate.opsForHash().get(CHECKPOINT_KEY, couponId.toString());
+        return value == null ? Checkpoint.EMPTY : Checkpoint.parse(value.toString());
+    }
+
+    private void saveCheckpoint(Long couponId, Checkpoint checkpoint) {
+        stringRedisTemplate.opsForHash().put(CHECKPOINT_KEY, couponId.toString(), checkpoint.format());
+    }
+
+    /**
+     * coupon:count:{id}만 대상, 분할 카운터 샤드(coupon:count:{id}:{k})는 남은 수량이므로 제외
+     */
+    private static Long parseCouponId(String key) {
+        String suffix = key.substring(CouponRedisAtomicService.COUPON_COUNT_KEY.length());
+        if (suffix.isEmpty() || !suffix.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Long.parseLong(suffix);
+    }
+
+    private static Counter driftCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("coupon.reconcile.drift")
+                .description("Redis 발급 상태와 DB 발급 이력의 차이 중 보정한 양")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 쿠폰별 대조 진행 상태
+     * - lastId, rowCount: keyset 커서 위치와 지금까지 읽은 행 수
+     * - observedRedis, observedDb, observedAt: Redis가 더 많았던 마지막 관측 (grace 판단용, 없으면 -1)
+     * - verifiedAt: 마지막으로 COUNT(*)로 행 수를 확인한 시각 (없으면 -1, 예전 형식에는 없음)
+     */
+    record Checkpoint(long lastId, long rowCount, long observedRedis, long observedDb, long observedAt,
+                      long verifiedAt) {
+
+        static final Checkpoint EMPTY = new Checkpoint(0, 0, -1, -1, -1, -1);
+
+        static Checkpoint parse(String value) {
+            String[] parts = value.split(":");
+            return new Checkpoint(Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+                    Long.parseLong(parts[2]), Long.parseLong(parts[3]), Long.parseLong(parts[4]),
+                    parts.length > 5 ? Long.parseLong(parts[5]) : -1);
+        }
+
+        String format() {
+            return lastId + ":" + rowCount + ":" + observedRedis + ":" + observedDb + ":" + observedAt
+                    + ":" + verifiedAt;
+        }
+
+        Checkpoint withCursor(long lastId, long rowCount) {
+            return new Checkpoint(lastId, rowCount, observedRedis, observedDb, observedAt, verifiedAt);
+        }
+
+        boolean fullCountDue(long now, long interval) {
+            return verifiedAt < 0 || now - verifiedAt >= interval;
+        }
+
+        Checkpoint verified(long now) {
+            return new Checkpoint(lastId, rowCount, observedRedis, observedDb, observedAt, now);
+        }
+
+        boolean observed(long redisCount, long dbCount) {
+            return observedRedis == redisCount && observedDb == dbCount;
+        }
+
+        Checkpoint observe(long redisCount, long dbCount, long now) {
+            return new Checkpoint(lastId, rowCount, redisCount, dbCount, now, verifiedAt);
+        }
+
+        Checkpoint clearObservation() {
+            return new Checkpoint(lastId, rowCount, -1, -1, -1, verifiedAt);
+        }
+    }
+}
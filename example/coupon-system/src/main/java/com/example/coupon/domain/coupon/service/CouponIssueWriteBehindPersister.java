@@ -0,0 +1,289 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.repository.CouponIssueIdGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쿠폰 발급 이력 Write-Behind 저장기
+ *
+ * 동작 원리:
+ *   1. Redis에서 발급이 허용된 (couponId, userId)를 메모리 큐에 넣고 바로 응답
+ *   2. 드레이너 스레드가 flushSize개가 모이거나 flushInterval이 지나면 한 번에 저장
+ *      - CouponIssue: JDBC batch INSERT (MySQL은 rewriteBatchedStatements로 multi-row INSERT)
+ *      - Coupon: 쿠폰별로 issued_quantity = issued_quantity + n 한 번만 실행
+ *
+ * 장애 대비:
+ *   - 발급 Lua 스크립트가 coupon:issue:pending Set에도 함께 기록 (원자적)
+ *   - 저장이 끝난 항목만 pending Set에서 제거
+ *   - 서버가 죽어서 메모리 큐가 사라져도, 재시작 시 pending Set을 다시 저장 (replay)
+ *   - replay로 중복 INSERT가 생겨도 (coupon_id, user_id) 유니크 제약으로 건너뜀
+ *
+ * 백프레셔:
+ *   - 큐가 가득 차면 발급 전에 COUPON_ISSUE_BUSY로 거절
+ *   - 확인 이후 큐가 차 버린 경우에도 pending Set에는 남아 있으므로 replay로 저장됨
+ */
+@Slf4j
+@Component
+public class CouponIssueWriteBehindPersister {
+
+    public static final String PENDING_KEY = "coupon:issue:pending";
+
+    private static final String INSERT_ISSUE_SQL =
+            "INSERT INTO coupon_issue (id, coupon_id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INCREASE_ISSUED_SQL =
+            "UPDATE coupon SET issued_quantity = issued_quantity + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CouponIssueIdGenerator couponIssueIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final BlockingQueue<PendingIssue> queue;
+    private final int flushSize;
+    private final long flushIntervalMillis;
+    private final long enqueueTimeoutMillis;
+
+    private volatile boolean running;
+    private volatile boolean recoveryRequired = true;
+    private Thread drainer;
+
+    public CouponIssueWriteBehindPersister(
+            JdbcTemplate jdbcTemplate,
+            CouponIssueIdGenerator couponIssueIdGenerator,
+            TransactionTemplate transactionTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${coupon.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${coupon.write-behind.flush-size:500}") int flushSize,
+            @Value("${coupon.write-behind.flush-interval-ms:100}") long flushIntervalMillis,
+            @Value("${coupon.write-behind.enqueue-timeout-ms:50}") long enqueueTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.couponIssueIdGenerator = couponIssueIdGenerator;
+        this.transactionTemplate = transactionTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        drainer = new Thread(this::drainLoop, "coupon-write-behind");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * 종료 시 큐에 남은 항목을 모두 저장한 뒤 멈춤
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        drainer.interrupt();
+        drainer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public boolean hasCapacity() {
+        return queue.remainingCapacity() > 0;
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * 발급이 허용된 항목을 큐에 추가
+     * 큐가 가득 차서 실패해도 pending Set에 남아 있으므로 replay 대상으로 표시만 함
+     */
+    public void enqueue(Long couponId, Long userId) {
+        try {
+            if (!queue.offer(new PendingIssue(couponId, userId), enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("[Write-Behind] 큐 가득 참, replay로 저장 - couponId: {}, userId: {}", couponId, userId);
+                recoveryRequired = true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recoveryRequired = true;
+        }
+    }
+
+    /**
+     * 큐가 비었을 때 pending Set을 다시 저장하도록 요청
+     */
+    public void requestRecovery() {
+        recoveryRequired = true;
+    }
+
+    private void drainLoop() {
+        List<PendingIssue> batch = new ArrayList<>(flushSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                try {
+                    collectBatch(batch);
+                } catch (InterruptedException e) {
+                    // stop() 호출 - 지금까지 모은 항목을 저장하고, 남은 큐는 루프 조건에서 계속 저장
+                }
+
+                if (batch.isEmpty()) {
+                    if (recoveryRequired && running) {
+                        recoverPending();
+                    }
+                    continue;
+                }
+                flush(batch);
+            } catch (RuntimeException e) {
+                log.error("[Write-Behind] 저장 실패, pending Set에서 replay 예정 - size: {}", batch.size(), e);
+                recoveryRequired = true;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * flushSize개가 모이거나, 첫 항목 이후 flushInterval이 지날 때까지 모음
+     */
+    private void collectBatch(List<PendingIssue> batch) throws InterruptedException {
+        PendingIssue first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= flushSize || remaining <= 0) {
+                return;
+            }
+            PendingIssue next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingIssue> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(batch));
+        } catch (DataIntegrityViolationException e) {
+            // replay 등으로 이미 저장된 항목이 섞여 있음 -> 건별로 저장하고 중복은 건너뜀
+            log.warn("[Write-Behind] 중복 항목 포함, 건별 저장으로 전환 - size: {}", batch.size());
+            batch.forEach(this::insertOne);
+        }
+
+        stringRedisTemplate.opsForSet().remove(PENDING_KEY,
+                batch.stream().map(PendingIssue::toMember).toArray());
+
+        log.debug("[Write-Behind] 저장 완료 - size: {}", batch.size());
+    }
+
+    private void insertBatch(List<PendingIssue> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        PrimitiveIterator.OfLong ids = couponIssueIdGenerator.nextIds(batch.size());
+        jdbcTemplate.batchUpdate(INSERT_ISSUE_SQL, batch, batch.size(), (ps, issue) -> {
+            ps.setLong(1, ids.nextLong());
+            ps.setLong(2, issue.couponId());
+            ps.setLong(3, issue.userId());
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        });
+
+        Map<Long, Integer> countByCoupon = new LinkedHashMap<>();
+        batch.forEach(issue -> countByCoupon.merge(issue.couponId(), 1, Integer::sum));
+        jdbcTemplate.batchUpdate(INCREASE_ISSUED_SQL, countByCoupon.entrySet(), countByCoupon.size(),
+                (ps, entry) -> {
+                    ps.setInt(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+
+    private void insertOne(PendingIssue issue) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.update(INSERT_ISSUE_SQL, couponIssueIdGenerator.nextId(),
+                        issue.couponId(), issue.userId(), now, now);
+                jdbcTemplate.update(INCREASE_ISSUED_SQL, 1, issue.couponId());
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("[Write-Behind] 이미 저장된 항목 건너뜀 - couponId: {}, userId: {}",
+                    issue.couponId(), issue.userId());
+        }
+    }
+
+    /**
+     * pending Set에 남은 항목(이전 프로세스가 저장하지 못한 항목 포함)을 다시 저장
+     */
+    private void recoverPending() {
+        recoveryRequired = false;
+        List<PendingIssue> chunk = new ArrayList<>(flushSize);
+        int replayed = 0;
+
+        try (Cursor<String> cursor = stringRedisTemplate.opsForSet()
+                .scan(PENDING_KEY, ScanOptions.scanOptions().count(flushSize).build())) {
+            while (cursor.hasNext()) {
+                chunk.add(PendingIssue.fromMember(cursor.next()));
+                if (chunk.size() >= flushSize) {
+                    flush(chunk);
+                    replayed += chunk.size();
+                    chunk.clear();
+                }
+            }
+            flush(chunk);
+            replayed += chunk.size();
+        } catch (DataAccessException e) {
+            log.error("[Write-Behind] replay 실패", e);
+            recoveryRequired = true;
+        }
+
+        if (replayed > 0) {
+            log.info("[Write-Behind] pending 항목 replay 완료 - size: {}", replayed);
+        }
+    }
+
+    public record PendingIssue(Long couponId, Long userId) {
+
+        String toMember() {
+            return couponId + ":" + userId;
+        }
+
+        static PendingIssue fromMember(String member) {
+            int separator = member.indexOf(':');
+            return new PendingIssue(
+                    Long.parseLong(member.substring(0, separator)),
+                    Long.parseLong(member.substring(separator + 1))
+            );
+        }
+    }
+}
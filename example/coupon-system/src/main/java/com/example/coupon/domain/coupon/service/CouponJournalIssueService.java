@@ -0,0 +1,389 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.cache.CouponMetadataCache;
+import com.example.coupon.domain.coupon.journal.CouponIssueJournal;
+import com.example.coupon.domain.coupon.repository.CouponIssueIdGenerator;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import com.example.coupon.global.util.RoaringBitmap;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * 저널 발급: 발급 허용을 메모리에서 판단하고, DB 대신 로컬 저널 파일(fsync)로 영속화
+ *
+ * 동작 원리:
+ *   1. 쿠폰별 발급 수량(AtomicInteger)과 발급 사용자(RoaringBitmap)로 메모리에서 허용 여부 판단
+ *      - 처음 보는 쿠폰은 DB에서 발급 수량과 발급 사용자를 한 번 적재
+ *   2. 허용되면 (couponId, userId, timestamp)를 저널에 추가하고 group commit fsync를 기다린 뒤 응답
+ *   3. tailer 스레드가 fsync된 레코드를 batch로 CouponIssue에 저장하고 issued_quantity + n
+ *
+ * 효과:
+ *   - 요청당 DB 왕복 없음 -> 지연 시간 = 메모리 판단 + fsync 대기 (fsync 1번을 여러 요청이 공유)
+ *
+ * 복구:
+ *   - 시작 시 저널 파일이 있으면 DB에 반영되지 않은 레코드를 먼저 모두 저장한 뒤 발급을 받음
+ *   - 발급 수량, 발급 사용자는 DB에서 다시 적재되므로 재시작 전 허용분이 그대로 반영됨
+ *   - 저장 후 반영 위치를 기록하기 전에 죽어도 다시 저장하면서 유니크 제약으로 중복을 건너뜀
+ *
+ * 주의:
+ *   - 쿠폰 상태와 저널이 이 서버에 있으므로 같은 쿠폰은 이 방식으로만 발급 (Single-Writer와 동일)
+ *   - CouponIssue 조회는 tailer 반영 전까지 늦을 수 있음
+ *   - 저널이 가득 차면 tailer가 따라잡을 때까지 COUPON_ISSUE_BUSY
+ *   - 저널에 쓴 뒤 sync-timeout-ms 안에 fsync가 끝나지 않으면 COUPON_ISSUE_PENDING (202)
+ *     (레코드는 저널에 있으므로 fsync 후 발급됨, 실패로 응답하지 않음 -> 재시도하면 중복 발급으로 확인됨)
+ *   - 저널 파일(capacity-records x 32 bytes 매핑)과 sync/tailer 스레드는 첫 발급 때 생성
+ *     (이전 실행의 저널 파일이 남아 있으면 시작 시 열어서 replay) -> 이 방식을 쓰지 않는 서버는 비용 없음
+ *
+ * 메트릭 (저널을 열기 전에는 0):
+ *   - coupon.issue.journal.pending: fsync됐지만 아직 DB에 반영되지 않은 레코드 수
+ *   - coupon.issue.journal.syncs / coupon.issue.journal.synced.records: fsync 횟수 / fsync된 레코드 수
+ */
+@Slf4j
+@Service
+public class CouponJournalIssueService {
+
+    private static final String INSERT_ISSUE_SQL =
+            "INSERT INTO coupon_issue (id, coupon_id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INCREASE_ISSUED_SQL =
+            "UPDATE coupon SET issued_quantity = issued_quantity + ? WHERE id = ?";
+    private static final String ISSUED_QUANTITY_SQL = "SELECT issued_quantity FROM coupon WHERE id = ?";
+    private static final String ISSUED_USERS_SQL = "SELECT user_id FROM coupon_issue WHERE coupon_id = ?";
+
+    private static final String JOURNAL_FILE = "coupon-issue.journal";
+
+    private final CouponMetadataCache couponMetadataCache;
+    private final CouponIssueBloomFilter couponIssueBloomFilter;
+    private final CouponSoldOutRegistry soldOutRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final CouponIssueIdGenerator couponIssueIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Path journalFile;
+    private final int capacityRecords;
+    private final int tailBatchSize;
+    private final long tailIntervalMillis;
+    private final long syncTimeoutMillis;
+
+    private final Map<Long, CouponState> states = new ConcurrentHashMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final ReentrantLock openLock = new ReentrantLock();
+
+    private volatile CouponIssueJournal journal;
+    private Thread tailer;
+    private volatile boolean running;
+    private volatile boolean recovered;
+
+    public CouponJournalIssueService(
+            CouponMetadataCache couponMetadataCache,
+            CouponIssueBloomFilter couponIssueBloomFilter,
+            CouponSoldOutRegistry soldOutRegistry,
+            JdbcTemplate jdbcTemplate,
+            CouponIssueIdGenerator couponIssueIdGenerator,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${coupon.journal.dir:./data/journal}") String journalDir,
+            @Value("${coupon.journal.capacity-records:1000000}") int capacityRecords,
+            @Value("${coupon.journal.tail-batch-size:500}") int tailBatchSize,
+            @Value("${coupon.journal.tail-interval-ms:10}") long tailIntervalMillis,
+            @Value("${coupon.journal.sync-timeout-ms:1000}") long syncTimeoutMillis) {
+        this.couponMetadataCache = couponMetadataCache;
+        this.couponIssueBloomFilter = couponIssueBloomFilter;
+        this.soldOutRegistry = soldOutRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.couponIssueIdGenerator = couponIssueIdGenerator;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.journalFile = Path.of(journalDir).resolve(JOURNAL_FILE);
+        this.capacityRecords = capacityRecords;
+        this.tailBatchSize = tailBatchSize;
+        this.tailIntervalMillis = tailIntervalMillis;
+        this.syncTimeoutMillis = syncTimeoutMillis;
+    }
+
+    /**
+     * 이전 실행의 저널 파일이 있으면 열어서 DB에 반영하지 못한 레코드를 저장한 뒤 발급을 받음
+     * 파일이 없으면 첫 발급 때 생성 (스키마가 준비된 뒤 실행되도록 ApplicationReadyEvent 사용)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (Files.exists(journalFile)) {
+            journal();
+        }
+
+        Gauge.builder("coupon.issue.journal.pending", this, CouponJournalIssueService::pendingCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("coupon.issue.journal.syncs", this,
+                        service -> service.journalStat(CouponIssueJournal::syncCount))
+                .register(meterRegistry);
+        FunctionCounter.builder("coupon.issue.journal.synced.records", this,
+                        service -> service.journalStat(CouponIssueJournal::syncedRecords))
+                .register(meterRegistry);
+        recovered = true;
+    }
+
+    /**
+     * 저널을 한 번만 열고 replay -> tailer 시작 순서로 준비
+     */
+    private CouponIssueJournal journal() {
+        CouponIssueJournal current = journal;
+        if (current != null) {
+            return current;
+        }
+
+        openLock.lock();
+        try {
+            if (journal == null) {
+                journal = open();
+            }
+            return journal;
+        } finally {
+            openLock.unlock();
+        }
+    }
+
+    private CouponIssueJournal open() {
+        CouponIssueJournal opened;
+        try {
+            opened = CouponIssueJournal.open(journalFile, capacityRecords);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 파일을 열 수 없습니다: " + journalFile, e);
+        }
+
+        int replayed = 0;
+        List<CouponIssueJournal.Entry> entries;
+        while (!(entries = opened.read(tailBatchSize)).isEmpty()) {
+            persist(entries);
+            opened.markTailed(entries.size());
+            replayed += entries.size();
+        }
+        if (replayed > 0) {
+            log.info("[저널] 미반영 레코드 replay 완료 - size: {}", replayed);
+        }
+
+        running = true;
+        tailer = new Thread(() -> tailLoop(opened), "coupon-journal-tailer");
+        tailer.setDaemon(true);
+        tailer.start();
+        return opened;
+    }
+
+    /**
+     * 종료 시 fsync된 레코드를 모두 DB에 반영한 뒤 저널을 닫음
+     */
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        recovered = false;
+        running = false;
+        if (tailer != null) {
+            tailer.interrupt();
+            tailer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    public void issue(Long couponId, Long userId) {
+        if (!recovered) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_BUSY);
+        }
+
+        CouponState state = stateOf(couponId);
+        if (!state.issuedUsers.add(userId)) {
+            throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
+        }
+        if (!state.tryIncrement()) {
+            state.issuedUsers.remove(userId);
+            soldOutRegistry.markSoldOut(couponId);
+            throw new BusinessException(ErrorCode.COUPON_SOLD_OUT);
+        }
+
+        CouponIssueJournal current = journal();
+        long sequence = current.append(couponId, userId, System.currentTimeMillis());
+        if (sequence < 0) {
+            state.issuedQuantity.decrementAndGet();
+            state.issuedUsers.remove(userId);
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_BUSY);
+        }
+
+        // 저널에 쓴 이후에는 되돌리지 않음 -> fsync를 다 기다리지 못해도 실패가 아니라 접수로 응답
+        // (재시도 시 중복 발급으로 거절되어 발급 여부를 확인할 수 있음)
+        couponIssueBloomFilter.record(couponId, userId);
+        try {
+            if (!current.awaitDurable(sequence, syncTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("[저널] fsync 대기 시간 초과, 접수로 응답 - couponId: {}, userId: {}", couponId, userId);
+                throw new BusinessException(ErrorCode.COUPON_ISSUE_PENDING);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_PENDING);
+        }
+
+        log.debug("[저널] 쿠폰 발급 - couponId: {}, userId: {}", couponId, userId);
+    }
+
+    public int pendingCount() {
+        CouponIssueJournal current = journal;
+        return current == null ? 0 : current.pendingCount();
+    }
+
+    private double journalStat(ToLongFunction<CouponIssueJournal> stat) {
+        CouponIssueJournal current = journal;
+        return current == null ? 0 : stat.applyAsLong(current);
+    }
+
+    /**
+     * 처음 보는 쿠폰은 DB에서 적재 (JDBC 대기 중에 캐리어 스레드를 붙잡지 않도록 computeIfAbsent 대신 ReentrantLock)
+     * 이 서버에서 발급되기 전에 적재하므로 tailer가 반영 중인 레코드와 겹치지 않음
+     */
+    private CouponState stateOf(Long couponId) {
+        CouponState state = states.get(couponId);
+        if (state != null) {
+            return state;
+        }
+
+        loadLock.lock();
+        try {
+            state = states.get(couponId);
+            if (state == null) {
+                state = load(couponId);
+                states.put(couponId, state);
+            }
+            return state;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private CouponState load(Long couponId) {
+        int totalQuantity = couponMetadataCache.totalQuantity(couponId);
+        Integer issuedQuantity = jdbcTemplate.queryForObject(ISSUED_QUANTITY_SQL, Integer.class, couponId);
+
+        CouponState state = new CouponState(totalQuantity, issuedQuantity == null ? 0 : issuedQuantity);
+        jdbcTemplate.query(ISSUED_USERS_SQL, rs -> { state.issuedUsers.add(rs.getLong("user_id")); }, couponId);
+
+        log.info("[저널] 쿠폰 상태 적재 - couponId: {}, issued: {}/{}",
+                couponId, state.issuedQuantity.get(), totalQuantity);
+        return state;
+    }
+
+    private void tailLoop(CouponIssueJournal journal) {
+        while (running || journal.pendingCount() > 0) {
+            List<CouponIssueJournal.Entry> entries = journal.read(tailBatchSize);
+            if (entries.isEmpty()) {
+                try {
+                    Thread.sleep(tailIntervalMillis);
+                } catch (InterruptedException e) {
+                    // close() 호출 - 남은 레코드를 반영하고 멈춤
+                }
+                continue;
+            }
+
+            try {
+                persist(entries);
+                journal.markTailed(entries.size());
+            } catch (RuntimeException e) {
+                // 반영 위치를 옮기지 않았으므로 다음 주기에 같은 레코드를 다시 저장
+                log.error("[저널] DB 반영 실패, 재시도 예정 - size: {}", entries.size(), e);
+                if (!running) {
+                    return;
+                }
+                try {
+                    Thread.sleep(tailIntervalMillis);
+                } catch (InterruptedException ignored) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void persist(List<CouponIssueJournal.Entry> entries) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(entries));
+        } catch (DataIntegrityViolationException e) {
+            // 반영 위치 기록 전에 죽었던 구간 -> 건별로 저장하고 이미 저장된 항목은 건너뜀
+            log.warn("[저널] 중복 항목 포함, 건별 저장으로 전환 - size: {}", entries.size());
+            entries.forEach(this::insertOne);
+        }
+    }
+
+    private void insertBatch(List<CouponIssueJournal.Entry> entries) {
+        PrimitiveIterator.OfLong ids = couponIssueIdGenerator.nextIds(entries.size());
+        jdbcTemplate.batchUpdate(INSERT_ISSUE_SQL, entries, entries.size(), (ps, entry) -> {
+            Timestamp issuedAt = new Timestamp(entry.timestamp());
+            ps.setLong(1, ids.nextLong());
+            ps.setLong(2, entry.couponId());
+            ps.setLong(3, entry.userId());
+            ps.setTimestamp(4, issuedAt);
+            ps.setTimestamp(5, issuedAt);
+        });
+
+        Map<Long, Integer> countByCoupon = new LinkedHashMap<>();
+        entries.forEach(entry -> countByCoupon.merge(entry.couponId(), 1, Integer::sum));
+        jdbcTemplate.batchUpdate(INCREASE_ISSUED_SQL, countByCoupon.entrySet(), countByCoupon.size(),
+                (ps, entry) -> {
+                    ps.setInt(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+
+    private void insertOne(CouponIssueJournal.Entry entry) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Timestamp issuedAt = new Timestamp(entry.timestamp());
+                jdbcTemplate.update(INSERT_ISSUE_SQL, couponIssueIdGenerator.nextId(),
+                        entry.couponId(), entry.userId(), issuedAt, issuedAt);
+                jdbcTemplate.update(INCREASE_ISSUED_SQL, 1, entry.couponId());
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("[저널] 이미 저장된 항목 건너뜀 - couponId: {}, userId: {}", entry.couponId(), entry.userId());
+        }
+    }
+
+    private static final class CouponState {
+        private final int totalQuantity;
+        private final AtomicInteger issuedQuantity;
+        private final RoaringBitmap issuedUsers = new RoaringBitmap();
+
+        private CouponState(int totalQuantity, int issuedQuantity) {
+            this.totalQuantity = totalQuantity;
+            this.issuedQuantity = new AtomicInteger(issuedQuantity);
+        }
+
+        boolean tryIncrement() {
+            int current;
+            while ((current = issuedQuantity.get()) < totalQuantity) {
+                if (issuedQuantity.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
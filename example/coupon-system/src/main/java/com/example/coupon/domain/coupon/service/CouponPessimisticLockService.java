@@ -35,6 +35,8 @@ public class CouponPessimisticLockService {
 
     private final CouponRepository couponRepository;
     private final CouponIssueRepository couponIssueRepository;
+    private final CouponIssueBloomFilter couponIssueBloomFilter;
+    private final CouponSoldOutRegistry soldOutRegistry;
 
     @Transactional
     public void issue(Long couponId, Long userId) {
@@ -42,10 +44,13 @@ public class CouponPessimisticLockService {
         Coupon coupon = couponRepository.findByIdWithPessimisticLock(couponId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
 
-        if (couponIssueRepository.existsByCouponIdAndUserId(couponId, userId)) {
+        if (couponIssueBloomFilter.isAlreadyIssued(couponId, userId)) {
             throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
         }
 
+        if (coupon.isSoldOut()) {
+            soldOutRegistry.markSoldOut(couponId);
+        }
         coupon.issue();
 
         couponIssueRepository.save(
@@ -54,6 +59,7 @@ public class CouponPessimisticLockService {
                         .userId(userId)
                         .build()
         );
+        couponIssueBloomFilter.record(couponId, userId);
 
         log.info("[비관적 락] 쿠폰 발급 - couponId: {}, userId: {}, issued: {}/{}",
                 couponId, userId, coupon.getIssuedQuantity(), coupon.getTotalQuantity());
@@ -0,0 +1,376 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.entity.CouponIssue;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 쿼터 리스 (Quota Lease) - 서버마다 수량을 블록 단위로 미리 받아서 로컬에서 발급
+ *
+ * 동작 원리:
+ *   1. 서버가 중앙 카운터(Redis coupon:count:{id})에서 blockSize개(예: 50개)를 한 번에 예약
+ *   2. 요청은 JVM 내부 AtomicInteger를 CAS로 차감 -> Redis, DB row 락 없음
+ *   3. 블록을 다 쓰거나 만료(ttl)되거나 서버가 종료되면 정산
+ *      - 쓰지 않은 수량은 중앙 카운터로 반납 (DECRBY)
+ *      - 실제 발급 수량은 Coupon.issuedQuantity에 한 번에 반영 (+n)
+ *      - 예약할 때 coupon:leased:{id}에 더한 수량을 정산한 만큼 뺌
+ *        -> 중앙 카운터를 함께 쓰는 발급(/atomic, /script 등)은 이 값이 0일 때만 소진으로 등록
+ *           (리스가 들고 있다가 반납할 수 있는 수량이 남아 있으면 아직 소진이 아님)
+ *
+ * 효과:
+ *   - 중앙 카운터 접근이 요청당 1번 -> blockSize건당 1번
+ *   - 서버를 늘리면 발급 처리량도 늘어남 (하나의 hot key에 묶이지 않음)
+ *
+ * 주의:
+ *   - 중복 발급은 (coupon_id, user_id) 유니크 제약으로 막음 (서버 간 공유 Set 없음)
+ *   - 중앙 카운터를 쓰므로 분할 카운터(/split)와 같은 쿠폰에 섞어 쓸 수 없음 (CouponCounterMode)
+ *   - Coupon.issuedQuantity는 정산 시점에 반영되므로 조회 값이 잠시 늦을 수 있음
+ *   - 서버가 비정상 종료되면 그 서버가 들고 있던 수량은 만료 후에도 반납되지 않음
+ *     (덜 발급될 수는 있어도 초과 발급은 없음, coupon:leased:{id}도 남으므로 소진 목록 등록 없이 Redis에서 거절)
+ *   - 리스 교체/예약은 Redis 호출을 포함하므로 ConcurrentHashMap.compute(synchronized)가 아닌
+ *     쿠폰별 ReentrantLock으로 직렬화 (가상 스레드가 대기 중에 캐리어 스레드를 붙잡지 않도록)
+ *   - 락 안에서는 이전 리스를 닫고 아직 가져가지 않은 수량만 바로 반납, 진행 중인 발급(DB 저장)을 기다리는 정산은
+ *     락 밖에서 Condition으로 대기 -> 그동안 다른 요청은 새 리스로 계속 발급
+ */
+@Slf4j
+@Service
+public class CouponQuotaLeaseService {
+
+    private static final long SCRIPT_NOT_INITIALIZED = -1L;
+
+    private final CouponRepository couponRepository;
+    private final CouponIssueRepository couponIssueRepository;
+    private final CouponIssueBloomFilter couponIssueBloomFilter;
+    private final CouponRedisAtomicService redisAtomicService;
+    private final CouponSoldOutRegistry soldOutRegistry;
+    private final CouponCounterMode counterMode;
+    private final RedisTemplate<String, Long> redisTemplate;
+    private final RedisScript<Long> couponLeaseScript;
+    private final int blockSize;
+    private final long ttlMillis;
+
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+    private final Map<Long, ReentrantLock> renewLocks = new ConcurrentHashMap<>();
+
+    public CouponQuotaLeaseService(
+            CouponRepository couponRepository,
+            CouponIssueRepository couponIssueRepository,
+            CouponIssueBloomFilter couponIssueBloomFilter,
+            CouponRedisAtomicService redisAtomicService,
+            CouponSoldOutRegistry soldOutRegistry,
+            CouponCounterMode counterMode,
+            RedisTemplate<String, Long> redisTemplate,
+            RedisScript<Long> couponLeaseScript,
+            @Value("${coupon.lease.block-size:50}") int blockSize,
+            @Value("${coupon.lease.ttl-ms:5000}") long ttlMillis) {
+        this.couponRepository = couponRepository;
+        this.couponIssueRepository = couponIssueRepository;
+        this.couponIssueBloomFilter = couponIssueBloomFilter;
+        this.redisAtomicService = redisAtomicService;
+        this.soldOutRegistry = soldOutRegistry;
+        this.counterMode = counterMode;
+        this.redisTemplate = redisTemplate;
+        this.couponLeaseScript = couponLeaseScript;
+        this.blockSize = blockSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public void issue(Long couponId, Long userId) {
+        if (couponIssueBloomFilter.isAlreadyIssued(couponId, userId)) {
+            throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
+        }
+
+        Lease lease = acquireUnit(couponId);
+        try {
+            couponIssueRepository.saveAndFlush(
+                    CouponIssue.builder()
+                            .couponId(couponId)
+                            .userId(userId)
+                            .build()
+            );
+            lease.issued.increment();
+            couponIssueBloomFilter.record(couponId, userId);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버에서 이미 발급됨 -> 받은 수량은 다시 로컬 리스에 돌려놓음
+            lease.remaining.incrementAndGet();
+            throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
+        } finally {
+            lease.release();
+        }
+
+        log.debug("[쿼터 리스] 쿠폰 발급 - couponId: {}, userId: {}", couponId, userId);
+    }
+
+    /**
+     * 로컬 리스에서 1개를 가져옴, 다 썼으면 새 블록을 예약
+     * 반환된 리스는 inFlight가 1 증가한 상태 (발급이 끝나면 감소)
+     */
+    private Lease acquireUnit(Long couponId) {
+        while (true) {
+            Lease lease = leases.get(couponId);
+            if (lease == null || lease.isExpired()) {
+                renew(couponId, lease);
+                continue;
+            }
+            if (lease.tryAcquire()) {
+                return lease;
+            }
+            if (lease.isSoldOut()) {
+                throw new BusinessException(ErrorCode.COUPON_SOLD_OUT);
+            }
+            renew(couponId, lease);
+        }
+    }
+
+    /**
+     * 쿠폰당 한 스레드만 리스 교체 + 새 블록 예약을 수행 (나머지는 새 리스를 그대로 사용)
+     * 이전 리스의 정산(진행 중인 발급 대기)은 락을 놓은 뒤 수행
+     */
+    private void renew(Long couponId, Lease stale) {
+        Lease retired = null;
+        int returned = 0;
+        ReentrantLock lock = renewLock(couponId);
+        lock.lock();
+        try {
+            Lease current = leases.get(couponId);
+            if (current != null && current != stale && !current.isExpired()) {
+                return;
+            }
+            if (current != null) {
+                // 남은 수량을 먼저 반납해야 바로 아래 예약에서 다시 받을 수 있음
+                returned = retire(couponId, current);
+                retired = current;
+                leases.remove(couponId, current);
+            }
+            leases.put(couponId, reserve(couponId));
+        } finally {
+            lock.unlock();
+            // 예약이 실패해도 닫은 리스는 정산
+            if (retired != null) {
+                settle(couponId, retired, returned);
+            }
+        }
+    }
+
+    private ReentrantLock renewLock(Long couponId) {
+        return renewLocks.computeIfAbsent(couponId, id -> new ReentrantLock());
+    }
+
+    private Lease reserve(Long couponId) {
+        counterMode.claim(couponId, CouponCounterMode.Mode.CENTRAL);
+
+        Long granted = executeLeaseScript(couponId);
+        if (granted == SCRIPT_NOT_INITIALIZED) {
+            redisAtomicService.loadTotalQuantity(couponId);
+            granted = executeLeaseScript(couponId);
+        }
+        if (granted < 0) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+        }
+        if (granted == 0) {
+            markSoldOutIfSettled(couponId);
+        }
+
+        log.debug("[쿼터 리스] 블록 예약 - couponId: {}, granted: {}", couponId, granted);
+        return new Lease(granted.intValue(), System.currentTimeMillis() + ttlMillis);
+    }
+
+    /**
+     * 중앙 카운터가 바닥나도 다른 서버의 리스가 정산되면서 수량이 반납될 수 있음
+     * -> 정산이 끝나 Coupon.issuedQuantity까지 다 찬 경우에만 소진으로 등록
+     */
+    private void markSoldOutIfSettled(Long couponId) {
+        if (couponRepository.findById(couponId).map(Coupon::isSoldOut).orElse(false)) {
+            soldOutRegistry.markSoldOut(couponId);
+        }
+    }
+
+    private Long executeLeaseScript(Long couponId) {
+        List<String> keys = List.of(
+                CouponRedisAtomicService.COUPON_COUNT_KEY + couponId,
+                CouponRedisAtomicService.COUPON_TOTAL_KEY + couponId,
+                CouponRedisAtomicService.COUPON_LEASED_KEY + couponId
+        );
+        Long granted = redisTemplate.execute(couponLeaseScript, keys, (long) blockSize);
+        if (granted == null) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+        }
+        return granted;
+    }
+
+    /**
+     * 리스를 닫고 아직 아무도 가져가지 않은 수량을 중앙 카운터로 바로 반납 (락 안에서 호출)
+     * 반환값: 반납한 수량
+     */
+    private int retire(Long couponId, Lease lease) {
+        int unused = lease.close();
+        if (unused > 0) {
+            returnUnits(couponId, unused, unused);
+        }
+        return unused;
+    }
+
+    /**
+     * 중앙 카운터에 unused개 반납 후 리스 보유 수량에서 settled개를 뺌
+     * 순서: 카운터를 먼저 줄여야 "카운터가 가득 참 + 리스 보유 0"을 보고 소진으로 잘못 등록하지 않음
+     */
+    private void returnUnits(Long couponId, int unused, int settled) {
+        if (unused > 0) {
+            redisTemplate.opsForValue().decrement(CouponRedisAtomicService.COUPON_COUNT_KEY + couponId, unused);
+        }
+        if (settled > 0) {
+            redisTemplate.opsForValue().decrement(CouponRedisAtomicService.COUPON_LEASED_KEY + couponId, settled);
+        }
+    }
+
+    /**
+     * 리스 정산 (락 밖에서 호출) - 진행 중인 발급이 끝날 때까지 기다린 뒤
+     * 닫은 뒤 돌아온 수량(중복 발급으로 되돌린 수량)을 반납하고, 발급 수량은 Coupon.issuedQuantity에 반영
+     */
+    private void settle(Long couponId, Lease lease, int returned) {
+        lease.awaitDrained();
+
+        int issued = (int) lease.issued.sum();
+        int unused = lease.granted - issued - returned;
+
+        returnUnits(couponId, unused, lease.granted - returned);
+        if (issued > 0) {
+            couponRepository.increaseIssuedQuantityBy(couponId, issued);
+        }
+
+        log.debug("[쿼터 리스] 정산 - couponId: {}, issued: {}, returned: {}", couponId, issued, unused);
+    }
+
+    /**
+     * 만료된 리스를 정산해서 남은 수량을 다른 서버가 쓸 수 있게 반납
+     */
+    @Scheduled(fixedDelayString = "${coupon.lease.ttl-ms:5000}")
+    public void expireLeases() {
+        leases.keySet().forEach(couponId -> settleAndRemove(couponId, true));
+    }
+
+    /**
+     * 서버 종료 시 모든 리스 반납
+     */
+    @PreDestroy
+    public void releaseAll() {
+        leases.keySet().forEach(couponId -> settleAndRemove(couponId, false));
+    }
+
+    private void settleAndRemove(Long couponId, boolean expiredOnly) {
+        Lease lease;
+        int returned;
+        ReentrantLock lock = renewLock(couponId);
+        lock.lock();
+        try {
+            lease = leases.get(couponId);
+            if (lease == null || (expiredOnly && !lease.isExpired())) {
+                return;
+            }
+            returned = retire(couponId, lease);
+            leases.remove(couponId, lease);
+        } finally {
+            lock.unlock();
+        }
+        settle(couponId, lease, returned);
+    }
+
+    private static class Lease {
+
+        private final int granted;
+        private final long expiresAt;
+        private final AtomicInteger remaining;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder issued = new LongAdder();
+        private final ReentrantLock drainLock = new ReentrantLock();
+        private final Condition drained = drainLock.newCondition();
+        private volatile boolean closed;
+
+        Lease(int granted, long expiresAt) {
+            this.granted = granted;
+            this.expiresAt = expiresAt;
+            this.remaining = new AtomicInteger(granted);
+        }
+
+        /**
+         * 락 없이 CAS로 1개 차감
+         */
+        boolean tryAcquire() {
+            inFlight.incrementAndGet();
+            if (!closed) {
+                int current;
+                while ((current = remaining.get()) > 0) {
+                    if (remaining.compareAndSet(current, current - 1)) {
+                        return true;
+                    }
+                }
+            }
+            release();
+            return false;
+        }
+
+        /**
+         * 가져간 수량의 발급이 끝남 - 닫힌 리스의 마지막 발급이면 정산 대기를 깨움
+         * (closed를 먼저 쓰고 inFlight를 읽는 close 쪽과 순서가 엇갈려도 둘 중 하나는 상대를 봄)
+         */
+        void release() {
+            if (inFlight.decrementAndGet() == 0 && closed) {
+                drainLock.lock();
+                try {
+                    drained.signalAll();
+                } finally {
+                    drainLock.unlock();
+                }
+            }
+        }
+
+        boolean isSoldOut() {
+            return granted == 0;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+
+        /**
+         * 새 요청을 막고 아직 아무도 가져가지 않은 수량을 반환
+         */
+        int close() {
+            closed = true;
+            return remaining.getAndSet(0);
+        }
+
+        /**
+         * 이미 수량을 가져간 요청이 끝날 때까지 대기 (바쁜 대기 없이 Condition으로)
+         */
+        void awaitDrained() {
+            drainLock.lock();
+            try {
+                while (inFlight.get() > 0) {
+                    drained.awaitUninterruptibly();
+                }
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.cache.CouponMetadataCache;
+import com.example.coupon.domain.coupon.store.IssuedUserStore;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking 발급 - 요청을 기다리는 동안 서블릿 스레드를 잡고 있지 않음
+ *
+ * 동작 원리:
+ *   1. 컨트롤러가 Mono를 반환 -> Spring MVC 비동기 처리로 Tomcat 스레드는 바로 반환
+ *   2. 발급 허용 여부는 Reactive Redis로 Lua 스크립트 실행 (coupon_issue.lua, Lua 스크립트 모드와 동일)
+ *      - 연결은 Redisson starter의 RedissonConnectionFactory (Reactive 연결도 제공, Lettuce는 쓰지 않음)
+ *   3. 허용되면 DB 저장만 크기가 정해진 스케줄러(coupon-reactive-db)에서 실행 (JDBC는 blocking)
+ *   4. 저장이 끝나면 응답
+ *
+ * 효과:
+ *   - 동시에 처리 중인 요청 수가 Tomcat 스레드 수(기본 200)에 묶이지 않음
+ *     -> 서버 한 대가 수만 개의 요청을 대기 상태로 들고 있을 수 있음 (server.tomcat.max-connections)
+ *   - blocking 작업(JDBC)은 DB 커넥션 풀 크기만큼의 스레드에서만 실행
+ *
+ * 백프레셔:
+ *   - 처리 중인 요청(Redis 발급 ~ DB 저장)이 db-queue-capacity를 넘으면 Redis 발급 전에 COUPON_ISSUE_BUSY로 거절
+ *     (허용된 발급이 스케줄러 큐에서 밀려나는 일이 없도록 큐 크기와 같은 값 사용)
+ *
+ * 메트릭:
+ *   - coupon.issue.reactive.pending: 처리 중인 요청 수
+ */
+@Slf4j
+@Service
+public class CouponReactiveIssueService {
+
+    // coupon_issue.lua 반환 코드
+    private static final long SCRIPT_ALREADY_ISSUED = -1L;
+    private static final long SCRIPT_SOLD_OUT = -2L;
+    private static final long SCRIPT_NOT_INITIALIZED = -3L;
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final RedisScript<Long> couponIssueScript;
+    private final CouponRedisAtomicService redisAtomicService;
+    private final CouponMetadataCache couponMetadataCache;
+    private final CouponSoldOutRegistry soldOutRegistry;
+    private final IssuedUserStore issuedUserStore;
+    private final CouponCounterMode counterMode;
+    private final Scheduler dbScheduler;
+    private final int dbQueueCapacity;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public CouponReactiveIssueService(
+            ReactiveStringRedisTemplate reactiveRedisTemplate,
+            RedisScript<Long> couponIssueScript,
+            CouponRedisAtomicService redisAtomicService,
+            CouponMetadataCache couponMetadataCache,
+            CouponSoldOutRegistry soldOutRegistry,
+            IssuedUserStore issuedUserStore,
+            CouponCounterMode counterMode,
+            MeterRegistry meterRegistry,
+            @Value("${coupon.reactive.db-threads:10}") int dbThreads,
+            @Value("${coupon.reactive.db-queue-capacity:20000}") int dbQueueCapacity) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.couponIssueScript = couponIssueScript;
+        this.redisAtomicService = redisAtomicService;
+        this.couponMetadataCache = couponMetadataCache;
+        this.soldOutRegistry = soldOutRegistry;
+        this.issuedUserStore = issuedUserStore;
+        this.counterMode = counterMode;
+        this.dbQueueCapacity = dbQueueCapacity;
+        this.dbScheduler = Schedulers.newBoundedElastic(dbThreads, dbQueueCapacity, "coupon-reactive-db");
+        Gauge.builder("coupon.issue.reactive.pending", inFlight, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dbScheduler.dispose();
+    }
+
+    public Mono<Void> issue(Long couponId, Long userId) {
+        return Mono.defer(() -> {
+            if (inFlight.incrementAndGet() > dbQueueCapacity) {
+                inFlight.decrementAndGet();
+                return Mono.error(new BusinessException(ErrorCode.COUPON_ISSUE_BUSY));
+            }
+
+            return Mono.defer(() -> claimCentralCounter(couponId))
+                    .then(Mono.defer(() -> admit(couponId, userId)))
+                    .flatMap(count -> Mono.fromRunnable(() -> redisAtomicService.saveCouponIssue(couponId, userId))
+                            .subscribeOn(dbScheduler)
+                            .doOnSuccess(ignored -> log.debug("[Reactive] 쿠폰 발급 - couponId: {}, userId: {}, count: {}",
+                                    couponId, userId, count)))
+                    .doFinally(signal -> inFlight.decrementAndGet())
+                    .then();
+        });
+    }
+
+    /**
+     * 중앙 카운터를 쓰는 방식으로 쿠폰을 선점 (분할 카운터와 섞이지 않도록)
+     * 이 서버가 이미 확인한 쿠폰이면 Redis 왕복 없음, 처음이면 blocking 호출이므로 스케줄러에서 실행
+     */
+    private Mono<Void> claimCentralCounter(Long couponId) {
+        if (counterMode.isClaimed(couponId, CouponCounterMode.Mode.CENTRAL)) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> counterMode.claim(couponId, CouponCounterMode.Mode.CENTRAL))
+                .subscribeOn(dbScheduler)
+                .then();
+    }
+
+    /**
+     * Redis Set이 아니면 스크립트 전에 저장소에 먼저 등록 (CouponRedisAtomicService와 동일)
+     */
+    private Mono<Long> admit(Long couponId, Long userId) {
+        String userKey = issuedUserStore.scriptKey(couponId);
+        if (userKey != null) {
+            return admit(couponId, userId, userKey);
+        }
+
+        if (!issuedUserStore.add(couponId, userId)) {
+            return Mono.error(new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED));
+        }
+        return admit(couponId, userId, "")
+                .doOnError(e -> issuedUserStore.remove(couponId, userId));
+    }
+
+    private Mono<Long> admit(Long couponId, Long userId, String userKey) {
+        return executeIssueScript(couponId, userId, userKey)
+                .flatMap(result -> result == SCRIPT_NOT_INITIALIZED
+                        ? loadTotalQuantity(couponId).then(executeIssueScript(couponId, userId, userKey))
+                        : Mono.just(result))
+                .flatMap(result -> {
+                    if (result == SCRIPT_ALREADY_ISSUED) {
+                        return Mono.error(new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED));
+                    }
+                    if (result == SCRIPT_SOLD_OUT) {
+                        return markSoldOutIfSettled(couponId)
+                                .then(Mono.error(new BusinessException(ErrorCode.COUPON_SOLD_OUT)));
+                    }
+                    if (result == SCRIPT_NOT_INITIALIZED) {
+                        return Mono.error(new BusinessException(ErrorCode.COUPON_ISSUE_FAILED));
+                    }
+                    return Mono.just(result);
+                });
+    }
+
+    /**
+     * 쿼터 리스가 들고 있는 수량이 없을 때만 소진으로 등록 (CouponRedisAtomicService.markSoldOutIfSettled와 같은 기준)
+     * 소진 전파는 blocking 호출이므로 Redis 이벤트 루프가 아닌 곳에서 실행
+     */
+    private Mono<Void> markSoldOutIfSettled(Long couponId) {
+        return reactiveRedisTemplate.opsForValue()
+                .get(CouponRedisAtomicService.COUPON_LEASED_KEY + couponId)
+                .defaultIfEmpty("0")
+                .filter(leased -> Long.parseLong(leased) <= 0)
+                .flatMap(leased -> Mono.fromRunnable(() -> soldOutRegistry.markSoldOut(couponId))
+                        .subscribeOn(dbScheduler))
+                .then();
+    }
+
+    private Mono<Long> executeIssueScript(Long couponId, Long userId, String userKey) {
+        List<String> keys = List.of(userKey,
+                CouponRedisAtomicService.COUPON_COUNT_KEY + couponId,
+                CouponRedisAtomicService.COUPON_TOTAL_KEY + couponId);
+
+        return reactiveRedisTemplate.execute(couponIssueScript, keys, List.of(String.valueOf(userId)))
+                .next()
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.COUPON_ISSUE_FAILED)));
+    }
+
+    /**
+     * initCouponCount가 호출되지 않은 쿠폰 - 총 수량은 캐시(미적재면 DB)에서 읽음
+     */
+    private Mono<Void> loadTotalQuantity(Long couponId) {
+        return Mono.fromCallable(() -> couponMetadataCache.totalQuantity(couponId))
+                .subscribeOn(dbScheduler)
+                .flatMap(totalQuantity -> reactiveRedisTemplate.opsForValue()
+                        .setIfAbsent(CouponRedisAtomicService.COUPON_COUNT_KEY + couponId, "0")
+                        .then(reactiveRedisTemplate.opsForValue()
+                                .setIfAbsent(CouponRedisAtomicService.COUPON_TOTAL_KEY + couponId,
+                                        String.valueOf(totalQuantity))))
+                .then();
+    }
+}
@@ -1,16 +1,21 @@
 package com.example.coupon.domain.coupon.service;
 
-import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.cache.CouponMetadataCache;
 import com.example.coupon.domain.coupon.entity.CouponIssue;
 import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
 import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.domain.coupon.store.IssuedUserStore;
 import com.example.coupon.global.error.BusinessException;
 import com.example.coupon.global.error.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
 
 /**
  * Step 4 (보너스): Redis Atomic 연산 - 가장 빠른 방식
@@ -34,6 +39,32 @@ import org.springframework.transaction.annotation.Transactional;
  *   - Redis 장애 시 복구 필요
  *
  * 실무: 대규모 이벤트(네이버, 카카오 선착순)에서 이 방식 사용
+ *
+ * Lua 스크립트 모드 (issueWithScript):
+ *   - SADD/INCR/DECR/SREM + DB 조회로 3~5번 오가던 요청을 Redis 왕복 1번으로 처리
+ *   - 중복 체크, 수량 체크, 발급이 스크립트 안에서 원자적으로 실행됨
+ *   - 카운터를 먼저 올리고 원복하는 과정이 없으므로 순간적인 초과 발급도 없음
+ *
+ * Write-Behind 모드 (issueWriteBehind):
+ *   - Lua 스크립트로 허용된 발급을 메모리 큐에 넣고 바로 응답
+ *   - DB 저장은 CouponIssueWriteBehindPersister가 모아서 batch로 처리
+ *
+ * 중복 체크 저장소 (IssuedUserStore):
+ *   - 기본값은 Redis SET -> 스크립트 안에서 원자적으로 체크, 모든 서버가 공유
+ *   - bitmap 저장소(선택)면 먼저 JVM 비트맵에 등록하고, 거절되면 되돌림
+ *
+ * DB 저장 실패 (issue, issueWithScript):
+ *   - Redis에서 받은 수량 1개를 카운터에 바로 반납 -> 유니크 제약 위반(다른 서버/재시작 전 발급분)으로 수량이 새지 않음
+ *   - 유니크 제약 위반이면 이미 발급된 사용자이므로 저장소에 남기고, 다른 실패면 저장소에서도 제거
+ *
+ * 분할 카운터 모드 (issueSplit):
+ *   - 수량을 K개 키(coupon:count:{id}:{k})에 나눠서 차감 -> 하나의 hot key에 요청이 몰리지 않음
+ *   - 시작 샤드는 userId 해시, 소진되면 다른 샤드로 넘어감 (CouponSplitCounter)
+ *   - 샤드와 중앙 카운터는 서로 모르므로 쿠폰마다 한 방식만 사용 (CouponCounterMode, 첫 발급 방식이 선점)
+ *
+ * 쿠폰 조회:
+ *   - 총 수량은 CouponMetadataCache에서 읽음 -> 요청마다 Coupon 엔티티를 조회하지 않음
+ *   - 발급 수량은 엔티티 변경 대신 UPDATE 한 문장으로 증가
  */
 @Slf4j
 @Service
@@ -42,24 +73,86 @@ public class CouponRedisAtomicService {
 
     private final CouponRepository couponRepository;
     private final CouponIssueRepository couponIssueRepository;
+    private final CouponMetadataCache couponMetadataCache;
     private final RedisTemplate<String, Long> redisTemplate;
+    private final RedisScript<Long> couponIssueScript;
+    private final RedisScript<Long> couponReserveScript;
+    private final CouponIssueWriteBehindPersister writeBehindPersister;
+    private final CouponSoldOutRegistry soldOutRegistry;
+    private final IssuedUserStore issuedUserStore;
+    private final CouponSplitCounter splitCounter;
+    private final CouponCounterMode counterMode;
+    private final TransactionTemplate transactionTemplate;
+
+    // 다른 발급 모드(쿼터 리스 등)와 같은 중앙 카운터를 공유
+    static final String COUPON_COUNT_KEY = "coupon:count:";
+    static final String COUPON_TOTAL_KEY = "coupon:total:";
+    // 쿼터 리스가 예약했지만 아직 정산하지 않은 수량 (CouponQuotaLeaseService)
+    static final String COUPON_LEASED_KEY = "coupon:leased:";
 
-    private static final String COUPON_COUNT_KEY = "coupon:count:";
-    private static final String COUPON_USER_KEY = "coupon:user:";
+    // coupon_issue.lua 반환 코드
+    private static final long SCRIPT_ALREADY_ISSUED = -1L;
+    private static final long SCRIPT_SOLD_OUT = -2L;
+    private static final long SCRIPT_NOT_INITIALIZED = -3L;
 
     /**
      * Redis에 쿠폰 정보 초기화 (쿠폰 생성 시 호출)
+     * 총 수량도 함께 적재해서 발급 시 DB를 조회하지 않도록 함
      */
     public void initCouponCount(Long couponId, int totalQuantity) {
         redisTemplate.opsForValue().set(COUPON_COUNT_KEY + couponId, 0L);
+        redisTemplate.opsForValue().set(COUPON_TOTAL_KEY + couponId, (long) totalQuantity);
+        redisTemplate.delete(COUPON_LEASED_KEY + couponId);
+        splitCounter.init(couponId, totalQuantity);
+        counterMode.reset(couponId);
+    }
+
+    /**
+     * Redis를 거치지 않는 발급(일괄 배포)의 수량을 카운터에서 먼저 예약하고, 예약한 수량을 반환
+     * 카운터에는 DB 저장 전 발급, Write-Behind 저장 대기분, 쿼터 리스 예약분이 모두 포함되어 있으므로 같이 차감해야 초과 발급이 없음
+     * 총 수량이 적재되지 않은 쿠폰(Redis 발급을 쓰지 않는 쿠폰)은 요청 수량을 그대로 반환
+     * 분할 카운터 쿠폰이면 샤드에서 차감
+     */
+    public int reserveIssuedCount(Long couponId, int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        if (counterMode.modeOf(couponId) == CouponCounterMode.Mode.SPLIT) {
+            return splitCounter.take(couponId, count);
+        }
+        Long reserved = redisTemplate.execute(couponReserveScript,
+                List.of(COUPON_COUNT_KEY + couponId, COUPON_TOTAL_KEY + couponId), (long) count);
+        if (reserved == null) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+        }
+        return reserved < 0 ? count : reserved.intValue();
+    }
+
+    /**
+     * reserveIssuedCount()로 예약했지만 발급하지 않은 수량을 반납 (예약하지 않은 쿠폰이면 무시)
+     */
+    public void releaseIssuedCount(Long couponId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (counterMode.modeOf(couponId) == CouponCounterMode.Mode.SPLIT) {
+            splitCounter.release(couponId, 0, count);
+        } else if (Boolean.TRUE.equals(redisTemplate.hasKey(COUPON_TOTAL_KEY + couponId))) {
+            redisTemplate.opsForValue().decrement(COUPON_COUNT_KEY + couponId, count);
+        } else {
+            return;
+        }
+        // 마지막 수량이 반납되었으면 그사이 등록된 소진을 해제
+        if (soldOutRegistry.isSoldOut(couponId)) {
+            soldOutRegistry.clearSoldOut(couponId);
+        }
     }
 
     public void issue(Long couponId, Long userId) {
-        // 1. 중복 발급 체크 (Redis Set 활용)
-        String userKey = COUPON_USER_KEY + couponId;
-        Boolean isNewUser = redisTemplate.opsForSet().add(userKey, userId) == 1;
+        counterMode.claim(couponId, CouponCounterMode.Mode.CENTRAL);
 
-        if (Boolean.FALSE.equals(isNewUser)) {
+        // 1. 중복 발급 체크 (IssuedUserStore: 비트맵 또는 Redis Set)
+        if (!issuedUserStore.add(couponId, userId)) {
             throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
         }
 
@@ -67,36 +160,203 @@ public class CouponRedisAtomicService {
         String countKey = COUPON_COUNT_KEY + couponId;
         Long currentCount = redisTemplate.opsForValue().increment(countKey);
 
-        Coupon coupon = couponRepository.findById(couponId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
-
         // 3. 수량 초과 체크
-        if (currentCount != null && currentCount > coupon.getTotalQuantity()) {
+        if (currentCount != null && currentCount > couponMetadataCache.totalQuantity(couponId)) {
             // 원복
             redisTemplate.opsForValue().decrement(countKey);
-            redisTemplate.opsForSet().remove(userKey, userId);
+            issuedUserStore.remove(couponId, userId);
+            markSoldOutIfSettled(couponId);
             throw new BusinessException(ErrorCode.COUPON_SOLD_OUT);
         }
 
         // 4. DB 저장
-        saveCouponIssue(couponId, userId);
+        saveOrReturn(couponId, userId);
 
         log.info("[Redis Atomic] 쿠폰 발급 - couponId: {}, userId: {}, count: {}",
                 couponId, userId, currentCount);
     }
 
-    @Transactional
-    public void saveCouponIssue(Long couponId, Long userId) {
-        Coupon coupon = couponRepository.findById(couponId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
+    /**
+     * Lua 스크립트 발급 - 중복 체크 + 수량 체크 + Set 추가를 Redis 왕복 1번으로 처리
+     */
+    public void issueWithScript(Long couponId, Long userId) {
+        long count = admitWithScript(couponId, userId, false);
+
+        saveOrReturn(couponId, userId);
+
+        log.info("[Redis Lua] 쿠폰 발급 - couponId: {}, userId: {}, count: {}",
+                couponId, userId, count);
+    }
+
+    /**
+     * 분할 카운터 발급 - 중복 체크는 IssuedUserStore, 수량은 K개 샤드 중 하나에서 차감
+     */
+    public void issueSplit(Long couponId, Long userId) {
+        counterMode.claim(couponId, CouponCounterMode.Mode.SPLIT);
+
+        if (!issuedUserStore.add(couponId, userId)) {
+            throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
+        }
+
+        int shard;
+        try {
+            shard = splitCounter.acquire(couponId, userId);
+        } catch (RuntimeException e) {
+            issuedUserStore.remove(couponId, userId);
+            throw e;
+        }
+        if (shard == CouponSplitCounter.SOLD_OUT) {
+            issuedUserStore.remove(couponId, userId);
+            soldOutRegistry.markSoldOut(couponId);
+            throw new BusinessException(ErrorCode.COUPON_SOLD_OUT);
+        }
+
+        try {
+            saveCouponIssue(couponId, userId);
+        } catch (RuntimeException e) {
+            splitCounter.release(couponId, shard);
+            issuedUserStore.remove(couponId, userId);
+            // 마지막 수량이 반납되었으면 그사이 등록된 소진을 해제
+            if (soldOutRegistry.isSoldOut(couponId)) {
+                soldOutRegistry.clearSoldOut(couponId);
+            }
+            throw e;
+        }
+
+        log.info("[Redis 분할 카운터] 쿠폰 발급 - couponId: {}, userId: {}, shard: {}",
+                couponId, userId, shard);
+    }
+
+    /**
+     * Write-Behind 발급 - Redis에서 허용되면 큐에 넣고 바로 응답, DB 저장은 batch로 처리
+     */
+    public void issueWriteBehind(Long couponId, Long userId) {
+        // 백프레셔: 저장이 밀려 있으면 Redis 발급 전에 거절
+        if (!writeBehindPersister.hasCapacity()) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_BUSY);
+        }
+
+        long count = admitWithScript(couponId, userId, true);
+        writeBehindPersister.enqueue(couponId, userId);
+
+        log.debug("[Write-Behind] 쿠폰 발급 - couponId: {}, userId: {}, count: {}",
+                couponId, userId, count);
+    }
+
+    private long admitWithScript(Long couponId, Long userId, boolean writeBehind) {
+        counterMode.claim(couponId, CouponCounterMode.Mode.CENTRAL);
+
+        // Redis Set이 아니면 스크립트 전에 저장소에 먼저 등록 (중복이면 Redis까지 가지 않음)
+        String userKey = issuedUserStore.scriptKey(couponId);
+        if (userKey != null) {
+            return admitWithScript(couponId, userId, userKey, writeBehind);
+        }
+
+        if (!issuedUserStore.add(couponId, userId)) {
+            throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
+        }
+        try {
+            return admitWithScript(couponId, userId, "", writeBehind);
+        } catch (RuntimeException e) {
+            issuedUserStore.remove(couponId, userId);
+            throw e;
+        }
+    }
+
+    private long admitWithScript(Long couponId, Long userId, String userKey, boolean writeBehind) {
+        long result = executeIssueScript(couponId, userId, userKey, writeBehind);
+
+        // initCouponCount가 호출되지 않은 쿠폰이면 DB에서 총 수량을 한 번만 적재
+        if (result == SCRIPT_NOT_INITIALIZED) {
+            loadTotalQuantity(couponId);
+            result = executeIssueScript(couponId, userId, userKey, writeBehind);
+        }
+
+        if (result == SCRIPT_ALREADY_ISSUED) {
+            throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
+        }
+        if (result == SCRIPT_SOLD_OUT) {
+            markSoldOutIfSettled(couponId);
+            throw new BusinessException(ErrorCode.COUPON_SOLD_OUT);
+        }
+        if (result == SCRIPT_NOT_INITIALIZED) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+        }
+        return result;
+    }
 
-        coupon.issue();
+    private long executeIssueScript(Long couponId, Long userId, String userKey, boolean writeBehind) {
+        List<String> keys = writeBehind
+                ? List.of(userKey, COUPON_COUNT_KEY + couponId,
+                        COUPON_TOTAL_KEY + couponId, CouponIssueWriteBehindPersister.PENDING_KEY)
+                : List.of(userKey, COUPON_COUNT_KEY + couponId,
+                        COUPON_TOTAL_KEY + couponId);
+
+        Long result = writeBehind
+                ? redisTemplate.execute(couponIssueScript, keys, userId, couponId)
+                : redisTemplate.execute(couponIssueScript, keys, userId);
+        if (result == null) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+        }
+        return result;
+    }
+
+    /**
+     * 중앙 카운터에서 받은 수량으로 DB 저장, 실패하면 수량을 반납하고 예외를 그대로 던짐
+     */
+    private void saveOrReturn(Long couponId, Long userId) {
+        try {
+            saveCouponIssue(couponId, userId);
+        } catch (RuntimeException e) {
+            redisTemplate.opsForValue().decrement(COUPON_COUNT_KEY + couponId);
+            if (!(e instanceof DataIntegrityViolationException)) {
+                issuedUserStore.remove(couponId, userId);
+            }
+            // 마지막 수량이 반납되었으면 그사이 등록된 소진을 해제
+            if (soldOutRegistry.isSoldOut(couponId)) {
+                soldOutRegistry.clearSoldOut(couponId);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 중앙 카운터가 가득 차도 쿼터 리스가 들고 있는 수량은 정산 때 반납될 수 있음
+     * -> 리스 보유 수량(coupon:leased:{id})이 0일 때만 소진으로 등록 (아니면 이번 요청만 거절)
+     */
+    void markSoldOutIfSettled(Long couponId) {
+        Long leased = redisTemplate.opsForValue().get(COUPON_LEASED_KEY + couponId);
+        if (leased == null || leased <= 0) {
+            soldOutRegistry.markSoldOut(couponId);
+        }
+    }
+
+    /**
+     * 이미 발급이 진행 중일 수 있으므로 setIfAbsent로 기존 카운터를 덮어쓰지 않음
+     */
+    void loadTotalQuantity(Long couponId) {
+        int totalQuantity = couponMetadataCache.totalQuantity(couponId);
+
+        redisTemplate.opsForValue().setIfAbsent(COUPON_COUNT_KEY + couponId, 0L);
+        redisTemplate.opsForValue().setIfAbsent(COUPON_TOTAL_KEY + couponId, (long) totalQuantity);
+    }
+
+    /**
+     * 발급 이력 INSERT와 발급 수량 UPDATE를 한 트랜잭션으로 커밋
+     * 같은 클래스의 issue()에서 this로 호출되므로 @Transactional(프록시)이 적용되지 않음 -> TransactionTemplate 사용
+     */
+    public void saveCouponIssue(Long couponId, Long userId) {
+        // 수량은 Redis에서 이미 확인됨 -> 존재 여부만 캐시로 확인
+        couponMetadataCache.get(couponId);
 
-        couponIssueRepository.save(
-                CouponIssue.builder()
-                        .couponId(couponId)
-                        .userId(userId)
-                        .build()
-        );
+        transactionTemplate.executeWithoutResult(status -> {
+            couponIssueRepository.save(
+                    CouponIssue.builder()
+                            .couponId(couponId)
+                            .userId(userId)
+                            .build()
+            );
+            couponRepository.increaseIssuedQuantityBy(couponId, 1);
+        });
     }
 }
@@ -41,6 +41,8 @@ public class CouponRedisLockService {
 
     private final CouponRepository couponRepository;
     private final CouponIssueRepository couponIssueRepository;
+    private final CouponIssueBloomFilter couponIssueBloomFilter;
+    private final CouponSoldOutRegistry soldOutRegistry;
     private final RedissonClient redissonClient;
 
     private static final String LOCK_KEY_PREFIX = "coupon:lock:";
@@ -75,10 +77,13 @@ public class CouponRedisLockService {
         Coupon coupon = couponRepository.findById(couponId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
 
-        if (couponIssueRepository.existsByCouponIdAndUserId(couponId, userId)) {
+        if (couponIssueBloomFilter.isAlreadyIssued(couponId, userId)) {
             throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
         }
 
+        if (coupon.isSoldOut()) {
+            soldOutRegistry.markSoldOut(couponId);
+        }
         coupon.issue();
 
         couponIssueRepository.save(
@@ -87,6 +92,7 @@ public class CouponRedisLockService {
                         .userId(userId)
                         .build()
         );
+        couponIssueBloomFilter.record(couponId, userId);
 
         log.info("[Redis 분산 락] 쿠폰 발급 - couponId: {}, userId: {}, issued: {}/{}",
                 couponId, userId, coupon.getIssuedQuantity(), coupon.getTotalQuantity());
@@ -1,5 +1,6 @@
 package com.example.coupon.domain.coupon.service;
 
+import com.example.coupon.domain.coupon.cache.CouponMetadataCache;
 import com.example.coupon.domain.coupon.dto.CouponCreateRequest;
 import com.example.coupon.domain.coupon.dto.CouponResponse;
 import com.example.coupon.domain.coupon.entity.Coupon;
@@ -20,6 +21,9 @@ public class CouponService {
 
     private final CouponRepository couponRepository;
     private final CouponIssueRepository couponIssueRepository;
+    private final CouponIssueBloomFilter couponIssueBloomFilter;
+    private final CouponSoldOutRegistry soldOutRegistry;
+    private final CouponMetadataCache couponMetadataCache;
 
     @Transactional
     public CouponResponse createCoupon(CouponCreateRequest request) {
@@ -27,7 +31,9 @@ public class CouponService {
                 .name(request.getName())
                 .totalQuantity(request.getTotalQuantity())
                 .build();
-        return CouponResponse.from(couponRepository.save(coupon));
+        Coupon saved = couponRepository.save(coupon);
+        couponMetadataCache.invalidate(saved.getId());
+        return CouponResponse.from(saved);
     }
 
     /**
@@ -47,10 +53,14 @@ public class CouponService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
 
         // 중복 발급 체크
-        if (couponIssueRepository.existsByCouponIdAndUserId(couponId, userId)) {
+        if (couponIssueBloomFilter.isAlreadyIssued(couponId, userId)) {
             throw new BusinessException(ErrorCode.COUPON_ALREADY_ISSUED);
         }
 
+        if (coupon.isSoldOut()) {
+            soldOutRegistry.markSoldOut(couponId);
+        }
+
         // 수량 차감 (Race Condition 발생 지점!)
         coupon.issue();
 
@@ -61,6 +71,7 @@ public class CouponService {
                         .userId(userId)
                         .build()
         );
+        couponIssueBloomFilter.record(couponId, userId);
 
         log.info("쿠폰 발급 완료 - couponId: {}, userId: {}, issued: {}/{}",
                 couponId, userId, coupon.getIssuedQuantity(), coupon.getTotalQuantity());
@@ -0,0 +1,128 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.domain.coupon.soldout.CouponSoldOutBus;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 소진된 쿠폰 목록 - 소진 이후 요청을 Redis, DB 접근 없이 바로 거절
+ *
+ * 동작 원리:
+ *   1. 어느 발급 전략이든 소진을 확인하면 markSoldOut() 호출
+ *   2. 로컬 Set에 추가하고 CouponSoldOutBus로 다른 서버에 전파
+ *   3. 컨트롤러(CouponSoldOutInterceptor)가 발급 요청마다 로컬 Set만 확인
+ *   4. 대조 작업(CouponIssueReconciler)이 DB 저장에 실패한 수량을 되돌려 총 수량 아래로 내려가면
+ *      clearSoldOut()으로 로컬 Set에서 지우고 다른 서버에도 해제를 전파
+ *
+ * 효과:
+ *   - 소진 이후 요청: SADD/INCR/DECR/SREM 또는 DB 락 -> ConcurrentHashMap 조회 1번
+ *
+ * 주의:
+ *   - 발급 수량은 대조 작업의 보정으로만 줄어들고, 그때만 소진이 해제됨
+ *   - 전파가 늦거나 유실되어도 각 전략이 소진을 다시 확인하므로 초과 발급은 없음
+ *   - 해제 전파가 유실된 서버는 재시작(load)하기 전까지 해당 쿠폰을 계속 거절함 (과소 발급 방향)
+ *
+ * 메트릭:
+ *   - coupon.issue.sold-out.rejected: 레지스트리로 바로 거절한 요청 수 (쿠폰별 태그 없음 -> 쿠폰이 늘어도 시계열 하나)
+ */
+@Slf4j
+@Component
+public class CouponSoldOutRegistry {
+
+    private final CouponSoldOutBus soldOutBus;
+    private final CouponRepository couponRepository;
+    private final Counter rejectedCounter;
+
+    private final Set<Long> soldOutCouponIds = ConcurrentHashMap.newKeySet();
+
+    public CouponSoldOutRegistry(
+            CouponSoldOutBus soldOutBus,
+            CouponRepository couponRepository,
+            MeterRegistry meterRegistry) {
+        this.soldOutBus = soldOutBus;
+        this.couponRepository = couponRepository;
+        this.rejectedCounter = meterRegistry.counter("coupon.issue.sold-out.rejected");
+        soldOutBus.subscribe(this::onSoldOut);
+        soldOutBus.subscribeCleared(this::onCleared);
+    }
+
+    /**
+     * 시작 시 이미 소진된 쿠폰을 적재 (서버가 꺼져 있던 동안의 전파 메시지는 받을 수 없음)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        couponRepository.findAll().stream()
+                .filter(Coupon::isSoldOut)
+                .forEach(coupon -> soldOutCouponIds.add(coupon.getId()));
+
+        log.info("[소진 목록] 적재 완료 - soldOut: {}", soldOutCouponIds.size());
+    }
+
+    public boolean isSoldOut(Long couponId) {
+        return soldOutCouponIds.contains(couponId);
+    }
+
+    /**
+     * 소진된 쿠폰이면 COUPON_SOLD_OUT
+     */
+    public void rejectIfSoldOut(Long couponId) {
+        if (soldOutCouponIds.contains(couponId)) {
+            rejectedCounter.increment();
+            throw new BusinessException(ErrorCode.COUPON_SOLD_OUT);
+        }
+    }
+
+    /**
+     * 발급 전략이 소진을 확인했을 때 호출 - 처음 확인한 경우에만 전파
+     * 전파 실패는 발급 결과에 영향을 주지 않음 (다른 서버는 각자 소진을 다시 확인)
+     */
+    public void markSoldOut(Long couponId) {
+        if (!soldOutCouponIds.add(couponId)) {
+            return;
+        }
+
+        try {
+            soldOutBus.publish(couponId);
+        } catch (RuntimeException e) {
+            log.warn("[소진 목록] 전파 실패 - couponId: {}", couponId, e);
+        }
+        log.info("[소진 목록] 쿠폰 소진 - couponId: {}", couponId);
+    }
+
+    /**
+     * 대조 작업이 발급 수량을 총 수량 아래로 되돌렸을 때 호출 - 이 서버에 없더라도 다른 서버를 위해 항상 전파
+     */
+    public void clearSoldOut(Long couponId) {
+        soldOutCouponIds.remove(couponId);
+
+        try {
+            soldOutBus.publishCleared(couponId);
+        } catch (RuntimeException e) {
+            log.warn("[소진 목록] 해제 전파 실패 - couponId: {}", couponId, e);
+        }
+        log.info("[소진 목록] 소진 해제 - couponId: {}", couponId);
+    }
+
+    private void onSoldOut(Long couponId) {
+        if (soldOutCouponIds.add(couponId)) {
+            log.info("[소진 목록] 다른 서버에서 소진 전파 - couponId: {}", couponId);
+        }
+    }
+
+    private void onCleared(Long couponId) {
+        if (soldOutCouponIds.remove(couponId)) {
+            log.info("[소진 목록] 다른 서버에서 소진 해제 전파 - couponId: {}", couponId);
+        }
+    }
+}
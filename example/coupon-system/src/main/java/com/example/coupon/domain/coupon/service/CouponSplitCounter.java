@@ -0,0 +1,253 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.cache.CouponMetadataCache;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 분할 카운터 (Hot Key Splitting) - 쿠폰 하나의 수량을 K개 Redis 키에 나눠서 차감
+ *
+ * 동작 원리:
+ *   1. 총 수량을 K개 샤드(coupon:count:{id}:{k})에 나눠서 "남은 수량"으로 적재
+ *      - 예: 100개, K=8 -> 13, 13, 13, 13, 12, 12, 12, 12
+ *   2. 요청은 userId 해시로 시작 샤드를 고르고 Lua 스크립트로 1개 차감
+ *   3. 샤드가 소진되면 다음 샤드로 넘어감 (fall-over), 모든 샤드가 소진되면 쿠폰 소진
+ *
+ * 효과:
+ *   - 하나의 coupon:count:{id} 키(= Redis Cluster 슬롯 하나, 이벤트 루프 하나)에 몰리던 요청이 K개 키로 분산
+ *   - 키 이름에 hash tag({...})를 쓰지 않으므로 클러스터에서는 샤드마다 다른 슬롯에 배치됨
+ *
+ * 정합성:
+ *   - 샤드 수량의 합 = totalQuantity, 샤드마다 0 아래로 내려가지 않음 -> 초과 발급 없음
+ *   - 소진된 샤드는 서버 로컬 비트마스크에 기록해서 다음 요청부터 건너뜀
+ *   - DB 저장 실패 등으로 되돌릴 때만 release()로 샤드에 1개 반납
+ *     -> 다른 서버의 비트마스크에는 반납이 보이지 않으므로, 모든 샤드가 소진으로 보이면
+ *        SOLD_OUT 전에 샤드 값을 한 번 더 읽어서(MGET) 남은 샤드의 비트를 지우고 다시 차감
+ *   - 중앙 카운터(coupon:count:{id})와 합쳐지지 않으므로 쿠폰마다 둘 중 하나만 사용 (CouponCounterMode)
+ *     Redis를 거치지 않은 발급(일괄 배포)은 take()로 샤드에서 차감 (샤드마다 한 번에 여러 개, 최대 K번 왕복)
+ *
+ * 메트릭:
+ *   - coupon.issue.split.fallover: 시작 샤드가 소진되어 다른 샤드로 넘어간 횟수
+ */
+@Component
+public class CouponSplitCounter {
+
+    static final String SHARD_KEY_PREFIX = "coupon:count:";
+
+    // 소진 비트마스크가 long 하나
+    private static final int MAX_SHARDS = 64;
+
+    // coupon_split_issue.lua 반환 코드
+    private static final long SCRIPT_SOLD_OUT = -2L;
+    private static final long SCRIPT_NOT_INITIALIZED = -3L;
+
+    public static final int SOLD_OUT = -1;
+
+    private final RedisTemplate<String, Long> redisTemplate;
+    private final RedisScript<Long> couponSplitIssueScript;
+    private final RedisScript<Long> couponSplitTakeScript;
+    private final CouponMetadataCache couponMetadataCache;
+    private final Counter falloverCounter;
+    private final int shards;
+
+    private final Map<Long, AtomicLong> exhaustedShards = new ConcurrentHashMap<>();
+
+    public CouponSplitCounter(
+            RedisTemplate<String, Long> redisTemplate,
+            RedisScript<Long> couponSplitIssueScript,
+            RedisScript<Long> couponSplitTakeScript,
+            CouponMetadataCache couponMetadataCache,
+            MeterRegistry meterRegistry,
+            @Value("${coupon.split-counter.shards:8}") int shards) {
+        if (shards < 1 || shards > MAX_SHARDS) {
+            throw new IllegalArgumentException("coupon.split-counter.shards는 1 ~ " + MAX_SHARDS + " 사이여야 합니다: " + shards);
+        }
+        this.redisTemplate = redisTemplate;
+        this.couponSplitIssueScript = couponSplitIssueScript;
+        this.couponSplitTakeScript = couponSplitTakeScript;
+        this.couponMetadataCache = couponMetadataCache;
+        this.shards = shards;
+        this.falloverCounter = Counter.builder("coupon.issue.split.fallover")
+                .description("시작 샤드가 소진되어 다른 샤드에서 차감한 횟수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 샤드별 남은 수량을 덮어씀 (쿠폰 생성 시 호출)
+     */
+    public void init(Long couponId, int totalQuantity) {
+        for (int shard = 0; shard < shards; shard++) {
+            redisTemplate.opsForValue().set(shardKey(couponId, shard), (long) shareOf(totalQuantity, shard));
+        }
+        exhaustedShards.remove(couponId);
+    }
+
+    /**
+     * 1개 차감 - 차감한 샤드 번호, 모든 샤드가 소진되면 SOLD_OUT
+     * 로컬 비트마스크로는 모두 소진이어도 다른 서버가 반납한 수량이 있으면 다시 확인해서 차감
+     */
+    public int acquire(Long couponId, Long userId) {
+        int start = Math.floorMod(userId.hashCode(), shards);
+        AtomicLong exhausted = exhaustedShards.computeIfAbsent(couponId, id -> new AtomicLong());
+
+        int shard = acquireFrom(couponId, start, exhausted);
+        if (shard == SOLD_OUT && reprobe(couponId, exhausted)) {
+            shard = acquireFrom(couponId, start, exhausted);
+        }
+        return shard;
+    }
+
+    private int acquireFrom(Long couponId, int start, AtomicLong exhausted) {
+        for (int i = 0; i < shards; i++) {
+            int shard = (start + i) % shards;
+            if ((exhausted.get() & (1L << shard)) != 0) {
+                continue;
+            }
+
+            long result = decrement(couponId, shard);
+            if (result == SCRIPT_NOT_INITIALIZED) {
+                load(couponId);
+                result = decrement(couponId, shard);
+            }
+            if (result >= 0) {
+                if (shard != start) {
+                    falloverCounter.increment();
+                }
+                return shard;
+            }
+            if (result != SCRIPT_SOLD_OUT) {
+                throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+            }
+            exhausted.getAndUpdate(mask -> mask | (1L << shard));
+        }
+        return SOLD_OUT;
+    }
+
+    /**
+     * 소진으로 기록된 샤드를 MGET 한 번으로 다시 읽어서 남은 수량이 있는 샤드의 비트를 지움
+     * 반환값: 다시 차감해 볼 샤드가 있으면 true
+     */
+    private boolean reprobe(Long couponId, AtomicLong exhausted) {
+        List<Long> values = redisTemplate.opsForValue().multiGet(shardKeys(couponId));
+        if (values == null) {
+            return false;
+        }
+
+        long available = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            Long value = values.get(shard);
+            if (value != null && value > 0) {
+                available |= 1L << shard;
+            }
+        }
+        if (available == 0) {
+            return false;
+        }
+        long cleared = available;
+        exhausted.getAndUpdate(mask -> mask & ~cleared);
+        return true;
+    }
+
+    /**
+     * 일괄 배포 수량을 샤드에서 먼저 예약하고 실제로 차감한 수량을 반환 (샤드가 모두 소진되면 남은 만큼만)
+     * 샤드마다 남은 만큼 한 번에 차감하므로 배포 chunk마다 최대 K번 왕복
+     */
+    public int take(Long couponId, int count) {
+        int left = count;
+        for (int shard = 0; shard < shards && left > 0; shard++) {
+            long taken = takeFrom(couponId, shard, left);
+            if (taken == SCRIPT_NOT_INITIALIZED) {
+                load(couponId);
+                taken = takeFrom(couponId, shard, left);
+            }
+            if (taken < 0) {
+                throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+            }
+            left -= (int) taken;
+        }
+        return count - left;
+    }
+
+    private long takeFrom(Long couponId, int shard, int count) {
+        Long result = redisTemplate.execute(couponSplitTakeScript, List.of(shardKey(couponId, shard)), (long) count);
+        if (result == null) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+        }
+        return result;
+    }
+
+    /**
+     * acquire()로 차감한 1개를 되돌림
+     */
+    public void release(Long couponId, int shard) {
+        release(couponId, shard, 1);
+    }
+
+    /**
+     * take()로 차감했지만 쓰지 않은 수량을 되돌림 (어느 샤드에서 차감했는지와 상관없이 합계만 맞으면 됨)
+     */
+    public void release(Long couponId, int shard, int count) {
+        redisTemplate.opsForValue().increment(shardKey(couponId, shard), count);
+        AtomicLong exhausted = exhaustedShards.get(couponId);
+        if (exhausted != null) {
+            exhausted.getAndUpdate(mask -> mask & ~(1L << shard));
+        }
+    }
+
+    /**
+     * 모든 샤드에 남은 수량의 합 (적재되지 않은 샤드는 0)
+     */
+    public long remaining(Long couponId) {
+        List<Long> values = redisTemplate.opsForValue().multiGet(shardKeys(couponId));
+        return values == null ? 0 : values.stream().filter(value -> value != null).mapToLong(Long::longValue).sum();
+    }
+
+    private List<String> shardKeys(Long couponId) {
+        List<String> keys = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            keys.add(shardKey(couponId, shard));
+        }
+        return keys;
+    }
+
+    /**
+     * init()이 호출되지 않은 쿠폰 - 이미 차감 중인 샤드를 덮어쓰지 않도록 setIfAbsent
+     */
+    private void load(Long couponId) {
+        int totalQuantity = couponMetadataCache.totalQuantity(couponId);
+        for (int shard = 0; shard < shards; shard++) {
+            redisTemplate.opsForValue().setIfAbsent(shardKey(couponId, shard), (long) shareOf(totalQuantity, shard));
+        }
+    }
+
+    private long decrement(Long couponId, int shard) {
+        Long result = redisTemplate.execute(couponSplitIssueScript, List.of(shardKey(couponId, shard)));
+        if (result == null) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_FAILED);
+        }
+        return result;
+    }
+
+    /**
+     * 나머지는 앞 샤드부터 1개씩 더 배정
+     */
+    private int shareOf(int totalQuantity, int shard) {
+        return totalQuantity / shards + (shard < totalQuantity % shards ? 1 : 0);
+    }
+
+    private String shardKey(Long couponId, int shard) {
+        return SHARD_KEY_PREFIX + couponId + ":" + shard;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.dto.WaitingResponse;
+import com.example.coupon.domain.coupon.queue.CouponWaitingQueue;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가상 대기열 (Waiting Room) - 요청을 한꺼번에 발급 로직으로 보내지 않고 줄을 세움
+ *
+ * 동작 원리:
+ *   1. 입장: 대기열에 추가하고 순번을 바로 응답 (락, DB 접근 없음)
+ *   2. 스케줄러: tick마다 쿠폰별로 맨 앞 N명만 실제 발급 로직(조건부 UPDATE)으로 보냄
+ *   3. 클라이언트: 순번/결과를 폴링 (WAITING -> ISSUED 또는 SOLD_OUT)
+ *   4. 소진: 대기열을 통째로 삭제 -> 남은 대기자 전체를 O(1)로 거절
+ *      종료 여부는 소진 목록(CouponSoldOutRegistry, 서버 간 전파)으로 판단 -> 서버별 종료 목록을 따로 두지 않음
+ *   5. 장애: DB/Redis 오류로 발급하지 못한 사용자는 FAILED로 기록 (대기열에서 이미 꺼냈으므로)
+ *      -> 폴링하면 FAILED를 받고 다시 입장, 나머지 사용자는 계속 처리
+ *   6. 정리: 꺼낸 인원이 N명보다 적으면(대기열이 비었으면) 활성 목록에서 제거 -> 스케줄러가 빈 쿠폰을 계속 확인하지 않음
+ *
+ * 효과:
+ *   - 100개 쿠폰에 5만 명이 몰려도 DB에는 tick당 N건만 도달
+ *   - 소진 이후 입장 요청은 소진 목록만 보고 바로 거절
+ */
+@Slf4j
+@Service
+public class CouponWaitingRoomService {
+
+    private final CouponWaitingQueue waitingQueue;
+    private final CouponConditionalUpdateService conditionalUpdateService;
+    private final CouponIssueRepository couponIssueRepository;
+    private final CouponSoldOutRegistry soldOutRegistry;
+    private final int admitPerTick;
+
+    private final Map<Long, Set<Long>> failedUserIds = new ConcurrentHashMap<>();
+
+    public CouponWaitingRoomService(
+            CouponWaitingQueue waitingQueue,
+            CouponConditionalUpdateService conditionalUpdateService,
+            CouponIssueRepository couponIssueRepository,
+            CouponSoldOutRegistry soldOutRegistry,
+            @Value("${coupon.waiting-room.admit-per-tick:100}") int admitPerTick) {
+        this.waitingQueue = waitingQueue;
+        this.conditionalUpdateService = conditionalUpdateService;
+        this.couponIssueRepository = couponIssueRepository;
+        this.soldOutRegistry = soldOutRegistry;
+        this.admitPerTick = admitPerTick;
+    }
+
+    public WaitingResponse enter(Long couponId, Long userId) {
+        if (isClosed(couponId)) {
+            throw new BusinessException(ErrorCode.COUPON_SOLD_OUT);
+        }
+
+        clearFailed(couponId, userId);
+        long rank = waitingQueue.enqueue(couponId, userId);
+        return new WaitingResponse(couponId, userId, WaitingResponse.Status.WAITING, rank);
+    }
+
+    public WaitingResponse getStatus(Long couponId, Long userId) {
+        long rank = waitingQueue.rank(couponId, userId);
+        if (rank > 0) {
+            return new WaitingResponse(couponId, userId, WaitingResponse.Status.WAITING, rank);
+        }
+        if (couponIssueRepository.existsByCouponIdAndUserId(couponId, userId)) {
+            return new WaitingResponse(couponId, userId, WaitingResponse.Status.ISSUED, 0);
+        }
+        if (isClosed(couponId)) {
+            return new WaitingResponse(couponId, userId, WaitingResponse.Status.SOLD_OUT, 0);
+        }
+        if (isFailed(couponId, userId)) {
+            return new WaitingResponse(couponId, userId, WaitingResponse.Status.FAILED, 0);
+        }
+        return new WaitingResponse(couponId, userId, WaitingResponse.Status.NOT_IN_QUEUE, 0);
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.waiting-room.tick-ms:200}",
+            initialDelayString = "${coupon.waiting-room.tick-ms:200}")
+    public void admitAll() {
+        for (Long couponId : waitingQueue.activeCouponIds()) {
+            try {
+                admit(couponId);
+            } catch (RuntimeException e) {
+                // 대기열 저장소(Redis) 오류: 이 쿠폰은 다음 tick에 다시 시도, 다른 쿠폰은 계속 처리
+                log.error("[대기열] 입장 처리 실패 - couponId: {}", couponId, e);
+            }
+        }
+    }
+
+    /**
+     * 맨 앞 N명을 발급 로직으로 보냄
+     */
+    public void admit(Long couponId) {
+        if (isClosed(couponId)) {
+            waitingQueue.clear(couponId);
+            return;
+        }
+
+        List<Long> userIds = waitingQueue.poll(couponId, admitPerTick);
+        if (userIds.size() < admitPerTick) {
+            waitingQueue.removeIfEmpty(couponId);
+        }
+        for (Long userId : userIds) {
+            try {
+                conditionalUpdateService.issue(couponId, userId);
+            } catch (BusinessException e) {
+                if (e.getErrorCode() == ErrorCode.COUPON_SOLD_OUT || e.getErrorCode() == ErrorCode.COUPON_NOT_FOUND) {
+                    close(couponId);
+                    return;
+                }
+                if (e.getErrorCode() != ErrorCode.COUPON_ALREADY_ISSUED) {
+                    log.warn("[대기열] 발급 실패 - couponId: {}, userId: {}", couponId, userId, e);
+                    markFailed(couponId, userId);
+                }
+            } catch (RuntimeException e) {
+                // 대기열에서 이미 꺼낸 사용자 -> 기록하지 않으면 NOT_IN_QUEUE로 사라짐
+                log.error("[대기열] 발급 실패 - couponId: {}, userId: {}", couponId, userId, e);
+                markFailed(couponId, userId);
+            }
+        }
+    }
+
+    /**
+     * 다른 서버에서 소진된 쿠폰도 종료로 취급
+     */
+    private boolean isClosed(Long couponId) {
+        return soldOutRegistry.isSoldOut(couponId);
+    }
+
+    private void markFailed(Long couponId, Long userId) {
+        failedUserIds.computeIfAbsent(couponId, id -> ConcurrentHashMap.newKeySet()).add(userId);
+    }
+
+    private boolean isFailed(Long couponId, Long userId) {
+        Set<Long> userIds = failedUserIds.get(couponId);
+        return userIds != null && userIds.contains(userId);
+    }
+
+    private void clearFailed(Long couponId, Long userId) {
+        Set<Long> userIds = failedUserIds.get(couponId);
+        if (userIds != null) {
+            userIds.remove(userId);
+        }
+    }
+
+    private void close(Long couponId) {
+        failedUserIds.remove(couponId);
+        waitingQueue.clear(couponId);
+        log.info("[대기열] 쿠폰 소진, 대기열 종료 - couponId: {}", couponId);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.coupon.domain.coupon.soldout;
+
+import java.util.function.Consumer;
+
+/**
+ * 쿠폰 소진 이벤트 전파 채널
+ *
+ * - 한 서버가 소진을 확인하면 다른 모든 서버(자기 자신 포함)에 couponId를 알림
+ * - 대조 작업이 수량을 되돌려 다시 발급할 수 있게 되면 소진 해제도 같은 방식으로 알림
+ * - RedisCouponSoldOutBus: Redis pub/sub, 여러 서버 간 전파 (기본값)
+ * - InMemoryCouponSoldOutBus: JVM 내부 전파, 테스트용 (coupon.sold-out.bus=memory)
+ */
+public interface CouponSoldOutBus {
+
+    void publish(Long couponId);
+
+    void subscribe(Consumer<Long> listener);
+
+    void publishCleared(Long couponId);
+
+    void subscribeCleared(Consumer<Long> listener);
+}
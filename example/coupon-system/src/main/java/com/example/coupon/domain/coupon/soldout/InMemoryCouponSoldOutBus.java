@@ -0,0 +1,42 @@
+package com.example.coupon.domain.coupon.soldout;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * JVM 내부 소진 이벤트 전파 (coupon.sold-out.bus=memory)
+ *
+ * - publish를 호출한 스레드에서 구독자를 바로 호출
+ * - 테스트에서는 레지스트리를 여러 개 구독시켜 서버 여러 대를 흉내냄
+ */
+@Component
+@ConditionalOnProperty(name = "coupon.sold-out.bus", havingValue = "memory")
+public class InMemoryCouponSoldOutBus implements CouponSoldOutBus {
+
+    private final List<Consumer<Long>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Long>> clearedListeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Long couponId) {
+        listeners.forEach(listener -> listener.accept(couponId));
+    }
+
+    @Override
+    public void subscribe(Consumer<Long> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void publishCleared(Long couponId) {
+        clearedListeners.forEach(listener -> listener.accept(couponId));
+    }
+
+    @Override
+    public void subscribeCleared(Consumer<Long> listener) {
+        clearedListeners.add(listener);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.coupon.domain.coupon.soldout;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub 소진 이벤트 전파 (coupon.sold-out.bus=redis, 기본값)
+ *
+ * - coupon:sold-out 채널에 couponId를 PUBLISH (소진 해제는 coupon:sold-out:cleared 채널)
+ * - 채널은 서버당 한 번만 구독하고, 받은 메시지를 구독자들에게 전달
+ * - pub/sub은 저장되지 않으므로 나중에 뜬 서버는 메시지를 받지 못함
+ *   -> CouponSoldOutRegistry가 시작 시 DB에서 소진된 쿠폰을 다시 적재
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coupon.sold-out.bus", havingValue = "redis", matchIfMissing = true)
+public class RedisCouponSoldOutBus implements CouponSoldOutBus {
+
+    private static final ChannelTopic CHANNEL = new ChannelTopic("coupon:sold-out");
+    private static final ChannelTopic CLEARED_CHANNEL = new ChannelTopic("coupon:sold-out:cleared");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final List<Consumer<Long>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Long>> clearedListeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    public void start() {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            Long couponId = Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8));
+            listeners.forEach(listener -> listener.accept(couponId));
+        }, CHANNEL);
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            Long couponId = Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8));
+            clearedListeners.forEach(listener -> listener.accept(couponId));
+        }, CLEARED_CHANNEL);
+    }
+
+    @Override
+    public void publish(Long couponId) {
+        stringRedisTemplate.convertAndSend(CHANNEL.getTopic(), String.valueOf(couponId));
+    }
+
+    @Override
+    public void subscribe(Consumer<Long> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void publishCleared(Long couponId) {
+        stringRedisTemplate.convertAndSend(CLEARED_CHANNEL.getTopic(), String.valueOf(couponId));
+    }
+
+    @Override
+    public void subscribeCleared(Consumer<Long> listener) {
+        clearedListeners.add(listener);
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.coupon.domain.coupon.store;
+
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.global.util.RoaringBitmap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * 압축 비트맵 발급 사용자 저장소 (coupon.issued-user.store=bitmap, 선택)
+ *
+ * 동작 원리:
+ *   - 쿠폰별 RoaringBitmap에 userId를 저장 -> 중복 체크가 Redis 왕복 없이 JVM 안에서 끝남
+ *   - snapshot-interval-ms마다 변경된 쿠폰만 로컬 파일(coupon-{id}.bitmap)로 저장
+ *   - 시작 시 스냅샷 파일을 다시 읽어서 복구, 종료 시에도 저장
+ *   - DB에 없는 쿠폰의 스냅샷은 버림 (H2 메모리 DB처럼 재시작 시 쿠폰 id가 다시 1부터 시작하는 경우)
+ *
+ * 주의:
+ *   - 서버마다 따로 가지는 저장소이고 coupon_issue가 아닌 로컬 스냅샷으로만 복구
+ *     -> 다른 서버나 재시작 전 발급분은 모름, 서버 1대로 발급하는 쿠폰에만 사용 (기본값은 redis)
+ *   - 마지막 스냅샷 이후 발급분은 비정상 종료 시 유실될 수 있음
+ *     (중복 발급은 (coupon_id, user_id) 유니크 제약이 최종적으로 막고, 받은 수량은 카운터에 반납)
+ *
+ * 메트릭:
+ *   - coupon.issue.issued-user.memory: 전체 비트맵 메모리 (bytes)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "coupon.issued-user.store", havingValue = "bitmap")
+public class BitmapIssuedUserStore implements IssuedUserStore {
+
+    private static final String FILE_PREFIX = "coupon-";
+    private static final String FILE_SUFFIX = ".bitmap";
+
+    private final CouponRepository couponRepository;
+    private final Path snapshotDir;
+
+    private final Map<Long, RoaringBitmap> bitmaps = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyCouponIds = ConcurrentHashMap.newKeySet();
+
+    public BitmapIssuedUserStore(
+            CouponRepository couponRepository,
+            @Value("${coupon.issued-user.snapshot-dir:./data/issued-users}") String snapshotDir,
+            MeterRegistry meterRegistry) {
+        this.couponRepository = couponRepository;
+        this.snapshotDir = Path.of(snapshotDir);
+        Gauge.builder("coupon.issue.issued-user.memory", bitmaps, BitmapIssuedUserStore::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean add(Long couponId, Long userId) {
+        boolean added = bitmaps.computeIfAbsent(couponId, id -> new RoaringBitmap()).add(userId);
+        if (added) {
+            dirtyCouponIds.add(couponId);
+        }
+        return added;
+    }
+
+    @Override
+    public boolean contains(Long couponId, Long userId) {
+        RoaringBitmap bitmap = bitmaps.get(couponId);
+        return bitmap != null && bitmap.contains(userId);
+    }
+
+    @Override
+    public void remove(Long couponId, Long userId) {
+        RoaringBitmap bitmap = bitmaps.get(couponId);
+        if (bitmap != null && bitmap.remove(userId)) {
+            dirtyCouponIds.add(couponId);
+        }
+    }
+
+    @Override
+    public long size(Long couponId) {
+        RoaringBitmap bitmap = bitmaps.get(couponId);
+        return bitmap == null ? 0 : bitmap.cardinality();
+    }
+
+    @Override
+    public void forEachUser(Long couponId, LongConsumer action) {
+        RoaringBitmap bitmap = bitmaps.get(couponId);
+        if (bitmap != null) {
+            bitmap.forEach(action);
+        }
+    }
+
+    public long memoryBytes() {
+        return memoryBytes(bitmaps);
+    }
+
+    private static long memoryBytes(Map<Long, RoaringBitmap> bitmaps) {
+        return bitmaps.values().stream().mapToLong(RoaringBitmap::memoryBytes).sum();
+    }
+
+    /**
+     * 시작 시 스냅샷 파일로 복구
+     */
+    @PostConstruct
+    public void load() {
+        if (!Files.isDirectory(snapshotDir)) {
+            return;
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(snapshotDir)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX)).toList();
+        } catch (IOException e) {
+            log.error("[발급 사용자 비트맵] 스냅샷 목록 조회 실패 - dir: {}", snapshotDir, e);
+            return;
+        }
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            Long couponId = Long.valueOf(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+            if (!couponRepository.existsById(couponId)) {
+                discard(file);
+                continue;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                bitmaps.put(couponId, RoaringBitmap.readFrom(in));
+            } catch (IOException e) {
+                log.warn("[발급 사용자 비트맵] 스냅샷 복구 실패, 건너뜀 - file: {}", file, e);
+            }
+        }
+        log.info("[발급 사용자 비트맵] 스냅샷 복구 완료 - coupons: {}", bitmaps.size());
+    }
+
+    /**
+     * 변경된 쿠폰만 임시 파일에 쓰고 rename (쓰는 도중 죽어도 이전 스냅샷은 유지)
+     */
+    @Scheduled(fixedDelayString = "${coupon.issued-user.snapshot-interval-ms:10000}")
+    @PreDestroy
+    public void snapshot() {
+        if (dirtyCouponIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(snapshotDir);
+        } catch (IOException e) {
+            log.error("[발급 사용자 비트맵] 스냅샷 디렉터리 생성 실패 - dir: {}", snapshotDir, e);
+            return;
+        }
+
+        for (Long couponId : dirtyCouponIds) {
+            // 저장 중에 들어온 변경은 다시 dirty로 표시되어 다음 스냅샷에 반영
+            dirtyCouponIds.remove(couponId);
+            try {
+                write(couponId, bitmaps.get(couponId));
+            } catch (IOException e) {
+                dirtyCouponIds.add(couponId);
+                log.error("[발급 사용자 비트맵] 스냅샷 저장 실패 - couponId: {}", couponId, e);
+            }
+        }
+    }
+
+    private void discard(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("[발급 사용자 비트맵] 스냅샷 삭제 실패 - file: {}", file, e);
+        }
+    }
+
+    private void write(Long couponId, RoaringBitmap bitmap) throws IOException {
+        Path target = snapshotDir.resolve(FILE_PREFIX + couponId + FILE_SUFFIX);
+        Path temp = snapshotDir.resolve(FILE_PREFIX + couponId + FILE_SUFFIX + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            bitmap.writeTo(out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.coupon.domain.coupon.store;
+
+import java.util.function.LongConsumer;
+
+/**
+ * 쿠폰별 발급 사용자 저장소 - Redis 발급 방식의 중복 체크
+ *
+ * - RedisSetIssuedUserStore: Redis SET coupon:user:{couponId}, 여러 서버가 공유 (기본값)
+ * - BitmapIssuedUserStore: JVM 내부 압축 비트맵 + 로컬 파일 스냅샷, 서버 1대일 때만
+ *   (coupon.issued-user.store=bitmap)
+ */
+public interface IssuedUserStore {
+
+    /**
+     * 새로 추가되면 true, 이미 발급받은 사용자면 false (원자적)
+     */
+    boolean add(Long couponId, Long userId);
+
+    boolean contains(Long couponId, Long userId);
+
+    /**
+     * 발급이 거절된 경우 되돌리기
+     */
+    void remove(Long couponId, Long userId);
+
+    long size(Long couponId);
+
+    /**
+     * 저장된 사용자를 모두 순회 (대조 작업이 DB에 없는 사용자를 찾을 때 사용, 그사이 변경은 반영되지 않을 수 있음)
+     */
+    void forEachUser(Long couponId, LongConsumer action);
+
+    /**
+     * 발급 Lua 스크립트가 직접 SADD할 Redis 키, JVM 내부 저장소면 null
+     * (Redis 키가 있으면 중복 체크와 수량 체크가 스크립트 안에서 원자적으로 실행됨)
+     */
+    default String scriptKey(Long couponId) {
+        return null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.coupon.domain.coupon.store;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Redis SET 발급 사용자 저장소 (coupon.issued-user.store=redis, 기본값)
+ *
+ * - coupon:user:{couponId} SET, 여러 서버가 하나의 저장소를 공유
+ * - userId를 문자열로 저장하므로 사용자가 많아지면 메모리 사용량이 큼
+ *   (정수 인코딩(intset)은 512개 이하에서만 유지됨)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coupon.issued-user.store", havingValue = "redis", matchIfMissing = true)
+public class RedisSetIssuedUserStore implements IssuedUserStore {
+
+    public static final String KEY_PREFIX = "coupon:user:";
+
+    private static final int SCAN_COUNT = 1000;
+
+    private final RedisTemplate<String, Long> redisTemplate;
+
+    @Override
+    public boolean add(Long couponId, Long userId) {
+        Long added = redisTemplate.opsForSet().add(KEY_PREFIX + couponId, userId);
+        return added != null && added == 1;
+    }
+
+    @Override
+    public boolean contains(Long couponId, Long userId) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(KEY_PREFIX + couponId, userId));
+    }
+
+    @Override
+    public void remove(Long couponId, Long userId) {
+        redisTemplate.opsForSet().remove(KEY_PREFIX + couponId, userId);
+    }
+
+    @Override
+    public long size(Long couponId) {
+        Long size = redisTemplate.opsForSet().size(KEY_PREFIX + couponId);
+        return size == null ? 0 : size;
+    }
+
+    @Override
+    public void forEachUser(Long couponId, LongConsumer action) {
+        try (Cursor<Long> cursor = redisTemplate.opsForSet()
+                .scan(KEY_PREFIX + couponId, ScanOptions.scanOptions().count(SCAN_COUNT).build())) {
+            cursor.forEachRemaining(action::accept);
+        }
+    }
+
+    @Override
+    public String scriptKey(Long couponId) {
+        return KEY_PREFIX + couponId;
+    }
+}
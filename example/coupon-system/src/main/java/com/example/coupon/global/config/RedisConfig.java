@@ -1,12 +1,18 @@
 package com.example.coupon.global.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 @Configuration
 public class RedisConfig {
 
@@ -18,4 +24,89 @@ public class RedisConfig {
         template.setValueSerializer(new GenericToStringSerializer<>(Long.class));
         return template;
     }
+
+    /**
+     * 쿠폰 발급 Lua 스크립트 (EVALSHA로 실행되어 Redis 왕복 1번)
+     */
+    @Bean
+    public RedisScript<Long> couponIssueScript() {
+        return RedisScript.of(new ClassPathResource("redis/coupon_issue.lua"), Long.class);
+    }
+
+    /**
+     * 쿼터 리스 Lua 스크립트 (중앙 카운터에서 블록 단위로 수량 예약)
+     */
+    @Bean
+    public RedisScript<Long> couponLeaseScript() {
+        return RedisScript.of(new ClassPathResource("redis/coupon_lease.lua"), Long.class);
+    }
+
+    /**
+     * 분할 카운터 Lua 스크립트 (샤드 하나에서 남은 수량 1개 차감)
+     */
+    @Bean
+    public RedisScript<Long> couponSplitIssueScript() {
+        return RedisScript.of(new ClassPathResource("redis/coupon_split_issue.lua"), Long.class);
+    }
+
+    /**
+     * 분할 카운터 Lua 스크립트 (샤드 하나에서 최대 n개 차감, 일괄 배포용)
+     */
+    @Bean
+    public RedisScript<Long> couponSplitTakeScript() {
+        return RedisScript.of(new ClassPathResource("redis/coupon_split_take.lua"), Long.class);
+    }
+
+    /**
+     * 일괄 배포 Lua 스크립트 (중앙 카운터에서 chunk 수량을 한 번에 예약)
+     */
+    @Bean
+    public RedisScript<Long> couponReserveScript() {
+        return RedisScript.of(new ClassPathResource("redis/coupon_reserve.lua"), Long.class);
+    }
+
+    /**
+     * 사용자별 토큰 버킷 Lua 스크립트 (coupon.rate-limit.store=redis)
+     */
+    @Bean
+    public RedisScript<Long> couponRateLimitScript() {
+        return RedisScript.of(new ClassPathResource("redis/coupon_rate_limit.lua"), Long.class);
+    }
+
+    /**
+     * 발급 수량 보정 Lua 스크립트 (대조 중 카운터가 바뀌었으면 보정하지 않음)
+     */
+    @Bean
+    public RedisScript<Long> couponReconcileScript() {
+        return RedisScript.of(new ClassPathResource("redis/coupon_reconcile.lua"), Long.class);
+    }
+
+    /**
+     * 대기열 꺼내기 Lua 스크립트 (ZPOPMIN count, userId만 반환)
+     * RedisTemplate.popMin(key, count)는 Redisson 연결에서 결과 형식이 맞지 않아 사용하지 않음
+     */
+    @Bean
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public RedisScript<List<Long>> couponWaitingPollScript() {
+        return (RedisScript) RedisScript.of(new ClassPathResource("redis/coupon_waiting_poll.lua"), List.class);
+    }
+
+    /**
+     * 빈 대기열 정리 Lua 스크립트 (coupon.waiting-room.store=redis)
+     */
+    @Bean
+    public RedisScript<Long> couponWaitingPruneScript() {
+        return RedisScript.of(new ClassPathResource("redis/coupon_waiting_prune.lua"), Long.class);
+    }
+
+    /**
+     * 쿠폰 소진 이벤트 구독 (Redis pub/sub)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "coupon.sold-out.bus", havingValue = "redis", matchIfMissing = true)
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
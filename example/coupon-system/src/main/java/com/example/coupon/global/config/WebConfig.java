@@ -0,0 +1,23 @@
+package com.example.coupon.global.config;
+
+import com.example.coupon.domain.coupon.controller.CouponSoldOutInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CouponSoldOutInterceptor couponSoldOutInterceptor;
+
+    /**
+     * 발급, 대기열 입장 요청만 소진 여부 확인 (조회 API는 제외)
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(couponSoldOutInterceptor)
+                .addPathPatterns("/api/coupons/*/issue", "/api/coupons/*/issue/**", "/api/coupons/*/waiting");
+    }
+}
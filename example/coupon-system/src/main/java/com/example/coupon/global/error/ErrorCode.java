@@ -13,6 +13,11 @@ public enum ErrorCode {
     COUPON_SOLD_OUT(HttpStatus.CONFLICT, "C002", "쿠폰이 모두 소진되었습니다."),
     COUPON_ALREADY_ISSUED(HttpStatus.CONFLICT, "C003", "이미 발급받은 쿠폰입니다."),
     COUPON_ISSUE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "C004", "쿠폰 발급에 실패했습니다."),
+    COUPON_ISSUE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "C005", "발급 요청이 많습니다. 잠시 후 다시 시도해주세요."),
+    COUPON_ISSUE_RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "C006", "발급 요청 횟수를 초과했습니다. 잠시 후 다시 시도해주세요."),
+    DISTRIBUTION_NOT_FOUND(HttpStatus.NOT_FOUND, "C007", "배포 작업을 찾을 수 없습니다."),
+    COUPON_COUNTER_MODE_MISMATCH(HttpStatus.CONFLICT, "C008", "다른 발급 방식으로 발급 중인 쿠폰입니다."),
+    COUPON_ISSUE_PENDING(HttpStatus.ACCEPTED, "C009", "발급 요청이 접수되었습니다. 발급 결과는 잠시 후 확인해주세요."),
 
     // Common
     INVALID_INPUT(HttpStatus.BAD_REQUEST, "G001", "잘못된 입력입니다."),
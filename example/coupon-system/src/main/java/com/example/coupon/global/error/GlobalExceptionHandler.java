@@ -1,9 +1,13 @@
 package com.example.coupon.global.error;
 
+import com.example.coupon.domain.coupon.entity.CouponIssue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -14,4 +18,38 @@ public class GlobalExceptionHandler {
                 .status(errorCode.getHttpStatus())
                 .body(ErrorResponse.of(errorCode));
     }
+
+    /**
+     * (coupon_id, user_id) 유니크 제약 위반 = 중복 발급
+     * Bloom Filter가 다른 서버의 발급 이력을 모르는 경우 최종적으로 여기서 걸러짐
+     *
+     * 다른 제약 위반(NOT NULL, FK, 길이 등)은 중복 발급이 아니라 서버 버그 → 500
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    protected ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+        ErrorCode errorCode;
+        if (isDuplicateIssue(e)) {
+            errorCode = ErrorCode.COUPON_ALREADY_ISSUED;
+        } else {
+            log.error("데이터 무결성 위반", e);
+            errorCode = ErrorCode.INTERNAL_ERROR;
+        }
+        return ResponseEntity
+                .status(errorCode.getHttpStatus())
+                .body(ErrorResponse.of(errorCode));
+    }
+
+    /**
+     * 제약 이름은 DB마다 메시지 형식이 달라서 (H2: UK_..._INDEX_x, MySQL: for key 'coupon_issue.uk_...')
+     * 원인 예외의 메시지에 이름이 들어 있는지로 판단
+     */
+    private boolean isDuplicateIssue(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase().contains(CouponIssue.UNIQUE_COUPON_USER)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
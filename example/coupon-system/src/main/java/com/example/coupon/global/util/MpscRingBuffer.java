@@ -0,0 +1,104 @@
+package com.example.coupon.global.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 고정 크기 링 버퍼 (여러 생산자, 소비자 1개)
+ *
+ * 구조:
+ *   - 2의 거듭제곱 크기 배열, tail(생산자 공유)과 head(소비자 전용) 시퀀스로 위치 계산
+ *   - 생산자: tail CAS로 칸을 예약한 뒤 값을 씀 -> 꽉 차면 offer()가 false (대기하지 않음)
+ *   - 소비자: head 칸에 값이 써질 때까지 기다리지 않고 null이면 바로 반환
+ *
+ * 효과:
+ *   - 노드 할당이 없는 큐 (ConcurrentLinkedQueue는 offer마다 노드 객체 생성)
+ *   - 소비자는 락, CAS 없이 읽음
+ *
+ * 주의:
+ *   - poll(), drainTo()는 반드시 한 스레드에서만 호출
+ */
+public class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다: " + requestedCapacity);
+        }
+        // 2의 거듭제곱으로 올림 (인덱스를 나머지 연산 대신 비트 마스크로 계산)
+        this.capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * 가득 차 있으면 false
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        slots.lazySet(index(sequence), element);
+        return true;
+    }
+
+    /**
+     * 소비자 전용 - 비어 있거나 예약만 되고 아직 써지지 않았으면 null
+     */
+    public E poll() {
+        long sequence = head;
+        int index = index(sequence);
+        E element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        head = sequence + 1;
+        return element;
+    }
+
+    /**
+     * 소비자 전용 - 최대 maxElements개를 꺼내서 target에 추가, 꺼낸 개수 반환
+     */
+    public int drainTo(List<? super E> target, int maxElements) {
+        int drained = 0;
+        E element;
+        while (drained < maxElements && (element = poll()) != null) {
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+}
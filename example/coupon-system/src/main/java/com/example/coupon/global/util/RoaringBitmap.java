@@ -0,0 +1,253 @@
+package com.example.coupon.global.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Roaring 방식 압축 비트맵 (long 값 집합, 스레드 안전)
+ *
+ * 구조:
+ *   - 값의 상위 48비트로 컨테이너를 나누고, 컨테이너에는 하위 16비트만 저장
+ *   - 4096개 이하: 정렬된 char[] (값당 2 bytes)
+ *   - 4096개 초과: long[1024] 비트맵 (컨테이너당 고정 8KB, 꽉 차면 값당 1 bit)
+ *
+ * 효과:
+ *   - 사용자 ID처럼 특정 구간에 몰린 값은 값당 2 bytes 이하
+ *   - Redis SET은 값마다 문자열 + 해시 테이블 엔트리가 필요 (값당 수십 bytes)
+ *
+ * 동시성:
+ *   - 컨테이너 단위로 synchronized -> 서로 다른 구간의 값은 서로 막지 않음
+ */
+public class RoaringBitmap {
+
+    private static final int ARRAY_MAX_SIZE = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    // 메모리 추정용 (객체 헤더, 참조, ConcurrentHashMap 엔트리 + Long 키)
+    private static final long CONTAINER_OVERHEAD_BYTES = 32;
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long ENTRY_OVERHEAD_BYTES = 48;
+
+    private static final byte ARRAY_TYPE = 0;
+    private static final byte BITMAP_TYPE = 1;
+
+    private final Map<Long, Container> containers = new ConcurrentHashMap<>();
+
+    /**
+     * 새로 추가되면 true, 이미 있으면 false (원자적)
+     */
+    public boolean add(long value) {
+        return containers.computeIfAbsent(value >>> 16, key -> new Container()).add(low(value));
+    }
+
+    public boolean remove(long value) {
+        Container container = containers.get(value >>> 16);
+        return container != null && container.remove(low(value));
+    }
+
+    public boolean contains(long value) {
+        Container container = containers.get(value >>> 16);
+        return container != null && container.contains(low(value));
+    }
+
+    /**
+     * 모든 값을 순회 (컨테이너마다 복사본을 순회하므로 그사이 변경은 반영되지 않을 수 있음)
+     */
+    public void forEach(LongConsumer action) {
+        for (Map.Entry<Long, Container> entry : containers.entrySet()) {
+            long high = entry.getKey() << 16;
+            for (char low : entry.getValue().values()) {
+                action.accept(high | low);
+            }
+        }
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (Container container : containers.values()) {
+            cardinality += container.cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * 대략적인 JVM 힙 사용량 (bytes)
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Container container : containers.values()) {
+            bytes += ENTRY_OVERHEAD_BYTES + container.memoryBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * 직렬화 - 컨테이너마다 [상위 키, 개수, 타입, 데이터]
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        Map<Long, Container> snapshot = Map.copyOf(containers);
+        out.writeInt(snapshot.size());
+        for (Map.Entry<Long, Container> entry : snapshot.entrySet()) {
+            out.writeLong(entry.getKey());
+            entry.getValue().writeTo(out);
+        }
+    }
+
+    public static RoaringBitmap readFrom(DataInput in) throws IOException {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            long key = in.readLong();
+            bitmap.containers.put(key, Container.readFrom(in));
+        }
+        return bitmap;
+    }
+
+    private static char low(long value) {
+        return (char) (value & 0xFFFF);
+    }
+
+    private static final class Container {
+
+        private char[] array = new char[4];
+        private long[] bitmap;
+        private int cardinality;
+
+        synchronized boolean add(char low) {
+            if (bitmap != null) {
+                long before = bitmap[low >>> 6];
+                bitmap[low >>> 6] = before | (1L << low);
+                if (before == bitmap[low >>> 6]) {
+                    return false;
+                }
+                cardinality++;
+                return true;
+            }
+
+            int index = Arrays.binarySearch(array, 0, cardinality, low);
+            if (index >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_MAX_SIZE) {
+                toBitmap();
+                return add(low);
+            }
+
+            int insertAt = -index - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_MAX_SIZE, array.length * 2));
+            }
+            System.arraycopy(array, insertAt, array, insertAt + 1, cardinality - insertAt);
+            array[insertAt] = low;
+            cardinality++;
+            return true;
+        }
+
+        synchronized boolean remove(char low) {
+            if (bitmap != null) {
+                long before = bitmap[low >>> 6];
+                bitmap[low >>> 6] = before & ~(1L << low);
+                if (before == bitmap[low >>> 6]) {
+                    return false;
+                }
+                cardinality--;
+                if (cardinality <= ARRAY_MAX_SIZE) {
+                    toArray();
+                }
+                return true;
+            }
+
+            int index = Arrays.binarySearch(array, 0, cardinality, low);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(array, index + 1, array, index, cardinality - index - 1);
+            cardinality--;
+            return true;
+        }
+
+        synchronized boolean contains(char low) {
+            if (bitmap != null) {
+                return (bitmap[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(array, 0, cardinality, low) >= 0;
+        }
+
+        synchronized int cardinality() {
+            return cardinality;
+        }
+
+        synchronized char[] values() {
+            if (bitmap == null) {
+                return Arrays.copyOf(array, cardinality);
+            }
+            char[] values = new char[cardinality];
+            int size = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = bitmap[word];
+                while (bits != 0) {
+                    values[size++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return values;
+        }
+
+        synchronized long memoryBytes() {
+            return bitmap != null
+                    ? CONTAINER_OVERHEAD_BYTES + ARRAY_HEADER_BYTES + 8L * BITMAP_WORDS
+                    : CONTAINER_OVERHEAD_BYTES + ARRAY_HEADER_BYTES + 2L * array.length;
+        }
+
+        synchronized void writeTo(DataOutput out) throws IOException {
+            out.writeInt(cardinality);
+            if (bitmap != null) {
+                out.writeByte(BITMAP_TYPE);
+                for (long word : bitmap) {
+                    out.writeLong(word);
+                }
+            } else {
+                out.writeByte(ARRAY_TYPE);
+                for (int i = 0; i < cardinality; i++) {
+                    out.writeChar(array[i]);
+                }
+            }
+        }
+
+        static Container readFrom(DataInput in) throws IOException {
+            Container container = new Container();
+            container.cardinality = in.readInt();
+            if (in.readByte() == BITMAP_TYPE) {
+                container.bitmap = new long[BITMAP_WORDS];
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    container.bitmap[i] = in.readLong();
+                }
+                container.array = null;
+            } else {
+                container.array = new char[Math.max(4, container.cardinality)];
+                for (int i = 0; i < container.cardinality; i++) {
+                    container.array[i] = in.readChar();
+                }
+            }
+            return container;
+        }
+
+        private void toBitmap() {
+            bitmap = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                bitmap[array[i] >>> 6] |= 1L << array[i];
+            }
+            array = null;
+        }
+
+        private void toArray() {
+            array = Arrays.copyOf(values(), Math.max(4, cardinality));
+            bitmap = null;
+        }
+    }
+}
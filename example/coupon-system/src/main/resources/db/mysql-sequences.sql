@@ -0,0 +1,6 @@
+-- IDENTITY에서 pooled 시퀀스로 바꾸기 전에 만들어진 DB용
+-- ddl-auto: update가 새로 만든 coupon_seq / coupon_issue_seq 테이블은 next_val 1부터 시작하므로
+-- 기존 행의 id와 겹치지 않도록 next_val을 현재 최대 id 다음으로 올림
+-- (pooled-lo는 next_val을 블록의 첫 id로 쓰고, GREATEST라 이미 앞서 있으면 그대로 -> 시작할 때마다 실행해도 안전)
+UPDATE coupon_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM coupon));
+UPDATE coupon_issue_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM coupon_issue));
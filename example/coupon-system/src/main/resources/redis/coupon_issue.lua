@@ -0,0 +1,33 @@
+-- 선착순 쿠폰 발급 (중복 체크 + 수량 체크 + 발급을 한 번에 원자적으로 처리)
+--
+-- KEYS[1] = coupon:user:{couponId}   발급받은 사용자 Set (빈 문자열이면 중복 체크 생략 - JVM 비트맵 저장소)
+-- KEYS[2] = coupon:count:{couponId}  발급 수량 카운터
+-- KEYS[3] = coupon:total:{couponId}  총 수량 (initCouponCount에서 적재)
+-- KEYS[4] = coupon:issue:pending     (선택) Write-Behind 미반영 발급 Set
+-- ARGV[1] = userId
+-- ARGV[2] = couponId                 (KEYS[4]를 넘길 때만)
+--
+-- 반환값: 발급 후 카운트(>= 1), -1 = 중복 발급, -2 = 소진, -3 = 총 수량 미적재
+
+local total = redis.call('GET', KEYS[3])
+if not total then
+    return -3
+end
+
+local checkUser = KEYS[1] ~= ''
+if checkUser and redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+    return -1
+end
+
+local count = tonumber(redis.call('GET', KEYS[2]) or '0')
+if count >= tonumber(total) then
+    return -2
+end
+
+if checkUser then
+    redis.call('SADD', KEYS[1], ARGV[1])
+end
+if KEYS[4] then
+    redis.call('SADD', KEYS[4], ARGV[2] .. ':' .. ARGV[1])
+end
+return redis.call('INCR', KEYS[2])
@@ -0,0 +1,23 @@
+-- 쿼터 리스: 중앙 카운터에서 최대 ARGV[1]개를 예약
+--
+-- KEYS[1] = coupon:count:{couponId}  발급(예약 포함) 수량 카운터
+-- KEYS[2] = coupon:total:{couponId}  총 수량
+-- KEYS[3] = coupon:leased:{couponId} 아직 정산되지 않은 리스가 들고 있는 수량 (소진 판정용)
+-- ARGV[1] = 요청 블록 크기
+--
+-- 반환값: 예약된 수량 (0 = 소진), -1 = 총 수량 미적재
+
+local total = redis.call('GET', KEYS[2])
+if not total then
+    return -1
+end
+
+local count = tonumber(redis.call('GET', KEYS[1]) or '0')
+local grant = math.min(tonumber(ARGV[1]), tonumber(total) - count)
+if grant <= 0 then
+    return 0
+end
+
+redis.call('INCRBY', KEYS[1], grant)
+redis.call('INCRBY', KEYS[3], grant)
+return grant
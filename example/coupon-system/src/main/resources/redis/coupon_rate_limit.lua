@@ -0,0 +1,28 @@
+-- 사용자별 토큰 버킷 (GCRA): 토큰 1개 사용
+--
+-- KEYS[1] = coupon:rate:{userId}  버킷이 다시 가득 차는 시각 (ms)
+-- ARGV[1] = 토큰 1개가 채워지는 주기 (ms)
+-- ARGV[2] = capacity * 주기 (ms), 버킷이 비어 있는 상태에서 가득 찰 때까지 걸리는 시간
+--
+-- 반환값: 1 = 허용, 0 = 토큰 부족
+--
+-- 서버마다 시계가 다를 수 있으므로 Redis 서버 시각(TIME) 사용
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local interval = tonumber(ARGV[1])
+local tolerance = tonumber(ARGV[2])
+
+local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+if tat < now then
+    tat = now
+end
+
+local next_tat = tat + interval
+if next_tat - now > tolerance then
+    return 0
+end
+
+-- 버킷이 가득 차는 시각에 키도 만료 (가득 찬 버킷 = 키 없음)
+redis.call('SET', KEYS[1], string.format('%d', next_tat), 'PX', next_tat - now)
+return 1
@@ -0,0 +1,14 @@
+-- 발급 수량 보정: 대조할 때 읽은 값에서 바뀌지 않았을 때만 ARGV[2]만큼 더함
+--
+-- KEYS[1] = coupon:count:{couponId}  발급 수량 카운터
+-- ARGV[1] = 대조할 때 읽은 카운터 값
+-- ARGV[2] = 보정량 (DB보다 적으면 양수, 많으면 음수)
+--
+-- 반환값: 보정 후 카운터 값, -1 = 그사이 발급이 일어나서 이번 대조는 건너뜀
+
+local count = tonumber(redis.call('GET', KEYS[1]) or '0')
+if count ~= tonumber(ARGV[1]) then
+    return -1
+end
+
+return redis.call('INCRBY', KEYS[1], ARGV[2])
@@ -0,0 +1,22 @@
+-- 일괄 배포: 중앙 카운터에서 최대 ARGV[1]개를 한 번에 예약
+-- (카운터에는 DB 저장 전 발급, Write-Behind 저장 대기분, 쿼터 리스 예약분이 모두 포함되어 있음)
+--
+-- KEYS[1] = coupon:count:{couponId}  발급(예약 포함) 수량 카운터
+-- KEYS[2] = coupon:total:{couponId}  총 수량
+-- ARGV[1] = 예약할 수량
+--
+-- 반환값: 예약된 수량 (0 = 소진), -1 = 총 수량 미적재
+
+local total = redis.call('GET', KEYS[2])
+if not total then
+    return -1
+end
+
+local count = tonumber(redis.call('GET', KEYS[1]) or '0')
+local grant = math.min(tonumber(ARGV[1]), tonumber(total) - count)
+if grant <= 0 then
+    return 0
+end
+
+redis.call('INCRBY', KEYS[1], grant)
+return grant
@@ -0,0 +1,16 @@
+-- 분할 카운터: 샤드 하나에서 1개 차감
+--
+-- KEYS[1] = coupon:count:{couponId}:{shard}  샤드에 남은 수량
+--
+-- 반환값: 차감 후 남은 수량(>= 0), -2 = 샤드 소진, -3 = 샤드 미적재
+
+local remaining = redis.call('GET', KEYS[1])
+if not remaining then
+    return -3
+end
+
+if tonumber(remaining) <= 0 then
+    return -2
+end
+
+return redis.call('DECR', KEYS[1])
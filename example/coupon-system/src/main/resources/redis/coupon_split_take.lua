@@ -0,0 +1,19 @@
+-- 분할 카운터: 샤드 하나에서 최대 ARGV[1]개를 한 번에 차감 (일괄 배포 수량 반영)
+--
+-- KEYS[1] = coupon:count:{couponId}:{shard}  샤드에 남은 수량
+-- ARGV[1] = 차감할 수량
+--
+-- 반환값: 실제 차감한 수량(0 = 샤드 소진), -3 = 샤드 미적재
+
+local remaining = redis.call('GET', KEYS[1])
+if not remaining then
+    return -3
+end
+
+local taken = math.min(tonumber(remaining), tonumber(ARGV[1]))
+if taken <= 0 then
+    return 0
+end
+
+redis.call('DECRBY', KEYS[1], taken)
+return taken
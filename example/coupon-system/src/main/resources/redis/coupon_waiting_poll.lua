@@ -0,0 +1,13 @@
+-- 대기열 맨 앞에서 최대 ARGV[1]명을 꺼냄 (ZPOPMIN 결과에서 점수를 빼고 userId만 반환)
+--
+-- KEYS[1] = coupon:waiting:{couponId}  대기열 ZSET
+-- ARGV[1] = 꺼낼 인원
+--
+-- 반환값: 꺼낸 userId 목록 (입장 순서)
+
+local popped = redis.call('ZPOPMIN', KEYS[1], ARGV[1])
+local userIds = {}
+for i = 1, #popped, 2 do
+    userIds[#userIds + 1] = popped[i]
+end
+return userIds
@@ -0,0 +1,16 @@
+-- 빈 대기열을 활성 목록에서 제거: 확인과 제거 사이에 입장한 사용자가 있으면 제거하지 않음
+--
+-- KEYS[1] = coupon:waiting:{couponId}      대기열 ZSET
+-- KEYS[2] = coupon:waiting:active          활성 쿠폰 SET
+-- KEYS[3] = coupon:waiting:seq:{couponId}  입장 번호
+-- ARGV[1] = couponId
+--
+-- 반환값: 1 = 제거함, 0 = 대기자가 있어서 그대로 둠
+
+if redis.call('ZCARD', KEYS[1]) > 0 then
+    return 0
+end
+
+redis.call('SREM', KEYS[2], ARGV[1])
+redis.call('DEL', KEYS[3])
+return 1
@@ -0,0 +1,135 @@
+package com.example.coupon.domain.coupon.cache;
+
+import com.example.coupon.domain.coupon.dto.CouponCreateRequest;
+import com.example.coupon.domain.coupon.dto.CouponResponse;
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.domain.coupon.service.CouponRedisAtomicService;
+import com.example.coupon.domain.coupon.service.CouponService;
+import com.example.coupon.global.error.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponMetadataCacheTest {
+
+    @Autowired
+    private CouponMetadataCache couponMetadataCache;
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private CouponRedisAtomicService redisAtomicService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private RedisTemplate<String, Long> redisTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("coupon:*"));
+    }
+
+    @Test
+    @DisplayName("발급 요청이 반복되어도 쿠폰 정보는 처음 한 번만 DB에서 읽는다")
+    void issue_readsCouponOnce() {
+        // given
+        Coupon coupon = saveCoupon(100);
+        redisAtomicService.initCouponCount(coupon.getId(), 100);
+        double missesBefore = cacheGets("miss");
+        double hitsBefore = cacheGets("hit");
+
+        // when
+        for (long userId = 1; userId <= 50; userId++) {
+            redisAtomicService.issue(coupon.getId(), userId);
+        }
+
+        // then
+        assertThat(cacheGets("miss") - missesBefore).isEqualTo(1);
+        assertThat(cacheGets("hit") - hitsBefore).isGreaterThanOrEqualTo(99);
+        assertThat(meterRegistry.get("coupon.metadata.cache.hit.ratio").gauge().value()).isGreaterThan(0);
+        assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("없는 쿠폰은 캐시하지 않고 매번 DB에서 확인한다")
+    void get_notFound_notCached() {
+        // given
+        Long unknownId = Long.MAX_VALUE;
+        double missesBefore = cacheGets("miss");
+
+        // when & then
+        assertThatThrownBy(() -> couponMetadataCache.get(unknownId))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("쿠폰");
+        assertThatThrownBy(() -> couponMetadataCache.get(unknownId))
+                .isInstanceOf(BusinessException.class);
+        assertThat(cacheGets("miss") - missesBefore).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("무효화 전까지는 캐시 값, 무효화 후에는 DB의 새 값을 읽는다")
+    void invalidate_reloadsFromDatabase() {
+        // given
+        CouponResponse created = couponService.createCoupon(createRequest("캐시 무효화 테스트", 30));
+        assertThat(couponMetadataCache.get(created.getId()).totalQuantity()).isEqualTo(30);
+
+        // when: 캐시를 거치지 않고 DB에서 직접 수정
+        jdbcTemplate.update("UPDATE coupon SET name = ? WHERE id = ?", "수정된 이름", created.getId());
+
+        // then
+        assertThat(couponMetadataCache.get(created.getId()).name()).isEqualTo("캐시 무효화 테스트");
+        couponMetadataCache.invalidate(created.getId());
+        assertThat(couponMetadataCache.get(created.getId()).name()).isEqualTo("수정된 이름");
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", "couponMetadata", "result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private CouponCreateRequest createRequest(String name, int totalQuantity) {
+        CouponCreateRequest request = new CouponCreateRequest();
+        ReflectionTestUtils.setField(request, "name", name);
+        ReflectionTestUtils.setField(request, "totalQuantity", totalQuantity);
+        return request;
+    }
+
+    private Coupon saveCoupon(int totalQuantity) {
+        return couponRepository.save(
+                Coupon.builder()
+                        .name("캐시 테스트 쿠폰")
+                        .totalQuantity(totalQuantity)
+                        .build()
+        );
+    }
+}
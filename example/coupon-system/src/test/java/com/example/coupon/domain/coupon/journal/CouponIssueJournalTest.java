@@ -0,0 +1,192 @@
+package com.example.coupon.domain.coupon.journal;
+
+import com.example.coupon.domain.coupon.cache.CouponMetadataCache;
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.repository.CouponIssueIdGenerator;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.domain.coupon.service.CouponIssueBloomFilter;
+import com.example.coupon.domain.coupon.service.CouponJournalIssueService;
+import com.example.coupon.domain.coupon.service.CouponSoldOutRegistry;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponIssueJournalTest {
+
+    private static final String JOURNAL_FILE = "coupon-issue.journal";
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private CouponMetadataCache couponMetadataCache;
+
+    @Autowired
+    private CouponIssueBloomFilter couponIssueBloomFilter;
+
+    @Autowired
+    private CouponSoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CouponIssueIdGenerator couponIssueIdGenerator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path journalDir;
+
+    @AfterEach
+    void tearDown() {
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("재시작 시 DB에 반영되지 않은 레코드만 다시 읽고, 쓰다 만 레코드는 버림")
+    void reopen_recoversUntailedRecords_dropsTornRecord() throws Exception {
+        // given: 3건 fsync, 1건만 반영
+        Path file = journalDir.resolve(JOURNAL_FILE);
+        try (CouponIssueJournal journal = CouponIssueJournal.open(file, 16)) {
+            long position = 0;
+            for (long userId = 1; userId <= 3; userId++) {
+                position = journal.append(1L, userId, 1_000L + userId);
+            }
+            assertThat(journal.awaitDurable(position, 1, TimeUnit.SECONDS)).isTrue();
+            assertThat(journal.read(1)).hasSize(1);
+            journal.markTailed(1);
+        }
+        // 4번째 레코드를 쓰다가 죽은 상태 (checksum 없음)
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(CouponIssueJournal.RECORD_SIZE).putLong(1L).putLong(4L).flip();
+            channel.write(torn, CouponIssueJournal.HEADER_SIZE + 3L * CouponIssueJournal.RECORD_SIZE);
+        }
+
+        // when
+        try (CouponIssueJournal reopened = CouponIssueJournal.open(file, 16)) {
+            List<CouponIssueJournal.Entry> entries = reopened.read(16);
+
+            // then
+            assertThat(entries).extracting(CouponIssueJournal.Entry::userId).containsExactly(2L, 3L);
+            assertThat(entries.get(0).timestamp()).isEqualTo(1_002L);
+            // 쓰다 만 칸은 다음 레코드가 덮어씀
+            long position = reopened.append(1L, 5L, 1_005L);
+            assertThat(reopened.awaitDurable(position, 1, TimeUnit.SECONDS)).isTrue();
+            assertThat(reopened.read(16)).extracting(CouponIssueJournal.Entry::userId).containsExactly(2L, 3L, 5L);
+        }
+    }
+
+    @Test
+    @DisplayName("가득 차면 append 거절, 모두 반영되면 처음부터 다시 쓰고 이전 레코드는 복구 대상이 아님")
+    void full_thenRollover_oldEpochIgnored() throws Exception {
+        // given
+        Path file = journalDir.resolve(JOURNAL_FILE);
+        try (CouponIssueJournal journal = CouponIssueJournal.open(file, 4)) {
+            long position = 0;
+            for (long userId = 1; userId <= 4; userId++) {
+                position = journal.append(1L, userId, userId);
+            }
+            assertThat(journal.append(1L, 5L, 5L)).isEqualTo(-1);
+            assertThat(journal.awaitDurable(position, 1, TimeUnit.SECONDS)).isTrue();
+
+            // when: 모두 반영 -> 처음부터 다시 씀
+            journal.markTailed(journal.read(4).size());
+            position = journal.append(1L, 6L, 6L);
+            assertThat(journal.awaitDurable(position, 1, TimeUnit.SECONDS)).isTrue();
+        }
+
+        // then: 재시작 후에는 새 레코드만 반영 대상
+        try (CouponIssueJournal reopened = CouponIssueJournal.open(file, 4)) {
+            assertThat(reopened.read(4)).extracting(CouponIssueJournal.Entry::userId).containsExactly(6L);
+        }
+    }
+
+    @Test
+    @DisplayName("fsync 직후 처음부터 다시 쓰더라도 늦게 확인한 대기자는 자기 레코드를 fsync된 것으로 봄")
+    void awaitDurable_afterRollover_comparesBySequence() throws Exception {
+        // given: 2건 fsync (용량 4건의 절반)
+        try (CouponIssueJournal journal = CouponIssueJournal.open(journalDir.resolve(JOURNAL_FILE), 4)) {
+            long first = journal.append(1L, 1L, 1L);
+            long second = journal.append(1L, 2L, 2L);
+            assertThat(journal.awaitDurable(second, 1, TimeUnit.SECONDS)).isTrue();
+
+            // when: 모두 반영 -> 쓰기 위치가 처음으로 되돌아감
+            journal.markTailed(journal.read(4).size());
+
+            // then
+            assertThat(journal.awaitDurable(first, 0, TimeUnit.MILLISECONDS)).isTrue();
+            assertThat(journal.awaitDurable(second, 0, TimeUnit.MILLISECONDS)).isTrue();
+            long third = journal.append(1L, 3L, 3L);
+            assertThat(third).isEqualTo(3L);
+            assertThat(journal.awaitDurable(third, 1, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("저널 발급 서비스 재시작 - 반영되지 않은 발급을 DB에 저장하고 발급 수량, 사용자를 복구")
+    void service_restart_replaysJournalIntoDatabase() throws Exception {
+        // given: 이전 프로세스가 3명을 fsync까지 하고 DB 반영 전에 종료
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("저널 복구 테스트 쿠폰")
+                        .totalQuantity(4)
+                        .build()
+        );
+        try (CouponIssueJournal journal = CouponIssueJournal.open(journalDir.resolve(JOURNAL_FILE), 16)) {
+            long position = 0;
+            for (long userId = 1; userId <= 3; userId++) {
+                position = journal.append(coupon.getId(), userId, System.currentTimeMillis());
+            }
+            assertThat(journal.awaitDurable(position, 1, TimeUnit.SECONDS)).isTrue();
+        }
+
+        // when: 같은 저널로 재시작
+        CouponJournalIssueService restarted = new CouponJournalIssueService(
+                couponMetadataCache, couponIssueBloomFilter, soldOutRegistry, jdbcTemplate, couponIssueIdGenerator,
+                transactionTemplate, new SimpleMeterRegistry(), journalDir.toString(), 16, 500, 10, 1000);
+        restarted.recover();
+        try {
+            // then: 3건 저장, 이미 받은 사용자는 거절, 남은 1개만 발급
+            assertThat(couponIssueRepository.count()).isEqualTo(3);
+            assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(3);
+            assertThatThrownBy(() -> restarted.issue(coupon.getId(), 2L))
+                    .isInstanceOf(BusinessException.class)
+                    .extracting("errorCode").isEqualTo(ErrorCode.COUPON_ALREADY_ISSUED);
+            restarted.issue(coupon.getId(), 4L);
+            assertThatThrownBy(() -> restarted.issue(coupon.getId(), 5L))
+                    .isInstanceOf(BusinessException.class)
+                    .extracting("errorCode").isEqualTo(ErrorCode.COUPON_SOLD_OUT);
+        } finally {
+            restarted.close();
+        }
+        assertThat(couponIssueRepository.count()).isEqualTo(4);
+    }
+}
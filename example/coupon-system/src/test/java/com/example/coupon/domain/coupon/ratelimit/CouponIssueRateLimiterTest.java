@@ -0,0 +1,181 @@
+package com.example.coupon.domain.coupon.ratelimit;
+
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CouponIssueRateLimiterTest {
+
+    private static final int CAPACITY = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private RedisTemplate<String, Long> redisTemplate;
+
+    @Autowired
+    private RedisScript<Long> couponRateLimitScript;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("coupon:*"));
+    }
+
+    @Test
+    @DisplayName("JVM 토큰 버킷 - capacity개까지 연속 허용, 이후 주기마다 1개씩 다시 허용")
+    void inMemory_burstThenRefill() {
+        // given: 초당 1개 충전, 시계는 테스트에서 직접 이동
+        AtomicLong nanos = new AtomicLong();
+        InMemoryCouponIssueRateLimiter limiter =
+                new InMemoryCouponIssueRateLimiter(new SimpleMeterRegistry(), CAPACITY, 1, nanos::get);
+
+        // when & then: 연속 capacity개 허용, 그다음 거절
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(limiter.tryAcquire(1L)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(1L)).isFalse();
+        assertThat(limiter.tryAcquire(2L)).isTrue();
+
+        // 1초 뒤 1개 충전
+        nanos.addAndGet(1_000_000_000L);
+        assertThat(limiter.tryAcquire(1L)).isTrue();
+        assertThat(limiter.tryAcquire(1L)).isFalse();
+
+        // 가득 찬 버킷은 정리 대상
+        nanos.addAndGet(CAPACITY * 1_000_000_000L);
+        limiter.evictFullBuckets();
+        assertThat(limiter.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("JVM 토큰 버킷 - 같은 사용자가 동시에 요청해도 capacity개만 허용")
+    void inMemory_concurrentSameUser_allowsExactlyCapacity() throws InterruptedException {
+        // given: 충전이 테스트 시간 안에 일어나지 않도록 아주 느리게
+        InMemoryCouponIssueRateLimiter limiter =
+                new InMemoryCouponIssueRateLimiter(new SimpleMeterRegistry(), CAPACITY, 0.001, System::nanoTime);
+
+        int threadCount = 8;
+        int attemptsPerThread = 1_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger allowed = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < attemptsPerThread; j++) {
+                        if (limiter.tryAcquire(1L)) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(allowed.get()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    @DisplayName("Redis 토큰 버킷 - 서버 두 대가 버킷을 공유해서 합계 capacity개만 허용")
+    void redis_sharedAcrossServers() {
+        // given: 같은 Redis를 쓰는 서버 두 대
+        RedisCouponIssueRateLimiter serverA =
+                new RedisCouponIssueRateLimiter(redisTemplate, couponRateLimitScript, CAPACITY, 0.001);
+        RedisCouponIssueRateLimiter serverB =
+                new RedisCouponIssueRateLimiter(redisTemplate, couponRateLimitScript, CAPACITY, 0.001);
+
+        // when
+        int allowed = 0;
+        for (int i = 0; i < CAPACITY * 2; i++) {
+            RedisCouponIssueRateLimiter server = i % 2 == 0 ? serverA : serverB;
+            if (server.tryAcquire(1L)) {
+                allowed++;
+            }
+        }
+
+        // then
+        assertThat(allowed).isEqualTo(CAPACITY);
+        assertThat(serverA.tryAcquire(2L)).isTrue();
+        assertThat(redisTemplate.getExpire(RedisCouponIssueRateLimiter.KEY_PREFIX + 1L)).isPositive();
+    }
+
+    @Test
+    @DisplayName("발급 API - 한도를 넘은 요청은 발급 로직 전에 429로 거절되고 메트릭에 기록됨")
+    void issueEndpoint_overLimit_rejectedWith429() throws Exception {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("요청 수 제한 테스트 쿠폰")
+                        .totalQuantity(100)
+                        .build()
+        );
+        String body = "{\"userId\": 900001}";
+        double rejectedBefore = meterRegistry.counter("coupon.issue.rate-limit.rejected").count();
+
+        // when & then: 첫 요청 발급, 이후 한도까지는 중복 발급 거절, 한도를 넘으면 429
+        mockMvc.perform(post("/api/coupons/{couponId}/issue/atomic", coupon.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+        for (int i = 1; i < CAPACITY; i++) {
+            mockMvc.perform(post("/api/coupons/{couponId}/issue/atomic", coupon.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isConflict());
+        }
+        mockMvc.perform(post("/api/coupons/{couponId}/issue/atomic", coupon.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value("C006"));
+
+        assertThat(meterRegistry.counter("coupon.issue.rate-limit.rejected").count() - rejectedBefore)
+                .isEqualTo(1);
+        assertThat(couponIssueRepository.count()).isEqualTo(1);
+    }
+}
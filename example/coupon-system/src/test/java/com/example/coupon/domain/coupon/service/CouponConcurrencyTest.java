@@ -1,20 +1,32 @@
 package com.example.coupon.domain.coupon.service;
 
 import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.entity.CouponIssue;
 import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
 import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * 선착순 쿠폰 시스템 동시성 테스트
@@ -26,6 +38,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * 각 해결 방법의 효과를 검증할 수 있습니다.
  */
 @SpringBootTest
+@ActiveProfiles("test")
 class CouponConcurrencyTest {
 
     @Autowired
@@ -34,19 +47,54 @@ class CouponConcurrencyTest {
     @Autowired
     private CouponPessimisticLockService pessimisticLockService;
 
+    @Autowired
+    private CouponConditionalUpdateService conditionalUpdateService;
+
+    @Autowired
+    private CouponRedisAtomicService redisAtomicService;
+
+    @Autowired
+    private CouponRedisLockCombiningService redisLockCombiningService;
+
+    @Autowired
+    private CouponIssueActorService issueActorService;
+
+    @Autowired
+    private CouponSplitCounter splitCounter;
+
+    @Autowired
+    private CouponJournalIssueService journalIssueService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Autowired
     private CouponRepository couponRepository;
 
     @Autowired
     private CouponIssueRepository couponIssueRepository;
 
+    @Autowired
+    private RedisTemplate<String, Long> redisTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private CouponIssueWriteBehindPersister writeBehindPersister;
+
     private static final int TOTAL_COUPON = 100;
     private static final int THREAD_COUNT = 1000;
 
+    // 가상 스레드 비교 - Tomcat 기본 최대 스레드 수(200) vs 요청마다 가상 스레드 1개
+    private static final int VIRTUAL_THREAD_REQUEST_COUNT = 10_000;
+    private static final int PLATFORM_THREAD_COUNT = 200;
+
     @AfterEach
     void tearDown() {
         couponIssueRepository.deleteAll();
         couponRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("coupon:*"));
     }
 
     @Test
@@ -149,6 +197,609 @@ class CouponConcurrencyTest {
         System.out.println("✅ 정확히 " + TOTAL_COUPON + "개만 발급됨!");
     }
 
+    @Test
+    @DisplayName("조건부 UPDATE - 락 조회 없이 정확히 100개만 발급됨")
+    void issue_withConditionalUpdate_exactCount() throws InterruptedException {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("조건부 UPDATE 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failCount = new AtomicInteger(0);
+
+        // when
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            long userId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    conditionalUpdateService.issue(coupon.getId(), userId);
+                    successCount.incrementAndGet();
+                } catch (Exception e) {
+                    failCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then: 소진된 요청의 INSERT는 롤백됨
+        Coupon result = couponRepository.findById(coupon.getId()).orElseThrow();
+
+        System.out.println("=== 조건부 UPDATE 결과 ===");
+        System.out.println("발급된 쿠폰 수: " + result.getIssuedQuantity());
+        System.out.println("성공 요청: " + successCount.get());
+        System.out.println("실패 요청: " + failCount.get());
+
+        assertThat(result.getIssuedQuantity()).isEqualTo(TOTAL_COUPON);
+        assertThat(successCount.get()).isEqualTo(TOTAL_COUPON);
+        assertThat(couponIssueRepository.count()).isEqualTo(TOTAL_COUPON);
+    }
+
+    @Test
+    @DisplayName("Redis 분산 락 + Flat Combining - 락을 요청 수보다 적게 잡고도 정확히 100개만 발급됨")
+    void issue_withRedisLockCombining_exactCount() throws InterruptedException {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("Flat Combining 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+        DistributionSummary batchSize = meterRegistry.get("coupon.issue.combining.batch.size").summary();
+        long batchesBefore = batchSize.count();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failCount = new AtomicInteger(0);
+
+        // when
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            long userId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    redisLockCombiningService.issue(coupon.getId(), userId);
+                    successCount.incrementAndGet();
+                } catch (Exception e) {
+                    failCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        Coupon result = couponRepository.findById(coupon.getId()).orElseThrow();
+        long batches = batchSize.count() - batchesBefore;
+
+        System.out.println("=== Redis 분산 락 + Flat Combining 결과 ===");
+        System.out.println("발급된 쿠폰 수: " + result.getIssuedQuantity());
+        System.out.println("성공 요청: " + successCount.get());
+        System.out.println("실패 요청: " + failCount.get());
+        System.out.println("락 획득 횟수 (배치 수): " + batches);
+
+        assertThat(result.getIssuedQuantity()).isEqualTo(TOTAL_COUPON);
+        assertThat(successCount.get()).isEqualTo(TOTAL_COUPON);
+        assertThat(couponIssueRepository.count()).isEqualTo(TOTAL_COUPON);
+        assertThat(batches).isLessThan(THREAD_COUNT);
+    }
+
+    @Test
+    @DisplayName("Redis 분산 락 + Flat Combining - 같은 사용자가 동시에 요청해도 1장만 발급됨")
+    void issue_withRedisLockCombining_duplicateRejected() throws InterruptedException {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("Flat Combining 중복 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(50);
+        AtomicInteger successCount = new AtomicInteger(0);
+
+        // when: 같은 사용자가 50번 동시 요청
+        for (int i = 0; i < 50; i++) {
+            executorService.submit(() -> {
+                try {
+                    redisLockCombiningService.issue(coupon.getId(), 1L);
+                    successCount.incrementAndGet();
+                } catch (BusinessException e) {
+                    // 중복 발급 거절
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(successCount.get()).isEqualTo(1);
+        assertThat(couponIssueRepository.count()).isEqualTo(1);
+        assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Single-Writer - 락 없이 정확히 100개만 발급되고, 저장은 요청 수보다 적은 배치로 처리됨")
+    void issue_withActor_exactCount() throws InterruptedException {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("Single-Writer 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+        DistributionSummary batchSize = meterRegistry.get("coupon.issue.actor.batch.size").summary();
+        long batchesBefore = batchSize.count();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failCount = new AtomicInteger(0);
+
+        // when
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            long userId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    issueActorService.issue(coupon.getId(), userId);
+                    successCount.incrementAndGet();
+                } catch (Exception e) {
+                    failCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        Coupon result = couponRepository.findById(coupon.getId()).orElseThrow();
+        long batches = batchSize.count() - batchesBefore;
+
+        System.out.println("=== Single-Writer 결과 ===");
+        System.out.println("발급된 쿠폰 수: " + result.getIssuedQuantity());
+        System.out.println("성공 요청: " + successCount.get());
+        System.out.println("실패 요청: " + failCount.get());
+        System.out.println("mailbox 배치 수: " + batches);
+
+        assertThat(result.getIssuedQuantity()).isEqualTo(TOTAL_COUPON);
+        assertThat(successCount.get()).isEqualTo(TOTAL_COUPON);
+        assertThat(couponIssueRepository.count()).isEqualTo(TOTAL_COUPON);
+        assertThat(batches).isLessThan(THREAD_COUNT);
+    }
+
+    @Test
+    @DisplayName("Single-Writer - 같은 사용자가 동시에 요청해도 1장만 발급됨")
+    void issue_withActor_duplicateRejected() throws InterruptedException {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("Single-Writer 중복 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(50);
+        AtomicInteger successCount = new AtomicInteger(0);
+
+        // when: 같은 사용자가 50번 동시 요청
+        for (int i = 0; i < 50; i++) {
+            executorService.submit(() -> {
+                try {
+                    issueActorService.issue(coupon.getId(), 1L);
+                    successCount.incrementAndGet();
+                } catch (BusinessException e) {
+                    // 중복 발급 거절
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(successCount.get()).isEqualTo(1);
+        assertThat(couponIssueRepository.count()).isEqualTo(1);
+        assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(1);
+        assertThatThrownBy(() -> issueActorService.issue(coupon.getId(), 1L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("이미 발급");
+    }
+
+    @Test
+    @DisplayName("저널 - 정확히 100개만 발급되고, DB에는 tailer가 batch로 반영함")
+    void issue_withJournal_exactCount() throws InterruptedException {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("저널 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failCount = new AtomicInteger(0);
+        double syncsBefore = meterRegistry.get("coupon.issue.journal.syncs").functionCounter().count();
+
+        // when: 1000명 동시 요청 (요청마다 DB 대신 저널 fsync 대기)
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            long userId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    journalIssueService.issue(coupon.getId(), userId);
+                    successCount.incrementAndGet();
+                } catch (Exception e) {
+                    failCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+        awaitIssueCount(TOTAL_COUPON);
+
+        // then
+        Coupon result = couponRepository.findById(coupon.getId()).orElseThrow();
+        double syncs = meterRegistry.get("coupon.issue.journal.syncs").functionCounter().count() - syncsBefore;
+
+        System.out.println("=== 저널 결과 ===");
+        System.out.println("발급된 쿠폰 수: " + result.getIssuedQuantity());
+        System.out.println("fsync 횟수: " + (long) syncs);
+        System.out.println("성공 요청: " + successCount.get());
+        System.out.println("실패 요청: " + failCount.get());
+
+        assertThat(successCount.get()).isEqualTo(TOTAL_COUPON);
+        assertThat(couponIssueRepository.count()).isEqualTo(TOTAL_COUPON);
+        assertThat(result.getIssuedQuantity()).isEqualTo(TOTAL_COUPON);
+        assertThat(syncs).isPositive().isLessThanOrEqualTo(TOTAL_COUPON);
+    }
+
+    @Test
+    @DisplayName("Redis Lua 스크립트 - 정확히 100개만 발급됨")
+    void issue_withRedisScript_exactCount() throws InterruptedException {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("Lua 스크립트 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+        redisAtomicService.initCouponCount(coupon.getId(), TOTAL_COUPON);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failCount = new AtomicInteger(0);
+
+        // when: 1000명 동시 요청 (Redis 왕복 1번)
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            long userId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    redisAtomicService.issueWithScript(coupon.getId(), userId);
+                    successCount.incrementAndGet();
+                } catch (Exception e) {
+                    failCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        Coupon result = couponRepository.findById(coupon.getId()).orElseThrow();
+        Long redisCount = redisTemplate.opsForValue().get("coupon:count:" + coupon.getId());
+
+        System.out.println("=== Redis Lua 스크립트 결과 ===");
+        System.out.println("발급된 쿠폰 수: " + result.getIssuedQuantity());
+        System.out.println("Redis 카운트: " + redisCount);
+        System.out.println("성공 요청: " + successCount.get());
+        System.out.println("실패 요청: " + failCount.get());
+
+        assertThat(successCount.get()).isEqualTo(TOTAL_COUPON);
+        assertThat(redisCount).isEqualTo(TOTAL_COUPON);
+        assertThat(couponIssueRepository.count()).isEqualTo(TOTAL_COUPON);
+        assertThat(result.getIssuedQuantity()).isEqualTo(TOTAL_COUPON);
+    }
+
+    @Test
+    @DisplayName("Redis 분할 카운터 - 수량을 여러 키에 나눠도 정확히 100개만 발급됨")
+    void issue_withSplitCounter_exactCount() throws InterruptedException {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("분할 카운터 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+        redisAtomicService.initCouponCount(coupon.getId(), TOTAL_COUPON);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failCount = new AtomicInteger(0);
+
+        // when
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            long userId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    redisAtomicService.issueSplit(coupon.getId(), userId);
+                    successCount.incrementAndGet();
+                } catch (Exception e) {
+                    failCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        Coupon result = couponRepository.findById(coupon.getId()).orElseThrow();
+
+        System.out.println("=== Redis 분할 카운터 결과 ===");
+        System.out.println("발급된 쿠폰 수: " + result.getIssuedQuantity());
+        System.out.println("성공 요청: " + successCount.get());
+        System.out.println("실패 요청: " + failCount.get());
+
+        assertThat(successCount.get()).isEqualTo(TOTAL_COUPON);
+        assertThat(couponIssueRepository.count()).isEqualTo(TOTAL_COUPON);
+        assertThat(result.getIssuedQuantity()).isEqualTo(TOTAL_COUPON);
+        assertThat(splitCounter.remaining(coupon.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Redis 분할 카운터 - 모든 사용자가 같은 샤드로 몰려도 다른 샤드로 넘어가서 전체 수량을 발급함")
+    void issue_withSplitCounter_fallover() throws InterruptedException {
+        // given: initCouponCount 없이 시작 -> 첫 요청에서 샤드 적재
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("분할 카운터 fall-over 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+        double falloverBefore = meterRegistry.counter("coupon.issue.split.fallover").count();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(TOTAL_COUPON * 2);
+        AtomicInteger successCount = new AtomicInteger(0);
+
+        // when: userId가 모두 64의 배수 -> 시작 샤드가 항상 0번
+        for (int i = 0; i < TOTAL_COUPON * 2; i++) {
+            long userId = (i + 1) * 64L;
+            executorService.submit(() -> {
+                try {
+                    redisAtomicService.issueSplit(coupon.getId(), userId);
+                    successCount.incrementAndGet();
+                } catch (BusinessException e) {
+                    // 소진
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(successCount.get()).isEqualTo(TOTAL_COUPON);
+        assertThat(couponIssueRepository.count()).isEqualTo(TOTAL_COUPON);
+        assertThat(splitCounter.remaining(coupon.getId())).isZero();
+        assertThat(meterRegistry.counter("coupon.issue.split.fallover").count() - falloverBefore)
+                .isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("Redis 분할 카운터 - 분할 카운터로 발급 중인 쿠폰은 중앙 카운터 방식으로 발급할 수 없음")
+    void issue_withSplitCounter_rejectsCentralCounterModes() {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("분할 카운터 방식 고정 테스트 쿠폰")
+                        .totalQuantity(10)
+                        .build()
+        );
+        redisAtomicService.initCouponCount(coupon.getId(), 10);
+        redisAtomicService.issueSplit(coupon.getId(), 1L);
+
+        // when & then: 중앙 카운터로도 발급되면 샤드와 합쳐 최대 2배까지 발급됨
+        assertThatThrownBy(() -> redisAtomicService.issueWithScript(coupon.getId(), 2L))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.COUPON_COUNTER_MODE_MISMATCH);
+        assertThatThrownBy(() -> redisAtomicService.issue(coupon.getId(), 3L))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.COUPON_COUNTER_MODE_MISMATCH);
+        assertThat(couponIssueRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Redis Lua 스크립트 - 중복 발급 거부, 미초기화 쿠폰은 DB에서 총 수량 적재")
+    void issue_withRedisScript_duplicateRejected() {
+        // given: initCouponCount 없이 생성된 쿠폰
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("Lua 중복 테스트")
+                        .totalQuantity(10)
+                        .build()
+        );
+        redisAtomicService.issueWithScript(coupon.getId(), 1L);
+
+        // when & then
+        assertThatThrownBy(() -> redisAtomicService.issueWithScript(coupon.getId(), 1L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("이미 발급");
+        assertThat(redisTemplate.opsForValue().get("coupon:total:" + coupon.getId())).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Redis 발급 - 다른 서버에서 이미 DB에 저장된 사용자면 유니크 제약으로 거절되고 받은 수량은 카운터에 반납")
+    void issue_whenDuplicateInDatabase_returnsCounterUnit() {
+        // given: Redis 저장소에는 없지만 DB에는 이미 발급된 사용자 (다른 서버, 재시작 전 발급분)
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("DB 중복 테스트")
+                        .totalQuantity(1)
+                        .build()
+        );
+        redisAtomicService.initCouponCount(coupon.getId(), 1);
+        couponIssueRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(1L).build());
+
+        // when
+        assertThatThrownBy(() -> redisAtomicService.issue(coupon.getId(), 1L))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> redisAtomicService.issueWithScript(coupon.getId(), 1L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("이미 발급");
+
+        // then: 마지막 1개는 다른 사용자에게 발급됨
+        assertThat(redisTemplate.opsForValue().get("coupon:count:" + coupon.getId())).isEqualTo(0L);
+        redisAtomicService.issueWithScript(coupon.getId(), 2L);
+        assertThat(couponIssueRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Write-Behind - 정확히 100개 발급, DB에는 batch로 반영됨")
+    void issue_withWriteBehind_exactCount() throws InterruptedException {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("Write-Behind 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+        redisAtomicService.initCouponCount(coupon.getId(), TOTAL_COUPON);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+        AtomicInteger successCount = new AtomicInteger(0);
+
+        // when
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            long userId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    redisAtomicService.issueWriteBehind(coupon.getId(), userId);
+                    successCount.incrementAndGet();
+                } catch (Exception ignored) {
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then: 드레이너가 저장할 때까지 대기
+        awaitIssueCount(TOTAL_COUPON);
+        Coupon result = couponRepository.findById(coupon.getId()).orElseThrow();
+
+        System.out.println("=== Write-Behind 결과 ===");
+        System.out.println("발급된 쿠폰 수: " + result.getIssuedQuantity());
+        System.out.println("성공 요청: " + successCount.get());
+
+        assertThat(successCount.get()).isEqualTo(TOTAL_COUPON);
+        assertThat(couponIssueRepository.count()).isEqualTo(TOTAL_COUPON);
+        assertThat(result.getIssuedQuantity()).isEqualTo(TOTAL_COUPON);
+    }
+
+    @Test
+    @DisplayName("Write-Behind - 메모리 큐에 없던 pending 항목도 replay로 저장됨")
+    void writeBehind_replaysPendingEntries() throws InterruptedException {
+        // given: 큐에 들어가기 전에 서버가 죽은 상황 (pending Set에만 존재)
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("replay 테스트")
+                        .totalQuantity(10)
+                        .build()
+        );
+        stringRedisTemplate.opsForSet().add(CouponIssueWriteBehindPersister.PENDING_KEY,
+                coupon.getId() + ":1", coupon.getId() + ":2");
+
+        // when
+        writeBehindPersister.requestRecovery();
+
+        // then
+        awaitIssueCount(2);
+        assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(2);
+        assertThat(stringRedisTemplate.opsForSet().size(CouponIssueWriteBehindPersister.PENDING_KEY)).isZero();
+    }
+
+    @Test
+    @DisplayName("가상 스레드 - 10,000명 동시 요청에서 플랫폼 스레드 풀과 같은 결과, 처리 시간 비교")
+    void issue_withVirtualThreads_10kConcurrentRequests() throws InterruptedException {
+        // given
+        Coupon platformCoupon = couponRepository.save(
+                Coupon.builder()
+                        .name("플랫폼 스레드 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+        Coupon virtualCoupon = couponRepository.save(
+                Coupon.builder()
+                        .name("가상 스레드 테스트 쿠폰")
+                        .totalQuantity(TOTAL_COUPON)
+                        .build()
+        );
+        redisAtomicService.initCouponCount(platformCoupon.getId(), TOTAL_COUPON);
+        redisAtomicService.initCouponCount(virtualCoupon.getId(), TOTAL_COUPON);
+
+        ExecutorService platformExecutor = Executors.newFixedThreadPool(PLATFORM_THREAD_COUNT);
+        AtomicInteger platformSuccess = new AtomicInteger(0);
+        AtomicInteger virtualSuccess = new AtomicInteger(0);
+
+        // when: 같은 전략(Redis Lua 스크립트)을 요청 처리 스레드 모델만 바꿔서 실행
+        long platformMillis = issueConcurrently(platformExecutor, platformCoupon.getId(), platformSuccess);
+        platformExecutor.shutdown();
+        long virtualMillis = issueConcurrently(
+                new VirtualThreadTaskExecutor("coupon-vt-"), virtualCoupon.getId(), virtualSuccess);
+
+        // then
+        System.out.println("=== 가상 스레드 비교 (" + VIRTUAL_THREAD_REQUEST_COUNT + "건) ===");
+        System.out.println("플랫폼 스레드 " + PLATFORM_THREAD_COUNT + "개: " + platformMillis + "ms");
+        System.out.println("가상 스레드: " + virtualMillis + "ms");
+
+        assertThat(platformSuccess.get()).isEqualTo(TOTAL_COUPON);
+        assertThat(virtualSuccess.get()).isEqualTo(TOTAL_COUPON);
+        assertThat(couponRepository.findById(virtualCoupon.getId()).orElseThrow().getIssuedQuantity())
+                .isEqualTo(TOTAL_COUPON);
+        assertThat(couponIssueRepository.count()).isEqualTo(TOTAL_COUPON * 2L);
+    }
+
     @Test
     @DisplayName("단일 스레드 - 정상 발급 확인")
     void issue_singleThread_success() {
@@ -188,4 +839,36 @@ class CouponConcurrencyTest {
             assertThat(e.getMessage()).contains("소진");
         }
     }
+
+    /**
+     * VIRTUAL_THREAD_REQUEST_COUNT명이 동시에 Lua 스크립트 발급 요청 -> 모두 끝날 때까지 걸린 시간(ms)
+     */
+    private long issueConcurrently(Executor executor, Long couponId, AtomicInteger successCount)
+            throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(VIRTUAL_THREAD_REQUEST_COUNT);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < VIRTUAL_THREAD_REQUEST_COUNT; i++) {
+            long userId = i + 1;
+            executor.execute(() -> {
+                try {
+                    redisAtomicService.issueWithScript(couponId, userId);
+                    successCount.incrementAndGet();
+                } catch (Exception e) {
+                    // 소진 -> 실패로 처리
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private void awaitIssueCount(long expected) throws InterruptedException {
+        for (int i = 0; i < 100 && couponIssueRepository.count() < expected; i++) {
+            Thread.sleep(50);
+        }
+    }
 }
@@ -0,0 +1,248 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.entity.CouponDistribution;
+import com.example.coupon.domain.coupon.entity.CouponIssue;
+import com.example.coupon.domain.coupon.repository.CouponDistributionRepository;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CouponDistributionServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CouponDistributionService distributionService;
+
+    @Autowired
+    private CouponDistributionRepository distributionRepository;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CouponRedisAtomicService redisAtomicService;
+
+    @Autowired
+    private RedisTemplate<String, Long> redisTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path sourceDir;
+
+    @AfterEach
+    void tearDown() {
+        distributionRepository.deleteAll();
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("coupon:*"));
+    }
+
+    @Test
+    @DisplayName("목록 파일 배포 - 중복/기발급/잘못된 줄은 건너뛰고 남은 수량만큼만 발급한 뒤 SOLD_OUT")
+    void distributeFile_skipsDuplicates_stopsAtTotalQuantity() throws Exception {
+        // given: 수량 2,000개, 이미 발급받은 사용자 10명
+        Coupon coupon = createCoupon(2_000);
+        for (long userId = 1; userId <= 10; userId++) {
+            couponIssueRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(userId).build());
+        }
+        jdbcTemplate.update("UPDATE coupon SET issued_quantity = 10 WHERE id = ?", coupon.getId());
+
+        // 사용자 1~2,500 + 같은 chunk 안의 중복 5줄 + 잘못된 줄 2줄
+        StringBuilder body = new StringBuilder();
+        LongStream.rangeClosed(1, 2_500).forEach(userId -> body.append(userId).append('\n'));
+        LongStream.rangeClosed(2_496, 2_500).forEach(userId -> body.append(userId).append('\n'));
+        body.append("not-a-user\n\n");
+
+        // when
+        String response = mockMvc.perform(post("/api/coupons/{couponId}/distributions", coupon.getId())
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(body.toString()))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        long distributionId = objectMapper.readTree(response).get("id").asLong();
+        JsonNode progress = awaitFinished(coupon.getId(), distributionId);
+
+        // then: 2,000개 = 기발급 10 + 배포 1,990 (사용자 11~2,000)
+        assertThat(progress.get("status").asText()).isEqualTo("SOLD_OUT");
+        assertThat(progress.get("totalLines").asLong()).isEqualTo(2_507);
+        assertThat(progress.get("issuedCount").asLong()).isEqualTo(1_990);
+        assertThat(progress.get("duplicateCount").asLong()).isEqualTo(10);
+        assertThat(couponIssueRepository.count()).isEqualTo(2_000);
+        assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(2_000);
+        assertThat(couponIssueRepository.existsByCouponIdAndUserId(coupon.getId(), 2_000L)).isTrue();
+        assertThat(couponIssueRepository.existsByCouponIdAndUserId(coupon.getId(), 2_001L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("중단된 배포 재개 - 커밋된 chunk 다음 줄부터 이어서 발급, 이미 처리한 줄은 다시 읽지 않음")
+    void resumeInterrupted_continuesFromLastCommittedChunk() throws Exception {
+        // given: 이전 프로세스가 3,000줄 중 첫 chunk(1,000줄)까지 커밋하고 종료
+        Coupon coupon = createCoupon(10_000);
+        Path file = sourceDir.resolve("users.txt");
+        List<String> lines = new ArrayList<>();
+        LongStream.rangeClosed(1, 3_000).forEach(userId -> lines.add(String.valueOf(userId)));
+        Files.write(file, lines);
+
+        CouponDistribution distribution = distributionRepository.save(
+                CouponDistribution.builder()
+                        .couponId(coupon.getId())
+                        .sourceFile(file.toString())
+                        .totalLines(3_000)
+                        .build()
+        );
+        for (long userId = 1; userId <= 1_000; userId++) {
+            couponIssueRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(userId).build());
+        }
+        jdbcTemplate.update("UPDATE coupon SET issued_quantity = 1000 WHERE id = ?", coupon.getId());
+        jdbcTemplate.update("UPDATE coupon_distribution SET processed_lines = 1000, issued_count = 1000 WHERE id = ?",
+                distribution.getId());
+
+        // when: 재시작
+        distributionService.resumeInterrupted();
+        JsonNode progress = awaitFinished(coupon.getId(), distribution.getId());
+
+        // then: 중복으로 다시 센 사용자 없이 나머지 2,000명만 발급
+        assertThat(progress.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(progress.get("processedLines").asLong()).isEqualTo(3_000);
+        assertThat(progress.get("issuedCount").asLong()).isEqualTo(3_000);
+        assertThat(progress.get("duplicateCount").asLong()).isZero();
+        assertThat(couponIssueRepository.count()).isEqualTo(3_000);
+        assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(3_000);
+    }
+
+    @Test
+    @DisplayName("Redis 카운터가 적재된 쿠폰은 DB에 아직 없는 발급(저장 대기, 쿼터 리스)을 빼고 남은 수량만 배포")
+    void distribute_reservesFromRedisCounter() throws Exception {
+        // given: 총 10개 중 Redis에서 허용됐지만 아직 DB에 저장되지 않은 4개
+        Coupon coupon = createCoupon(10);
+        redisAtomicService.initCouponCount(coupon.getId(), 10);
+        redisTemplate.opsForValue().set(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId(), 4L);
+
+        // when
+        Long distributionId = distributionService.start(coupon.getId(),
+                LongStream.rangeClosed(1, 10).boxed().toList()).getId();
+        JsonNode progress = awaitFinished(coupon.getId(), distributionId);
+
+        // then: DB 기준 남은 수량(10)이 아니라 카운터 기준 6개만 발급
+        assertThat(progress.get("status").asText()).isEqualTo("SOLD_OUT");
+        assertThat(progress.get("issuedCount").asLong()).isEqualTo(6);
+        assertThat(couponIssueRepository.count()).isEqualTo(6);
+        assertThat(redisTemplate.opsForValue().get(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId()))
+                .isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("중복 제외 조회 이후 다른 경로로 발급된 사용자가 있으면 건별 저장으로 건너뛰고 배포를 계속함")
+    void distribute_userIssuedConcurrently_skipsDuplicate() throws Exception {
+        // given: 다른 트랜잭션이 Coupon 행을 잠그고 사용자 3을 발급한 뒤 아직 커밋하지 않음
+        Coupon coupon = createCoupon(100);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    jdbcTemplate.queryForMap("SELECT id FROM coupon WHERE id = ? FOR UPDATE", coupon.getId());
+                    couponIssueRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(3L).build());
+                    jdbcTemplate.update("UPDATE coupon SET issued_quantity = issued_quantity + 1 WHERE id = ?",
+                            coupon.getId());
+                    locked.countDown();
+                    awaitQuietly(commit);
+                }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when: 배포가 중복 제외 조회를 마치고 Coupon 행 잠금에서 기다리는 동안 커밋
+        Long distributionId = distributionService.start(coupon.getId(),
+                LongStream.rangeClosed(1, 5).boxed().toList()).getId();
+        Thread.sleep(300);
+        commit.countDown();
+        other.get(5, TimeUnit.SECONDS);
+        JsonNode progress = awaitFinished(coupon.getId(), distributionId);
+
+        // then
+        assertThat(progress.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(progress.get("issuedCount").asLong()).isEqualTo(4);
+        assertThat(progress.get("duplicateCount").asLong()).isEqualTo(1);
+        assertThat(couponIssueRepository.count()).isEqualTo(5);
+        assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(5);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Coupon createCoupon(int totalQuantity) {
+        return couponRepository.save(
+                Coupon.builder()
+                        .name("일괄 배포 테스트 쿠폰")
+                        .totalQuantity(totalQuantity)
+                        .build()
+        );
+    }
+
+    /**
+     * 진행 상황 API를 폴링해서 RUNNING이 아닐 때까지 대기
+     */
+    private JsonNode awaitFinished(Long couponId, Long distributionId) throws Exception {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (true) {
+            String response = mockMvc.perform(get("/api/coupons/{couponId}/distributions/{distributionId}",
+                            couponId, distributionId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode progress = objectMapper.readTree(response);
+            if (!progress.get("status").asText().equals(CouponDistribution.Status.RUNNING.name())) {
+                return progress;
+            }
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
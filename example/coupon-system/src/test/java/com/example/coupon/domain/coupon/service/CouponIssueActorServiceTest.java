@@ -0,0 +1,118 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.cache.CouponMetadataCache;
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.repository.CouponIssueIdGenerator;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.global.error.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponIssueActorServiceTest {
+
+    private static final long RESULT_TIMEOUT_MILLIS = 200;
+
+    @Autowired
+    private CouponMetadataCache couponMetadataCache;
+
+    @Autowired
+    private CouponIssueBloomFilter couponIssueBloomFilter;
+
+    @Autowired
+    private CouponSoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CouponIssueIdGenerator couponIssueIdGenerator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @AfterEach
+    void tearDown() {
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("대기 시간을 넘긴 요청은 취소되어 나중에 발급되지 않고, 이미 저장 중인 요청은 끝까지 기다려 성공한다")
+    void issue_whenResultTimesOut_cancelsQueuedCommand() throws Exception {
+        // given: 첫 저장이 풀릴 때까지 막히는 mailbox 1개
+        CountDownLatch saveBlocked = new CountDownLatch(1);
+        CountDownLatch releaseSave = new CountDownLatch(1);
+        TransactionTemplate blockingTemplate = new TransactionTemplate(transactionManager) {
+            @Override
+            public void executeWithoutResult(Consumer<TransactionStatus> action) {
+                saveBlocked.countDown();
+                awaitQuietly(releaseSave);
+                super.executeWithoutResult(action);
+            }
+        };
+        CouponIssueActorService actorService = new CouponIssueActorService(
+                couponMetadataCache, couponIssueBloomFilter, soldOutRegistry, jdbcTemplate,
+                couponIssueIdGenerator, blockingTemplate, new SimpleMeterRegistry(), 1, 16, 1, RESULT_TIMEOUT_MILLIS);
+        actorService.start();
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("Single-Writer 시간 초과 테스트")
+                        .totalQuantity(10)
+                        .build()
+        );
+
+        try {
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> actorService.issue(coupon.getId(), 1L));
+            assertThat(saveBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // when: 저장이 막힌 동안 들어온 요청은 시간 초과
+            assertThatThrownBy(() -> actorService.issue(coupon.getId(), 2L))
+                    .isInstanceOf(BusinessException.class);
+            releaseSave.countDown();
+
+            // then: 저장 중이던 요청은 시간 초과 후에도 성공, 취소된 요청은 발급되지 않음
+            first.get(5, TimeUnit.SECONDS);
+            actorService.issue(coupon.getId(), 3L);
+            assertThat(jdbcTemplate.queryForList(
+                    "SELECT user_id FROM coupon_issue WHERE coupon_id = ? ORDER BY user_id", Long.class, coupon.getId()))
+                    .containsExactly(1L, 3L);
+        } finally {
+            releaseSave.countDown();
+            actorService.stop();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
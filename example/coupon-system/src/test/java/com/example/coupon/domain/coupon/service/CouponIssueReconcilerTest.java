@@ -0,0 +1,399 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.entity.CouponIssue;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.domain.coupon.soldout.CouponSoldOutBus;
+import com.example.coupon.domain.coupon.store.BitmapIssuedUserStore;
+import com.example.coupon.domain.coupon.store.IssuedUserStore;
+import com.example.coupon.domain.coupon.store.RedisSetIssuedUserStore;
+import com.example.coupon.global.error.BusinessException;
+import com.example.coupon.global.error.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponIssueReconcilerTest {
+
+    private static final long GRACE_MILLIS = 60_000;
+    private static final long RESCAN_WINDOW_MILLIS = 60_000;
+    private static final long FULL_COUNT_INTERVAL_MILLIS = 600_000;
+
+    @Autowired
+    private CouponIssueReconciler reconciler;
+
+    @Autowired
+    private CouponRedisAtomicService redisAtomicService;
+
+    @Autowired
+    private IssuedUserStore issuedUserStore;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private RedisTemplate<String, Long> redisTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisScript<Long> couponReconcileScript;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CouponCounterMode counterMode;
+
+    @Autowired
+    private CouponSoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private CouponSoldOutBus soldOutBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("coupon:*"));
+    }
+
+    @Test
+    @DisplayName("Redis가 DB보다 적으면 바로 보정하고, 다음 대조는 체크포인트 이후 행만 읽음")
+    void countBehind_repairedAndResumedFromCheckpoint() {
+        // given: DB에는 3건, Redis 카운터는 1 (Redis 재시작 등으로 유실)
+        Coupon coupon = createCoupon();
+        redisAtomicService.initCouponCount(coupon.getId(), 100);
+        for (long userId = 1; userId <= 3; userId++) {
+            couponIssueRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(userId).build());
+        }
+        redisTemplate.opsForValue().set(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId(), 1L);
+        double behindBefore = drift("count_behind");
+
+        // when
+        reconciler.reconcile(coupon.getId());
+
+        // then
+        assertThat(redisTemplate.opsForValue().get(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId()))
+                .isEqualTo(3L);
+        assertThat(issuedUserStore.contains(coupon.getId(), 3L)).isTrue();
+        assertThat(drift("count_behind") - behindBefore).isEqualTo(2);
+
+        // when: 2건 추가 후 다시 대조 -> 새 2건만 읽음
+        double rowsBefore = meterRegistry.get("coupon.reconcile.rows").functionCounter().count();
+        for (long userId = 4; userId <= 5; userId++) {
+            couponIssueRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(userId).build());
+        }
+        reconciler.reconcile(coupon.getId());
+
+        // then
+        assertThat(meterRegistry.get("coupon.reconcile.rows").functionCounter().count() - rowsBefore)
+                .isEqualTo(2);
+        assertThat(redisTemplate.opsForValue().get(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId()))
+                .isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Redis가 DB보다 많으면 grace 동안 그대로일 때만 보정하고, 저장 대기 중인 발급은 남김")
+    void countAhead_repairedOnlyAfterGrace_keepsPendingIssues() {
+        // given: redis 저장소, Redis 5건 중 DB 3건 + Write-Behind 저장 대기 1건 + DB 저장 실패 1건
+        AtomicLong clock = new AtomicLong();
+        RedisSetIssuedUserStore redisUserStore = new RedisSetIssuedUserStore(redisTemplate);
+        CouponIssueReconciler redisReconciler = new CouponIssueReconciler(
+                redisTemplate, stringRedisTemplate, couponReconcileScript, jdbcTemplate, redisUserStore,
+                counterMode, soldOutRegistry, new SimpleMeterRegistry(), 2, GRACE_MILLIS, RESCAN_WINDOW_MILLIS,
+                FULL_COUNT_INTERVAL_MILLIS, clock::get);
+        Coupon coupon = createCoupon();
+        redisAtomicService.initCouponCount(coupon.getId(), 100);
+        for (long userId = 1; userId <= 5; userId++) {
+            redisUserStore.add(coupon.getId(), userId);
+        }
+        for (long userId = 1; userId <= 3; userId++) {
+            couponIssueRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(userId).build());
+        }
+        redisTemplate.opsForValue().set(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId(), 5L);
+        stringRedisTemplate.opsForSet().add(CouponIssueWriteBehindPersister.PENDING_KEY, coupon.getId() + ":4");
+
+        // when: 처음 관측 -> 진행 중인 발급일 수 있으므로 보정하지 않음
+        redisReconciler.reconcile(coupon.getId());
+        clock.addAndGet(GRACE_MILLIS - 1);
+        redisReconciler.reconcile(coupon.getId());
+
+        // then
+        assertThat(redisTemplate.opsForValue().get(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId()))
+                .isEqualTo(5L);
+
+        // when: grace 동안 그대로
+        clock.addAndGet(1);
+        redisReconciler.reconcile(coupon.getId());
+
+        // then: 저장 실패한 1건만 제거
+        assertThat(redisTemplate.opsForValue().get(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId()))
+                .isEqualTo(4L);
+        assertThat(redisUserStore.contains(coupon.getId(), 4L)).isTrue();
+        assertThat(redisUserStore.contains(coupon.getId(), 5L)).isFalse();
+        assertThat(redisUserStore.size(coupon.getId())).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("DB 저장에 실패한 발급으로 소진됐던 쿠폰은 초과분을 보정하면 모든 서버에서 소진이 해제되어 다시 발급됨")
+    void countAhead_repairedBelowTotal_reopensSoldOutCoupon() {
+        // given: 총 3개 중 DB 2건 + DB 저장 실패 1건으로 카운터가 총 수량에 닿아 소진, 같은 bus를 구독하는 두 번째 서버
+        CouponSoldOutRegistry otherNode = new CouponSoldOutRegistry(soldOutBus, couponRepository, meterRegistry);
+        AtomicLong clock = new AtomicLong();
+        CouponIssueReconciler clockReconciler = new CouponIssueReconciler(
+                redisTemplate, stringRedisTemplate, couponReconcileScript, jdbcTemplate, issuedUserStore,
+                counterMode, soldOutRegistry, new SimpleMeterRegistry(), 2, GRACE_MILLIS, RESCAN_WINDOW_MILLIS,
+                FULL_COUNT_INTERVAL_MILLIS, clock::get);
+        Coupon coupon = createCoupon(3);
+        redisAtomicService.initCouponCount(coupon.getId(), 3);
+        redisAtomicService.issue(coupon.getId(), 1L);
+        redisAtomicService.issue(coupon.getId(), 2L);
+        redisTemplate.opsForValue().increment(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId());
+        assertThatThrownBy(() -> redisAtomicService.issue(coupon.getId(), 3L))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.COUPON_SOLD_OUT);
+        assertThat(soldOutRegistry.isSoldOut(coupon.getId())).isTrue();
+        assertThat(otherNode.isSoldOut(coupon.getId())).isTrue();
+
+        // when: grace 동안 그대로인 초과분 보정
+        clockReconciler.reconcile(coupon.getId());
+        clock.addAndGet(GRACE_MILLIS);
+        clockReconciler.reconcile(coupon.getId());
+
+        // then: 소진 해제 후 남은 1개 발급
+        assertThat(soldOutRegistry.isSoldOut(coupon.getId())).isFalse();
+        assertThat(otherNode.isSoldOut(coupon.getId())).isFalse();
+        redisAtomicService.issue(coupon.getId(), 3L);
+        assertThat(couponIssueRepository.count()).isEqualTo(3);
+        assertThat(redisTemplate.opsForValue().get(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId()))
+                .isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("커서보다 작은 id가 늦게 커밋되면 처음부터가 아니라 최근 window 안의 행만 다시 읽음")
+    void lateCommittedRow_rescansOnlyRecentWindow() {
+        // given: id 순서상 가운데 행이 아직 커밋되지 않은 상태에서 대조, 첫 행은 window 밖에서 생성
+        Coupon coupon = createCoupon();
+        redisAtomicService.initCouponCount(coupon.getId(), 100);
+        CouponIssue first = couponIssueRepository.save(
+                CouponIssue.builder().couponId(coupon.getId()).userId(1L).build());
+        CouponIssue skipped = couponIssueRepository.save(
+                CouponIssue.builder().couponId(coupon.getId()).userId(2L).build());
+        couponIssueRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(3L).build());
+        couponIssueRepository.delete(skipped);
+        jdbcTemplate.update("UPDATE coupon_issue SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)), first.getId());
+        redisTemplate.opsForValue().set(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId(), 2L);
+        reconciler.reconcile(coupon.getId());
+
+        // 커서 뒤쪽이 아닌 가운데 id로 늦게 커밋
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO coupon_issue (id, coupon_id, user_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", first.getId() + 1, coupon.getId(), 20L, now, now);
+        double rowsBefore = meterRegistry.get("coupon.reconcile.rows").functionCounter().count();
+
+        // when: 같은 대조에서 건너뛴 행을 발견하고 바로 다시 읽음
+        reconciler.reconcile(coupon.getId());
+
+        // then: window 안의 2행(늦게 커밋된 행, userId 3)만 읽고, window 밖의 첫 행은 읽지 않음
+        assertThat(issuedUserStore.contains(coupon.getId(), 20L)).isTrue();
+        assertThat(meterRegistry.get("coupon.reconcile.rows").functionCounter().count() - rowsBefore)
+                .isEqualTo(2);
+        assertThat(redisTemplate.opsForValue().get(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId()))
+                .isEqualTo(3L);
+
+        // when: 행 수가 맞춰졌으므로 다음 대조는 다시 읽지 않음
+        rowsBefore = meterRegistry.get("coupon.reconcile.rows").functionCounter().count();
+        reconciler.reconcile(coupon.getId());
+
+        // then
+        assertThat(meterRegistry.get("coupon.reconcile.rows").functionCounter().count() - rowsBefore)
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("체크포인트가 테이블보다 앞서 있으면 (DB 초기화 등) 체크포인트를 지우고 처음부터 다시 읽음")
+    void cursorAheadOfTable_resetsCheckpoint() {
+        // given: 이전 DB 기준 체크포인트가 남은 상태에서 새 행은 그보다 작은 id로 저장됨
+        Coupon coupon = createCoupon();
+        redisAtomicService.initCouponCount(coupon.getId(), 100);
+        CouponIssue last = null;
+        for (long userId = 1; userId <= 3; userId++) {
+            last = couponIssueRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(userId).build());
+        }
+        stringRedisTemplate.opsForHash().put(CouponIssueReconciler.CHECKPOINT_KEY, coupon.getId().toString(),
+                (last.getId() + 1000) + ":10:-1:-1:-1");
+        redisTemplate.opsForValue().set(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId(), 3L);
+
+        // when
+        reconciler.reconcile(coupon.getId());
+
+        // then
+        assertThat(issuedUserStore.contains(coupon.getId(), 2L)).isTrue();
+        assertThat(stringRedisTemplate.opsForHash().get(CouponIssueReconciler.CHECKPOINT_KEY,
+                coupon.getId().toString())).asString().startsWith(last.getId() + ":3:-1:-1:-1:");
+    }
+
+    @Test
+    @DisplayName("발급 수량은 읽은 행 수로 계산하고, 늦게 커밋된 행은 full-count 주기에만 COUNT(*)로 찾음")
+    void lateCommittedRow_countedOnFullCountInterval() {
+        // given: 가운데 id가 비어 있는 상태에서 대조
+        AtomicLong clock = new AtomicLong();
+        CouponIssueReconciler clockReconciler = new CouponIssueReconciler(
+                redisTemplate, stringRedisTemplate, couponReconcileScript, jdbcTemplate, issuedUserStore,
+                counterMode, soldOutRegistry, new SimpleMeterRegistry(), 2, GRACE_MILLIS, RESCAN_WINDOW_MILLIS,
+                FULL_COUNT_INTERVAL_MILLIS, clock::get);
+        Coupon coupon = createCoupon();
+        redisAtomicService.initCouponCount(coupon.getId(), 100);
+        CouponIssue first = saveSkippingMiddleId(coupon);
+        redisTemplate.opsForValue().set(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId(), 2L);
+        clockReconciler.reconcile(coupon.getId());
+
+        // 가운데 id로 늦게 커밋된 발급
+        insertIssue(coupon, first.getId() + 1, 20L);
+        redisTemplate.opsForValue().increment(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId());
+
+        // when: full-count 주기 전 -> 커서 뒤의 새 행만 읽으므로 늦게 커밋된 행은 아직 모름
+        clock.addAndGet(1_000);
+        clockReconciler.reconcile(coupon.getId());
+
+        // then
+        assertThat(issuedUserStore.contains(coupon.getId(), 20L)).isFalse();
+
+        // when: full-count 주기
+        clock.set(FULL_COUNT_INTERVAL_MILLIS);
+        clockReconciler.reconcile(coupon.getId());
+
+        // then
+        assertThat(issuedUserStore.contains(coupon.getId(), 20L)).isTrue();
+        assertThat(stringRedisTemplate.opsForHash().get(CouponIssueReconciler.CHECKPOINT_KEY,
+                coupon.getId().toString())).asString().contains(":3:");
+    }
+
+    @Test
+    @DisplayName("읽은 행 수보다 Redis가 많아도 빼기 직전 COUNT(*)로 늦게 커밋된 행이 확인되면 빼지 않음")
+    void countAhead_recountsBeforeRepair() {
+        // given: 늦게 커밋된 행 때문에 읽은 행 수(2)가 Redis(3)보다 적음
+        AtomicLong clock = new AtomicLong();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CouponIssueReconciler clockReconciler = new CouponIssueReconciler(
+                redisTemplate, stringRedisTemplate, couponReconcileScript, jdbcTemplate, issuedUserStore,
+                counterMode, soldOutRegistry, registry, 2, GRACE_MILLIS, RESCAN_WINDOW_MILLIS,
+                FULL_COUNT_INTERVAL_MILLIS, clock::get);
+        Coupon coupon = createCoupon();
+        redisAtomicService.initCouponCount(coupon.getId(), 100);
+        CouponIssue first = saveSkippingMiddleId(coupon);
+        redisTemplate.opsForValue().set(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId(), 3L);
+        clockReconciler.reconcile(coupon.getId());
+        insertIssue(coupon, first.getId() + 1, 20L);
+
+        // when: grace가 지나 보정 시점
+        clock.addAndGet(GRACE_MILLIS);
+        clockReconciler.reconcile(coupon.getId());
+
+        // then
+        assertThat(redisTemplate.opsForValue().get(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId()))
+                .isEqualTo(3L);
+        assertThat(issuedUserStore.contains(coupon.getId(), 20L)).isTrue();
+        assertThat(registry.get("coupon.reconcile.drift").tag("type", "count_ahead").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("bitmap 저장소도 초과분을 보정할 때 DB에 없는 사용자를 비트맵에서 제거")
+    void countAhead_removesOrphanUsersFromBitmap(@TempDir Path snapshotDir) {
+        // given: bitmap 저장소, Redis 4건 중 DB 2건 + DB 저장 실패 2건
+        AtomicLong clock = new AtomicLong();
+        BitmapIssuedUserStore bitmapStore = new BitmapIssuedUserStore(
+                couponRepository, snapshotDir.toString(), new SimpleMeterRegistry());
+        CouponIssueReconciler bitmapReconciler = new CouponIssueReconciler(
+                redisTemplate, stringRedisTemplate, couponReconcileScript, jdbcTemplate, bitmapStore,
+                counterMode, soldOutRegistry, new SimpleMeterRegistry(), 2, GRACE_MILLIS, RESCAN_WINDOW_MILLIS,
+                FULL_COUNT_INTERVAL_MILLIS, clock::get);
+        Coupon coupon = createCoupon();
+        redisAtomicService.initCouponCount(coupon.getId(), 100);
+        for (long userId = 1; userId <= 4; userId++) {
+            bitmapStore.add(coupon.getId(), userId);
+        }
+        for (long userId = 1; userId <= 2; userId++) {
+            couponIssueRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(userId).build());
+        }
+        redisTemplate.opsForValue().set(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId(), 4L);
+
+        // when
+        bitmapReconciler.reconcile(coupon.getId());
+        clock.addAndGet(GRACE_MILLIS);
+        bitmapReconciler.reconcile(coupon.getId());
+
+        // then: 저장 실패한 사용자는 다시 발급받을 수 있음
+        assertThat(redisTemplate.opsForValue().get(CouponRedisAtomicService.COUPON_COUNT_KEY + coupon.getId()))
+                .isEqualTo(2L);
+        assertThat(bitmapStore.contains(coupon.getId(), 2L)).isTrue();
+        assertThat(bitmapStore.contains(coupon.getId(), 3L)).isFalse();
+        assertThat(bitmapStore.size(coupon.getId())).isEqualTo(2);
+    }
+
+    /**
+     * userId 1, 3을 저장하고 가운데 id를 비워 둠 (늦게 커밋될 행 자리)
+     */
+    private CouponIssue saveSkippingMiddleId(Coupon coupon) {
+        CouponIssue first = couponIssueRepository.save(
+                CouponIssue.builder().couponId(coupon.getId()).userId(1L).build());
+        CouponIssue skipped = couponIssueRepository.save(
+                CouponIssue.builder().couponId(coupon.getId()).userId(2L).build());
+        couponIssueRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(3L).build());
+        couponIssueRepository.delete(skipped);
+        return first;
+    }
+
+    private void insertIssue(Coupon coupon, long id, long userId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO coupon_issue (id, coupon_id, user_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", id, coupon.getId(), userId, now, now);
+    }
+
+    private Coupon createCoupon() {
+        return createCoupon(100);
+    }
+
+    private Coupon createCoupon(int totalQuantity) {
+        return couponRepository.save(
+                Coupon.builder()
+                        .name("대조 테스트 쿠폰")
+                        .totalQuantity(totalQuantity)
+                        .build()
+        );
+    }
+
+    private double drift(String type) {
+        return meterRegistry.get("coupon.reconcile.drift").tag("type", type).counter().count();
+    }
+}
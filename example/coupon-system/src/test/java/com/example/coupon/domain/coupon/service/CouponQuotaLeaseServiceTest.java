@@ -0,0 +1,175 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.global.error.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponQuotaLeaseServiceTest {
+
+    @Autowired
+    private CouponQuotaLeaseService quotaLeaseService;
+
+    @Autowired
+    private CouponRedisAtomicService redisAtomicService;
+
+    @Autowired
+    private CouponIssueBloomFilter couponIssueBloomFilter;
+
+    @Autowired
+    private CouponSoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private RedisTemplate<String, Long> redisTemplate;
+
+    @Autowired
+    private RedisScript<Long> couponLeaseScript;
+
+    @Autowired
+    private CouponCounterMode counterMode;
+
+    @AfterEach
+    void tearDown() {
+        quotaLeaseService.releaseAll();
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("coupon:*"));
+    }
+
+    @Test
+    @DisplayName("서버 2대가 블록 단위로 나눠 발급해도 정확히 100개만 발급되고, 정산 후 DB 수량이 일치한다")
+    void issue_twoNodes_exactCount() throws InterruptedException {
+        // given: 같은 중앙 카운터를 쓰는 두 번째 서버
+        CouponQuotaLeaseService otherNode = new CouponQuotaLeaseService(
+                couponRepository, couponIssueRepository, couponIssueBloomFilter, redisAtomicService,
+                soldOutRegistry, counterMode, redisTemplate, couponLeaseScript, 30, 60_000);
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("쿼터 리스 테스트 쿠폰")
+                        .totalQuantity(100)
+                        .build()
+        );
+        redisAtomicService.initCouponCount(coupon.getId(), 100);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(1000);
+        AtomicInteger successCount = new AtomicInteger(0);
+
+        // when: 요청 절반씩 두 서버로
+        for (int i = 0; i < 1000; i++) {
+            long userId = i + 1;
+            CouponQuotaLeaseService node = i % 2 == 0 ? quotaLeaseService : otherNode;
+            executorService.submit(() -> {
+                try {
+                    node.issue(coupon.getId(), userId);
+                    successCount.incrementAndGet();
+                } catch (Exception ignored) {
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+        quotaLeaseService.releaseAll();
+        otherNode.releaseAll();
+
+        // then
+        Coupon result = couponRepository.findById(coupon.getId()).orElseThrow();
+        assertThat(successCount.get()).isEqualTo(100);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+        assertThat(result.getIssuedQuantity()).isEqualTo(100);
+        assertThat(redisTemplate.opsForValue().get("coupon:count:" + coupon.getId())).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("리스를 반납하면 쓰지 않은 수량이 중앙 카운터로 돌아간다")
+    void releaseAll_returnsUnusedQuota() {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("반납 테스트")
+                        .totalQuantity(100)
+                        .build()
+        );
+        quotaLeaseService.issue(coupon.getId(), 1L);
+        quotaLeaseService.issue(coupon.getId(), 2L);
+        assertThat(redisTemplate.opsForValue().get("coupon:count:" + coupon.getId())).isEqualTo(50L);
+
+        // when
+        quotaLeaseService.releaseAll();
+
+        // then
+        assertThat(redisTemplate.opsForValue().get("coupon:count:" + coupon.getId())).isEqualTo(2L);
+        assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("리스가 들고 있는 수량 때문에 중앙 카운터가 가득 차도 소진으로 등록하지 않고, 반납 후 다시 발급된다")
+    void atomicIssue_whileLeaseHoldsQuota_notMarkedSoldOut() {
+        // given: 리스가 총 수량 50개를 모두 예약
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("리스 보유 소진 테스트")
+                        .totalQuantity(50)
+                        .build()
+        );
+        redisAtomicService.initCouponCount(coupon.getId(), 50);
+        quotaLeaseService.issue(coupon.getId(), 1L);
+
+        // when: 같은 카운터를 쓰는 INCR 발급은 이번 요청만 거절
+        assertThatThrownBy(() -> redisAtomicService.issue(coupon.getId(), 2L))
+                .isInstanceOf(BusinessException.class);
+        boolean soldOutBeforeSettle = soldOutRegistry.isSoldOut(coupon.getId());
+        quotaLeaseService.releaseAll();
+
+        // then
+        assertThat(soldOutBeforeSettle).isFalse();
+        assertThat(redisTemplate.opsForValue().get("coupon:leased:" + coupon.getId())).isEqualTo(0L);
+        redisAtomicService.issue(coupon.getId(), 2L);
+        assertThat(redisTemplate.opsForValue().get("coupon:count:" + coupon.getId())).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("같은 사용자가 다시 요청하면 중복 발급 예외가 발생한다")
+    void issue_whenDuplicate_throwsException() {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("중복 테스트")
+                        .totalQuantity(10)
+                        .build()
+        );
+        quotaLeaseService.issue(coupon.getId(), 1L);
+
+        // when & then
+        assertThatThrownBy(() -> quotaLeaseService.issue(coupon.getId(), 1L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("이미 발급");
+    }
+}
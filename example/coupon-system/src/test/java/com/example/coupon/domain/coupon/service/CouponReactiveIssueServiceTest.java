@@ -0,0 +1,144 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Non-blocking 발급 테스트
+ *
+ * Tomcat 스레드를 16개로 줄인 실제 서버에 동시 요청을 보내서
+ * blocking 엔드포인트(/issue/redis)와 처리 시간을 비교
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.tomcat.threads.max=16"
+)
+@ActiveProfiles("test")
+class CouponReactiveIssueServiceTest {
+
+    private static final int TOTAL_COUPON = 100;
+    private static final int REQUEST_COUNT = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CouponReactiveIssueService reactiveIssueService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private RedisTemplate<String, Long> redisTemplate;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @AfterEach
+    void tearDown() {
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("coupon:*"));
+    }
+
+    @Test
+    @DisplayName("스레드를 요청마다 잡지 않고도 정확히 100개만 발급됨")
+    void issue_exactCount() {
+        // given: initCouponCount 없이 시작 -> 첫 요청에서 총 수량 적재
+        Coupon coupon = saveCoupon("Reactive 테스트 쿠폰", TOTAL_COUPON);
+
+        // when: 1000개 요청을 동시에 구독 (스레드 풀 없음)
+        List<Boolean> results = Flux.range(1, 1000)
+                .flatMap(userId -> reactiveIssueService.issue(coupon.getId(), (long) userId)
+                        .thenReturn(true)
+                        .onErrorReturn(false), 1000)
+                .collectList()
+                .block();
+
+        // then
+        Coupon result = couponRepository.findById(coupon.getId()).orElseThrow();
+        assertThat(results).filteredOn(Boolean::booleanValue).hasSize(TOTAL_COUPON);
+        assertThat(couponIssueRepository.count()).isEqualTo(TOTAL_COUPON);
+        assertThat(result.getIssuedQuantity()).isEqualTo(TOTAL_COUPON);
+        assertThat(redisTemplate.opsForValue().get("coupon:count:" + coupon.getId())).isEqualTo(TOTAL_COUPON);
+    }
+
+    @Test
+    @DisplayName("Tomcat 스레드 16개에서 /issue/reactive와 /issue/redis 처리량 비교")
+    void throughput_reactiveVsBlocking() {
+        // given: 모든 요청이 발급되는 수량 -> 거절이 아닌 발급 처리량을 비교
+        Coupon blockingCoupon = saveCoupon("blocking 비교 쿠폰", REQUEST_COUNT);
+        Coupon reactiveCoupon = saveCoupon("reactive 비교 쿠폰", REQUEST_COUNT);
+
+        // when
+        Result blocking = sendConcurrently("/api/coupons/" + blockingCoupon.getId() + "/issue/redis");
+        Result reactive = sendConcurrently("/api/coupons/" + reactiveCoupon.getId() + "/issue/reactive");
+
+        // then
+        System.out.println("=== Non-blocking vs Blocking (요청 " + REQUEST_COUNT + "개, Tomcat 스레드 16개) ===");
+        System.out.printf("/issue/redis    : %d ms, %.0f req/s, 성공 %d%n",
+                blocking.elapsedMillis(), blocking.throughput(), blocking.successCount());
+        System.out.printf("/issue/reactive : %d ms, %.0f req/s, 성공 %d%n",
+                reactive.elapsedMillis(), reactive.throughput(), reactive.successCount());
+
+        assertThat(blocking.successCount()).isEqualTo(REQUEST_COUNT);
+        assertThat(reactive.successCount()).isEqualTo(REQUEST_COUNT);
+        assertThat(couponIssueRepository.count()).isEqualTo(REQUEST_COUNT * 2);
+    }
+
+    private Result sendConcurrently(String path) {
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(REQUEST_COUNT);
+        for (int userId = 1; userId <= REQUEST_COUNT; userId++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"userId\": " + userId + "}"))
+                    .build();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+
+        long successCount = responses.stream()
+                .map(CompletableFuture::join)
+                .filter(response -> response.statusCode() == 200)
+                .count();
+        return new Result((System.nanoTime() - start) / 1_000_000, successCount);
+    }
+
+    private Coupon saveCoupon(String name, int totalQuantity) {
+        return couponRepository.save(
+                Coupon.builder()
+                        .name(name)
+                        .totalQuantity(totalQuantity)
+                        .build()
+        );
+    }
+
+    private record Result(long elapsedMillis, long successCount) {
+
+        double throughput() {
+            return REQUEST_COUNT * 1000.0 / Math.max(1, elapsedMillis);
+        }
+    }
+}
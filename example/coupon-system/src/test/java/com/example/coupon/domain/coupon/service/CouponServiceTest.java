@@ -6,16 +6,19 @@ import com.example.coupon.domain.coupon.entity.Coupon;
 import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
 import com.example.coupon.domain.coupon.repository.CouponRepository;
 import com.example.coupon.global.error.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class CouponServiceTest {
 
     @Autowired
@@ -27,6 +30,9 @@ class CouponServiceTest {
     @Autowired
     private CouponIssueRepository couponIssueRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @AfterEach
     void tearDown() {
         couponIssueRepository.deleteAll();
@@ -110,6 +116,33 @@ class CouponServiceTest {
                 .hasMessageContaining("이미 발급");
     }
 
+    @Test
+    @DisplayName("Bloom Filter 메트릭은 쿠폰별 태그 없이 전체 쿠폰을 합산해서 노출된다")
+    void issue_exposesBloomFilterMetrics() {
+        // given
+        Coupon coupon = couponRepository.save(
+                Coupon.builder()
+                        .name("Bloom Filter 테스트")
+                        .totalQuantity(100)
+                        .build()
+        );
+
+        // when
+        for (long userId = 1; userId <= 10; userId++) {
+            couponService.issue(coupon.getId(), userId);
+        }
+
+        // then
+        double memory = meterRegistry.get("coupon.issue.bloom.memory").gauge().value();
+        double expectedFpp = meterRegistry.get("coupon.issue.bloom.fpp.expected").gauge().value();
+
+        assertThat(memory).isPositive();
+        assertThat(expectedFpp).isBetween(0.0, 1.0);
+        assertThat(meterRegistry.get("coupon.issue.bloom.fpp.observed").gauge().value())
+                .isLessThanOrEqualTo(1.0);
+        assertThat(meterRegistry.find("coupon.issue.bloom.memory").gauges()).hasSize(1);
+    }
+
     @Test
     @DisplayName("존재하지 않는 쿠폰 발급 시 예외가 발생한다")
     void issue_whenNotFound_throwsException() {
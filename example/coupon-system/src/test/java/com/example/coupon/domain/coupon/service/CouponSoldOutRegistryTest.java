@@ -0,0 +1,143 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.domain.coupon.soldout.CouponSoldOutBus;
+import com.example.coupon.global.error.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CouponSoldOutRegistryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CouponSoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private CouponSoldOutBus soldOutBus;
+
+    @Autowired
+    private CouponConditionalUpdateService conditionalUpdateService;
+
+    @Autowired
+    private CouponRedisAtomicService redisAtomicService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private RedisTemplate<String, Long> redisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("coupon:*"));
+    }
+
+    @Test
+    @DisplayName("발급 전략이 소진을 확인하면 소진 목록에 등록되고 다른 서버에도 전파된다")
+    void markSoldOut_propagatesToOtherNodes() {
+        // given: 같은 bus를 구독하는 두 번째 서버
+        CouponSoldOutRegistry otherNode = new CouponSoldOutRegistry(soldOutBus, couponRepository, meterRegistry);
+        Coupon coupon = saveCoupon(1);
+        conditionalUpdateService.issue(coupon.getId(), 1L);
+
+        // when
+        assertThatThrownBy(() -> conditionalUpdateService.issue(coupon.getId(), 2L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("소진");
+
+        // then
+        assertThat(soldOutRegistry.isSoldOut(coupon.getId())).isTrue();
+        assertThat(otherNode.isSoldOut(coupon.getId())).isTrue();
+        assertThatThrownBy(() -> otherNode.rejectIfSoldOut(coupon.getId()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("소진");
+    }
+
+    @Test
+    @DisplayName("소진된 쿠폰의 발급 요청은 Redis 접근 없이 컨트롤러 앞에서 409로 거절된다")
+    void issue_afterSoldOut_rejectedBeforeController() throws Exception {
+        // given: Lua 스크립트 발급으로 소진
+        Coupon coupon = saveCoupon(1);
+        redisAtomicService.initCouponCount(coupon.getId(), 1);
+        redisAtomicService.issueWithScript(coupon.getId(), 1L);
+        assertThatThrownBy(() -> redisAtomicService.issueWithScript(coupon.getId(), 2L))
+                .isInstanceOf(BusinessException.class);
+        Long issuedCount = redisTemplate.opsForValue().get("coupon:count:" + coupon.getId());
+        double rejectedBefore = meterRegistry.counter("coupon.issue.sold-out.rejected").count();
+
+        // when & then
+        mockMvc.perform(post("/api/coupons/{couponId}/issue/atomic", coupon.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 3}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("C002"));
+        mockMvc.perform(post("/api/coupons/{couponId}/waiting", coupon.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 4}"))
+                .andExpect(status().isConflict());
+
+        assertThat(redisTemplate.opsForValue().get("coupon:count:" + coupon.getId())).isEqualTo(issuedCount);
+        assertThat(meterRegistry.counter("coupon.issue.sold-out.rejected").count() - rejectedBefore).isEqualTo(2);
+
+        // 조회 API는 거절하지 않음
+        mockMvc.perform(get("/api/coupons/{couponId}", coupon.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("시작 시 DB에서 이미 소진된 쿠폰을 적재한다")
+    void load_fromDatabase() {
+        // given
+        Coupon soldOut = saveCoupon(1);
+        conditionalUpdateService.issue(soldOut.getId(), 1L);
+        Coupon available = saveCoupon(10);
+        CouponSoldOutRegistry restarted = new CouponSoldOutRegistry(soldOutBus, couponRepository, meterRegistry);
+
+        // when
+        restarted.load();
+
+        // then
+        assertThat(restarted.isSoldOut(soldOut.getId())).isTrue();
+        assertThat(restarted.isSoldOut(available.getId())).isFalse();
+    }
+
+    private Coupon saveCoupon(int totalQuantity) {
+        return couponRepository.save(
+                Coupon.builder()
+                        .name("소진 목록 테스트 쿠폰")
+                        .totalQuantity(totalQuantity)
+                        .build()
+        );
+    }
+}
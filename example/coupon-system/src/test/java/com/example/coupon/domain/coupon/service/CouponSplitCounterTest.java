@@ -0,0 +1,90 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.cache.CouponMetadataCache;
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponSplitCounterTest {
+
+    @Autowired
+    private CouponSplitCounter splitCounter;
+
+    @Autowired
+    private RedisTemplate<String, Long> redisTemplate;
+
+    @Autowired
+    private RedisScript<Long> couponSplitIssueScript;
+
+    @Autowired
+    private RedisScript<Long> couponSplitTakeScript;
+
+    @Autowired
+    private CouponMetadataCache couponMetadataCache;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @AfterEach
+    void tearDown() {
+        couponRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("coupon:*"));
+    }
+
+    @Test
+    @DisplayName("다른 서버가 반납한 수량은 이 서버의 소진 비트마스크에 남아 있어도 다시 확인해서 발급한다")
+    void acquire_afterReleaseOnOtherNode_reprobesExhaustedShards() {
+        // given: 같은 샤드를 쓰는 두 번째 서버, 수량 1개는 0번 샤드에만 있음
+        CouponSplitCounter otherNode = new CouponSplitCounter(
+                redisTemplate, couponSplitIssueScript, couponSplitTakeScript, couponMetadataCache,
+                new SimpleMeterRegistry(), 8);
+        Coupon coupon = saveCoupon(1);
+        splitCounter.init(coupon.getId(), 1);
+        int shard = splitCounter.acquire(coupon.getId(), 1L);
+        assertThat(otherNode.acquire(coupon.getId(), 2L)).isEqualTo(CouponSplitCounter.SOLD_OUT);
+
+        // when: 첫 번째 서버가 DB 저장 실패로 반납
+        splitCounter.release(coupon.getId(), shard);
+
+        // then
+        assertThat(otherNode.acquire(coupon.getId(), 2L)).isEqualTo(shard);
+        assertThat(splitCounter.remaining(coupon.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("일괄 배포 수량은 샤드마다 한 번에 차감하고, 남은 수량보다 많으면 남은 만큼만 차감한다")
+    void take_bulk() {
+        // given
+        Coupon coupon = saveCoupon(100);
+        splitCounter.init(coupon.getId(), 100);
+
+        // when & then
+        splitCounter.take(coupon.getId(), 40);
+        assertThat(splitCounter.remaining(coupon.getId())).isEqualTo(60);
+
+        splitCounter.take(coupon.getId(), 100);
+        assertThat(splitCounter.remaining(coupon.getId())).isZero();
+        assertThat(splitCounter.acquire(coupon.getId(), 1L)).isEqualTo(CouponSplitCounter.SOLD_OUT);
+    }
+
+    private Coupon saveCoupon(int totalQuantity) {
+        return couponRepository.save(
+                Coupon.builder()
+                        .name("분할 카운터 테스트 쿠폰")
+                        .totalQuantity(totalQuantity)
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.coupon.domain.coupon.service;
+
+import com.example.coupon.domain.coupon.dto.WaitingResponse;
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.queue.CouponWaitingQueue;
+import com.example.coupon.domain.coupon.queue.InMemoryCouponWaitingQueue;
+import com.example.coupon.domain.coupon.queue.RedisCouponWaitingQueue;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import com.example.coupon.global.error.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponWaitingRoomServiceTest {
+
+    @Autowired
+    private CouponWaitingRoomService waitingRoomService;
+
+    @Autowired
+    private CouponWaitingQueue waitingQueue;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private CouponSoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private CouponConditionalUpdateService conditionalUpdateService;
+
+    @Autowired
+    private RedisTemplate<String, Long> redisTemplate;
+
+    @Autowired
+    private RedisScript<List<Long>> couponWaitingPollScript;
+
+    @Autowired
+    private RedisScript<Long> couponWaitingPruneScript;
+
+    @AfterEach
+    void tearDown() {
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("coupon:*"));
+    }
+
+    @Test
+    @DisplayName("입장 순서대로 순번을 받고, 같은 사용자는 기존 순번을 유지한다")
+    void enter_returnsRank() {
+        // given
+        Coupon coupon = saveCoupon(10);
+
+        // when
+        long first = waitingRoomService.enter(coupon.getId(), 1L).getRank();
+        long second = waitingRoomService.enter(coupon.getId(), 2L).getRank();
+        long again = waitingRoomService.enter(coupon.getId(), 1L).getRank();
+
+        // then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(again).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("1000명 대기 -> 100개만 발급되고 나머지 대기열은 한 번에 거절된다")
+    void admit_untilSoldOut() throws InterruptedException {
+        // given: 1000명 동시 입장
+        Coupon coupon = saveCoupon(100);
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(1000);
+        for (int i = 0; i < 1000; i++) {
+            long userId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    waitingRoomService.enter(coupon.getId(), userId);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+        assertThat(waitingQueue.size(coupon.getId())).isEqualTo(1000);
+
+        // when: tick당 100명씩 입장 처리
+        waitingRoomService.admit(coupon.getId());
+        waitingRoomService.admit(coupon.getId());
+
+        // then
+        Coupon result = couponRepository.findById(coupon.getId()).orElseThrow();
+        assertThat(result.getIssuedQuantity()).isEqualTo(100);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+        assertThat(waitingQueue.size(coupon.getId())).isZero();
+
+        WaitingResponse lateUser = waitingRoomService.getStatus(coupon.getId(), 1000L);
+        assertThat(lateUser.getStatus()).isEqualTo(WaitingResponse.Status.SOLD_OUT);
+        assertThatThrownBy(() -> waitingRoomService.enter(coupon.getId(), 2000L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("소진");
+    }
+
+    @Test
+    @DisplayName("입장 처리된 사용자는 ISSUED, 아직 대기 중인 사용자는 줄어든 순번을 받는다")
+    void getStatus_afterAdmit() {
+        // given
+        Coupon coupon = saveCoupon(500);
+        for (long userId = 1; userId <= 150; userId++) {
+            waitingRoomService.enter(coupon.getId(), userId);
+        }
+
+        // when
+        waitingRoomService.admit(coupon.getId());
+
+        // then
+        assertThat(waitingRoomService.getStatus(coupon.getId(), 1L).getStatus())
+                .isEqualTo(WaitingResponse.Status.ISSUED);
+        WaitingResponse waiting = waitingRoomService.getStatus(coupon.getId(), 150L);
+        assertThat(waiting.getStatus()).isEqualTo(WaitingResponse.Status.WAITING);
+        assertThat(waiting.getRank()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("발급 중 DB 오류가 나면 해당 사용자만 FAILED로 남고, 나머지는 계속 발급된다")
+    void admit_whenIssueFails_marksFailed() {
+        // given: userId 2는 DB 장애로 발급 실패
+        Coupon coupon = saveCoupon(10);
+        List<Long> issuedUserIds = new CopyOnWriteArrayList<>();
+        CouponConditionalUpdateService failingForUser2 = new CouponConditionalUpdateService(
+                null, null, null, null, null) {
+            @Override
+            public void issue(Long couponId, Long userId) {
+                if (userId == 2L) {
+                    throw new IllegalStateException("DB connection refused");
+                }
+                issuedUserIds.add(userId);
+            }
+        };
+        CouponWaitingRoomService service = new CouponWaitingRoomService(
+                new InMemoryCouponWaitingQueue(), failingForUser2, couponIssueRepository, soldOutRegistry, 100);
+        for (long userId = 1; userId <= 3; userId++) {
+            service.enter(coupon.getId(), userId);
+        }
+
+        // when
+        service.admit(coupon.getId());
+
+        // then: 실패한 사용자는 사라지지 않고 FAILED, 뒤의 사용자도 발급됨
+        assertThat(issuedUserIds).containsExactly(1L, 3L);
+        assertThat(service.getStatus(coupon.getId(), 2L).getStatus())
+                .isEqualTo(WaitingResponse.Status.FAILED);
+
+        // then: 다시 입장하면 대기열로 돌아감
+
+        service.enter(coupon.getId(), 2L);
+        assertThat(service.getStatus(coupon.getId(), 2L).getStatus())
+                .isEqualTo(WaitingResponse.Status.WAITING);
+    }
+
+    @Test
+    @DisplayName("Redis 대기열은 입장 번호 순서로 줄을 세우고, 다 꺼내면 활성 목록에서 빠진다")
+    void redisQueue_ordersBySequence_andPrunesDrainedCoupon() {
+        // given: Redis 대기열을 쓰는 서버
+        RedisCouponWaitingQueue redisQueue = new RedisCouponWaitingQueue(
+                redisTemplate, couponWaitingPollScript, couponWaitingPruneScript);
+        CouponWaitingRoomService service = new CouponWaitingRoomService(
+                redisQueue, conditionalUpdateService, couponIssueRepository, soldOutRegistry, 100);
+        Coupon coupon = saveCoupon(10);
+
+        // when: 입장 순서대로 순번, 같은 사용자는 기존 순번 유지
+        long first = service.enter(coupon.getId(), 30L).getRank();
+        long second = service.enter(coupon.getId(), 10L).getRank();
+        long again = service.enter(coupon.getId(), 30L).getRank();
+        long third = service.enter(coupon.getId(), 20L).getRank();
+
+        // then
+        assertThat(List.of(first, second, again, third)).containsExactly(1L, 2L, 1L, 3L);
+        assertThat(redisQueue.activeCouponIds()).contains(coupon.getId());
+
+        // when: 3명 모두 입장 처리 -> 대기열이 비었으므로 활성 목록에서 제거
+        service.admit(coupon.getId());
+
+        // then
+        assertThat(service.getStatus(coupon.getId(), 20L).getStatus()).isEqualTo(WaitingResponse.Status.ISSUED);
+        assertThat(redisQueue.activeCouponIds()).doesNotContain(coupon.getId());
+
+        // when: 다시 입장하면 활성 목록으로 돌아감
+        service.enter(coupon.getId(), 40L);
+
+        // then
+        assertThat(redisQueue.activeCouponIds()).contains(coupon.getId());
+    }
+
+    @Test
+    @DisplayName("JVM 내부 대기열도 다 꺼내면 활성 목록에서 빠진다")
+    void inMemoryQueue_prunesDrainedCoupon() {
+        // given
+        Coupon coupon = saveCoupon(10);
+        waitingRoomService.enter(coupon.getId(), 1L);
+
+        // when
+        waitingRoomService.admit(coupon.getId());
+
+        // then
+        assertThat(waitingQueue.activeCouponIds()).doesNotContain(coupon.getId());
+    }
+
+    private Coupon saveCoupon(int totalQuantity) {
+        return couponRepository.save(
+                Coupon.builder()
+                        .name("대기열 테스트 쿠폰")
+                        .totalQuantity(totalQuantity)
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.coupon.domain.coupon.store;
+
+import com.example.coupon.domain.coupon.entity.Coupon;
+import com.example.coupon.domain.coupon.repository.CouponRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IssuedUserStoreTest {
+
+    private static final int USER_COUNT = 200_000;
+    private static final int LOOKUP_COUNT = 10_000;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private RedisTemplate<String, Long> redisTemplate;
+
+    @TempDir
+    private Path snapshotDir;
+
+    @AfterEach
+    void tearDown() {
+        couponRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("coupon:*"));
+    }
+
+    @Test
+    @DisplayName("100만 명 중 무작위 20만 건 발급 시 비트맵이 Redis SET보다 메모리를 적게 쓰고 중복 체크가 빠르다")
+    void bitmap_vsRedisSet_memoryAndLatency() {
+        // given: 100만 명 중 무작위 20만 명 발급
+        Coupon coupon = saveCoupon();
+        BitmapIssuedUserStore bitmapStore = new BitmapIssuedUserStore(
+                couponRepository, snapshotDir.toString(), new SimpleMeterRegistry());
+        RedisSetIssuedUserStore redisSetStore = new RedisSetIssuedUserStore(redisTemplate);
+
+        long[] userIds = new Random(42).longs(USER_COUNT, 1, 1_000_000).toArray();
+        Long[] chunk = new Long[1_000];
+        for (int i = 0; i < USER_COUNT; i++) {
+            bitmapStore.add(coupon.getId(), userIds[i]);
+            chunk[i % chunk.length] = userIds[i];
+            if (i % chunk.length == chunk.length - 1) {
+                redisTemplate.opsForSet().add(RedisSetIssuedUserStore.KEY_PREFIX + coupon.getId(), chunk);
+            }
+        }
+
+        // when
+        long bitmapBytes = bitmapStore.memoryBytes();
+        Long redisSetBytes = redisTemplate.execute(
+                RedisScript.of("return redis.call('MEMORY', 'USAGE', KEYS[1], 'SAMPLES', '0')", Long.class),
+                List.of(RedisSetIssuedUserStore.KEY_PREFIX + coupon.getId()));
+        double bitmapNanos = averageLookupNanos(userId -> bitmapStore.contains(coupon.getId(), userId));
+        double redisSetNanos = averageLookupNanos(userId -> redisSetStore.contains(coupon.getId(), userId));
+
+        // then
+        System.out.println("=== 발급 사용자 저장소 비교 (" + bitmapStore.size(coupon.getId()) + "명) ===");
+        System.out.printf("메모리: bitmap=%,d bytes, Redis SET=%,d bytes%n", bitmapBytes, redisSetBytes);
+        System.out.printf("중복 체크: bitmap=%.0f ns, Redis SET=%.0f ns%n", bitmapNanos, redisSetNanos);
+
+        assertThat(bitmapStore.size(coupon.getId())).isEqualTo(redisSetStore.size(coupon.getId()));
+        assertThat(bitmapBytes * 10).isLessThan(redisSetBytes);
+        assertThat(bitmapNanos).isLessThan(redisSetNanos);
+    }
+
+    @Test
+    @DisplayName("스냅샷 파일로 재시작 후 복구하고, DB에 없는 쿠폰의 스냅샷은 버린다")
+    void snapshot_andRestore() {
+        // given
+        Coupon coupon = saveCoupon();
+        long deletedCouponId = coupon.getId() + 1_000;
+        BitmapIssuedUserStore store = new BitmapIssuedUserStore(
+                couponRepository, snapshotDir.toString(), new SimpleMeterRegistry());
+        for (long userId = 1; userId <= 10_000; userId++) {
+            store.add(coupon.getId(), userId);
+        }
+        store.add(deletedCouponId, 1L);
+
+        // when
+        store.snapshot();
+        BitmapIssuedUserStore restarted = new BitmapIssuedUserStore(
+                couponRepository, snapshotDir.toString(), new SimpleMeterRegistry());
+        restarted.load();
+
+        // then
+        assertThat(restarted.size(coupon.getId())).isEqualTo(10_000);
+        assertThat(restarted.add(coupon.getId(), 1L)).isFalse();
+        assertThat(restarted.add(coupon.getId(), 10_001L)).isTrue();
+        assertThat(restarted.contains(deletedCouponId, 1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("두 저장소 모두 저장된 사용자를 빠짐없이 순회한다 (비트맵은 array/bitmap 컨테이너 모두)")
+    void forEachUser_visitsAllUsers() {
+        // given: 촘촘한 범위(bitmap 컨테이너) + 멀리 떨어진 사용자(array 컨테이너)
+        Coupon coupon = saveCoupon();
+        BitmapIssuedUserStore bitmapStore = new BitmapIssuedUserStore(
+                couponRepository, snapshotDir.toString(), new SimpleMeterRegistry());
+        RedisSetIssuedUserStore redisSetStore = new RedisSetIssuedUserStore(redisTemplate);
+        Set<Long> expected = new HashSet<>();
+        for (long userId = 1; userId <= 5_000; userId++) {
+            expected.add(userId);
+        }
+        expected.add(1_000_000_007L);
+        for (Long userId : expected) {
+            bitmapStore.add(coupon.getId(), userId);
+            redisSetStore.add(coupon.getId(), userId);
+        }
+
+        // when
+        Set<Long> bitmapUsers = new HashSet<>();
+        bitmapStore.forEachUser(coupon.getId(), bitmapUsers::add);
+        Set<Long> redisUsers = new HashSet<>();
+        redisSetStore.forEachUser(coupon.getId(), redisUsers::add);
+
+        // then
+        assertThat(bitmapUsers).isEqualTo(expected);
+        assertThat(redisUsers).isEqualTo(expected);
+    }
+
+    private double averageLookupNanos(LongPredicate lookup) {
+        Random random = new Random(7);
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            lookup.test(random.nextLong(1, 1_000_000));
+        }
+        return (double) (System.nanoTime() - start) / LOOKUP_COUNT;
+    }
+
+    private Coupon saveCoupon() {
+        return couponRepository.save(
+                Coupon.builder()
+                        .name("발급 사용자 저장소 테스트 쿠폰")
+                        .totalQuantity(USER_COUNT)
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.coupon.global.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+
+/**
+ * 테스트용 Embedded Redis (test 프로필)
+ *
+ * Redisson은 빈 생성 시점에 Redis에 연결하므로,
+ * 일반 빈보다 먼저 생성되는 BeanFactoryPostProcessor 단계에서 서버를 띄움.
+ * 컨텍스트가 여러 개 떠도 서버는 JVM당 하나만 사용.
+ */
+@Slf4j
+@Component
+@Profile("test")
+public class EmbeddedRedisConfig implements BeanFactoryPostProcessor, EnvironmentAware, DisposableBean {
+
+    private static RedisServer redisServer;
+
+    private int port;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.port = environment.getProperty("spring.data.redis.port", Integer.class, 6370);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        synchronized (EmbeddedRedisConfig.class) {
+            if (redisServer != null && redisServer.isActive()) {
+                return;
+            }
+            try {
+                redisServer = new RedisServer(port);
+                redisServer.start();
+                log.info("Embedded Redis 시작 - port: {}", port);
+            } catch (IOException e) {
+                throw new IllegalStateException("Embedded Redis를 시작할 수 없습니다. port: " + port, e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        synchronized (EmbeddedRedisConfig.class) {
+            if (redisServer != null && redisServer.isActive()) {
+                redisServer.stop();
+                redisServer = null;
+            }
+        }
+    }
+}
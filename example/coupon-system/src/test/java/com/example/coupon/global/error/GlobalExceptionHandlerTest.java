@@ -0,0 +1,65 @@
+package com.example.coupon.global.error;
+
+import com.example.coupon.domain.coupon.entity.CouponIssue;
+import com.example.coupon.domain.coupon.repository.CouponIssueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GlobalExceptionHandlerTest {
+
+    @Autowired
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @AfterEach
+    void tearDown() {
+        couponIssueRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("(coupon_id, user_id) 유니크 제약 위반은 중복 발급(409)으로 응답한다")
+    void duplicateIssue_mapsToAlreadyIssued() {
+        // given
+        couponIssueRepository.saveAndFlush(CouponIssue.builder().couponId(1L).userId(1L).build());
+        DataIntegrityViolationException e = catchThrowableOfType(
+                () -> couponIssueRepository.saveAndFlush(CouponIssue.builder().couponId(1L).userId(1L).build()),
+                DataIntegrityViolationException.class);
+
+        // when
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(e);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().getCode()).isEqualTo(ErrorCode.COUPON_ALREADY_ISSUED.getCode());
+    }
+
+    @Test
+    @DisplayName("다른 제약 위반(NOT NULL 등)은 중복 발급이 아니라 서버 오류(500)로 응답한다")
+    void otherViolation_mapsToInternalError() {
+        // given: user_id NOT NULL 위반
+        DataIntegrityViolationException e = catchThrowableOfType(
+                () -> couponIssueRepository.saveAndFlush(CouponIssue.builder().couponId(1L).build()),
+                DataIntegrityViolationException.class);
+
+        // when
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(e);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(response.getBody().getCode()).isEqualTo(ErrorCode.INTERNAL_ERROR.getCode());
+    }
+}
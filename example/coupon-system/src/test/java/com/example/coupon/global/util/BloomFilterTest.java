@@ -0,0 +1,53 @@
+package com.example.coupon.global.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("넣은 값은 항상 mightContain이 true (미탐 없음)")
+    void noFalseNegative() {
+        // given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+
+        // when
+        for (long userId = 1; userId <= 10_000; userId++) {
+            filter.put(userId);
+        }
+
+        // then
+        for (long userId = 1; userId <= 10_000; userId++) {
+            assertThat(filter.mightContain(userId)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("예상 개수만큼 넣었을 때 오탐률이 목표치 근처")
+    void falsePositiveRate() {
+        // given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (long userId = 1; userId <= 10_000; userId++) {
+            filter.put(userId);
+        }
+
+        // when: 넣지 않은 10만 명으로 조회
+        int falsePositives = 0;
+        for (long userId = 1_000_000; userId < 1_100_000; userId++) {
+            if (filter.mightContain(userId)) {
+                falsePositives++;
+            }
+        }
+
+        // then
+        double observed = falsePositives / 100_000.0;
+        System.out.println("오탐률: " + observed + ", 예상: " + filter.expectedFalsePositiveRate()
+                + ", 메모리: " + filter.memoryBytes() + " bytes");
+
+        assertThat(observed).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+        assertThat(filter.memoryBytes()).isLessThan(16 * 1024);
+    }
+}
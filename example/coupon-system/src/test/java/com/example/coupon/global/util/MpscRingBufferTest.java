@@ -0,0 +1,84 @@
+package com.example.coupon.global.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("가득 차면 offer가 false, 꺼낸 만큼 다시 넣을 수 있다")
+    void offer_full() {
+        // given: 5 -> 8로 올림
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(5);
+        for (int i = 0; i < 8; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        // when & then
+        assertThat(buffer.capacity()).isEqualTo(8);
+        assertThat(buffer.offer(8)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(drained).containsExactly(0, 1, 2);
+        assertThat(buffer.offer(8)).isTrue();
+        assertThat(buffer.size()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("여러 생산자가 동시에 넣어도 유실, 중복 없이 한 소비자가 모두 꺼낸다")
+    void multiProducer_noLoss() throws InterruptedException {
+        // given
+        MpscRingBuffer<Long> buffer = new MpscRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(producers);
+        CountDownLatch latch = new CountDownLatch(producers);
+
+        // when
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            executorService.submit(() -> {
+                try {
+                    for (long value = base; value < base + perProducer; value++) {
+                        while (!buffer.offer(value)) {
+                            Thread.yield();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        Set<Long> received = new HashSet<>();
+        int duplicates = 0;
+        while (received.size() < producers * perProducer) {
+            Long value = buffer.poll();
+            if (value == null) {
+                Thread.yield();
+                continue;
+            }
+            if (!received.add(value)) {
+                duplicates++;
+            }
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(duplicates).isZero();
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
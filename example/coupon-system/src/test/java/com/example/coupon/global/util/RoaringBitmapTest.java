@@ -0,0 +1,68 @@
+package com.example.coupon.global.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoaringBitmapTest {
+
+    @Test
+    @DisplayName("배열 컨테이너 -> 비트맵 컨테이너 전환 전후로 add/contains/remove가 정확하다")
+    void addContainsRemove() {
+        // given: 한 컨테이너(65536 구간)에 4096개를 넘게 넣어 비트맵으로 전환
+        RoaringBitmap bitmap = new RoaringBitmap();
+
+        // when
+        for (long userId = 0; userId < 10_000; userId += 2) {
+            assertThat(bitmap.add(userId)).isTrue();
+        }
+        boolean duplicate = bitmap.add(100L);
+
+        // then
+        assertThat(duplicate).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(5_000);
+        assertThat(bitmap.contains(9_998L)).isTrue();
+        assertThat(bitmap.contains(9_999L)).isFalse();
+
+        // 다시 4096개 이하로 줄여서 배열로 전환
+        for (long userId = 0; userId < 2_000; userId += 2) {
+            assertThat(bitmap.remove(userId)).isTrue();
+        }
+        assertThat(bitmap.remove(0L)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(4_000);
+        assertThat(bitmap.contains(0L)).isFalse();
+        assertThat(bitmap.contains(2_000L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("직렬화 후 다시 읽어도 같은 집합이다")
+    void writeAndRead() throws IOException {
+        // given: 작은 컨테이너(배열)와 큰 컨테이너(비트맵), 큰 userId 섞기
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (long userId = 1; userId <= 50_000; userId++) {
+            bitmap.add(userId);
+        }
+        bitmap.add(Long.MAX_VALUE);
+        bitmap.add(9_000_000_000L);
+
+        // when
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bitmap.writeTo(new DataOutputStream(bytes));
+        RoaringBitmap restored = RoaringBitmap.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // then
+        assertThat(restored.cardinality()).isEqualTo(bitmap.cardinality());
+        assertThat(restored.contains(50_000L)).isTrue();
+        assertThat(restored.contains(50_001L)).isFalse();
+        assertThat(restored.contains(Long.MAX_VALUE)).isTrue();
+        assertThat(restored.contains(9_000_000_000L)).isTrue();
+        assertThat(restored.add(1L)).isFalse();
+    }
+}
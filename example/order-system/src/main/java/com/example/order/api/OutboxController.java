@@ -0,0 +1,29 @@
+package com.example.order.api;
+
+import com.example.order.domain.outbox.dto.OutboxStatsResponse;
+import com.example.order.domain.outbox.service.OutboxRelay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 아웃박스 릴레이 지표 컨트롤러
+ *
+ * WHY 필요한가?
+ * - 전달이 밀리는지(oldestPendingAgeMillis), 재시도를 포기한 이벤트가 있는지(failed) 운영 중에 확인
+ * - outbox.* 설정(worker 수, 배치 크기, 주기) 조정의 근거
+ */
+@RestController
+@RequestMapping("/api/outbox")
+@RequiredArgsConstructor
+public class OutboxController {
+
+    private final OutboxRelay outboxRelay;
+
+    @GetMapping("/stats")
+    public ResponseEntity<OutboxStatsResponse> getStats() {
+        return ResponseEntity.ok(outboxRelay.getStats());
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.order.api;
 
+import com.example.order.domain.product.dto.FlashSaleReservationResponse;
+import com.example.order.domain.product.dto.FlashSaleStatsResponse;
 import com.example.order.domain.product.dto.ProductCreateRequest;
 import com.example.order.domain.product.dto.ProductResponse;
+import com.example.order.domain.product.dto.StockLockStatsResponse;
 import com.example.order.domain.product.service.ProductService;
+import com.example.order.global.retry.RetryStatsResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 상품 컨트롤러
  *
@@ -88,6 +94,85 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 상품별 재고 락 방식 + 충돌 지표 조회
+     *
+     * WHY 별도 API로 노출하는가?
+     * - 어떤 상품이 비관적 락으로 전환됐는지, 충돌률이 얼마인지 운영 중에 확인
+     * - 임계값(stock.lock.*) 조정의 근거
+     */
+    @GetMapping("/{id}/stock-lock")
+    public ResponseEntity<StockLockStatsResponse> getStockLockStats(@PathVariable Long id) {
+        return ResponseEntity.ok(productService.getStockLockStats(id));
+    }
+
+    /**
+     * 재고 변경이 있었던 모든 상품 (비관적 락 상품 먼저, 그다음 충돌률 높은 순)
+     */
+    @GetMapping("/stock-lock")
+    public ResponseEntity<List<StockLockStatsResponse>> getAllStockLockStats() {
+        return ResponseEntity.ok(productService.getAllStockLockStats());
+    }
+
+    /**
+     * 재고 감소 / 증가 재시도 지표 (호출, 성공, 충돌, 재시도, 재시도 소진, 예산 부족)
+     *
+     * WHY 필요한가?
+     * - 재시도 덕분에 살린 요청과, 재시도를 다 쓰거나 예산이 없어 실패한 요청을 구분
+     * - retry.* 설정(최대 시도 횟수, 대기 시간, 예산) 조정의 근거
+     */
+    @GetMapping("/stock-retry")
+    public ResponseEntity<List<RetryStatsResponse>> getStockRetryStats() {
+        return ResponseEntity.ok(productService.getStockRetryStats());
+    }
+
+    /**
+     * 한정 판매 시작 / 종료 (재고를 메모리에서 관리)
+     */
+    @PostMapping("/{id}/flash-sale")
+    public ResponseEntity<Void> enableFlashSale(@PathVariable Long id) {
+        productService.enableFlashSale(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}/flash-sale")
+    public ResponseEntity<Void> disableFlashSale(@PathVariable Long id) {
+        productService.disableFlashSale(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 한정 판매 상품 메모리 재고 (판매 가능, 예약 중, DB 미반영 변경분)
+     */
+    @GetMapping("/flash-sale")
+    public ResponseEntity<List<FlashSaleStatsResponse>> getFlashSaleStats() {
+        return ResponseEntity.ok(productService.getFlashSaleStats());
+    }
+
+    /**
+     * 한정 판매 재고 예약 → 확정 / 취소 (확정하지 않으면 만료 시 자동 해제)
+     */
+    @PostMapping("/{id}/reservations")
+    public ResponseEntity<FlashSaleReservationResponse> reserveFlashSaleStock(
+            @PathVariable Long id,
+            @RequestParam int quantity
+    ) {
+        FlashSaleReservationResponse response = productService.reserveFlashSaleStock(id, quantity);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<Void> confirmFlashSaleReservation(@PathVariable String reservationId) {
+        productService.confirmFlashSaleReservation(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<Void> cancelFlashSaleReservation(@PathVariable String reservationId) {
+        productService.cancelFlashSaleReservation(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * 면접 질문: "Controller에서 예외 처리는 어떻게 하나요?"
      * 답변:
@@ -1,31 +1,32 @@
 package com.example.order.domain.order.event;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import org.springframework.context.ApplicationEvent;
+import lombok.NoArgsConstructor;
 
 /**
  * 주문 생성 이벤트
  *
- * WHY ApplicationEvent를 사용하는가?
- * 1. Spring의 이벤트 메커니즘 활용: @EventListener와 함께 동작
- * 2. 느슨한 결합: 이벤트 발행자와 구독자가 서로를 직접 참조하지 않음
- * 3. 확장성: 새로운 리스너 추가가 쉬움 (기존 코드 수정 없이)
- * 4. 비동기 처리 가능: @Async와 함께 사용하여 성능 개선
+ * WHY ApplicationEvent를 상속하지 않는가?
+ * 1. 아웃박스에 JSON으로 저장 → 발행한 객체(source)를 담으면 직렬화할 수 없음
+ * 2. Spring 4.2부터 일반 객체도 publishEvent 가능 (PayloadApplicationEvent로 감싸서 전달)
+ * 3. @EventListener는 파라미터 타입으로 매칭하므로 리스너 코드는 그대로
  *
  * 면접 포인트:
  * - Event-Driven Architecture: 이벤트 기반으로 시스템 간 통신
  * - Observer Pattern: 이벤트 발행자가 구독자들에게 상태 변화를 알림
- * - ApplicationEventPublisher: Spring이 제공하는 이벤트 발행 인터페이스
+ * - Transactional Outbox: 이벤트를 비즈니스 데이터와 같은 트랜잭션에 저장 → OutboxRelay가 전달
  *
  * WHY 동기 vs 비동기?
- * - 기본: 동기 (트랜잭션 내에서 실행, 실패시 롤백)
- * - @Async 사용시: 비동기 (별도 스레드에서 실행, 트랜잭션 분리)
+ * - 이전: publishEvent를 트랜잭션 안에서 호출 → 리스너가 주문 트랜잭션 안에서 동기 실행
+ * - 지금: OutboxWriter로 저장 → 커밋 후 OutboxRelay의 worker 스레드에서 실행 (주문 응답과 분리)
  * - 실무 선택:
- *   * 중요한 로직 (결제, 재고 감소) -> 동기
- *   * 부가 로직 (알림, 로그, 통계) -> 비동기
+ *   * 중요한 로직 (결제, 재고 감소) -> 같은 트랜잭션에서 직접 호출
+ *   * 부가 로직 (알림, 로그, 통계) -> 아웃박스 이벤트
  */
 @Getter
-public class OrderCreatedEvent extends ApplicationEvent {
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderCreatedEvent {
 
     /**
      * WHY orderId와 userId를 포함하는가?
@@ -33,19 +34,14 @@ public class OrderCreatedEvent extends ApplicationEvent {
      * - 필요한 최소한의 정보만 전달 (불필요한 데이터 전송 방지)
      * - Entity 전체를 전달하면 영속성 컨텍스트 문제 발생 가능
      */
-    private final Long orderId;
-    private final Long userId;
+    private Long orderId;
+    private Long userId;
 
     /**
-     * WHY source를 전달하는가?
-     * - ApplicationEvent의 요구사항 (이벤트 발생원 객체)
-     * - 일반적으로 'this'를 전달 (이벤트를 발행한 객체)
-     *
-     * 면접 질문: "source는 언제 사용하나요?"
-     * 답변: 이벤트 발행자 추적, 디버깅, 특정 발행자의 이벤트만 처리할 때 사용
+     * WHY 기본 생성자(protected)가 있는가?
+     * - OutboxRelay가 JSON을 이 타입으로 역직렬화 (Jackson은 기본 생성자 + 필드로 복원)
      */
-    public OrderCreatedEvent(Object source, Long orderId, Long userId) {
-        super(source);
+    public OrderCreatedEvent(Long orderId, Long userId) {
         this.orderId = orderId;
         this.userId = userId;
     }
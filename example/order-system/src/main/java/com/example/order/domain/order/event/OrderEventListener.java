@@ -16,6 +16,12 @@ import org.springframework.stereotype.Component;
  * - @Component: Spring Bean으로 등록하여 @EventListener가 동작하도록 함
  * - @EventListener: 특정 타입의 이벤트를 구독
  * - Spring이 이벤트 발행시 자동으로 매칭되는 리스너 메서드 호출
+ *
+ * 호출 시점 (Transactional Outbox):
+ * - OrderService / PaymentService는 이벤트를 아웃박스 테이블에 저장만 함
+ * - 커밋 후 OutboxRelay가 worker 스레드에서 publishEvent → 이 리스너 실행 (주문 트랜잭션 밖)
+ * - 예외를 던지면 OutboxRelay가 백오프 후 다시 전달
+ * - at-least-once: 같은 이벤트가 두 번 올 수 있음 → 처리는 멱등해야 함 (예: orderId로 중복 발송 확인)
  */
 @Slf4j
 @Component
@@ -27,15 +33,10 @@ public class OrderEventListener {
      * - 타입 안전: 메서드 파라미터로 이벤트 타입 지정
      * - 여러 이벤트 처리: 하나의 클래스에 여러 @EventListener 메서드 가능
      *
-     * WHY 기본이 동기 처리인가?
-     * - 트랜잭션 일관성: 이벤트 처리가 실패하면 전체 트랜잭션 롤백 가능
-     * - 순서 보장: 이벤트 발행 순서대로 처리됨
-     * - 디버깅 용이: 호출 스택이 명확함
-     *
-     * 실무에서 비동기로 전환하는 경우:
-     * 1. @Async 애노테이션 추가
-     * 2. @EnableAsync 설정 필요 (Application 클래스나 Config 클래스에)
-     * 3. ThreadPoolTaskExecutor 설정으로 스레드 풀 관리
+     * WHY @Async를 붙이지 않는가?
+     * - OutboxRelay가 이미 별도 스레드(크기가 정해진 executor)에서 호출
+     * - 리스너가 동기로 끝나야 릴레이가 성공 / 실패를 알고 삭제 또는 재시도 가능
+     * - @Async를 붙이면 예외가 릴레이까지 오지 않아 실패한 이벤트도 삭제됨
      *
      * 면접 질문: "언제 동기, 언제 비동기를 사용하나요?"
      * 답변:
@@ -82,6 +83,7 @@ public class OrderEventListener {
      * 답변:
      * 1. 동기 처리시: 예외가 발생하면 트랜잭션 롤백 (이벤트 발행자의 트랜잭션도 롤백)
      * 2. 비동기 처리시: 예외가 발생해도 원래 트랜잭션은 커밋됨
+     *    (이 프로젝트: 아웃박스 → 주문은 이미 커밋, OutboxRelay가 재시도 후 max-attempts번 실패하면 FAILED)
      * 3. 실무 처리:
      *    - 중요한 로직: try-catch로 예외 처리, 실패시 재시도 큐에 추가
      *    - 부가 로직: 예외 로깅만 하고 무시
@@ -1,7 +1,8 @@
 package com.example.order.domain.order.event;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import org.springframework.context.ApplicationEvent;
+import lombok.NoArgsConstructor;
 
 /**
  * 결제 완료 이벤트
@@ -14,13 +15,17 @@ import org.springframework.context.ApplicationEvent;
  * 실무 시나리오:
  * - 결제 완료 -> 이메일 발송 실패 -> 이메일만 재시도, 결제는 그대로 유지
  * - 이벤트가 없으면 모두 하나의 트랜잭션에서 처리되어 롤백 위험
+ *
+ * 결제 트랜잭션 안에서 OutboxWriter로 저장 → 결제가 롤백되면 이벤트도 남지 않음
+ * (아웃박스 JSON 직렬화를 위해 ApplicationEvent를 상속하지 않음, OrderCreatedEvent 참고)
  */
 @Getter
-public class PaymentCompletedEvent extends ApplicationEvent {
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PaymentCompletedEvent {
 
-    private final Long orderId;
-    private final Long paymentId;
-    private final Integer amount;
+    private Long orderId;
+    private Long paymentId;
+    private Integer amount;
 
     /**
      * WHY amount를 포함하는가?
@@ -33,8 +38,7 @@ public class PaymentCompletedEvent extends ApplicationEvent {
      *   * 많이 담으면: 조회 불필요, 하지만 이벤트 크기 증가
      *   * 최소만 담으면: 이벤트 작음, 하지만 필요시 다시 조회해야 함
      */
-    public PaymentCompletedEvent(Object source, Long orderId, Long paymentId, Integer amount) {
-        super(source);
+    public PaymentCompletedEvent(Long orderId, Long paymentId, Integer amount) {
         this.orderId = orderId;
         this.paymentId = paymentId;
         this.amount = amount;
@@ -1,31 +1,34 @@
 package com.example.order.domain.order.service;
 
 import com.example.order.domain.order.dto.OrderCreateRequest;
+import com.example.order.domain.order.dto.OrderItemRequest;
 import com.example.order.domain.order.dto.OrderResponse;
 import com.example.order.domain.order.entity.Order;
 import com.example.order.domain.order.entity.OrderItem;
 import com.example.order.domain.order.event.OrderCreatedEvent;
 import com.example.order.domain.order.repository.OrderRepository;
-import com.example.order.domain.product.dto.ProductResponse;
+import com.example.order.domain.outbox.service.OutboxWriter;
+import com.example.order.domain.product.entity.Product;
 import com.example.order.domain.product.service.ProductService;
 import com.example.order.global.error.BusinessException;
 import com.example.order.global.error.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * 주문 서비스
  *
- * WHY ApplicationEventPublisher를 사용하는가?
- * 1. 느슨한 결합: 이벤트 발행자와 구독자 분리
- * 2. 확장성: 새로운 이벤트 리스너 추가가 쉬움
- * 3. 트랜잭션 분리: 이벤트 처리를 별도 트랜잭션으로 실행 가능
+ * WHY ApplicationEventPublisher 대신 OutboxWriter를 사용하는가?
+ * 1. 느슨한 결합: 이벤트 발행자와 구독자 분리 (리스너는 그대로 @EventListener)
+ * 2. 원자성: 이벤트가 주문과 같은 트랜잭션에 저장 → 롤백된 주문의 이벤트는 나가지 않음
+ * 3. 응답 시간: 리스너는 커밋 후 OutboxRelay의 worker 스레드에서 실행
  *
  * WHY ProductService를 주입받는가?
  * 1. 재고 관리는 상품 도메인의 책임
@@ -43,7 +46,7 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final ProductService productService;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
 
     /**
      * 주문 생성
@@ -54,7 +57,7 @@ public class OrderService {
      * 3. 일관성: 주문된 만큼 재고가 정확히 감소
      *
      * WHY 이벤트를 발행하는가?
-     * 1. 비동기 처리: 알림, 로그 등 부가 작업을 분리
+     * 1. 비동기 처리: 알림, 로그 등 부가 작업을 분리 (아웃박스 → 커밋 후 전달)
      * 2. 확장성: 새로운 후속 처리 추가 용이
      * 3. 관심사 분리: 주문 생성 로직과 부가 로직 분리
      *
@@ -72,31 +75,30 @@ public class OrderService {
                 .userId(request.getUserId())
                 .build();
 
-        // 2. 각 상품의 재고 차감 및 주문 항목 추가
-        for (var itemRequest : request.getItems()) {
-            // 상품 조회
-            ProductResponse product = productService.getProduct(itemRequest.getProductId());
+        // 2. 재고 일괄 차감 (같은 상품이 여러 줄이면 수량 합산)
+        //    상품마다 조회 + 차감하면 항목 수 x 3번 왕복 → IN 쿼리 1번 + flush 1번
+        Map<Long, Integer> quantities = request.getItems().stream()
+                .collect(Collectors.toMap(OrderItemRequest::getProductId, OrderItemRequest::getQuantity,
+                        Integer::sum, LinkedHashMap::new));
+        Map<Long, Product> products = productService.reserveStocks(quantities);
 
-            // 재고 차감 (낙관적 락 + 재시도 로직)
-            productService.decreaseStock(itemRequest.getProductId(), itemRequest.getQuantity());
-
-            // 주문 항목 생성 (상품 정보 스냅샷 저장)
+        // 3. 주문 항목 추가 (상품 정보 스냅샷 저장)
+        for (OrderItemRequest itemRequest : request.getItems()) {
             OrderItem orderItem = OrderItem.builder()
-                    .productName(product.getName())
-                    .price(product.getPrice())
+                    .product(products.get(itemRequest.getProductId()))
                     .quantity(itemRequest.getQuantity())
                     .build();
 
             order.addOrderItem(orderItem);
         }
 
-        // 3. 주문 저장
+        // 4. 주문 저장
         Order savedOrder = orderRepository.save(order);
         log.info("주문 생성 완료 - orderId: {}, userId: {}, totalAmount: {}",
                 savedOrder.getId(), savedOrder.getUserId(), savedOrder.getTotalAmount());
 
-        // 4. 주문 생성 이벤트 발행
-        eventPublisher.publishEvent(new OrderCreatedEvent(this, savedOrder.getId(), savedOrder.getUserId()));
+        // 5. 주문 생성 이벤트를 아웃박스에 저장 (주문과 함께 커밋, 리스너는 커밋 후 OutboxRelay가 실행)
+        outboxWriter.append(new OrderCreatedEvent(savedOrder.getId(), savedOrder.getUserId()));
 
         return OrderResponse.from(savedOrder);
     }
@@ -189,8 +191,8 @@ public class OrderService {
      * 면접 질문: "서비스 계층에서 트랜잭션이 어떻게 전파되나요?"
      * 답변:
      * 1. REQUIRED (기본값): 기존 트랜잭션이 있으면 참여, 없으면 새로 생성
-     * 2. OrderService.createOrder() 시작 -> ProductService.decreaseStock() 호출
-     * 3. decreaseStock()도 @Transactional이지만 기존 트랜잭션에 참여
+     * 2. OrderService.createOrder() 시작 -> ProductService.reserveStocks() 호출
+     * 3. reserveStocks()도 @Transactional이지만 기존 트랜잭션에 참여
      * 4. 하나의 트랜잭션으로 실행되므로 원자성 보장
      * 5. 어디서든 예외 발생시 전체 롤백
      */
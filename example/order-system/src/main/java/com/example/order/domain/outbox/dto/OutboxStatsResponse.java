@@ -0,0 +1,30 @@
+package com.example.order.domain.outbox.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 아웃박스 릴레이 지표 응답 DTO
+ *
+ * WHY lag을 두 가지로 보는가?
+ * - oldestPendingAgeMillis: 지금 밀려 있는 정도 (릴레이가 멈추면 계속 커짐)
+ *   지금 전달할 수 있는 PENDING만 봄 (가져가서 lease 중이거나 백오프 대기 중인 이벤트는 밀린 게 아님)
+ * - lastLagMillis / maxLagMillis: 전달된 이벤트가 저장부터 리스너 완료까지 걸린 시간
+ *
+ * - pending / failed: 테이블에 남은 전달 대기 / 실패(재시도 중단) 이벤트 수
+ * - inFlight: 가져가서 전달 중인 이벤트 수 (worker + 대기열)
+ * - delivered / deliveryFailures: 서버 시작 후 전달 성공 / 실패(재시도 포함) 횟수
+ */
+@Getter
+@AllArgsConstructor
+public class OutboxStatsResponse {
+
+    private long pending;
+    private long failed;
+    private int inFlight;
+    private long oldestPendingAgeMillis;
+    private long delivered;
+    private long deliveryFailures;
+    private long lastLagMillis;
+    private long maxLagMillis;
+}
@@ -0,0 +1,80 @@
+package com.example.order.domain.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아웃박스 이벤트 (주문 / 결제 트랜잭션과 같은 트랜잭션에서 저장)
+ *
+ * WHY 이벤트를 테이블에 저장하는가? (Transactional Outbox)
+ * - publishEvent를 트랜잭션 안에서 바로 호출하면 리스너 처리 시간이 주문 응답 시간에 더해짐
+ * - 발행 후 트랜잭션이 롤백되면 존재하지 않는 주문의 이벤트가 이미 나간 상태
+ * - 이벤트를 같은 트랜잭션의 INSERT로 남기면 주문과 이벤트가 함께 커밋 / 롤백
+ * - 커밋된 이벤트는 OutboxRelay가 따로 읽어서 리스너에 전달
+ *
+ * WHY 엔티티에 (status, available_at) 인덱스를 선언하지 않는가?
+ * - 전달된 행은 삭제되므로 테이블에는 밀린 이벤트만 남음 → PK 순으로 읽어도 충분히 작음
+ * - H2 2.2는 보조 인덱스로 읽으면 FOR UPDATE SKIP LOCKED가 잠기지 않은 행까지 돌려주지 않음
+ * - MySQL / PostgreSQL 운영 DB에는 마이그레이션에서 추가:
+ *   CREATE INDEX idx_outbox_status_available_at ON outbox_event (status, available_at);
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "outbox_event")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 이벤트 클래스 이름 (릴레이가 payload를 이 타입으로 역직렬화)
+     */
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * 릴레이가 가져갈 수 있는 시각
+     * - 저장 시: 지금
+     * - 릴레이가 가져갈 때: 지금 + lease (전달 중 릴레이가 죽으면 lease가 지난 뒤 다시 가져감)
+     * - 전달 실패 시: 지금 + 재시도 대기 시간
+     */
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public OutboxEvent(String eventType, String payload, LocalDateTime now) {
+        this.eventType = eventType;
+        this.payload = payload;
+        this.status = OutboxStatus.PENDING;
+        this.availableAt = now;
+        this.createdAt = now;
+    }
+
+    /**
+     * 릴레이가 가져감 (lease 동안 다른 릴레이가 가져가지 않음)
+     */
+    public void claim(LocalDateTime leaseUntil) {
+        this.availableAt = leaseUntil;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.order.domain.outbox.entity;
+
+/**
+ * 아웃박스 이벤트 상태
+ *
+ * PENDING → (전달 성공) 삭제
+ *    ↓
+ * FAILED (max-attempts번 실패, 더 이상 재시도하지 않음 → 원인 확인 후 수동 처리)
+ *
+ * WHY 전달 성공한 이벤트는 PUBLISHED로 두지 않고 삭제하는가?
+ * - 릴레이는 PENDING만 조회 → 전달된 행이 쌓이면 인덱스와 테이블만 커짐
+ * - 전달 이력은 리스너(알림, 정산 등) 쪽에 남음
+ */
+public enum OutboxStatus {
+
+    PENDING("전달 대기"),
+    FAILED("전달 실패 (재시도 중단)");
+
+    private final String description;
+
+    OutboxStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
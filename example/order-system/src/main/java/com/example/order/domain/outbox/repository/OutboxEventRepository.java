@@ -0,0 +1,60 @@
+package com.example.order.domain.outbox.repository;
+
+import com.example.order.domain.outbox.entity.OutboxEvent;
+import com.example.order.domain.outbox.entity.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 전달할 이벤트를 limit개까지 가져감
+     *
+     * WHY FOR UPDATE SKIP LOCKED인가?
+     * - 릴레이가 여러 대(서버마다 하나)면 같은 행을 동시에 가져가면 안 됨
+     * - FOR UPDATE만 쓰면 다른 릴레이가 잡은 행에서 줄을 서서 기다림
+     * - SKIP LOCKED는 잡힌 행을 건너뛰고 다음 행을 가져감 → 릴레이끼리 기다리지 않음
+     *
+     * WHY native query인가?
+     * - Hibernate는 lock timeout 힌트(-2)로 SKIP LOCKED를 만들지만 H2Dialect는 지원하지 않아 무시함
+     * - LIMIT ... FOR UPDATE SKIP LOCKED는 H2 2.x, MySQL 8, PostgreSQL에서 같은 문법
+     */
+    @Query(value = "SELECT * FROM outbox_event WHERE status = 'PENDING' AND available_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> findClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 전달 실패 기록 (재시도 시각 또는 FAILED)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.status = :status, "
+            + "e.availableAt = :availableAt, e.lastError = :lastError WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("status") OutboxStatus status,
+                   @Param("availableAt") LocalDateTime availableAt, @Param("lastError") String lastError);
+
+    /**
+     * 가져갔지만 전달을 시작하지 못한 이벤트의 lease를 풀어 바로 다시 가져갈 수 있게 함
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.availableAt = :now WHERE e.id IN :ids")
+    int releaseClaims(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    long countByStatus(OutboxStatus status);
+
+    Optional<OutboxEvent> findFirstByStatusOrderByIdAsc(OutboxStatus status);
+
+    /**
+     * 지금 전달할 수 있는데 아직 못 가져간 가장 오래된 이벤트 (lease 중이거나 백오프 대기 중인 이벤트는 제외)
+     */
+    Optional<OutboxEvent> findFirstByStatusAndAvailableAtLessThanEqualOrderByIdAsc(OutboxStatus status,
+                                                                                   LocalDateTime now);
+}
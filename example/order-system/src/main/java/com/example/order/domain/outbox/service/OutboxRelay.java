@@ -0,0 +1,258 @@
+package com.example.order.domain.outbox.service;
+
+import com.example.order.domain.outbox.dto.OutboxStatsResponse;
+import com.example.order.domain.outbox.entity.OutboxEvent;
+import com.example.order.domain.outbox.entity.OutboxStatus;
+import com.example.order.domain.outbox.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 아웃박스 릴레이: 커밋된 이벤트를 읽어서 리스너(@EventListener)에 전달
+ *
+ * 동작 원리 (poll-interval-ms마다):
+ * 1. 지난 주기에 전달을 마친 이벤트를 한 번에 삭제 (deleteAllByIdInBatch)
+ * 2. 빈 자리(worker + 대기열)만큼, 최대 batch-size개를 FOR UPDATE SKIP LOCKED로 가져가고
+ *    available_at을 lease만큼 미룸 (짧은 트랜잭션, 커밋하면 락 해제)
+ * 3. worker 스레드에서 역직렬화 → publishEvent → 리스너 실행
+ * 4. 실패하면 attempts + 1, 지수 백오프 후 다시 PENDING (max-attempts번 실패하면 FAILED)
+ *
+ * WHY 크기가 정해진 executor인가?
+ * - 리스너가 느려지면 가져간 이벤트가 메모리에 무한정 쌓임
+ * - 빈 자리만큼만 가져가므로 나머지는 DB에서 기다림 (backpressure)
+ *
+ * 전달 보장: at-least-once
+ * - 리스너 완료 후 삭제 전에 서버가 죽거나, 전달이 lease보다 오래 걸리면 다시 전달됨
+ * - 리스너는 같은 이벤트를 두 번 받아도 결과가 같아야 함 (멱등)
+ * - 순서는 보장하지 않음 (worker 여러 개, 실패한 이벤트는 뒤로 밀림)
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    /**
+     * 역직렬화를 허용하는 이벤트 패키지 (테이블의 event_type으로 임의 클래스를 만들지 않음)
+     */
+    private static final String EVENT_PACKAGE = "com.example.order.";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore slots;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Long> deliveredIds = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder deliveryFailures = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            @Value("${outbox.batch-size:100}") int batchSize,
+            @Value("${outbox.workers:4}") int workers,
+            @Value("${outbox.queue-capacity:200}") int queueCapacity,
+            @Value("${outbox.lease-ms:30000}") long leaseMillis,
+            @Value("${outbox.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.retry-backoff-ms:1000}") long retryBackoffMillis,
+            @Value("${outbox.max-retry-backoff-ms:60000}") long maxRetryBackoffMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "outbox-relay-" + threadNumber.incrementAndGet()));
+        this.slots = new Semaphore(workers + queueCapacity);
+    }
+
+    /**
+     * 한 주기 실행 (가져간 이벤트 수 반환)
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:200}")
+    public int relay() {
+        deleteDelivered();
+
+        int capacity = Math.min(batchSize, slots.availablePermits());
+        if (capacity == 0) {
+            return 0;
+        }
+
+        List<OutboxEvent> claimed = claim(capacity);
+        for (int i = 0; i < claimed.size(); i++) {
+            OutboxEvent event = claimed.get(i);
+            slots.acquireUninterruptibly();
+            inFlight.incrementAndGet();
+            try {
+                executor.execute(() -> dispatch(event));
+            } catch (RejectedExecutionException e) {
+                // 종료 중: dispatch가 돌지 않으므로 자리를 직접 돌려주고, 남은 이벤트는 lease를 기다리지 않게 풀어 둠
+                inFlight.decrementAndGet();
+                slots.release();
+                releaseClaims(claimed.subList(i, claimed.size()));
+                return i;
+            }
+        }
+        return claimed.size();
+    }
+
+    public OutboxStatsResponse getStats() {
+        LocalDateTime now = LocalDateTime.now();
+        long oldestPendingAge = outboxEventRepository
+                .findFirstByStatusAndAvailableAtLessThanEqualOrderByIdAsc(OutboxStatus.PENDING, now)
+                .map(event -> Duration.between(event.getCreatedAt(), now).toMillis())
+                .orElse(0L);
+        return new OutboxStatsResponse(
+                outboxEventRepository.countByStatus(OutboxStatus.PENDING),
+                outboxEventRepository.countByStatus(OutboxStatus.FAILED),
+                inFlight.get(),
+                oldestPendingAge,
+                delivered.sum(),
+                deliveryFailures.sum(),
+                lastLagMillis.get(),
+                maxLagMillis.get());
+    }
+
+    /**
+     * 종료 시 전달 중인 이벤트를 기다린 뒤 삭제 반영 (못 끝낸 이벤트는 lease 후 다시 전달)
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("아웃박스 릴레이 종료 대기 초과 - 전달 중 {}건은 재시작 후 다시 전달", inFlight.get());
+        }
+        deleteDelivered();
+    }
+
+    private List<OutboxEvent> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = outboxEventRepository.findClaimable(now, limit);
+            events.forEach(event -> event.claim(now.plus(lease)));
+            return events;
+        });
+    }
+
+    private void releaseClaims(List<OutboxEvent> events) {
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+        try {
+            outboxEventRepository.releaseClaims(ids, LocalDateTime.now());
+            log.info("아웃박스 릴레이 종료 중 - 전달하지 못한 {}건의 lease 해제", ids.size());
+        } catch (RuntimeException e) {
+            log.warn("아웃박스 lease 해제 실패 - {}건은 lease 후 다시 전달", ids.size(), e);
+        }
+    }
+
+    private void dispatch(OutboxEvent event) {
+        try {
+            if (!event.getEventType().startsWith(EVENT_PACKAGE)) {
+                throw new IllegalStateException("허용되지 않은 이벤트 타입: " + event.getEventType());
+            }
+            Object payload = objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+            eventPublisher.publishEvent(payload);
+
+            deliveredIds.add(event.getId());
+            delivered.increment();
+            recordLag(Duration.between(event.getCreatedAt(), LocalDateTime.now()).toMillis());
+
+        } catch (Exception e) {
+            markFailed(event, e);
+        } finally {
+            inFlight.decrementAndGet();
+            slots.release();
+        }
+    }
+
+    private void markFailed(OutboxEvent event, Exception cause) {
+        deliveryFailures.increment();
+        int attempts = event.getAttempts() + 1;
+        String lastError = truncate(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+
+        try {
+            if (attempts >= maxAttempts) {
+                outboxEventRepository.markFailed(event.getId(), OutboxStatus.FAILED, event.getAvailableAt(), lastError);
+                log.error("아웃박스 이벤트 전달 실패 - 재시도 중단 - id: {}, type: {}, attempts: {}",
+                        event.getId(), event.getEventType(), attempts, cause);
+                return;
+            }
+
+            long backoff = Math.min(maxRetryBackoffMillis, retryBackoffMillis << Math.min(attempts - 1, 20));
+            outboxEventRepository.markFailed(event.getId(), OutboxStatus.PENDING,
+                    LocalDateTime.now().plus(Duration.ofMillis(backoff)), lastError);
+            log.warn("아웃박스 이벤트 전달 실패 - {}ms 후 재시도 - id: {}, attempts: {}, error: {}",
+                    backoff, event.getId(), attempts, lastError);
+
+        } catch (RuntimeException e) {
+            // 실패 기록도 못 하면 lease가 지난 뒤 그대로 다시 전달됨
+            log.error("아웃박스 이벤트 실패 기록 실패 - id: {}", event.getId(), e);
+        }
+    }
+
+    private void deleteDelivered() {
+        List<Long> ids = new ArrayList<>();
+        Long id;
+        while ((id = deliveredIds.poll()) != null) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try {
+            outboxEventRepository.deleteAllByIdInBatch(ids);
+        } catch (RuntimeException e) {
+            deliveredIds.addAll(ids);
+            log.error("전달 완료 이벤트 삭제 실패 - 다음 주기에 재시도, {}건", ids.size(), e);
+        }
+    }
+
+    private void recordLag(long lagMillis) {
+        lastLagMillis.set(lagMillis);
+        maxLagMillis.accumulateAndGet(lagMillis, Math::max);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.order.domain.outbox.service;
+
+import com.example.order.domain.outbox.entity.OutboxEvent;
+import com.example.order.domain.outbox.repository.OutboxEventRepository;
+import com.example.order.global.error.BusinessException;
+import com.example.order.global.error.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아웃박스에 이벤트 저장 (ApplicationEventPublisher.publishEvent 대신 사용)
+ *
+ * WHY Propagation.MANDATORY인가?
+ * - 아웃박스의 핵심은 "비즈니스 데이터와 같은 트랜잭션"
+ * - 트랜잭션 없이 호출하면 이벤트만 따로 커밋됨 → 실수를 바로 예외로 드러냄
+ *
+ * 면접 질문: "커밋 후에 publishEvent하면(@TransactionalEventListener AFTER_COMMIT) 되지 않나요?"
+ * 답변:
+ * - 커밋과 발행 사이에 서버가 죽으면 이벤트 유실 (커밋은 됐는데 알림은 안 나감)
+ * - 아웃박스는 이벤트가 DB에 남아 있으므로 재시작 후에도 릴레이가 전달 (at-least-once)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Object event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            outboxEventRepository.save(new OutboxEvent(event.getClass().getName(), payload, LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            log.error("아웃박스 이벤트 직렬화 실패 - type: {}", event.getClass().getName(), e);
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR);
+        }
+    }
+}
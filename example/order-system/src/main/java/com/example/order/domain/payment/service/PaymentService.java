@@ -3,6 +3,7 @@ package com.example.order.domain.payment.service;
 import com.example.order.domain.order.entity.Order;
 import com.example.order.domain.order.event.PaymentCompletedEvent;
 import com.example.order.domain.order.repository.OrderRepository;
+import com.example.order.domain.outbox.service.OutboxWriter;
 import com.example.order.domain.payment.dto.PaymentRequest;
 import com.example.order.domain.payment.dto.PaymentResponse;
 import com.example.order.domain.payment.entity.Payment;
@@ -11,7 +12,6 @@ import com.example.order.global.error.BusinessException;
 import com.example.order.global.error.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,7 +37,7 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
 
     /**
      * 결제 처리
@@ -97,9 +97,8 @@ public class PaymentService {
         log.info("주문 상태 변경 - orderId: {}, status: {} -> PAID",
                 order.getId(), order.getStatus());
 
-        // 7. 결제 완료 이벤트 발행
-        eventPublisher.publishEvent(new PaymentCompletedEvent(
-                this,
+        // 7. 결제 완료 이벤트를 아웃박스에 저장 (결제와 함께 커밋)
+        outboxWriter.append(new PaymentCompletedEvent(
                 order.getId(),
                 savedPayment.getId(),
                 savedPayment.getAmount()
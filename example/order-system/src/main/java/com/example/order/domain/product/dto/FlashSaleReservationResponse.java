@@ -0,0 +1,21 @@
+package com.example.order.domain.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 한정 판매 재고 예약 응답 DTO
+ *
+ * expiresAt까지 확정(confirm)하지 않으면 예약이 풀리고 재고가 돌아감
+ */
+@Getter
+@AllArgsConstructor
+public class FlashSaleReservationResponse {
+
+    private String reservationId;
+    private Long productId;
+    private int quantity;
+    private LocalDateTime expiresAt;
+}
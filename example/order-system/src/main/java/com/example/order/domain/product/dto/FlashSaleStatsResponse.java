@@ -0,0 +1,23 @@
+package com.example.order.domain.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 한정 판매 상품 메모리 재고 상태 응답 DTO
+ *
+ * - available: 지금 판매 가능한 재고 (메모리)
+ * - reserved: 예약되어 확정을 기다리는 수량 (만료되면 available로 돌아감)
+ * - pendingDelta: 아직 DB에 반영하지 않은 재고 변경분 (음수 = 차감)
+ *
+ * DB의 stock ≈ available + reserved - pendingDelta (반영 주기만큼 늦음)
+ */
+@Getter
+@AllArgsConstructor
+public class FlashSaleStatsResponse {
+
+    private Long productId;
+    private long available;
+    private long reserved;
+    private long pendingDelta;
+}
@@ -53,4 +53,17 @@ public class ProductResponse {
                 product.getVersion()
         );
     }
+
+    /**
+     * 재고만 다른 값으로 (한정 판매 상품의 메모리 재고)
+     */
+    public static ProductResponse from(Product product, int stock) {
+        return new ProductResponse(
+                product.getId(),
+                product.getName(),
+                product.getPrice(),
+                stock,
+                product.getVersion()
+        );
+    }
 }
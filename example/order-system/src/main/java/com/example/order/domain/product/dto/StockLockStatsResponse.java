@@ -0,0 +1,33 @@
+package com.example.order.domain.product.dto;
+
+import com.example.order.domain.product.service.StockLockMode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상품별 재고 락 방식 + 충돌 지표 응답 DTO
+ *
+ * WHY 윈도우 값과 누적 값을 같이 내려주는가?
+ * - 윈도우(windowAttempts, windowConflicts, conflictRate): 지금 방식을 결정한 근거
+ * - 누적(totalAttempts, totalConflicts, switchCount): 서버 시작 후 전체 추이, 전환이 너무 잦은지(flapping) 확인
+ */
+@Getter
+@AllArgsConstructor
+public class StockLockStatsResponse {
+
+    private Long productId;
+    private StockLockMode mode;
+    private int windowAttempts;
+    private int windowConflicts;
+    private double conflictRate;
+    private long totalAttempts;
+    private long totalConflicts;
+    private long switchCount;
+
+    /**
+     * 아직 재고 변경이 없는 상품 (기본값: 낙관적 락)
+     */
+    public static StockLockStatsResponse empty(Long productId) {
+        return new StockLockStatsResponse(productId, StockLockMode.OPTIMISTIC, 0, 0, 0.0, 0, 0, 0);
+    }
+}
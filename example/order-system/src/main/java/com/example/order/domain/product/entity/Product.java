@@ -40,6 +40,15 @@ public class Product extends BaseEntity {
     @Version
     private Long version;
 
+    /**
+     * 한정 판매(flash sale) 상품 여부
+     *
+     * true면 재고를 FlashSaleInventory(메모리)가 관리하고, DB의 stock은 주기적으로 반영된 값.
+     * 서버 재시작 시 이 값이 true인 상품만 DB 재고로 메모리 재고를 다시 만듦.
+     */
+    @Column(nullable = false)
+    private boolean flashSale;
+
     @Builder
     public Product(String name, int price, int stock) {
         this.name = name;
@@ -57,6 +66,7 @@ public class Product extends BaseEntity {
      * version이 다르면 0 rows updated → OptimisticLockException
      */
     public void decreaseStock(int quantity) {
+        checkStockManagedByDatabase();
         if (this.stock < quantity) {
             throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK);
         }
@@ -67,6 +77,33 @@ public class Product extends BaseEntity {
      * 재고 복원 (주문 취소 시)
      */
     public void increaseStock(int quantity) {
+        checkStockManagedByDatabase();
         this.stock += quantity;
     }
+
+    /**
+     * 한정 판매 시작: 이후 재고 변경은 메모리 재고로만
+     */
+    public void enableFlashSale() {
+        this.flashSale = true;
+    }
+
+    /**
+     * 한정 판매 종료: 메모리 재고의 변경분을 반영한 뒤 호출
+     */
+    public void disableFlashSale() {
+        this.flashSale = false;
+    }
+
+    /**
+     * WHY 한정 판매 상품의 DB 재고를 직접 바꾸지 못하게 막는가?
+     * - 메모리 재고는 DB 재고에서 시작해서 변경분만 나중에 반영
+     * - DB 재고를 직접 바꾸면 메모리 재고가 그만큼을 모름 → 초과 판매
+     * - 켜고 끄는 순간 DB 경로로 들어온 요청만 여기에 걸림 (잠시 후 재시도하면 메모리 재고로 처리)
+     */
+    private void checkStockManagedByDatabase() {
+        if (this.flashSale) {
+            throw new BusinessException(ErrorCode.FLASH_SALE_SWITCHING);
+        }
+    }
 }
@@ -4,9 +4,12 @@ import com.example.order.domain.product.entity.Product;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -17,4 +20,35 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Product p WHERE p.id = :id")
     Optional<Product> findByIdWithPessimisticLock(@Param("id") Long id);
+
+    /**
+     * 여러 상품을 IN 쿼리 한 번으로 비관적 락 조회 (장바구니 일괄 재고 차감)
+     *
+     * WHY ORDER BY p.id인가?
+     * - SELECT ... FOR UPDATE는 읽는 순서대로 row 락을 잡음
+     * - 모든 트랜잭션이 id 오름차순으로 락을 잡으면 겹치는 장바구니끼리 서로 기다리는 순환이 생기지 않음
+     *   (A: 1 → 2, B: 2 → 1 순서로 잡으면 데드락)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdInWithPessimisticLock(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 한정 판매 상품 (서버 재시작 시 메모리 재고 복구 대상)
+     */
+    List<Product> findAllByFlashSaleTrue();
+
+    /**
+     * 메모리 재고의 변경분을 DB에 반영 (write-behind)
+     *
+     * WHY stock = stock + :delta인가?
+     * - 읽고 계산한 값을 쓰면(stock = ?) 그 사이 다른 반영분을 덮어씀
+     * - 상대값 UPDATE는 순서와 상관없이 누적됨 → 실패한 변경분을 다음 반영에 다시 더해도 안전
+     *
+     * WHY version도 올리는가?
+     * - 같은 상품을 엔티티로 읽어 둔 트랜잭션(한정 판매 전환 등)이 옛 재고로 덮어쓰지 못하게 함
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :delta, p.version = p.version + 1 WHERE p.id = :id")
+    int addStock(@Param("id") Long id, @Param("delta") int delta);
 }
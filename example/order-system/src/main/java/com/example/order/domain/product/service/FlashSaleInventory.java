@@ -0,0 +1,382 @@
+package com.example.order.domain.product.service;
+
+import com.example.order.domain.product.dto.FlashSaleReservationResponse;
+import com.example.order.domain.product.dto.FlashSaleStatsResponse;
+import com.example.order.domain.product.entity.Product;
+import com.example.order.domain.product.repository.ProductRepository;
+import com.example.order.global.error.BusinessException;
+import com.example.order.global.error.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 한정 판매(flash sale) 상품 메모리 재고
+ *
+ * WHY 필요한가?
+ * - 한정 판매 상품은 모든 주문이 같은 Product row를 수정 → 낙관적 락은 충돌, 비관적 락은 줄서기
+ * - DB row 하나가 처리할 수 있는 UPDATE 수가 곧 초당 주문 수의 상한
+ *
+ * 동작 원리:
+ * 1. 한정 판매를 켜면 DB 재고로 메모리 재고(StripedStock)를 만듦
+ * 2. 재고 차감 / 복원은 메모리에서만 (DB 락 없음), 변경분은 상품별 pendingDelta에 누적
+ * 3. flush-interval-ms마다 pendingDelta를 상품당 UPDATE 한 번으로 반영 (write-behind)
+ *    → 주문 10,000건이어도 주기마다 UPDATE는 한정 판매 상품 수만큼
+ * 4. 예약(reserve)은 메모리 재고만 잡아 두고, 확정(confirm)할 때 pendingDelta에 넣음
+ *    → reservation-ttl-ms 안에 확정하지 않으면 예약을 풀고 재고를 돌려놓음
+ *
+ * WHY 확정된 변경분만 DB에 반영하는가?
+ * - 서버가 죽으면 메모리의 예약은 사라짐 → DB에 예약분이 빠져 있지 않아야 재시작 후 그대로 다시 팔 수 있음
+ * - 재시작하면 한정 판매 상품(Product.flashSale = true)의 DB 재고로 메모리 재고를 다시 만듦 (recover)
+ *
+ * 주의:
+ * - 아직 반영하지 않은 차감분(최대 flush-interval-ms 동안)은 서버가 비정상 종료되면 유실 → 재시작 후 그만큼 초과 판매 가능
+ *   (정상 종료 시에는 @PreDestroy에서 반영)
+ * - 서버마다 메모리 재고가 따로 있음 → 한정 판매 상품은 서버 한 대에서만 처리해야 함 (상품별 라우팅 필요)
+ */
+@Slf4j
+@Component
+public class FlashSaleInventory {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int stripes;
+    private final long reservationTtlMillis;
+    private final LongSupplier clockMillis;
+
+    private final ConcurrentMap<Long, StripedStock> stocks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Reservation> reservations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FlashSaleInventory(
+            ProductRepository productRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${inventory.stripes:8}") int stripes,
+            @Value("${inventory.reservation-ttl-ms:600000}") long reservationTtlMillis) {
+        this(productRepository, transactionTemplate, stripes, reservationTtlMillis, System::currentTimeMillis);
+    }
+
+    FlashSaleInventory(ProductRepository productRepository, TransactionTemplate transactionTemplate,
+                       int stripes, long reservationTtlMillis, LongSupplier clockMillis) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stripes = stripes;
+        this.reservationTtlMillis = reservationTtlMillis;
+        this.clockMillis = clockMillis;
+    }
+
+    public boolean isManaged(Long productId) {
+        return stocks.containsKey(productId);
+    }
+
+    /**
+     * 메모리 재고 생성 (트랜잭션 안이면 커밋 후에)
+     *
+     * WHY 커밋 후인가?
+     * - 한정 판매 전환(Product.flashSale = true)이 롤백되면 메모리 재고도 없어야 함
+     */
+    public void load(Long productId, int stock) {
+        runAfterCommit(() -> {
+            if (stocks.putIfAbsent(productId, new StripedStock(stock, stripes)) == null) {
+                log.info("한정 판매 메모리 재고 생성 - productId: {}, stock: {}", productId, stock);
+            }
+        });
+    }
+
+    /**
+     * 메모리 재고 제거 + 이 상품의 예약 해제
+     *
+     * 예약분은 DB에 반영된 적이 없으므로 그대로 버리면 DB 재고에 남아 있음.
+     * 남은 pendingDelta는 호출한 쪽이 flush(productId)로 반영.
+     */
+    public void unload(Long productId) {
+        stocks.remove(productId);
+        reservations.values().removeIf(reservation -> reservation.productId.equals(productId));
+        log.info("한정 판매 메모리 재고 제거 - productId: {}", productId);
+    }
+
+    /**
+     * 즉시 차감 (예약 + 확정)
+     *
+     * 트랜잭션 안에서 호출하면 롤백될 때 되돌림 (예: 장바구니의 다른 상품 재고 부족)
+     */
+    public void decrease(Long productId, int quantity) {
+        take(productId, quantity);
+        pendingDelta(productId).add(-quantity);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(productId, quantity);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 재고 복원 (주문 취소 등, 트랜잭션 안이면 커밋 후에)
+     */
+    public void restock(Long productId, int quantity) {
+        runAfterCommit(() -> restore(productId, quantity));
+    }
+
+    /**
+     * 재고 예약: 메모리 재고만 잡아 두고 DB에는 확정될 때 반영
+     */
+    public FlashSaleReservationResponse reserve(Long productId, int quantity) {
+        take(productId, quantity);
+
+        String reservationId = UUID.randomUUID().toString();
+        long expiresAt = clockMillis.getAsLong() + reservationTtlMillis;
+        reservations.put(reservationId, new Reservation(productId, quantity, expiresAt));
+
+        return new FlashSaleReservationResponse(reservationId, productId, quantity,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()));
+    }
+
+    /**
+     * 예약 확정 (결제 완료 등) → 차감분을 DB 반영 대상으로
+     *
+     * WHY remove로 꺼내는가?
+     * - 확정 / 취소 / 만료가 동시에 와도 하나만 예약을 꺼낼 수 있음 → 재고를 두 번 돌려주지 않음
+     */
+    public void confirm(String reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            throw new BusinessException(ErrorCode.RESERVATION_NOT_FOUND);
+        }
+        if (reservation.isExpired(clockMillis.getAsLong())) {
+            release(reservation);
+            throw new BusinessException(ErrorCode.RESERVATION_NOT_FOUND);
+        }
+        pendingDelta(reservation.productId).add(-reservation.quantity);
+    }
+
+    /**
+     * 예약 취소 → 메모리 재고로 돌려놓음 (DB에는 반영된 적 없음)
+     */
+    public void cancel(String reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            throw new BusinessException(ErrorCode.RESERVATION_NOT_FOUND);
+        }
+        release(reservation);
+    }
+
+    /**
+     * 만료된 예약 해제
+     */
+    @Scheduled(fixedDelayString = "${inventory.expire-interval-ms:1000}")
+    public void expireReservations() {
+        long now = clockMillis.getAsLong();
+        int expired = 0;
+        for (String reservationId : reservations.keySet()) {
+            Reservation reservation = reservations.get(reservationId);
+            if (reservation != null && reservation.isExpired(now) && reservations.remove(reservationId, reservation)) {
+                release(reservation);
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.info("만료된 재고 예약 해제 - {}건", expired);
+        }
+    }
+
+    /**
+     * 모든 상품의 변경분을 DB에 반영 (write-behind)
+     *
+     * 상품마다 트랜잭션 하나에서 UPDATE 한 번. 실패한 상품만 변경분을 되돌려 두고 다음 주기에 다시 반영.
+     *
+     * WHY 상품마다 트랜잭션을 나누는가?
+     * - 한 트랜잭션으로 묶으면 상품 하나의 UPDATE 실패(락 대기 초과 등)로 모든 상품의 반영이 롤백됨
+     * - 트랜잭션이 짧아져서 상품 row 락을 잡고 있는 시간도 짧음
+     */
+    @Scheduled(fixedDelayString = "${inventory.flush-interval-ms:1000}")
+    public void flush() {
+        List<Long> productIds = new ArrayList<>(pendingDeltas.keySet());
+        for (Long productId : productIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> flush(productId));
+            } catch (RuntimeException e) {
+                log.error("한정 판매 재고 DB 반영 실패 - productId: {}, 다음 주기에 재시도", productId, e);
+            }
+        }
+    }
+
+    /**
+     * 상품 하나의 변경분을 현재 트랜잭션에서 반영 (롤백되면 변경분을 되돌려 둠)
+     */
+    public void flush(Long productId) {
+        LongAdder pending = pendingDeltas.get(productId);
+        if (pending == null) {
+            return;
+        }
+        int delta = (int) pending.sumThenReset();
+        if (delta == 0) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        pending.add(delta);
+                    }
+                }
+            });
+        }
+        productRepository.addStock(productId, delta);
+        log.debug("한정 판매 재고 DB 반영 - productId: {}, delta: {}", productId, delta);
+    }
+
+    /**
+     * 서버 시작 시 한정 판매 상품의 메모리 재고 복구
+     *
+     * DB 재고 = 마지막으로 반영된 값. 예약분은 DB에 반영된 적이 없으므로 모두 다시 판매 가능.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<Product> products = productRepository.findAllByFlashSaleTrue();
+        for (Product product : products) {
+            stocks.put(product.getId(), new StripedStock(product.getStock(), stripes));
+        }
+        if (!products.isEmpty()) {
+            log.info("한정 판매 메모리 재고 복구 - 상품 {}개", products.size());
+        }
+    }
+
+    /**
+     * 정상 종료 시 남은 변경분 반영
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public long available(Long productId) {
+        StripedStock stock = stocks.get(productId);
+        if (stock == null) {
+            throw new BusinessException(ErrorCode.FLASH_SALE_NOT_ENABLED);
+        }
+        return stock.available();
+    }
+
+    /**
+     * 한정 판매 상품이면 메모리 재고, 아니면 empty
+     *
+     * WHY isManaged() + available()로 나누지 않는가?
+     * - 두 번 조회하는 사이에 한정 판매가 끝나면(unload) available()이 FLASH_SALE_NOT_ENABLED를 던짐
+     * - 메모리 재고를 한 번만 꺼내서 관리 여부와 재고를 같은 시점의 값으로 읽음
+     */
+    public OptionalLong availableIfManaged(Long productId) {
+        StripedStock stock = stocks.get(productId);
+        return stock == null ? OptionalLong.empty() : OptionalLong.of(stock.available());
+    }
+
+    public List<FlashSaleStatsResponse> getAllStats() {
+        return stocks.entrySet().stream()
+                .map(entry -> stats(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(FlashSaleStatsResponse::getProductId))
+                .toList();
+    }
+
+    private FlashSaleStatsResponse stats(Long productId, StripedStock stock) {
+        long reserved = reservations.values().stream()
+                .filter(reservation -> reservation.productId.equals(productId))
+                .mapToLong(reservation -> reservation.quantity)
+                .sum();
+        LongAdder pending = pendingDeltas.get(productId);
+        return new FlashSaleStatsResponse(productId, stock.available(), reserved, pending == null ? 0 : pending.sum());
+    }
+
+    private void take(Long productId, int quantity) {
+        StripedStock stock = stocks.get(productId);
+        if (stock == null) {
+            throw new BusinessException(ErrorCode.FLASH_SALE_NOT_ENABLED);
+        }
+        if (!stock.tryTake(quantity)) {
+            throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK);
+        }
+    }
+
+    /**
+     * 확정된 차감을 되돌림 (메모리 재고 + DB 반영분)
+     */
+    private void restore(Long productId, int quantity) {
+        StripedStock stock = stocks.get(productId);
+        if (stock != null) {
+            stock.give(quantity);
+        }
+        pendingDelta(productId).add(quantity);
+    }
+
+    /**
+     * 예약 해제 (DB에 반영된 적 없으므로 메모리 재고만)
+     */
+    private void release(Reservation reservation) {
+        StripedStock stock = stocks.get(reservation.productId);
+        if (stock != null) {
+            stock.give(reservation.quantity);
+        }
+    }
+
+    private LongAdder pendingDelta(Long productId) {
+        return pendingDeltas.computeIfAbsent(productId, id -> new LongAdder());
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Reservation {
+
+        private final Long productId;
+        private final int quantity;
+        private final long expiresAt;
+
+        Reservation(Long productId, int quantity, long expiresAt) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package com.example.order.domain.product.service;
 
+import com.example.order.domain.product.dto.FlashSaleReservationResponse;
+import com.example.order.domain.product.dto.FlashSaleStatsResponse;
 import com.example.order.domain.product.dto.ProductCreateRequest;
 import com.example.order.domain.product.dto.ProductResponse;
+import com.example.order.domain.product.dto.StockLockStatsResponse;
 import com.example.order.domain.product.entity.Product;
 import com.example.order.domain.product.repository.ProductRepository;
 import com.example.order.global.error.BusinessException;
 import com.example.order.global.error.ErrorCode;
+import com.example.order.global.retry.RetryStatsResponse;
+import com.example.order.global.retry.TransactionRetryExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 /**
  * 상품 서비스
  *
@@ -29,7 +42,14 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ProductService {
 
+    public static final String STOCK_DECREASE = "stock.decrease";
+    public static final String STOCK_INCREASE = "stock.increase";
+    public static final String FLASH_SALE_DISABLE = "flash-sale.disable";
+
     private final ProductRepository productRepository;
+    private final StockContentionTracker contentionTracker;
+    private final TransactionRetryExecutor retryExecutor;
+    private final FlashSaleInventory flashSaleInventory;
 
     /**
      * WHY @Transactional을 사용하는가?
@@ -68,74 +88,111 @@ public class ProductService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
 
+        // 한정 판매 상품은 DB 재고가 반영 주기만큼 늦음 → 메모리 재고로 응답
+        OptionalLong flashSaleStock = flashSaleInventory.availableIfManaged(productId);
+        if (flashSaleStock.isPresent()) {
+            return ProductResponse.from(product, (int) flashSaleStock.getAsLong());
+        }
         return ProductResponse.from(product);
     }
 
     /**
-     * 재고 감소 (낙관적 락 사용)
+     * 재고 감소 (상품별 낙관적 / 비관적 락 자동 선택)
      *
-     * WHY 낙관적 락(Optimistic Lock)을 사용하는가?
+     * WHY 낙관적 락(Optimistic Lock)을 기본으로 사용하는가?
      * 1. 성능: 비관적 락보다 경합이 적을 때 성능이 좋음
      * 2. 데드락 방지: DB 락을 걸지 않아 데드락 발생 가능성 낮음
      * 3. 충돌 감지: @Version으로 동시 수정 감지
      *
-     * WHY 비관적 락을 사용하지 않는가?
-     * - 비관적 락: SELECT FOR UPDATE로 row lock
-     * - 단점: 락 경합 시 대기 시간 증가, 데드락 가능성
-     * - 적합한 경우: 충돌이 자주 발생하는 경우
+     * WHY 인기 상품은 비관적 락으로 바꾸는가?
+     * - 주문이 몰리는 상품은 대부분의 시도가 version 충돌 → 재시도를 다 쓰고 STOCK_DECREASE_FAILED
+     * - 비관적 락(ProductRepository.findByIdWithPessimisticLock)은 줄을 서서 기다리므로 재시도 없이 성공
+     * - StockContentionTracker가 상품별 충돌률을 보고 전환 / 복귀 (충돌이 적은 상품은 계속 낙관적 락)
      *
-     * WHY 재시도 로직이 필요한가?
-     * - 동시에 여러 사용자가 같은 상품 주문시 version 충돌 발생
-     * - ObjectOptimisticLockingFailureException 발생
-     * - 재시도로 최신 버전을 다시 읽어서 처리
+     * WHY @Transactional 대신 TransactionRetryExecutor를 쓰는가?
+     * - version 충돌은 flush 시점에 발생 → 충돌한 트랜잭션은 rollback-only라 그 안에서 재시도 불가
+     * - 시도마다 새 트랜잭션(새 영속성 컨텍스트)에서 최신 version을 다시 읽어야 재시도가 의미 있음
+     * - 재시도 대기는 트랜잭션이 끝난 뒤 → 대기 중에 DB 커넥션을 잡고 있지 않음
+     * - 호출한 쪽에 트랜잭션이 있으면 참여 (원자성 유지) → 재시도 없이 한 번만 시도
      *
      * 면접 질문: "낙관적 락 vs 비관적 락 언제 사용하나요?"
      * 답변:
      * - 낙관적 락: 충돌이 드물고, 읽기가 많은 경우 (상품 조회)
      * - 비관적 락: 충돌이 자주 발생하고, 정확성이 중요한 경우 (재고 감소)
+     * - 같은 테이블이라도 row(상품)마다 충돌 빈도가 다르면 row별로 고를 수 있음
      *
-     * WHY 실무에서는 비관적 락을 더 많이 쓰는가?
-     * - 재고 관리는 정확성이 중요 (재시도보다 확실한 처리 선호)
-     * - 실제로는 ProductRepository.findByIdWithPessimisticLock 사용 권장
+     * 한정 판매 상품은 DB 락 없이 메모리 재고(FlashSaleInventory)에서 차감하고, DB에는 주기적으로 반영.
      */
-    @Transactional
     public void decreaseStock(Long productId, int quantity) {
-        int maxRetries = 3;
-        int retryCount = 0;
+        if (flashSaleInventory.isManaged(productId)) {
+            flashSaleInventory.decrease(productId, quantity);
+            log.info("한정 판매 재고 감소 - productId: {}, quantity: {}", productId, quantity);
+            return;
+        }
 
-        while (retryCount < maxRetries) {
-            try {
-                // 1. 상품 조회 (낙관적 락: @Version 필드로 버전 관리)
-                Product product = productRepository.findById(productId)
-                        .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
+        Product product = updateStock(productId, STOCK_DECREASE, ErrorCode.STOCK_DECREASE_FAILED,
+                target -> target.decreaseStock(quantity));
 
-                // 2. 재고 감소 (비즈니스 로직은 Entity에 위임)
-                product.decreaseStock(quantity);
+        log.info("재고 감소 성공 - productId: {}, quantity: {}, 남은 재고: {}",
+                productId, quantity, product.getStock());
+    }
+
+    /**
+     * 여러 상품 재고 일괄 차감 (주문 생성시 사용)
+     *
+     * WHY 상품마다 decreaseStock을 호출하지 않는가?
+     * - 상품마다 SELECT(getProduct) + SELECT(decreaseStock) + UPDATE → 30개 장바구니면 DB 왕복 90번 이상
+     * - 일괄 차감: IN 쿼리 SELECT 1번 + flush 1번 (UPDATE는 JDBC batch로 묶어서 전송)
+     *
+     * WHY 비관적 락을 사용하는가?
+     * - 낙관적 락은 상품 하나만 충돌해도 장바구니 전체를 다시 시도해야 함 (상품이 많을수록 충돌 확률 증가)
+     * - 락은 id 오름차순으로 잡으므로 겹치는 장바구니끼리 데드락이 생기지 않음
+     *
+     * WHY flush를 여기서 하는가?
+     * - 재고 차감 UPDATE를 락을 잡은 직후 한 번에 반영 (커밋 시점까지 미루지 않음)
+     * - 같은 트랜잭션에서 이어지는 쿼리가 차감된 재고를 보게 됨
+     *
+     * @param quantities 상품 ID별 차감 수량 (같은 상품이 여러 줄이면 호출하는 쪽에서 합산)
+     * @return 상품 ID별 락이 걸린 상품 (주문 항목의 상품 정보 스냅샷용)
+     */
+    @Transactional
+    public Map<Long, Product> reserveStocks(Map<Long, Integer> quantities) {
+        // 한정 판매 상품은 락 없이 조회 (재고는 메모리에서 차감, 엔티티는 주문 항목 스냅샷용)
+        List<Long> flashSaleIds = new ArrayList<>();
+        List<Long> lockedIds = new ArrayList<>();
+        for (Long productId : quantities.keySet()) {
+            (flashSaleInventory.isManaged(productId) ? flashSaleIds : lockedIds).add(productId);
+        }
 
-                // 3. 저장 (flush 시점에 version 체크, 충돌시 예외 발생)
-                log.info("재고 감소 성공 - productId: {}, quantity: {}, 남은 재고: {}",
-                        productId, quantity, product.getStock());
-                return;
-
-            } catch (ObjectOptimisticLockingFailureException e) {
-                retryCount++;
-                log.warn("낙관적 락 충돌 발생 - 재시도 {}/{} - productId: {}",
-                        retryCount, maxRetries, productId);
-
-                if (retryCount >= maxRetries) {
-                    log.error("재고 감소 실패 - 최대 재시도 횟수 초과 - productId: {}", productId);
-                    throw new BusinessException(ErrorCode.STOCK_DECREASE_FAILED);
-                }
-
-                // 짧은 대기 후 재시도 (충돌 완화)
-                try {
-                    Thread.sleep(50 * retryCount); // 50ms, 100ms, 150ms
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new BusinessException(ErrorCode.STOCK_DECREASE_FAILED);
-                }
+        // 1. IN 쿼리 한 번으로 조회 + id 오름차순으로 락
+        List<Product> products = new ArrayList<>();
+        if (!lockedIds.isEmpty()) {
+            products.addAll(productRepository.findAllByIdInWithPessimisticLock(lockedIds));
+        }
+        if (!flashSaleIds.isEmpty()) {
+            products.addAll(productRepository.findAllById(flashSaleIds));
+        }
+        if (products.size() != quantities.size()) {
+            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND);
+        }
+
+        // 2. 재고 차감 (하나라도 부족하면 예외 → 전체 롤백, 메모리 재고 차감분도 롤백 시 되돌림)
+        Map<Long, Product> reserved = new HashMap<>();
+        for (Product product : products) {
+            int quantity = quantities.get(product.getId());
+            if (flashSaleInventory.isManaged(product.getId())) {
+                flashSaleInventory.decrease(product.getId(), quantity);
+            } else {
+                product.decreaseStock(quantity);
             }
+            reserved.put(product.getId(), product);
         }
+
+        // 3. 변경된 상품 UPDATE를 한 번에 반영
+        productRepository.flush();
+        log.info("재고 일괄 차감 성공 - 상품 수: {}", products.size());
+
+        return reserved;
     }
 
     /**
@@ -146,44 +203,156 @@ public class ProductService {
      * - 명시적 의도: increaseStock이라는 이름으로 의도를 명확히 표현
      * - 재사용성: 주문 취소 외에도 반품, 재입고 등에서 사용 가능
      *
-     * WHY 여기서도 낙관적 락 재시도를 하는가?
-     * - 동시에 여러 주문이 취소될 수 있음
-     * - version 충돌 가능성 존재
+     * WHY 감소와 같은 락 방식을 쓰는가?
+     * - 동시에 여러 주문이 취소될 수 있음 → version 충돌 가능성 존재
+     * - 같은 상품의 충돌률을 감소 / 증가가 함께 쌓아야 방식 판단이 정확함
+     *
+     * 한정 판매 상품은 메모리 재고로 복원 (트랜잭션 안이면 커밋 후에)
      */
-    @Transactional
     public void increaseStock(Long productId, int quantity) {
-        int maxRetries = 3;
-        int retryCount = 0;
-
-        while (retryCount < maxRetries) {
-            try {
-                Product product = productRepository.findById(productId)
-                        .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
-
-                product.increaseStock(quantity);
-
-                log.info("재고 증가 성공 - productId: {}, quantity: {}, 현재 재고: {}",
-                        productId, quantity, product.getStock());
-                return;
-
-            } catch (ObjectOptimisticLockingFailureException e) {
-                retryCount++;
-                log.warn("낙관적 락 충돌 발생 - 재시도 {}/{} - productId: {}",
-                        retryCount, maxRetries, productId);
-
-                if (retryCount >= maxRetries) {
-                    log.error("재고 증가 실패 - 최대 재시도 횟수 초과 - productId: {}", productId);
-                    throw new BusinessException(ErrorCode.STOCK_INCREASE_FAILED);
-                }
-
-                try {
-                    Thread.sleep(50 * retryCount);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new BusinessException(ErrorCode.STOCK_INCREASE_FAILED);
-                }
-            }
+        if (flashSaleInventory.isManaged(productId)) {
+            flashSaleInventory.restock(productId, quantity);
+            log.info("한정 판매 재고 복원 - productId: {}, quantity: {}", productId, quantity);
+            return;
         }
+
+        Product product = updateStock(productId, STOCK_INCREASE, ErrorCode.STOCK_INCREASE_FAILED,
+                target -> target.increaseStock(quantity));
+
+        log.info("재고 증가 성공 - productId: {}, quantity: {}, 현재 재고: {}",
+                productId, quantity, product.getStock());
+    }
+
+    /**
+     * 상품별 락 방식 + 충돌 지표 조회
+     */
+    public StockLockStatsResponse getStockLockStats(Long productId) {
+        return contentionTracker.getStats(productId);
+    }
+
+    public List<StockLockStatsResponse> getAllStockLockStats() {
+        return contentionTracker.getAllStats();
+    }
+
+    /**
+     * 한정 판매 시작 (재고를 메모리에서 관리)
+     *
+     * WHY 비관적 락으로 읽는가?
+     * - 읽은 재고로 메모리 재고를 만듦 → 그 사이 DB 재고가 바뀌면 메모리 재고가 그만큼을 모름
+     * - 락을 기다리던 DB 경로 요청은 커밋 후 flashSale = true를 보고 거절됨 (Product.checkStockManagedByDatabase)
+     */
+    @Transactional
+    public void enableFlashSale(Long productId) {
+        Product product = productRepository.findByIdWithPessimisticLock(productId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
+
+        product.enableFlashSale();
+        flashSaleInventory.load(productId, product.getStock());
+        log.info("한정 판매 시작 - productId: {}, stock: {}", productId, product.getStock());
+    }
+
+    /**
+     * 한정 판매 종료 (재고를 다시 DB에서 관리)
+     *
+     * 1. 메모리 재고 제거 → 이후 요청은 DB 경로 (flashSale = true인 동안은 잠시 거절)
+     * 2. 남은 변경분을 DB에 반영한 뒤 flashSale = false (한 트랜잭션)
+     *
+     * WHY 반영을 먼저 하는가?
+     * - 상대값 UPDATE(addStock)가 먼저 실행되어야 뒤이어 읽는 엔티티가 반영된 재고를 봄
+     */
+    public void disableFlashSale(Long productId) {
+        flashSaleInventory.unload(productId);
+
+        retryExecutor.execute(FLASH_SALE_DISABLE, ErrorCode.FLASH_SALE_SWITCHING, status -> {
+            flashSaleInventory.flush(productId);
+            Product product = productRepository.findByIdWithPessimisticLock(productId)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
+            product.disableFlashSale();
+            log.info("한정 판매 종료 - productId: {}, stock: {}", productId, product.getStock());
+            return product;
+        });
+    }
+
+    /**
+     * 한정 판매 재고 예약 (reservation-ttl-ms 안에 확정하지 않으면 자동 해제)
+     */
+    public FlashSaleReservationResponse reserveFlashSaleStock(Long productId, int quantity) {
+        return flashSaleInventory.reserve(productId, quantity);
+    }
+
+    public void confirmFlashSaleReservation(String reservationId) {
+        flashSaleInventory.confirm(reservationId);
+    }
+
+    public void cancelFlashSaleReservation(String reservationId) {
+        flashSaleInventory.cancel(reservationId);
+    }
+
+    public List<FlashSaleStatsResponse> getFlashSaleStats() {
+        return flashSaleInventory.getAllStats();
+    }
+
+    /**
+     * 재고 감소 / 증가별 재시도 지표 조회
+     */
+    public List<RetryStatsResponse> getStockRetryStats() {
+        return List.of(retryExecutor.getStats(STOCK_DECREASE), retryExecutor.getStats(STOCK_INCREASE));
+    }
+
+    /**
+     * 재고 변경 공통 처리 (락 방식 선택 + 충돌 기록)
+     *
+     * 1. TransactionRetryExecutor가 시도마다 새 트랜잭션을 열고, 충돌이면 트랜잭션 밖에서 대기 후 재시도
+     * 2. 시도마다 StockContentionTracker에서 현재 방식 조회 (재시도 중에 비관적 락으로 바뀔 수 있음)
+     * 3. 트랜잭션 안에서 조회 → 변경 → flush (충돌은 여기서 발생) → 결과를 충돌률 윈도우에 기록
+     */
+    private Product updateStock(Long productId, String operation, ErrorCode failedErrorCode,
+                                Consumer<Product> change) {
+        return retryExecutor.execute(operation, failedErrorCode, status ->
+                contentionTracker.mode(productId) == StockLockMode.PESSIMISTIC
+                        ? updateWithPessimisticLock(productId, change)
+                        : updateWithOptimisticLock(productId, change));
+    }
+
+    /**
+     * 실행되는 SQL:
+     * SELECT ... FROM product WHERE id = ?
+     * UPDATE product SET stock = ?, version = version + 1 WHERE id = ? AND version = ?
+     */
+    private Product updateWithOptimisticLock(Long productId, Consumer<Product> change) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
+
+        change.accept(product);
+        try {
+            productRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            contentionTracker.recordOptimistic(productId, true);
+            throw e;
+        }
+
+        contentionTracker.recordOptimistic(productId, false);
+        return product;
+    }
+
+    /**
+     * 실행되는 SQL:
+     * SELECT ... FROM product WHERE id = ? FOR UPDATE   ← 다른 트랜잭션이 잡고 있으면 대기
+     * UPDATE product SET stock = ?, version = version + 1 WHERE id = ? AND version = ?
+     *
+     * 락을 얻기까지 기다린 시간을 기록 → 대기가 짧아지면 낙관적 락으로 복귀
+     */
+    private Product updateWithPessimisticLock(Long productId, Consumer<Product> change) {
+        long startedAt = System.nanoTime();
+        Product product = productRepository.findByIdWithPessimisticLock(productId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
+        long lockWaitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        change.accept(product);
+        productRepository.flush();
+
+        contentionTracker.recordPessimistic(productId, lockWaitMillis);
+        return product;
     }
 
     /**
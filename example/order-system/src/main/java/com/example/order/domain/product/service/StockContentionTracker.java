@@ -0,0 +1,236 @@
+package com.example.order.domain.product.service;
+
+import com.example.order.domain.product.dto.StockLockStatsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 상품별 재고 충돌률 추적 + 락 방식 자동 전환
+ *
+ * 동작 원리:
+ * 1. 재고 변경 시도마다 "충돌했는지"를 상품별 슬라이딩 윈도우(window-ms를 buckets개 구간으로 나눔)에 기록
+ *    - 낙관적 락: version 충돌(ObjectOptimisticLockingFailureException)이 나면 충돌
+ *    - 비관적 락: 충돌이 일어나지 않으므로 락 대기 시간이 contended-wait-ms 이상이면 충돌로 봄
+ * 2. 윈도우 안의 시도가 min-samples 이상일 때 충돌률로 판단
+ *    - 낙관적 락인데 충돌률 >= pessimistic-threshold → 비관적 락으로 전환
+ *    - 비관적 락으로 window-ms 이상 지났고 충돌률 < optimistic-threshold → 낙관적 락으로 복귀
+ *    - 비관적 락인데 윈도우 안의 시도가 min-samples 미만 (트래픽이 빠짐) → 낙관적 락으로 복귀
+ * 3. 전환하면 윈도우를 비움 → 새 방식에서 측정한 값으로만 다시 판단
+ *
+ * WHY 전환/복귀 기준을 다르게 두는가? (히스테리시스)
+ * - 같은 기준이면 충돌률이 경계값 근처일 때 시도마다 방식이 바뀜 (flapping)
+ * - 복귀는 더 낮은 충돌률 + 최소 유지 시간(window-ms)을 요구
+ *
+ * 주의:
+ * - 서버마다 따로 판단 (다른 서버의 충돌은 version 충돌 / 락 대기로 간접 반영)
+ * - 한 번이라도 재고를 변경한 상품마다 상태가 남음 (상품 수만큼, 상품당 수백 bytes)
+ */
+@Slf4j
+@Component
+public class StockContentionTracker {
+
+    private final long windowMillis;
+    private final int bucketCount;
+    private final long bucketMillis;
+    private final int minSamples;
+    private final double pessimisticThreshold;
+    private final double optimisticThreshold;
+    private final long contendedWaitMillis;
+    private final LongSupplier clockMillis;
+
+    private final ConcurrentMap<Long, ProductContention> contentions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public StockContentionTracker(
+            @Value("${stock.lock.window-ms:10000}") long windowMillis,
+            @Value("${stock.lock.buckets:10}") int bucketCount,
+            @Value("${stock.lock.min-samples:20}") int minSamples,
+            @Value("${stock.lock.pessimistic-threshold:0.2}") double pessimisticThreshold,
+            @Value("${stock.lock.optimistic-threshold:0.05}") double optimisticThreshold,
+            @Value("${stock.lock.contended-wait-ms:5}") long contendedWaitMillis) {
+        this(windowMillis, bucketCount, minSamples, pessimisticThreshold, optimisticThreshold,
+                contendedWaitMillis, System::currentTimeMillis);
+    }
+
+    StockContentionTracker(long windowMillis, int bucketCount, int minSamples,
+                           double pessimisticThreshold, double optimisticThreshold,
+                           long contendedWaitMillis, LongSupplier clockMillis) {
+        this.windowMillis = windowMillis;
+        this.bucketCount = bucketCount;
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.minSamples = minSamples;
+        this.pessimisticThreshold = pessimisticThreshold;
+        this.optimisticThreshold = optimisticThreshold;
+        this.contendedWaitMillis = contendedWaitMillis;
+        this.clockMillis = clockMillis;
+    }
+
+    /**
+     * 이번 시도에 사용할 락 방식 (처음 보는 상품은 낙관적 락)
+     */
+    public StockLockMode mode(Long productId) {
+        ProductContention contention = contentions.get(productId);
+        return contention == null ? StockLockMode.OPTIMISTIC : contention.mode(productId, clockMillis.getAsLong());
+    }
+
+    /**
+     * 낙관적 락 시도 결과 기록
+     */
+    public void recordOptimistic(Long productId, boolean conflicted) {
+        record(productId, StockLockMode.OPTIMISTIC, conflicted);
+    }
+
+    /**
+     * 비관적 락 시도 결과 기록 (락을 얻기까지 기다린 시간으로 충돌 여부 판단)
+     */
+    public void recordPessimistic(Long productId, long lockWaitMillis) {
+        record(productId, StockLockMode.PESSIMISTIC, lockWaitMillis >= contendedWaitMillis);
+    }
+
+    public StockLockStatsResponse getStats(Long productId) {
+        ProductContention contention = contentions.get(productId);
+        if (contention == null) {
+            return StockLockStatsResponse.empty(productId);
+        }
+        return contention.stats(productId, clockMillis.getAsLong());
+    }
+
+    /**
+     * 추적 중인 모든 상품 (비관적 락 상품 먼저, 그다음 충돌률 높은 순)
+     */
+    public List<StockLockStatsResponse> getAllStats() {
+        long now = clockMillis.getAsLong();
+        return contentions.entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey(), now))
+                .sorted(Comparator.comparing(StockLockStatsResponse::getMode).reversed()
+                        .thenComparing(Comparator.comparingDouble(StockLockStatsResponse::getConflictRate).reversed()))
+                .toList();
+    }
+
+    private void record(Long productId, StockLockMode sampleMode, boolean contended) {
+        contentions.computeIfAbsent(productId, id -> new ProductContention(clockMillis.getAsLong()))
+                .record(productId, sampleMode, contended, clockMillis.getAsLong());
+    }
+
+    /**
+     * 상품 하나의 윈도우와 현재 방식
+     *
+     * WHY synchronized인가?
+     * - 기록은 DB 왕복(수 ms) 한 번마다 한 번 → 락 비용은 무시할 수준
+     * - 윈도우 합산과 방식 전환을 한 번에 판단해야 함
+     */
+    private class ProductContention {
+
+        private final long[] bucketStarts = new long[bucketCount];
+        private final int[] attempts = new int[bucketCount];
+        private final int[] conflicts = new int[bucketCount];
+
+        private StockLockMode mode = StockLockMode.OPTIMISTIC;
+        private long modeSince;
+        private long switchCount;
+        private long totalAttempts;
+        private long totalConflicts;
+
+        ProductContention(long now) {
+            this.modeSince = now;
+        }
+
+        synchronized StockLockMode mode(Long productId, long now) {
+            evaluate(productId, now);
+            return mode;
+        }
+
+        synchronized void record(Long productId, StockLockMode sampleMode, boolean contended, long now) {
+            totalAttempts++;
+            if (contended) {
+                totalConflicts++;
+            }
+
+            // 시도하는 사이에 방식이 바뀌었으면 이전 방식의 결과는 윈도우에 넣지 않음
+            if (sampleMode == mode) {
+                int index = bucketIndex(now);
+                attempts[index]++;
+                if (contended) {
+                    conflicts[index]++;
+                }
+            }
+            evaluate(productId, now);
+        }
+
+        synchronized StockLockStatsResponse stats(Long productId, long now) {
+            evaluate(productId, now);
+            int windowAttempts = windowSum(attempts, now);
+            int windowConflicts = windowSum(conflicts, now);
+            return new StockLockStatsResponse(productId, mode, windowAttempts, windowConflicts,
+                    rate(windowConflicts, windowAttempts), totalAttempts, totalConflicts, switchCount);
+        }
+
+        private void evaluate(Long productId, long now) {
+            int windowAttempts = windowSum(attempts, now);
+            int windowConflicts = windowSum(conflicts, now);
+            double conflictRate = rate(windowConflicts, windowAttempts);
+
+            if (mode == StockLockMode.OPTIMISTIC) {
+                if (windowAttempts >= minSamples && conflictRate >= pessimisticThreshold) {
+                    switchTo(productId, StockLockMode.PESSIMISTIC, conflictRate, now);
+                }
+                return;
+            }
+
+            if (now - modeSince < windowMillis) {
+                return;
+            }
+            if (windowAttempts < minSamples || conflictRate < optimisticThreshold) {
+                switchTo(productId, StockLockMode.OPTIMISTIC, conflictRate, now);
+            }
+        }
+
+        private void switchTo(Long productId, StockLockMode newMode, double conflictRate, long now) {
+            log.info("재고 락 방식 전환 - productId: {}, {} → {}, 충돌률: {}",
+                    productId, mode, newMode, String.format("%.2f", conflictRate));
+            mode = newMode;
+            modeSince = now;
+            switchCount++;
+            Arrays.fill(attempts, 0);
+            Arrays.fill(conflicts, 0);
+        }
+
+        /**
+         * 현재 시각의 구간 (오래된 구간이면 비우고 재사용)
+         */
+        private int bucketIndex(long now) {
+            long bucketStart = now - Math.floorMod(now, bucketMillis);
+            int index = (int) Math.floorMod(now / bucketMillis, (long) bucketCount);
+            if (bucketStarts[index] != bucketStart) {
+                bucketStarts[index] = bucketStart;
+                attempts[index] = 0;
+                conflicts[index] = 0;
+            }
+            return index;
+        }
+
+        private int windowSum(int[] counts, long now) {
+            long oldest = now - windowMillis;
+            int sum = 0;
+            for (int i = 0; i < bucketCount; i++) {
+                if (bucketStarts[i] > oldest) {
+                    sum += counts[i];
+                }
+            }
+            return sum;
+        }
+    }
+
+    private static double rate(int conflicts, int attempts) {
+        return attempts == 0 ? 0.0 : (double) conflicts / attempts;
+    }
+}
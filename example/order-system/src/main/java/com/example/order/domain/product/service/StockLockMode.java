@@ -0,0 +1,25 @@
+package com.example.order.domain.product.service;
+
+/**
+ * 상품별 재고 차감 락 방식
+ *
+ * WHY 상품마다 다르게 가져가는가?
+ * - 대부분의 상품은 동시 주문이 드물어 낙관적 락이 가장 빠름 (락 대기 없음)
+ * - 인기 상품(타임딜 등)만 충돌이 몰려서 재시도를 다 써버리고 실패
+ * - 충돌이 많은 상품만 비관적 락으로 줄을 세우면 나머지 상품은 그대로 빠르게 처리
+ */
+public enum StockLockMode {
+
+    OPTIMISTIC("낙관적 락 (@Version)"),
+    PESSIMISTIC("비관적 락 (SELECT FOR UPDATE)");
+
+    private final String description;
+
+    StockLockMode(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
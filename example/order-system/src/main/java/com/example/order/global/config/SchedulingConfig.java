@@ -0,0 +1,12 @@
+package com.example.order.global.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 한정 판매 메모리 재고의 주기 작업 (DB 반영, 만료된 예약 해제)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -12,6 +12,11 @@ public enum ErrorCode {
     PRODUCT_NOT_FOUND(HttpStatus.NOT_FOUND, "P001", "상품을 찾을 수 없습니다."),
     INSUFFICIENT_STOCK(HttpStatus.CONFLICT, "P002", "재고가 부족합니다."),
     STOCK_UPDATE_CONFLICT(HttpStatus.CONFLICT, "P003", "재고 업데이트 충돌이 발생했습니다. 다시 시도해주세요."),
+    STOCK_DECREASE_FAILED(HttpStatus.CONFLICT, "P004", "재고 차감에 실패했습니다. 다시 시도해주세요."),
+    STOCK_INCREASE_FAILED(HttpStatus.CONFLICT, "P005", "재고 복원에 실패했습니다. 다시 시도해주세요."),
+    FLASH_SALE_SWITCHING(HttpStatus.CONFLICT, "P006", "재고 관리 방식을 전환하는 중입니다. 다시 시도해주세요."),
+    FLASH_SALE_NOT_ENABLED(HttpStatus.BAD_REQUEST, "P007", "한정 판매 상품이 아닙니다."),
+    RESERVATION_NOT_FOUND(HttpStatus.NOT_FOUND, "P008", "재고 예약을 찾을 수 없습니다. (만료 또는 취소됨)"),
 
     // Order
     ORDER_NOT_FOUND(HttpStatus.NOT_FOUND, "O001", "주문을 찾을 수 없습니다."),
@@ -0,0 +1,39 @@
+package com.example.order.global.retry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 작업별 재시도 지표 응답 DTO
+ *
+ * - calls: 호출 수 / successes: 최종 성공 수
+ * - conflicts: 동시성 충돌로 실패한 시도 수 (재시도 포함)
+ * - retries: 실제로 다시 시도한 수
+ * - exhausted: 최대 시도 횟수를 다 써서 실패한 호출 수
+ * - budgetRejected: 재시도 예산이 없어 재시도하지 않고 실패한 호출 수
+ * - budgetBalance: 남은 재시도 예산
+ */
+@Getter
+@AllArgsConstructor
+public class RetryStatsResponse {
+
+    private String operation;
+    private long calls;
+    private long successes;
+    private long conflicts;
+    private long retries;
+    private long exhausted;
+    private long budgetRejected;
+    private double budgetBalance;
+
+    public static RetryStatsResponse empty(String operation) {
+        return new RetryStatsResponse(operation, 0, 0, 0, 0, 0, 0, 0.0);
+    }
+
+    /**
+     * 최종 성공률 (호출이 없으면 1.0)
+     */
+    public double getSuccessRate() {
+        return calls == 0 ? 1.0 : (double) successes / calls;
+    }
+}
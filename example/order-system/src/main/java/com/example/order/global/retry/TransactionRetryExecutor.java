@@ -0,0 +1,203 @@
+package com.example.order.global.retry;
+
+import com.example.order.global.error.BusinessException;
+import com.example.order.global.error.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 트랜잭션 단위 재시도 실행기
+ *
+ * WHY @Transactional 메서드 안에서 재시도하면 안 되는가?
+ * - 낙관적 락 충돌은 flush / 커밋 시점에 발생 → 그 트랜잭션은 이미 rollback-only
+ * - 같은 영속성 컨텍스트에는 충돌 전 엔티티(옛 version)가 남아 있어서 다시 읽어도 같은 값
+ * - 재시도 대기(sleep) 동안 DB 커넥션을 붙잡고 있음
+ *
+ * 동작 원리:
+ * 1. 시도마다 TransactionTemplate으로 트랜잭션을 새로 시작 (새 영속성 컨텍스트에서 최신 값을 다시 읽음)
+ * 2. ConcurrencyFailureException(낙관적 락 충돌, 락 대기 실패, 데드락)이면 트랜잭션을 끝낸 뒤 대기하고 재시도
+ * 3. 대기 시간: 0 ~ min(max-backoff, initial-backoff × multiplier^(재시도 횟수-1)) 사이 랜덤 (full jitter)
+ *    → 동시에 충돌한 요청들이 같은 시각에 다시 몰리지 않음
+ * 4. 재시도 예산: 호출마다 budget.ratio만큼 적립, 재시도마다 1 차감 (초당 budget.min-per-second는 기본 보장)
+ *    → 장애 상황에서 재시도가 트래픽을 몇 배로 불리는 것(retry storm)을 막음
+ *
+ * 주의:
+ * - 호출한 쪽에 트랜잭션이 있으면 참여하고 재시도하지 않음 (바깥 트랜잭션이 이미 rollback-only가 되므로)
+ * - 재시도해도 같은 결과인 예외(BusinessException 등)는 바로 전파
+ */
+@Slf4j
+@Component
+public class TransactionRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double multiplier;
+    private final double budgetRatio;
+    private final double budgetMinPerSecond;
+    private final double budgetMaxTokens;
+
+    private final ConcurrentMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TransactionRetryExecutor(
+            TransactionTemplate transactionTemplate,
+            @Value("${retry.max-attempts:4}") int maxAttempts,
+            @Value("${retry.initial-backoff-ms:10}") long initialBackoffMillis,
+            @Value("${retry.max-backoff-ms:200}") long maxBackoffMillis,
+            @Value("${retry.multiplier:2.0}") double multiplier,
+            @Value("${retry.budget.ratio:0.5}") double budgetRatio,
+            @Value("${retry.budget.min-per-second:10}") double budgetMinPerSecond,
+            @Value("${retry.budget.max-tokens:100}") double budgetMaxTokens) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.multiplier = multiplier;
+        this.budgetRatio = budgetRatio;
+        this.budgetMinPerSecond = budgetMinPerSecond;
+        this.budgetMaxTokens = budgetMaxTokens;
+    }
+
+    /**
+     * callback을 트랜잭션 안에서 실행, 동시성 충돌이면 새 트랜잭션으로 재시도
+     *
+     * @param operation       지표를 모을 작업 이름 (예: stock.decrease)
+     * @param failedErrorCode 재시도를 다 쓰거나 예산이 없을 때 던질 에러
+     */
+    public <T> T execute(String operation, ErrorCode failedErrorCode, TransactionCallback<T> callback) {
+        OperationStats stats = operations.computeIfAbsent(operation, name -> new OperationStats());
+        stats.calls.increment();
+        stats.budget.deposit(budgetRatio);
+
+        int attempts = TransactionSynchronizationManager.isActualTransactionActive() ? 1 : maxAttempts;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(callback);
+                stats.successes.increment();
+                return result;
+
+            } catch (ConcurrencyFailureException e) {
+                stats.conflicts.increment();
+
+                if (attempt >= attempts) {
+                    stats.exhausted.increment();
+                    log.error("재시도 실패 - 최대 시도 횟수 초과 - operation: {}, attempts: {}", operation, attempt);
+                    throw new BusinessException(failedErrorCode);
+                }
+                if (!stats.budget.tryWithdraw()) {
+                    stats.budgetRejected.increment();
+                    log.warn("재시도 실패 - 재시도 예산 소진 - operation: {}", operation);
+                    throw new BusinessException(failedErrorCode);
+                }
+
+                stats.retries.increment();
+                long backoffMillis = backoffMillis(attempt);
+                log.warn("동시성 충돌 - {}ms 후 재시도 {}/{} - operation: {}",
+                        backoffMillis, attempt, attempts - 1, operation);
+                sleep(backoffMillis, failedErrorCode);
+            }
+        }
+    }
+
+    public List<RetryStatsResponse> getAllStats() {
+        return operations.entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .sorted(Comparator.comparing(RetryStatsResponse::getOperation))
+                .toList();
+    }
+
+    public RetryStatsResponse getStats(String operation) {
+        OperationStats stats = operations.get(operation);
+        return stats == null ? RetryStatsResponse.empty(operation) : stats.toResponse(operation);
+    }
+
+    /**
+     * full jitter: 0 ~ min(max, initial × multiplier^(retry-1))
+     */
+    private long backoffMillis(int retry) {
+        double ceiling = Math.min(maxBackoffMillis, initialBackoffMillis * Math.pow(multiplier, retry - 1));
+        return (long) (ThreadLocalRandom.current().nextDouble() * ceiling);
+    }
+
+    private void sleep(long millis, ErrorCode failedErrorCode) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(failedErrorCode);
+        }
+    }
+
+    /**
+     * 작업별 지표 + 재시도 예산
+     */
+    private class OperationStats {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+        private final LongAdder budgetRejected = new LongAdder();
+        private final RetryBudget budget = new RetryBudget();
+
+        RetryStatsResponse toResponse(String operation) {
+            return new RetryStatsResponse(operation, calls.sum(), successes.sum(), conflicts.sum(),
+                    retries.sum(), exhausted.sum(), budgetRejected.sum(), budget.balance());
+        }
+    }
+
+    /**
+     * 재시도 예산 (token bucket)
+     *
+     * - 호출 1번마다 ratio개 적립 → 장기적으로 재시도 수 <= 호출 수 × ratio
+     * - 경과 시간 1초마다 min-per-second개 적립 → 호출이 적을 때도 재시도 가능
+     * - max-tokens까지만 적립 → 한가할 때 모아둔 예산으로 폭주하지 않음
+     */
+    private class RetryBudget {
+
+        private double tokens = budgetMaxTokens;
+        private long refilledAt = System.nanoTime();
+
+        synchronized void deposit(double amount) {
+            refill();
+            tokens = Math.min(budgetMaxTokens, tokens + amount);
+        }
+
+        synchronized boolean tryWithdraw() {
+            refill();
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized double balance() {
+            refill();
+            return tokens;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            double seconds = (now - refilledAt) / 1_000_000_000.0;
+            tokens = Math.min(budgetMaxTokens, tokens + seconds * budgetMinPerSecond);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.order.domain.outbox.service;
+
+import com.example.order.domain.order.event.OrderCreatedEvent;
+import com.example.order.domain.outbox.dto.OutboxStatsResponse;
+import com.example.order.domain.outbox.entity.OutboxEvent;
+import com.example.order.domain.outbox.entity.OutboxStatus;
+import com.example.order.domain.outbox.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 아웃박스 테스트
+ *
+ * 검증 항목:
+ * 1. 이벤트는 트랜잭션이 커밋될 때만 남고, 커밋 후 릴레이가 리스너에 전달
+ * 2. 리스너가 실패하면 다시 전달 (at-least-once), max-attempts번 실패하면 FAILED
+ * 3. FOR UPDATE SKIP LOCKED: 다른 릴레이가 잡은 이벤트는 기다리지 않고 건너뜀
+ * 4. 종료 중에 가져간 이벤트는 자리와 lease를 바로 돌려줌, 가져간 이벤트는 밀린 이벤트로 보지 않음
+ */
+@SpringBootTest(properties = {
+        "outbox.poll-interval-ms=3600000",
+        "outbox.retry-backoff-ms=1",
+        "outbox.max-attempts=3"
+})
+class OutboxRelayTest {
+
+    private static final long ROLLED_BACK_ORDER = 100L;
+    private static final long COMMITTED_ORDER = 101L;
+    private static final long FLAKY_ORDER = 200L;
+    private static final long BROKEN_ORDER = 300L;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("커밋된 이벤트만 저장되고, 릴레이가 리스너에 전달한 뒤 삭제")
+    void committedEventOnly_deliveredThenDeleted() {
+        // given: 롤백된 주문, 커밋된 주문
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxWriter.append(new OrderCreatedEvent(ROLLED_BACK_ORDER, 1L));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                outboxWriter.append(new OrderCreatedEvent(COMMITTED_ORDER, 1L)));
+
+        // when
+        relayUntil(() -> listener.deliveries(COMMITTED_ORDER) > 0);
+        outboxRelay.relay();
+
+        // then: 커밋된 이벤트만 전달, 전달 후 삭제
+        assertThat(listener.deliveries(COMMITTED_ORDER)).isEqualTo(1);
+        assertThat(listener.deliveries(ROLLED_BACK_ORDER)).isZero();
+        assertThat(outboxEventRepository.countByStatus(OutboxStatus.PENDING)).isZero();
+
+        OutboxStatsResponse stats = outboxRelay.getStats();
+        assertThat(stats.getDelivered()).isGreaterThanOrEqualTo(1);
+        assertThat(stats.getMaxLagMillis()).isGreaterThanOrEqualTo(stats.getLastLagMillis());
+
+        // 트랜잭션 없이 저장하면 바로 실패 (이벤트만 따로 커밋되지 않도록)
+        assertThatThrownBy(() -> outboxWriter.append(new OrderCreatedEvent(COMMITTED_ORDER, 1L)))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    @DisplayName("리스너가 실패하면 다시 전달, max-attempts번 실패하면 FAILED")
+    void listenerFailure_retriedThenFailed() {
+        // given: 두 번 실패 후 성공하는 리스너, 항상 실패하는 리스너
+        listener.failTimes(FLAKY_ORDER, 2);
+        listener.failTimes(BROKEN_ORDER, Integer.MAX_VALUE);
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxWriter.append(new OrderCreatedEvent(FLAKY_ORDER, 1L));
+            outboxWriter.append(new OrderCreatedEvent(BROKEN_ORDER, 1L));
+        });
+
+        // when
+        relayUntil(() -> listener.deliveries(FLAKY_ORDER) > 0
+                && outboxEventRepository.countByStatus(OutboxStatus.FAILED) > 0);
+
+        // then: 세 번째 시도에 전달, 항상 실패하는 이벤트는 3번 시도 후 FAILED
+        assertThat(listener.attempts(FLAKY_ORDER)).isEqualTo(3);
+        assertThat(listener.deliveries(FLAKY_ORDER)).isEqualTo(1);
+
+        OutboxEvent failed = outboxEventRepository.findFirstByStatusOrderByIdAsc(OutboxStatus.FAILED).orElseThrow();
+        assertThat(failed.getAttempts()).isEqualTo(3);
+        assertThat(failed.getLastError()).contains("리스너 실패");
+        assertThat(listener.attempts(BROKEN_ORDER)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("FOR UPDATE SKIP LOCKED - 다른 트랜잭션이 잡은 이벤트는 기다리지 않고 건너뜀")
+    void claim_skipsLockedRows() throws Exception {
+        // given: 전달 대기 이벤트 4개 (릴레이가 가져가지 않도록 지연 없이 직접 저장)
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long orderId = 400; orderId < 404; orderId++) {
+                outboxWriter.append(new OrderCreatedEvent(orderId, 1L));
+            }
+        });
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when: 다른 릴레이가 2개를 잡고 트랜잭션을 열어 둔 상태
+        Future<List<Long>> first = executorService.submit(() -> transactionTemplate.execute(status -> {
+            List<Long> ids = ids(outboxEventRepository.findClaimable(LocalDateTime.now(), 2));
+            claimed.countDown();
+            awaitQuietly(release);
+            return ids;
+        }));
+        claimed.await(5, TimeUnit.SECONDS);
+
+        long startedAt = System.currentTimeMillis();
+        List<Long> second = transactionTemplate.execute(status ->
+                ids(outboxEventRepository.findClaimable(LocalDateTime.now(), 10)));
+        long waited = System.currentTimeMillis() - startedAt;
+
+        release.countDown();
+        List<Long> firstIds = first.get(5, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then: 락 대기 없이 나머지 이벤트만 가져감
+        assertThat(firstIds).hasSize(2);
+        assertThat(second).isNotEmpty().doesNotContainAnyElementsOf(firstIds);
+        assertThat(waited).isLessThan(1000);
+
+        outboxEventRepository.deleteAllByIdInBatch(firstIds);
+        outboxEventRepository.deleteAllByIdInBatch(second);
+    }
+
+    @Test
+    @DisplayName("종료된 릴레이가 가져간 이벤트는 worker 자리와 lease를 바로 돌려주고, 가져간 이벤트는 밀린 이벤트로 보지 않음")
+    void relayAfterShutdown_releasesSlotsAndClaims() throws Exception {
+        // given: 종료된 릴레이 (worker 1개, 대기열 1칸)
+        OutboxRelay stopped = new OutboxRelay(outboxEventRepository, eventPublisher, objectMapper,
+                transactionTemplate, 10, 1, 1, 30_000, 3, 1, 1_000);
+        stopped.shutdown();
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxWriter.append(new OrderCreatedEvent(500L, 1L));
+            outboxWriter.append(new OrderCreatedEvent(501L, 1L));
+        });
+
+        // when
+        int dispatched = stopped.relay();
+
+        // then: 전달한 이벤트 없음, 다음 주기에 다시 가져갈 수 있음
+        assertThat(dispatched).isZero();
+        assertThat(stopped.getStats().getInFlight()).isZero();
+        assertThat(stopped.relay()).isZero();
+        List<Long> claimable = transactionTemplate.execute(status ->
+                ids(outboxEventRepository.findClaimable(LocalDateTime.now(), 10)));
+        assertThat(claimable).hasSize(2);
+
+        // when: 다른 릴레이가 가져가서 lease 중
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository
+                .findClaimable(LocalDateTime.now(), 10)
+                .forEach(event -> event.claim(LocalDateTime.now().plusMinutes(1))));
+
+        // then
+        assertThat(outboxRelay.getStats().getOldestPendingAgeMillis()).isZero();
+
+        outboxEventRepository.deleteAllByIdInBatch(claimable);
+    }
+
+    private void relayUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("릴레이 대기 시간 초과").isLessThan(deadline);
+            outboxRelay.relay();
+            sleep(20);
+        }
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 주문별 전달 시도 / 성공 횟수를 기록하는 리스너 (지정한 횟수만큼 실패)
+     */
+    static class RecordingListener {
+
+        private final Map<Long, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicInteger> deliveries = new ConcurrentHashMap<>();
+        private final Map<Long, Integer> failures = new ConcurrentHashMap<>();
+
+        @EventListener
+        public void handle(OrderCreatedEvent event) {
+            int attempt = attempts.computeIfAbsent(event.getOrderId(), id -> new AtomicInteger()).incrementAndGet();
+            if (attempt <= failures.getOrDefault(event.getOrderId(), 0)) {
+                throw new IllegalStateException("리스너 실패 - orderId: " + event.getOrderId());
+            }
+            deliveries.computeIfAbsent(event.getOrderId(), id -> new AtomicInteger()).incrementAndGet();
+        }
+
+        void failTimes(Long orderId, int times) {
+            failures.put(orderId, times);
+        }
+
+        int attempts(Long orderId) {
+            return attempts.getOrDefault(orderId, new AtomicInteger()).get();
+        }
+
+        int deliveries(Long orderId) {
+            return deliveries.getOrDefault(orderId, new AtomicInteger()).get();
+        }
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+}
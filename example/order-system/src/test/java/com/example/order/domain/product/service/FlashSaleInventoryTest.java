@@ -0,0 +1,216 @@
+package com.example.order.domain.product.service;
+
+import com.example.order.domain.product.dto.FlashSaleReservationResponse;
+import com.example.order.domain.product.dto.ProductCreateRequest;
+import com.example.order.domain.product.dto.ProductResponse;
+import com.example.order.domain.product.repository.ProductRepository;
+import com.example.order.global.error.BusinessException;
+import com.example.order.global.error.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 한정 판매 메모리 재고 테스트
+ *
+ * 검증 항목:
+ * 1. 동시 차감 시 재고만큼만 성공하고, DB 반영 후 DB 재고가 정확히 0
+ * 2. 확정하지 않은 예약은 만료되면 재고로 돌아가고, 확정된 예약만 DB에 반영
+ * 3. 트랜잭션이 롤백되면 메모리 재고 차감도 되돌림
+ * 4. 서버 재시작 시 DB 재고로 메모리 재고를 다시 만듦
+ * 5. DB 반영은 상품마다 따로 → 한 상품이 실패해도 다른 상품은 반영
+ */
+@SpringBootTest
+class FlashSaleInventoryTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private FlashSaleInventory flashSaleInventory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("한정 판매 동시 차감 - 재고 1,000개에 요청 2,000개면 정확히 1,000개 성공")
+    void concurrentDecrease_exactStock() throws InterruptedException {
+        // given
+        Long productId = createFlashSaleProduct(1000);
+        int requestCount = 2000;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger soldOutCount = new AtomicInteger();
+
+        // when
+        long startedAt = System.currentTimeMillis();
+        for (int i = 0; i < requestCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    productService.decreaseStock(productId, 1);
+                    successCount.incrementAndGet();
+                } catch (BusinessException e) {
+                    soldOutCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+        long elapsed = System.currentTimeMillis() - startedAt;
+
+        flashSaleInventory.flush();
+
+        // then
+        assertThat(successCount.get()).isEqualTo(1000);
+        assertThat(soldOutCount.get()).isEqualTo(1000);
+        assertThat(flashSaleInventory.available(productId)).isZero();
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isZero();
+
+        System.out.println("=== 한정 판매 동시 차감 ===");
+        System.out.println("성공: " + successCount.get() + ", 품절: " + soldOutCount.get() + ", 소요: " + elapsed + "ms");
+    }
+
+    @Test
+    @DisplayName("예약 만료 - 확정하지 않은 예약은 재고로 돌아가고 확정된 예약만 DB에 반영")
+    void reservation_expiresAndConfirms() {
+        // given: 예약 유효 시간 1초
+        Long productId = productService.createProduct(new ProductCreateRequest("예약 상품", 10000, 10)).getId();
+        AtomicLong clock = new AtomicLong(1_000_000);
+        FlashSaleInventory inventory = new FlashSaleInventory(
+                productRepository, transactionTemplate, 4, 1000, clock::get);
+        inventory.load(productId, 10);
+
+        // when: 3개, 2개 예약 → 3개만 확정
+        FlashSaleReservationResponse confirmed = inventory.reserve(productId, 3);
+        FlashSaleReservationResponse abandoned = inventory.reserve(productId, 2);
+        inventory.confirm(confirmed.getReservationId());
+        assertThat(inventory.available(productId)).isEqualTo(5);
+
+        // when: 유효 시간 경과
+        clock.addAndGet(1000);
+        inventory.expireReservations();
+
+        // then: 확정하지 않은 2개는 돌아옴, 늦게 확정하려 하면 실패
+        assertThat(inventory.available(productId)).isEqualTo(7);
+        assertThatThrownBy(() -> inventory.confirm(abandoned.getReservationId()))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.RESERVATION_NOT_FOUND);
+
+        // then: DB에는 확정된 3개만 반영
+        inventory.flush();
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 롤백 시 메모리 재고 차감도 되돌림, 커밋된 취소는 재고 복원")
+    void rollback_restoresStock() {
+        // given
+        Long productId = createFlashSaleProduct(10);
+
+        // when: 차감 후 같은 트랜잭션에서 예외 (예: 장바구니의 다른 상품 재고 부족)
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            productService.decreaseStock(productId, 3);
+            throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK);
+        })).isInstanceOf(BusinessException.class);
+
+        // then
+        assertThat(flashSaleInventory.available(productId)).isEqualTo(10);
+
+        // when: 차감 후 취소 (재고 복원)
+        productService.decreaseStock(productId, 4);
+        productService.increaseStock(productId, 1);
+        flashSaleInventory.flush();
+
+        // then
+        assertThat(flashSaleInventory.available(productId)).isEqualTo(7);
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("서버 재시작 - DB 재고로 메모리 재고 복구, 반영 전 예약은 다시 판매 가능")
+    void recover_rebuildsFromDatabase() {
+        // given: 4개 판매(반영됨) + 2개 예약(확정 전)
+        Long productId = createFlashSaleProduct(10);
+        productService.decreaseStock(productId, 4);
+        productService.reserveFlashSaleStock(productId, 2);
+        flashSaleInventory.flush();
+        assertThat(productService.getProduct(productId).getStock()).isEqualTo(4);
+
+        // when: 재시작 (메모리 상태 없음)
+        FlashSaleInventory restarted = new FlashSaleInventory(
+                productRepository, transactionTemplate, 4, 600_000, System::currentTimeMillis);
+        restarted.recover();
+
+        // then: DB 재고 6개로 복구 (확정 전 예약 2개는 다시 판매 가능)
+        assertThat(restarted.isManaged(productId)).isTrue();
+        assertThat(restarted.available(productId)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("한정 판매 종료 - 남은 변경분을 DB에 반영하고 DB 재고로 돌아감")
+    void disable_flushesAndReturnsToDatabase() {
+        // given
+        Long productId = createFlashSaleProduct(10);
+        productService.decreaseStock(productId, 3);
+
+        // when
+        productService.disableFlashSale(productId);
+
+        // then
+        assertThat(flashSaleInventory.isManaged(productId)).isFalse();
+        assertThat(productRepository.findById(productId).orElseThrow().isFlashSale()).isFalse();
+
+        productService.decreaseStock(productId, 1);
+        assertThat(productService.getProduct(productId).getStock()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("DB 반영 실패 - 실패한 상품만 변경분을 남기고 다른 상품은 반영")
+    void flush_failureIsolatedPerProduct() {
+        // given: 반영하면 int 범위를 넘는 상품 + 정상 상품
+        Long overflowId = createFlashSaleProduct(Integer.MAX_VALUE - 5);
+        Long normalId = createFlashSaleProduct(10);
+        productService.increaseStock(overflowId, 10);
+        productService.decreaseStock(normalId, 3);
+
+        // when
+        flashSaleInventory.flush();
+
+        // then
+        assertThat(productRepository.findById(normalId).orElseThrow().getStock()).isEqualTo(7);
+        assertThat(productRepository.findById(overflowId).orElseThrow().getStock()).isEqualTo(Integer.MAX_VALUE - 5);
+        assertThat(flashSaleInventory.getAllStats())
+                .filteredOn(stats -> stats.getProductId().equals(overflowId))
+                .singleElement()
+                .extracting("pendingDelta").isEqualTo(10L);
+
+        // cleanup: 다음 주기에 다시 실패하지 않도록 변경분 상쇄
+        productService.decreaseStock(overflowId, 10);
+        flashSaleInventory.flush();
+    }
+
+    private Long createFlashSaleProduct(int stock) {
+        ProductResponse product = productService.createProduct(new ProductCreateRequest("한정 판매 상품", 10000, stock));
+        productService.enableFlashSale(product.getId());
+        return product.getId();
+    }
+}
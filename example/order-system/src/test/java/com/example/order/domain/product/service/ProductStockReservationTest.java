@@ -0,0 +1,114 @@
+package com.example.order.domain.product.service;
+
+import com.example.order.domain.product.dto.ProductCreateRequest;
+import com.example.order.domain.product.dto.ProductResponse;
+import com.example.order.global.error.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 장바구니 재고 일괄 차감 테스트
+ *
+ * 검증 항목:
+ * 1. 여러 상품 재고가 한 번에 차감됨
+ * 2. 하나라도 부족하면 전체 롤백
+ * 3. 상품 순서가 반대인 장바구니가 동시에 들어와도 데드락 없이 모두 성공 (id 오름차순 락)
+ */
+@SpringBootTest
+class ProductStockReservationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    @DisplayName("일괄 차감 - 모든 상품 재고가 요청 수량만큼 감소")
+    void reserveStocks_decreasesAllStock() {
+        // given
+        ProductResponse product1 = createProduct("상품1", 50);
+        ProductResponse product2 = createProduct("상품2", 30);
+
+        // when
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(product2.getId(), 3);
+        quantities.put(product1.getId(), 5);
+        productService.reserveStocks(quantities);
+
+        // then
+        assertThat(productService.getProduct(product1.getId()).getStock()).isEqualTo(45);
+        assertThat(productService.getProduct(product2.getId()).getStock()).isEqualTo(27);
+    }
+
+    @Test
+    @DisplayName("일괄 차감 - 한 상품이라도 재고가 부족하면 전체 롤백")
+    void reserveStocks_insufficientStock_rollsBackAll() {
+        // given
+        ProductResponse enough = createProduct("재고 충분", 50);
+        ProductResponse lowStock = createProduct("재고 부족", 1);
+
+        // when & then
+        Map<Long, Integer> quantities = Map.of(enough.getId(), 10, lowStock.getId(), 2);
+        assertThatThrownBy(() -> productService.reserveStocks(quantities))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("재고가 부족합니다");
+
+        assertThat(productService.getProduct(enough.getId()).getStock()).isEqualTo(50);
+        assertThat(productService.getProduct(lowStock.getId()).getStock()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("겹치는 장바구니 동시 주문 - 순서가 반대여도 데드락 없이 전부 성공")
+    void reserveStocks_overlappingCarts_noDeadlock() throws InterruptedException {
+        // given: 같은 두 상품을 서로 반대 순서로 담은 장바구니
+        ProductResponse product1 = createProduct("상품1", 1000);
+        ProductResponse product2 = createProduct("상품2", 1000);
+        int requestCount = 200;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        AtomicInteger successCount = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            Map<Long, Integer> quantities = new LinkedHashMap<>();
+            if (i % 2 == 0) {
+                quantities.put(product1.getId(), 1);
+                quantities.put(product2.getId(), 1);
+            } else {
+                quantities.put(product2.getId(), 1);
+                quantities.put(product1.getId(), 1);
+            }
+            executorService.submit(() -> {
+                try {
+                    productService.reserveStocks(quantities);
+                    successCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then: 비관적 락이라 재시도 없이 모두 성공, 재고는 정확히 요청 수만큼 감소
+        assertThat(successCount.get()).isEqualTo(requestCount);
+        assertThat(productService.getProduct(product1.getId()).getStock()).isEqualTo(1000 - requestCount);
+        assertThat(productService.getProduct(product2.getId()).getStock()).isEqualTo(1000 - requestCount);
+    }
+
+    private ProductResponse createProduct(String name, int stock) {
+        return productService.createProduct(new ProductCreateRequest(name, 10000, stock));
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.order.domain.product.service;
+
+import com.example.order.domain.product.dto.ProductCreateRequest;
+import com.example.order.domain.product.dto.ProductResponse;
+import com.example.order.domain.product.dto.StockLockStatsResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품별 락 방식 자동 전환 테스트
+ *
+ * 검증 항목:
+ * 1. 충돌률이 임계값을 넘으면 비관적 락으로 전환, 충돌이 줄면 낙관적 락으로 복귀
+ * 2. 충돌이 몰리는 상품은 비관적 락으로 전환되어 재시도 실패 없이 재고가 정확히 차감됨
+ */
+@SpringBootTest
+class StockContentionTrackerTest {
+
+    private static final long WINDOW_MILLIS = 10_000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    @DisplayName("충돌률 20% 이상이면 비관적 락, 윈도우 동안 대기가 적으면 낙관적 락으로 복귀")
+    void switchesModeByConflictRate() {
+        // given: 윈도우 10초, 최소 시도 20번
+        AtomicLong clock = new AtomicLong(1_000_000);
+        StockContentionTracker tracker = new StockContentionTracker(
+                WINDOW_MILLIS, 10, 20, 0.2, 0.05, 5, clock::get);
+        Long productId = 1L;
+
+        // when: 시도 20번 중 충돌 3번 (15%) → 유지
+        for (int i = 0; i < 20; i++) {
+            tracker.recordOptimistic(productId, i < 3);
+        }
+        assertThat(tracker.mode(productId)).isEqualTo(StockLockMode.OPTIMISTIC);
+
+        // when: 충돌 2번 더 (5/22 ≈ 23%) → 비관적 락
+        tracker.recordOptimistic(productId, true);
+        tracker.recordOptimistic(productId, true);
+
+        // then
+        assertThat(tracker.mode(productId)).isEqualTo(StockLockMode.PESSIMISTIC);
+        assertThat(tracker.getStats(productId).getSwitchCount()).isEqualTo(1);
+
+        // when: 전환 직후에는 대기가 짧아도 윈도우(10초) 동안 유지
+        for (int i = 0; i < 30; i++) {
+            clock.addAndGet(100);
+            tracker.recordPessimistic(productId, 0);
+        }
+        assertThat(tracker.mode(productId)).isEqualTo(StockLockMode.PESSIMISTIC);
+
+        // when: 윈도우가 지나도록 대기가 짧음 → 낙관적 락으로 복귀
+        for (int i = 0; i < 80; i++) {
+            clock.addAndGet(100);
+            tracker.recordPessimistic(productId, 1);
+        }
+
+        // then
+        StockLockStatsResponse stats = tracker.getStats(productId);
+        assertThat(stats.getMode()).isEqualTo(StockLockMode.OPTIMISTIC);
+        assertThat(stats.getSwitchCount()).isEqualTo(2);
+        assertThat(stats.getTotalConflicts()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("비관적 락에서도 락 대기가 길면 충돌로 보고 유지, 트래픽이 빠지면 복귀")
+    void staysPessimisticWhileContended_revertsWhenIdle() {
+        // given: 비관적 락으로 전환된 상품
+        AtomicLong clock = new AtomicLong(1_000_000);
+        StockContentionTracker tracker = new StockContentionTracker(
+                WINDOW_MILLIS, 10, 20, 0.2, 0.05, 5, clock::get);
+        Long productId = 1L;
+        for (int i = 0; i < 20; i++) {
+            tracker.recordOptimistic(productId, true);
+        }
+        assertThat(tracker.mode(productId)).isEqualTo(StockLockMode.PESSIMISTIC);
+
+        // when: 윈도우 2개 동안 락 대기 10ms (계속 경합 중)
+        for (int i = 0; i < 200; i++) {
+            clock.addAndGet(100);
+            tracker.recordPessimistic(productId, 10);
+        }
+
+        // then
+        assertThat(tracker.mode(productId)).isEqualTo(StockLockMode.PESSIMISTIC);
+        assertThat(tracker.getStats(productId).getConflictRate()).isEqualTo(1.0);
+
+        // when: 요청이 끊기고 윈도우가 지남
+        clock.addAndGet(WINDOW_MILLIS);
+
+        // then
+        assertThat(tracker.mode(productId)).isEqualTo(StockLockMode.OPTIMISTIC);
+    }
+
+    @Test
+    @DisplayName("인기 상품 동시 재고 차감 - 비관적 락으로 전환되어 재고가 정확히 차감됨")
+    void hotProduct_switchesToPessimistic_exactStock() throws InterruptedException {
+        // given: 재고 1,000개인 상품에 동시 요청 300개
+        ProductResponse product = productService.createProduct(new ProductCreateRequest("인기 상품", 10000, 1000));
+        int requestCount = 300;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        AtomicInteger successCount = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    productService.decreaseStock(product.getId(), 1);
+                    successCount.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // 전환 전 낙관적 락 구간에서 재시도를 다 쓴 요청
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then: 비관적 락으로 전환, 성공한 만큼만 정확히 차감
+        StockLockStatsResponse stats = productService.getStockLockStats(product.getId());
+        assertThat(stats.getSwitchCount()).isGreaterThanOrEqualTo(1);
+        assertThat(stats.getTotalConflicts()).isGreaterThan(0);
+        assertThat(productService.getProduct(product.getId()).getStock() + successCount.get()).isEqualTo(1000);
+
+        System.out.println("=== 인기 상품 락 방식 자동 전환 ===");
+        System.out.println("성공: " + successCount.get() + " / " + requestCount);
+        System.out.println("현재 방식: " + stats.getMode().getDescription() + ", 전환 횟수: " + stats.getSwitchCount());
+        System.out.println("누적 충돌: " + stats.getTotalConflicts() + " / 시도 " + stats.getTotalAttempts());
+    }
+}